@@ -0,0 +1,42 @@
+package org.thevoids.oncologic.attachment;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Files derived from a lab attachment by the {@link AttachmentPipeline}.
+ */
+public enum AttachmentDerivative {
+    /** A small JPEG for lists and chart previews. */
+    THUMBNAIL("thumbnail", "thumbnail.jpg"),
+    /** A downscaled, recompressed JPEG of a large image, to view it without the original. */
+    PREVIEW("preview", "preview.jpg"),
+    /** The attachment's text, UTF-8; it is also indexed for the clinical search. */
+    TEXT("text", "text.txt");
+
+    private final String pathName;
+    private final String fileName;
+
+    AttachmentDerivative(String pathName, String fileName) {
+        this.pathName = pathName;
+        this.fileName = fileName;
+    }
+
+    /**
+     * The name used in URLs.
+     */
+    public String getPathName() {
+        return pathName;
+    }
+
+    /**
+     * The name of the file in the attachment's derivatives directory.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    public static Optional<AttachmentDerivative> fromPathName(String pathName) {
+        return Arrays.stream(values()).filter(derivative -> derivative.pathName.equals(pathName)).findFirst();
+    }
+}
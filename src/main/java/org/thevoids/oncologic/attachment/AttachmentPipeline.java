@@ -0,0 +1,282 @@
+package org.thevoids.oncologic.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.entity.LabAttachmentText;
+import org.thevoids.oncologic.repository.LabAttachmentTextRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.service.FileService;
+
+/**
+ * Background processing of lab attachments: thumbnails, previews of large
+ * images and text for the clinical search (see {@link AttachmentDerivative}).
+ *
+ * The lab service submits an attachment once the transaction that stored it
+ * commits, so uploads return as soon as the original is on disk. Jobs run on
+ * a bounded pool ({@code attachmentProcessingExecutor}). When its queue is
+ * full a job is dropped rather than slowing down uploads, and it is submitted
+ * again the first time one of its derived files is requested. A job that fails
+ * is retried with exponential backoff, up to
+ * {@code app.attachments.max-attempts} runs.
+ *
+ * The {@link AttachmentProcessor}s write into a local temporary directory
+ * whose files are then stored as the attachment's derived files
+ * ({@link FileService#storeDerivative(String, String, Path)}), followed by a
+ * marker that says processing finished. Attachments are content-addressed,
+ * so a file attached to several labs is processed once; the extracted text
+ * is stored per lab ({@link LabAttachmentText}) and indexed.
+ */
+@Component
+public class AttachmentPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentPipeline.class);
+
+    // Derived file stored last, once every other one is
+    private static final String PROCESSED_MARKER = ".processed";
+
+    private final List<AttachmentProcessor> processors;
+    private final FileService fileService;
+    private final LabRepository labRepository;
+    private final LabAttachmentTextRepository labAttachmentTextRepository;
+    private final ClinicalTextIndex clinicalTextIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    // Jobs queued, running or waiting for a retry; a job is not queued twice
+    private final Set<Job> queued = ConcurrentHashMap.newKeySet();
+
+    public AttachmentPipeline(List<AttachmentProcessor> processors, FileService fileService,
+            LabRepository labRepository, LabAttachmentTextRepository labAttachmentTextRepository,
+            ClinicalTextIndex clinicalTextIndex, TransactionTemplate transactionTemplate,
+            @Qualifier("attachmentProcessingExecutor") Executor executor,
+            @Value("${app.attachments.max-attempts:3}") int maxAttempts,
+            @Value("${app.attachments.retry-delay:PT10S}") Duration retryDelay) {
+        this.processors = processors;
+        this.fileService = fileService;
+        this.labRepository = labRepository;
+        this.labAttachmentTextRepository = labAttachmentTextRepository;
+        this.clinicalTextIndex = clinicalTextIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Queues the lab's attachment for processing once the current transaction
+     * commits. Does nothing if the lab has no attachment.
+     */
+    public void submit(LabDTO lab) {
+        if (lab == null || lab.getLabId() == null || lab.getAttachment() == null || lab.getAttachment().isBlank()) {
+            return;
+        }
+        Job job = new Job(lab.getLabId(), lab.getPatientId(), lab.getAttachment());
+        afterCommit(() -> enqueue(job));
+    }
+
+    /**
+     * Forgets the text extracted from the lab's attachment; called when the
+     * attachment is replaced or the lab deleted.
+     */
+    public void discard(Long labId) {
+        labAttachmentTextRepository.deleteById(labId);
+        clinicalTextIndex.remove(ClinicalRecordType.LAB_ATTACHMENT, labId);
+    }
+
+    /**
+     * The relative path of the derived file (see
+     * {@link FileService#getDerivativePath(String, String)}), if the lab's
+     * attachment has been processed and has one.
+     */
+    public Optional<String> find(LabDTO lab, AttachmentDerivative derivative) throws IOException {
+        if (lab.getAttachment() == null || lab.getAttachment().isBlank()) {
+            return Optional.empty();
+        }
+        String path = fileService.getDerivativePath(lab.getAttachment(), derivative.getFileName());
+        return fileService.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Whether the lab's attachment is still to be processed, in which case it
+     * is queued again in case its job was dropped.
+     */
+    public boolean isPending(LabDTO lab) throws IOException {
+        if (lab.getAttachment() == null || lab.getAttachment().isBlank()
+                || processorsFor(lab.getAttachment()).isEmpty()
+                || fileService.exists(fileService.getDerivativePath(lab.getAttachment(), PROCESSED_MARKER))
+                || !fileService.exists(lab.getAttachment())) {
+            return false;
+        }
+        enqueue(new Job(lab.getLabId(), lab.getPatientId(), lab.getAttachment()));
+        return true;
+    }
+
+    private void enqueue(Job job) {
+        if (queued.add(job)) {
+            execute(job, 1);
+        }
+    }
+
+    private void execute(Job job, int attempt) {
+        try {
+            executor.execute(() -> run(job, attempt));
+        } catch (RejectedExecutionException e) {
+            // Queue full; the job is submitted again when a derived file is requested
+            queued.remove(job);
+        }
+    }
+
+    private void run(Job job, int attempt) {
+        try {
+            process(job);
+            queued.remove(job);
+        } catch (IOException | RuntimeException e) {
+            if (attempt >= maxAttempts) {
+                queued.remove(job);
+                log.error("Failed to process attachment {} after {} attempts", job.attachment(), attempt, e);
+                return;
+            }
+            // Waits 1, 2, 4... times the retry delay, off the worker threads
+            long delay = retryDelay.toMillis() << (attempt - 1);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> execute(job, attempt + 1));
+        }
+    }
+
+    private void process(Job job) throws IOException {
+        if (!fileService.exists(job.attachment())) {
+            // Deleted in the meantime
+            return;
+        }
+        if (!fileService.exists(fileService.getDerivativePath(job.attachment(), PROCESSED_MARKER))) {
+            Path temp = Files.createTempDirectory("attachment");
+            try {
+                Path original = localCopy(job.attachment(), temp);
+                Path directory = Files.createDirectory(temp.resolve("derived"));
+                for (AttachmentProcessor processor : processorsFor(job.attachment())) {
+                    processor.process(original, directory);
+                }
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : files.toList()) {
+                        fileService.storeDerivative(job.attachment(), file.getFileName().toString(), file);
+                    }
+                }
+                // Another lab with the same file may have stored the same files meanwhile, which is harmless
+                fileService.storeDerivative(job.attachment(), PROCESSED_MARKER,
+                        Files.createFile(temp.resolve(PROCESSED_MARKER)));
+            } finally {
+                deleteRecursively(temp);
+            }
+        }
+        String text = fileService.getDerivativePath(job.attachment(), AttachmentDerivative.TEXT.getFileName());
+        if (fileService.exists(text)) {
+            try (InputStream in = fileService.openFile(text)) {
+                saveText(job, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * The attachment's file on local disk: the stored file itself if the
+     * storage keeps it locally, otherwise a copy downloaded into {@code temp}.
+     */
+    private Path localCopy(String attachment, Path temp) throws IOException {
+        String fullPath = fileService.getFullPath(attachment);
+        if (fullPath != null) {
+            return Paths.get(fullPath);
+        }
+        Path copy = temp.resolve("original");
+        try (InputStream in = fileService.openFile(attachment)) {
+            Files.copy(in, copy);
+        }
+        return copy;
+    }
+
+    private void saveText(Job job, String content) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // The lab may have been deleted or given another attachment meanwhile
+            if (!labRepository.existsByLabIdAndAttachment(job.labId(), job.attachment())) {
+                return;
+            }
+            LabAttachmentText text = labAttachmentTextRepository.findById(job.labId())
+                    .orElseGet(LabAttachmentText::new);
+            if (job.attachment().equals(text.getAttachment())) {
+                return;
+            }
+            text.setLab(labRepository.getReferenceById(job.labId()));
+            text.setAttachment(job.attachment());
+            text.setContent(content.length() > LabAttachmentText.MAX_CONTENT_LENGTH
+                    ? content.substring(0, LabAttachmentText.MAX_CONTENT_LENGTH)
+                    : content);
+            labAttachmentTextRepository.save(text);
+            clinicalTextIndex.indexLabAttachmentText(
+                    new LabAttachmentTextDTO(job.labId(), job.patientId(), text.getContent()));
+        });
+    }
+
+    private List<AttachmentProcessor> processorsFor(String attachment) {
+        Optional<MediaType> contentType = MediaTypeFactory.getMediaType(attachment);
+        if (contentType.isEmpty()) {
+            return List.of();
+        }
+        return processors.stream().filter(processor -> processor.supports(contentType.get())).toList();
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Job(Long labId, Long patientId, String attachment) {
+    }
+}
@@ -0,0 +1,26 @@
+package org.thevoids.oncologic.attachment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Derives files from attachments of the content types it supports. Every
+ * processor bean is picked up by the {@link AttachmentPipeline}, which runs
+ * it on its worker threads.
+ */
+public interface AttachmentProcessor {
+
+    boolean supports(MediaType contentType);
+
+    /**
+     * Writes the derivatives of the file into {@code directory}, each named
+     * by {@link AttachmentDerivative#getFileName()}. A file that cannot be
+     * decoded as its type is skipped without error, since trying again would
+     * not help.
+     *
+     * @throws IOException if reading or writing failed; the pipeline retries
+     */
+    void process(Path original, Path directory) throws IOException;
+}
@@ -0,0 +1,140 @@
+package org.thevoids.oncologic.attachment;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thumbnails for every image and a recompressed preview for large ones
+ * (more than {@link #PREVIEW_SIZE} pixels a side, or a file of at least
+ * {@code app.attachments.preview.min-bytes}), both as JPEG.
+ *
+ * The image is decoded once, subsampled by the reader to no more than twice
+ * the largest output, so a 50-megapixel scan never exists in memory at full
+ * resolution. It is then halved step by step before the final bilinear
+ * resize, which keeps the downscaling from skipping pixels.
+ */
+@Component
+public class ImageAttachmentProcessor implements AttachmentProcessor {
+
+    static final int THUMBNAIL_SIZE = 256;
+    static final int PREVIEW_SIZE = 1600;
+    private static final float THUMBNAIL_QUALITY = 0.8f;
+    private static final float PREVIEW_QUALITY = 0.85f;
+
+    private final long previewMinBytes;
+
+    public ImageAttachmentProcessor(@Value("${app.attachments.preview.min-bytes:1048576}") long previewMinBytes) {
+        this.previewMinBytes = previewMinBytes;
+    }
+
+    @Override
+    public boolean supports(MediaType contentType) {
+        return "image".equals(contentType.getType())
+                && ImageIO.getImageReadersByMIMEType(contentType.getType() + "/" + contentType.getSubtype()).hasNext();
+    }
+
+    @Override
+    public void process(Path original, Path directory) throws IOException {
+        BufferedImage image;
+        boolean preview;
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                preview = longest > PREVIEW_SIZE || Files.size(original) >= previewMinBytes;
+                int step = Math.max(1, longest / (2 * (preview ? PREVIEW_SIZE : THUMBNAIL_SIZE)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                image = reader.read(0, param);
+            } catch (IIOException e) {
+                // Not a valid image of its type
+                return;
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        BufferedImage scaled = scale(image, preview ? PREVIEW_SIZE : THUMBNAIL_SIZE);
+        if (preview) {
+            Path file = directory.resolve(AttachmentDerivative.PREVIEW.getFileName());
+            writeJpeg(scaled, file, PREVIEW_QUALITY);
+            if (Files.size(file) >= Files.size(original)) {
+                // Already compact: the original is the better preview
+                Files.delete(file);
+            }
+            scaled = scale(scaled, THUMBNAIL_SIZE);
+        }
+        writeJpeg(scaled, directory.resolve(AttachmentDerivative.THUMBNAIL.getFileName()), THUMBNAIL_QUALITY);
+    }
+
+    /**
+     * An opaque RGB copy that fits in {@code maxSide} pixels a side; images
+     * are never enlarged.
+     */
+    static BufferedImage scale(BufferedImage image, int maxSide) {
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current == image || current.getWidth() != width || current.getHeight() != height) {
+            current = draw(current, width, height);
+        }
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            // JPEG has no transparency; transparent pixels become white rather than black
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path file, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
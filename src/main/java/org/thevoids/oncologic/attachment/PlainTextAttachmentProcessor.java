@@ -0,0 +1,40 @@
+package org.thevoids.oncologic.attachment;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.thevoids.oncologic.entity.LabAttachmentText;
+
+/**
+ * Extracts the text of plain-text attachments, read as UTF-8 (invalid bytes
+ * become U+FFFD) and cut at {@link LabAttachmentText#MAX_CONTENT_LENGTH}
+ * characters.
+ */
+@Component
+public class PlainTextAttachmentProcessor implements AttachmentProcessor {
+
+    @Override
+    public boolean supports(MediaType contentType) {
+        return MediaType.TEXT_PLAIN.isCompatibleWith(contentType);
+    }
+
+    @Override
+    public void process(Path original, Path directory) throws IOException {
+        char[] text = new char[LabAttachmentText.MAX_CONTENT_LENGTH];
+        int length = 0;
+        try (Reader reader = new InputStreamReader(Files.newInputStream(original), StandardCharsets.UTF_8)) {
+            int read;
+            while (length < text.length && (read = reader.read(text, length, text.length - length)) >= 0) {
+                length += read;
+            }
+        }
+        Files.writeString(directory.resolve(AttachmentDerivative.TEXT.getFileName()),
+                new String(text, 0, length), StandardCharsets.UTF_8);
+    }
+}
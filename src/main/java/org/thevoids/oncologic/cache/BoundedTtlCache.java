@@ -0,0 +1,149 @@
+package org.thevoids.oncologic.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * In-process Spring {@link org.springframework.cache.Cache} bounded by size
+ * and entry age, for the reference-data caches.
+ *
+ * Entries are kept in access order and the least recently used one is dropped
+ * once {@code maxSize} is exceeded; entries older than {@code ttl} are dropped
+ * on the next lookup. A {@code maxSize} of zero or less disables the cache:
+ * nothing is stored and every lookup is a miss. Null values are not cached.
+ */
+public class BoundedTtlCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<Object, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, Clock.systemUTC());
+    }
+
+    public BoundedTtlCache(String name, int maxSize, Duration ttl, Clock clock) {
+        super(false);
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt() <= clock.millis()) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (maxSize <= 0 || value == null) {
+            return;
+        }
+        Entry entry = new Entry(toStoreValue(value), clock.millis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (entries) {
+            if (entries.remove(key) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            evictions.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,22 @@
+package org.thevoids.oncologic.cache;
+
+import java.util.List;
+
+/**
+ * Names of the caches for reference data: entities that change a few times a
+ * year but are read on most requests. Each cache is cleared as a whole by the
+ * writes of the service that owns the entity.
+ */
+public final class ReferenceCaches {
+
+    public static final String APPOINTMENT_TYPES = "appointmentTypes";
+    public static final String SPECIALTIES = "specialties";
+    public static final String CLINICS = "clinics";
+    public static final String PERMISSIONS = "permissions";
+    public static final String ROLES = "roles";
+
+    public static final List<String> ALL = List.of(APPOINTMENT_TYPES, SPECIALTIES, CLINICS, PERMISSIONS, ROLES);
+
+    private ReferenceCaches() {
+    }
+}
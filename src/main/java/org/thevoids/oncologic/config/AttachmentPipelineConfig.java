@@ -0,0 +1,29 @@
+package org.thevoids.oncologic.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AttachmentPipelineConfig {
+
+    /**
+     * Bounded pool for attachment post-processing (see
+     * {@code AttachmentPipeline}). Image decoding is CPU and memory heavy, so
+     * by default it gets half the cores; once the queue is full new jobs are
+     * rejected instead of piling up.
+     */
+    @Bean(name = "attachmentProcessingExecutor")
+    public ThreadPoolTaskExecutor attachmentProcessingExecutor(
+            @Value("${app.attachments.pool-size:0}") int poolSize,
+            @Value("${app.attachments.queue-capacity:1000}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("attachment-processing-");
+        return executor;
+    }
+}
@@ -0,0 +1,33 @@
+package org.thevoids.oncologic.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thevoids.oncologic.cache.BoundedTtlCache;
+import org.thevoids.oncologic.cache.ReferenceCaches;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * One bounded cache per reference entity. The TTL only caps staleness for
+     * changes made outside the application (e.g. straight in the database);
+     * writes through the services clear the affected cache immediately.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.reference.max-size:1000}") int maxSize,
+            @Value("${app.cache.reference.ttl:PT10M}") Duration ttl) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(ReferenceCaches.ALL.stream()
+                .map(name -> new BoundedTtlCache(name, maxSize, ttl))
+                .toList());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,25 @@
+package org.thevoids.oncologic.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thevoids.oncologic.entity.PooledSequenceGenerator;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Passes the id block size to {@link PooledSequenceGenerator}. Changing it
+     * on an existing database also requires altering the {@code INCREMENT BY}
+     * of every {@code *_seq} sequence to the same value.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(
+            @Value("${app.persistence.id-allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("app.persistence.id-allocation-size must be positive");
+        }
+        return properties -> properties.put(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+    }
+}
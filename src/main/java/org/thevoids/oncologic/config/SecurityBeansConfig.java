@@ -1,15 +1,35 @@
 package org.thevoids.oncologic.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.thevoids.oncologic.security.AdaptiveBCryptPasswordEncoder;
 
 @Configuration
 public class SecurityBeansConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new AdaptiveBCryptPasswordEncoder(strength);
     }
-}
\ No newline at end of file
+
+    /**
+     * Bounded pool that runs logins (and therefore BCrypt) off the request
+     * threads, so a burst of sign-ins queues here instead of pinning every
+     * Tomcat worker.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.security.hashing.pool-size:0}") int poolSize,
+            @Value("${app.security.hashing.queue-capacity:200}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+}
@@ -23,8 +23,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/");
 
-        // Serve uploaded files
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/");
+        // Uploaded files are not served from here: they may not be on this
+        // node's disk, and go through the lab endpoints (see FileService)
     }
 }
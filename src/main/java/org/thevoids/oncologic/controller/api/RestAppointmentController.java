@@ -14,11 +14,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.dto.custom.BulkAppointmentResultDTO;
 import org.thevoids.oncologic.dto.entity.AppointmentDTO;
 import org.thevoids.oncologic.entity.Appointment;
+import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
 import org.thevoids.oncologic.mapper.AppointmentMapper;
 import org.thevoids.oncologic.service.AppointmentService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,6 +31,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.thevoids.oncologic.utils.NdjsonExport;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * REST controller for managing appointments.
@@ -40,10 +48,14 @@ public class RestAppointmentController {
     private AppointmentService appointmentService;
     @Autowired
     private AppointmentMapper appointmentMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * Retrieves all appointments.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all appointments as DTOs.
      */
     @Operation(summary = "Obtener todas las citas", description = "Recupera una lista de todas las citas disponibles")
@@ -53,17 +65,37 @@ public class RestAppointmentController {
     })
     @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
     @GetMapping
-    public ResponseEntity<List<AppointmentDTO>> getAllAppointments() {
+    public ResponseEntity<List<AppointmentDTO>> getAllAppointments(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<AppointmentDTO> appointments = appointmentService.getAllAppointments().stream()
+            List<AppointmentDTO> appointments = appointmentService.getAppointmentsAfter(after, KeysetPage.fetchSize(limit)).stream()
                     .map(appointmentMapper::toAppointmentDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(appointments);
+            return KeysetPage.ok(appointments, limit, AppointmentDTO::getAppointmentId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Exports all appointments as newline-delimited JSON, one appointment per line.
+     * Rows are streamed from the database as they are written, so the export
+     * works for tables of any size.
+     *
+     * @return a streaming NDJSON body.
+     */
+    @Operation(summary = "Exportar citas", description = "Exporta todas las citas en formato NDJSON (una cita por línea)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación de citas generada exitosamente", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = AppointmentDTO.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver citas")
+    })
+    @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportAppointments() {
+        return NdjsonExport.ok("appointments.ndjson", objectMapper, appointmentService::forEachAppointmentForExport);
+    }
+
     /**
      * Retrieves a specific appointment by its ID.
      *
@@ -99,7 +131,8 @@ public class RestAppointmentController {
     @Operation(summary = "Crear nueva cita", description = "Crea una nueva cita médica en el sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cita creada exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AppointmentDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Datos de cita inválidos"),
+            @ApiResponse(responseCode = "400", description = "Datos de cita inválidos o fuera del horario de la asignación"),
+            @ApiResponse(responseCode = "409", description = "El horario se cruza con otra cita del médico o la clínica"),
             @ApiResponse(responseCode = "403", description = "No autorizado para crear citas")
     })
     @PreAuthorize("hasAuthority('ADD_APPOINTMENTS')")
@@ -113,6 +146,46 @@ public class RestAppointmentController {
                     dto.getAppointmentTypeId(),
                     dto.getDateTime());
             return ResponseEntity.status(HttpStatus.CREATED).body(appointmentMapper.toAppointmentDTO(appointment));
+        } catch (ResourceAlreadyExistsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Creates several appointments at once, e.g. every session of a treatment
+     * cycle. Either all of them are created or none is.
+     *
+     * @param dtos the appointments to create.
+     * @return one result per appointment, in request order.
+     */
+    @Operation(summary = "Crear citas en lote", description = "Crea varias citas en una sola transacción; si alguna es inválida o se cruza con otra cita no se crea ninguna")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Todas las citas fueron creadas", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkAppointmentResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Alguna cita tiene datos inválidos o está fuera del horario de la asignación", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkAppointmentResultDTO.class))),
+            @ApiResponse(responseCode = "409", description = "Alguna cita se cruza con otra cita del médico o la clínica", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkAppointmentResultDTO.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado para crear citas")
+    })
+    @PreAuthorize("hasAuthority('ADD_APPOINTMENTS')")
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkAppointmentResultDTO>> createAppointments(
+            @Parameter(description = "Citas a crear") @RequestBody List<AppointmentDTO> dtos) {
+        try {
+            List<BulkAppointmentResultDTO> results = appointmentService.createAppointments(dtos);
+            HttpStatus status = HttpStatus.CREATED;
+            for (BulkAppointmentResultDTO result : results) {
+                if (result.getStatus() == BulkAppointmentResultDTO.Status.INVALID) {
+                    status = HttpStatus.BAD_REQUEST;
+                    break;
+                }
+                if (result.getStatus() == BulkAppointmentResultDTO.Status.CONFLICT) {
+                    status = HttpStatus.CONFLICT;
+                }
+            }
+            return ResponseEntity.status(status).body(results);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
@@ -132,6 +205,7 @@ public class RestAppointmentController {
             @ApiResponse(responseCode = "200", description = "Cita actualizada exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AppointmentDTO.class))),
             @ApiResponse(responseCode = "404", description = "Cita no encontrada"),
             @ApiResponse(responseCode = "400", description = "Datos de actualización inválidos"),
+            @ApiResponse(responseCode = "409", description = "El horario se cruza con otra cita del médico o la clínica"),
             @ApiResponse(responseCode = "403", description = "No autorizado para actualizar citas")
     })
     @PreAuthorize("hasAuthority('EDIT_APPOINTMENTS')")
@@ -158,6 +232,8 @@ public class RestAppointmentController {
 
             Appointment updated = appointmentService.updateAppointment(existing);
             return ResponseEntity.ok(appointmentMapper.toAppointmentDTO(updated));
+        } catch (ResourceAlreadyExistsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
@@ -14,11 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.thevoids.oncologic.dto.entity.AppointmentTypeDTO;
 import org.thevoids.oncologic.entity.AppointmentType;
 import org.thevoids.oncologic.mapper.AppointmentTypeMapper;
 import org.thevoids.oncologic.service.AppointmentTypeService;
+import org.thevoids.oncologic.utils.KeysetPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -43,6 +45,8 @@ public class RestAppointmentTypeController {
     /**
      * Retrieves all appointment types.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all appointment types as DTOs.
      */
     @Operation(summary = "Obtener todos los tipos de citas", description = "Recupera una lista de todos los tipos de citas disponibles")
@@ -53,12 +57,14 @@ public class RestAppointmentTypeController {
     })
     @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
     @GetMapping
-    public ResponseEntity<List<AppointmentTypeDTO>> getAllAppointmentTypes() {
+    public ResponseEntity<List<AppointmentTypeDTO>> getAllAppointmentTypes(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<AppointmentTypeDTO> types = appointmentTypeService.getAllAppointmentTypes().stream()
+            List<AppointmentTypeDTO> types = appointmentTypeService.getAppointmentTypesAfter(after, KeysetPage.fetchSize(limit)).stream()
                     .map(appointmentTypeMapper::toAppointmentTypeDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(types);
+            return KeysetPage.ok(types, limit, AppointmentTypeDTO::getTypeId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
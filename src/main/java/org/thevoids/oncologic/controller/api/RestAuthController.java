@@ -8,11 +8,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -22,17 +24,11 @@ import org.thevoids.oncologic.dto.entity.AuthRequest;
 import org.thevoids.oncologic.dto.custom.AuthResponseDTO;
 import org.thevoids.oncologic.service.impl.CustomUserDetailsServiceImpl;
 import org.thevoids.oncologic.utils.JwtService;
-import org.thevoids.oncologic.dto.entity.RoleWithPermissionsDTO;
-import org.thevoids.oncologic.dto.entity.PermissionDTO;
-import org.thevoids.oncologic.entity.User;
-import org.thevoids.oncologic.entity.Role;
-import org.thevoids.oncologic.entity.Permission;
-import org.thevoids.oncologic.service.UserService;
-import org.thevoids.oncologic.service.AssignedRoles;
-import org.thevoids.oncologic.service.RolePermissionService;
+import org.thevoids.oncologic.service.AuthService;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -48,16 +44,17 @@ public class RestAuthController {
     private AuthenticationManager authenticationManager;
 
     @Autowired
-    private UserService userService;
+    private AuthService authService;
 
     @Autowired
-    private AssignedRoles assignedRolesService;
-
-    @Autowired
-    private RolePermissionService rolePermissionService;
+    @Qualifier("passwordHashingExecutor")
+    private Executor passwordHashingExecutor;
 
     /**
      * Login method to authenticate user and generate JWT token.
+     * Authentication runs on the password hashing pool, so the request thread
+     * is released while BCrypt is working; when that pool is saturated the
+     * request is answered with 503.
      * 
      * @param request AuthRequest object containing username and password
      * @return JWT token if authentication is successful
@@ -66,41 +63,33 @@ public class RestAuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Autenticación exitosa", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponseDTO.class))),
             @ApiResponse(responseCode = "401", description = "Credenciales inválidas"),
-            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
+            @ApiResponse(responseCode = "503", description = "Demasiados inicios de sesión simultáneos")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> login(
             @Parameter(description = "Datos de autenticación") @RequestBody AuthRequest request) {
         try {
-            authenticationManager.authenticate(
+            return CompletableFuture.supplyAsync(() -> authenticate(request), passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build());
+        }
+    }
+
+    private ResponseEntity<AuthResponseDTO> authenticate(AuthRequest request) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getUsername(),
                             request.getPassword()));
 
-            UserDetails userDetails = customUserDetailsServiceImpl.loadUserByUsername(request.getUsername());
+            // The authenticated principal already carries the user's authorities
+            UserDetails userDetails = authentication != null && authentication.getPrincipal() instanceof UserDetails principal
+                    ? principal
+                    : customUserDetailsServiceImpl.loadUserByUsername(request.getUsername());
             String token = jwtService.generateToken(userDetails);
-            // Obtener el usuario por username
-            User user = userService.getUserByIdentification(request.getUsername());
-            // Obtener los roles del usuario
-            List<Role> userRoles = assignedRolesService.getRolesFromUser(user.getUserId());
-            // Convertir roles a DTO con permisos
-            List<RoleWithPermissionsDTO> rolesWithPermissions = userRoles.stream()
-                    .map(role -> {
-                        List<Permission> rolePermissions = rolePermissionService
-                                .getPermissionsFromRole(role.getRoleId());
-                        List<PermissionDTO> permissionDTOs = rolePermissions.stream()
-                                .map(permission -> new PermissionDTO(
-                                        permission.getPermissionId(),
-                                        permission.getPermissionName()))
-                                .collect(Collectors.toList());
-                        return new RoleWithPermissionsDTO(
-                                role.getRoleId(),
-                                role.getRoleName(),
-                                permissionDTOs);
-                    })
-                    .collect(Collectors.toList());
-            return ResponseEntity
-                    .ok(new AuthResponseDTO(token, request.getUsername(), user.getUserId(), rolesWithPermissions));
+            return ResponseEntity.ok(authService.buildAuthResponse(request.getUsername(), token));
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         } catch (Exception e) {
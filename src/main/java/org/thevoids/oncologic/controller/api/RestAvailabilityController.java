@@ -0,0 +1,75 @@
+package org.thevoids.oncologic.controller.api;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.dto.custom.AvailableSlotDTO;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.service.AvailabilityService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for searching free appointment slots.
+ */
+@RestController
+@RequestMapping("/api/v1/availability")
+@Tag(name = "Disponibilidad", description = "API para buscar horarios libres para agendar citas")
+public class RestAvailabilityController {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    /**
+     * Finds the first free slots for an appointment type with the doctors of a
+     * specialty, within their schedules and clinic assignments.
+     *
+     * @param specialtyId       the specialty the doctor must practise.
+     * @param appointmentTypeId the appointment type, which gives the slot length.
+     * @param from              start of the search range.
+     * @param to                end of the search range.
+     * @param limit             maximum number of slots to return.
+     * @return the free slots ordered by start time.
+     */
+    @Operation(summary = "Buscar horarios libres", description = "Devuelve los primeros horarios libres de los médicos de una especialidad para un tipo de cita, según sus horarios, asignaciones de clínica y citas ya agendadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Horarios libres encontrados", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AvailableSlotDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Parámetros de búsqueda inválidos"),
+            @ApiResponse(responseCode = "404", description = "Tipo de cita no encontrado"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver citas")
+    })
+    @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
+    @GetMapping
+    public ResponseEntity<List<AvailableSlotDTO>> findFreeSlots(
+            @Parameter(description = "ID de la especialidad") @RequestParam Long specialtyId,
+            @Parameter(description = "ID del tipo de cita") @RequestParam Long appointmentTypeId,
+            @Parameter(description = "Inicio del rango de búsqueda (ISO 8601)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @Parameter(description = "Fin del rango de búsqueda (ISO 8601)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @Parameter(description = "Número máximo de horarios (1-200)") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(availabilityService.findFreeSlots(specialtyId, appointmentTypeId, from, to, limit));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
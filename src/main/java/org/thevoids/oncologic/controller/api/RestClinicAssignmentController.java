@@ -14,11 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.thevoids.oncologic.dto.entity.ClinicAssignmentDTO;
 import org.thevoids.oncologic.entity.ClinicAssignment;
 import org.thevoids.oncologic.mapper.ClinicAssignmentMapper;
 import org.thevoids.oncologic.service.ClinicAssigmentService;
+import org.thevoids.oncologic.utils.KeysetPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -43,6 +45,8 @@ public class RestClinicAssignmentController {
     /**
      * Retrieves all clinic assignments.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all clinic assignments as DTOs.
      */
     @Operation(summary = "Obtener todas las asignaciones", description = "Recupera una lista de todas las asignaciones de médicos a clínicas")
@@ -53,12 +57,14 @@ public class RestClinicAssignmentController {
     })
     @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
     @GetMapping
-    public ResponseEntity<List<ClinicAssignmentDTO>> getAllClinicAssignments() {
+    public ResponseEntity<List<ClinicAssignmentDTO>> getAllClinicAssignments(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<ClinicAssignmentDTO> assignments = clinicAssigmentService.getAllClinicAssignments().stream()
+            List<ClinicAssignmentDTO> assignments = clinicAssigmentService.getClinicAssignmentsAfter(after, KeysetPage.fetchSize(limit)).stream()
                     .map(clinicAssignmentMapper::toClinicAssignmentDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(assignments);
+            return KeysetPage.ok(assignments, limit, ClinicAssignmentDTO::getId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
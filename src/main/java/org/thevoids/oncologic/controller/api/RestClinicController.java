@@ -21,11 +21,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.thevoids.oncologic.dto.entity.ClinicDTO;
 import org.thevoids.oncologic.entity.Clinic;
 import org.thevoids.oncologic.mapper.ClinicMapper;
 import org.thevoids.oncologic.service.ClinicService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 /**
  * REST controller for managing clinics.
@@ -43,6 +45,8 @@ public class RestClinicController {
     /**
      * Retrieves all clinics.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all clinics as DTOs.
      */
     @Operation(summary = "Obtener todas las clínicas", description = "Recupera una lista de todas las clínicas registradas")
@@ -53,12 +57,14 @@ public class RestClinicController {
     })
     @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
     @GetMapping
-    public ResponseEntity<List<ClinicDTO>> getAllClinics() {
+    public ResponseEntity<List<ClinicDTO>> getAllClinics(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<ClinicDTO> clinics = clinicService.getAllClinics().stream()
+            List<ClinicDTO> clinics = clinicService.getClinicsAfter(after, KeysetPage.fetchSize(limit)).stream()
                     .map(clinicMapper::toClinicDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(clinics);
+            return KeysetPage.ok(clinics, limit, ClinicDTO::getId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,67 @@
+package org.thevoids.oncologic.controller.api;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.service.ClinicalSearchService;
+
+@RestController
+@RequestMapping("/api/v1/search/clinical")
+@Tag(name = "Búsqueda clínica", description = "API para buscar texto en historias médicas y laboratorios")
+public class RestClinicalSearchController {
+    private final ClinicalSearchService clinicalSearchService;
+
+    public RestClinicalSearchController(ClinicalSearchService clinicalSearchService) {
+        this.clinicalSearchService = clinicalSearchService;
+    }
+
+    /**
+     * Searches the diagnosis, treatment and medications of the medical
+     * histories, the test type and result of the labs and the text extracted
+     * from lab attachments.
+     *
+     * @param q     the words to search for; every word must appear.
+     * @param type  optional record type to restrict the search to.
+     * @param limit maximum number of hits (1-100).
+     * @return the matching records, best match first.
+     */
+    @Operation(summary = "Buscar en historias médicas y laboratorios", description = "Devuelve las historias médicas, laboratorios y adjuntos de laboratorio que contienen todas las palabras de la búsqueda, sin distinguir mayúsculas ni tildes, ordenados por relevancia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados obtenidos exitosamente", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ClinicalSearchHitDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Búsqueda vacía"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver historias médicas o laboratorios")
+    })
+    @PreAuthorize("hasAuthority('VIEW_MEDICAL_HISTORIES') and hasAuthority('VIEW_LABS')")
+    @GetMapping
+    public ResponseEntity<List<ClinicalSearchHitDTO>> search(
+            @Parameter(description = "Palabras a buscar") @RequestParam String q,
+            @Parameter(description = "Tipo de registro (MEDICAL_HISTORY, LAB o LAB_ATTACHMENT); por defecto todos") @RequestParam(required = false) ClinicalRecordType type,
+            @Parameter(description = "Cantidad máxima de resultados (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(clinicalSearchService.search(q, type, limit));
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        }
+    }
+}
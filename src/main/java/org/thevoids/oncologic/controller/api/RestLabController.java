@@ -1,14 +1,16 @@
 package org.thevoids.oncologic.controller.api;
 
-import java.net.MalformedURLException;
-import java.nio.file.Path;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -24,11 +26,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.thevoids.oncologic.attachment.AttachmentDerivative;
+import org.thevoids.oncologic.attachment.AttachmentPipeline;
+import org.thevoids.oncologic.dto.custom.BulkLabResultDTO;
 import org.thevoids.oncologic.dto.entity.LabDTO;
 import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.service.FileService;
+import org.thevoids.oncologic.service.LabIngestionService;
 import org.thevoids.oncologic.service.LabService;
+import org.thevoids.oncologic.utils.FileDownloader;
+import org.thevoids.oncologic.utils.KeysetPage;
+import org.thevoids.oncologic.utils.NdjsonExport;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -39,6 +49,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/v1/labs")
@@ -50,10 +62,18 @@ public class RestLabController {
     private FileService fileService;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private LabIngestionService labIngestionService;
+    @Autowired
+    private FileDownloader fileDownloader;
+    @Autowired
+    private AttachmentPipeline attachmentPipeline;
 
     /**
      * Retrieves all labs.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all labs as DTOs.
      */
     @Operation(summary = "Obtener todos los exámenes", description = "Recupera una lista de todos los exámenes de laboratorio")
@@ -63,15 +83,35 @@ public class RestLabController {
     })
     @PreAuthorize("hasAuthority('VIEW_LABS')")
     @GetMapping
-    public ResponseEntity<List<LabDTO>> getAllLabs() {
+    public ResponseEntity<List<LabDTO>> getAllLabs(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<LabDTO> labs = labService.getAllLabs();
-            return ResponseEntity.ok(labs);
+            List<LabDTO> labs = labService.getLabsAfter(after, KeysetPage.fetchSize(limit));
+            return KeysetPage.ok(labs, limit, LabDTO::getLabId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Exports all labs as newline-delimited JSON, one lab per line.
+     * Rows are streamed from the database as they are written, so the export
+     * works for tables of any size.
+     *
+     * @return a streaming NDJSON body.
+     */
+    @Operation(summary = "Exportar exámenes", description = "Exporta todos los exámenes de laboratorio en formato NDJSON (un examen por línea)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación de exámenes generada exitosamente", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = LabDTO.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver exámenes")
+    })
+    @PreAuthorize("hasAuthority('VIEW_LABS')")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportLabs() {
+        return NdjsonExport.ok("labs.ndjson", objectMapper, labService::forEachLabForExport);
+    }
+
     /**
      * Retrieves a specific lab by its ID.
      *
@@ -131,6 +171,63 @@ public class RestLabController {
         }
     }
 
+    /**
+     * Orders labs and ingests lab results in bulk from a JSON array. Rows
+     * without an ID create labs; rows with an ID update only the fields they
+     * carry. A failing row does not stop the others.
+     *
+     * @param labs the rows to ingest.
+     * @return one result per row, in input order.
+     */
+    @Operation(summary = "Cargar exámenes en lote (JSON)", description = "Crea o actualiza miles de exámenes a la vez; las filas con ID actualizan el examen existente y cada fila reporta su resultado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada fila", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkLabResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para crear y actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('ASSIGN_LABS') and hasAuthority('UPDATE_LABS')")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkLabResultDTO>> ingestLabs(
+            @Parameter(description = "Exámenes a crear o actualizar") @RequestBody List<LabDTO> labs) {
+        try {
+            return ResponseEntity.ok(labIngestionService.ingestLabs(labs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Same as {@link #ingestLabs(List)} for a CSV body whose header names the
+     * lab fields (labId, patientId, labTechnicianId, testType, requestDate,
+     * completionDate, result, attachment). The body is read as UTF-8 unless the
+     * request declares another charset.
+     *
+     * @param request the request carrying the CSV body.
+     * @return one result per data row, in input order.
+     */
+    @Operation(summary = "Cargar exámenes en lote (CSV)", description = "Igual que la carga JSON pero a partir de un CSV con encabezado (labId, patientId, labTechnicianId, testType, requestDate, completionDate, result, attachment)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; ver el estado de cada fila", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkLabResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "CSV vacío, con columnas desconocidas o demasiado grande"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para crear y actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('ASSIGN_LABS') and hasAuthority('UPDATE_LABS')")
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<List<BulkLabResultDTO>> ingestLabsCsv(HttpServletRequest request) {
+        try {
+            if (request.getCharacterEncoding() == null) {
+                request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            }
+            return ResponseEntity.ok(labIngestionService.ingestLabsCsv(request.getReader()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Updates a lab by its ID.
      *
@@ -259,39 +356,89 @@ public class RestLabController {
     }
 
     /**
-     * Serves uploaded files.
+     * Serves uploaded files, with conditional GET and byte ranges (see
+     * {@link FileDownloader}), or redirects to the storage when it offers
+     * direct downloads.
      *
      * @param filename the name of the file to serve.
-     * @return the file as a Resource.
+     * @param request  the request, for its conditional and range headers.
+     * @param response the response the file is written to.
      */
-    @Operation(summary = "Descargar archivo adjunto", description = "Descarga un archivo adjunto de un examen de laboratorio")
+    @Operation(summary = "Descargar archivo adjunto", description = "Descarga un archivo adjunto de un examen de laboratorio. Admite peticiones condicionales (ETag, If-None-Match, If-Modified-Since) y rangos de bytes (Range). Si el almacenamiento es externo (S3), redirige a una URL firmada y temporal desde la que se descarga directamente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Archivo descargado exitosamente"),
+            @ApiResponse(responseCode = "206", description = "Rango del archivo descargado exitosamente"),
+            @ApiResponse(responseCode = "302", description = "Redirección a la URL de descarga directa del almacenamiento"),
+            @ApiResponse(responseCode = "304", description = "El archivo no ha cambiado"),
             @ApiResponse(responseCode = "404", description = "Archivo no encontrado"),
+            @ApiResponse(responseCode = "416", description = "Rango fuera del archivo"),
             @ApiResponse(responseCode = "403", description = "No autorizado para descargar archivos")
     })
     @PreAuthorize("hasAuthority('VIEW_LABS')")
     @GetMapping("/files/{filename:.+}")
-    public ResponseEntity<Resource> serveFile(
-            @Parameter(description = "Nombre del archivo a descargar") @PathVariable String filename) {
+    public void serveFile(
+            @Parameter(description = "Nombre del archivo a descargar") @PathVariable String filename,
+            HttpServletRequest request, HttpServletResponse response) {
         try {
             String filePath = "labs/" + filename;
-            String fullPath = fileService.getFullPath(filePath);
-            Path path = Paths.get(fullPath);
-            Resource resource = new UrlResource(path.toUri());
+            sendStoredFile(request, response, filePath, filename, fileService.isImmutable(filePath));
+        } catch (Exception e) {
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
 
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .body(resource);
+    /**
+     * Serves a file derived from a lab's attachment in the background: a
+     * thumbnail, a recompressed preview of a large image or the extracted
+     * text (see {@link AttachmentPipeline}).
+     *
+     * @param id         the ID of the lab.
+     * @param derivative the derived file: thumbnail, preview or text.
+     * @param request    the request, for its conditional and range headers.
+     * @param response   the response the file is written to; 202 with
+     *                   Retry-After while the attachment is being processed.
+     */
+    @Operation(summary = "Descargar derivado del adjunto", description = "Descarga la miniatura (thumbnail), la vista previa comprimida (preview) o el texto extraído (text) del adjunto de un examen. Se generan en segundo plano después de la carga; mientras tanto se responde 202 con Retry-After")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo descargado exitosamente"),
+            @ApiResponse(responseCode = "202", description = "El adjunto aún se está procesando"),
+            @ApiResponse(responseCode = "302", description = "Redirección a la URL de descarga directa del almacenamiento"),
+            @ApiResponse(responseCode = "304", description = "El archivo no ha cambiado"),
+            @ApiResponse(responseCode = "404", description = "Examen no encontrado o el adjunto no tiene este derivado"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver exámenes")
+    })
+    @PreAuthorize("hasAuthority('VIEW_LABS')")
+    @GetMapping("/{id}/attachment/{derivative}")
+    public void serveAttachmentDerivative(
+            @Parameter(description = "ID del examen") @PathVariable Long id,
+            @Parameter(description = "Derivado: thumbnail, preview o text") @PathVariable String derivative,
+            HttpServletRequest request, HttpServletResponse response) {
+        try {
+            AttachmentDerivative kind = AttachmentDerivative.fromPathName(derivative).orElse(null);
+            if (kind == null) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            LabDTO lab = labService.getLabById(id);
+            String file = attachmentPipeline.find(lab, kind).orElse(null);
+            if (file != null) {
+                sendStoredFile(request, response, file, kind.getFileName(), fileService.isImmutable(lab.getAttachment()));
+            } else if (attachmentPipeline.isPending(lab)) {
+                response.setStatus(HttpStatus.ACCEPTED.value());
+                response.setHeader("Retry-After", "5");
             } else {
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpStatus.NOT_FOUND.value());
             }
-        } catch (MalformedURLException e) {
-            return ResponseEntity.badRequest().build();
+        } catch (ResourceNotFoundException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
@@ -323,4 +470,31 @@ public class RestLabController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Sends a stored file: a redirect to the storage's direct download URL
+     * when it has one, so the bytes skip the application; the local file,
+     * with ranges and sendfile; or else its content streamed from the storage.
+     */
+    private void sendStoredFile(HttpServletRequest request, HttpServletResponse response, String filePath,
+            String downloadName, boolean immutable) throws IOException {
+        Optional<URI> url = fileService.getDownloadUrl(filePath, downloadName);
+        if (url.isPresent()) {
+            // The URL expires, so the redirect must not be cached
+            response.setStatus(HttpStatus.FOUND.value());
+            response.setHeader(HttpHeaders.LOCATION, url.get().toString());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            return;
+        }
+        String fullPath = fileService.getFullPath(filePath);
+        if (fullPath != null) {
+            fileDownloader.send(request, response, Paths.get(fullPath), downloadName, immutable);
+            return;
+        }
+        try {
+            fileDownloader.send(response, fileService.openFile(filePath), downloadName, immutable);
+        } catch (NoSuchFileException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+        }
+    }
 }
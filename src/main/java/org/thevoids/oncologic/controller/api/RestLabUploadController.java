@@ -0,0 +1,229 @@
+package org.thevoids.oncologic.controller.api;
+
+import java.net.URI;
+import java.security.Principal;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.dto.custom.LabUploadDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.exception.UploadOffsetMismatchException;
+import org.thevoids.oncologic.service.LabUploadService;
+
+@RestController
+@RequestMapping("/api/v1/labs/uploads")
+@Tag(name = "Cargas de archivos de laboratorio", description = "API para subir adjuntos grandes de laboratorio por partes, con reanudación")
+public class RestLabUploadController {
+    private final LabUploadService labUploadService;
+
+    public RestLabUploadController(LabUploadService labUploadService) {
+        this.labUploadService = labUploadService;
+    }
+
+    /**
+     * Starts a resumable upload of an attachment for an existing lab.
+     *
+     * @param upload    the lab ID and the file's name, content type and size.
+     * @param principal the user starting the upload; only they can continue it.
+     * @return the new upload, at offset 0.
+     */
+    @Operation(summary = "Iniciar carga por partes", description = "Reserva un archivo del tamaño indicado para el adjunto de un examen; las partes se envían luego con PUT")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Carga iniciada exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LabUploadDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Tipo o tamaño de archivo inválido"),
+            @ApiResponse(responseCode = "404", description = "Examen no encontrado"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('UPDATE_LABS')")
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LabUploadDTO> startUpload(@RequestBody LabUploadDTO upload, Principal principal) {
+        try {
+            LabUploadDTO started = labUploadService.startUpload(upload, ownerOf(principal));
+            return ResponseEntity.created(URI.create("/api/v1/labs/uploads/" + started.getUploadId()))
+                    .body(started);
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        }
+    }
+
+    /**
+     * Returns an upload; its offset is where the next chunk must start.
+     *
+     * @param uploadId  the ID of the upload.
+     * @param principal the user who started the upload.
+     * @return the upload.
+     */
+    @Operation(summary = "Consultar carga por partes", description = "Devuelve la carga; el offset indica cuántos bytes se han recibido y dónde debe empezar la siguiente parte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Carga recuperada exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LabUploadDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Carga no encontrada o expirada"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('UPDATE_LABS')")
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<LabUploadDTO> getUpload(
+            @Parameter(description = "ID de la carga") @PathVariable String uploadId, Principal principal) {
+        try {
+            return ResponseEntity.ok(labUploadService.getUpload(uploadId, ownerOf(principal)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        }
+    }
+
+    /**
+     * Writes the raw request body at {@code offset}. The body is read as it
+     * arrives and never parsed as multipart, so chunks can be of any size.
+     *
+     * @param uploadId  the ID of the upload.
+     * @param offset    the position of the chunk; must equal the upload's offset.
+     * @param request   the request whose body is the chunk.
+     * @param principal the user who started the upload.
+     * @return the upload with its new offset; on 409, the upload as it is.
+     */
+    @Operation(summary = "Enviar parte", description = "Escribe el cuerpo de la petición (application/octet-stream) en la posición indicada. Si la conexión se corta, se conservan los bytes recibidos y se continúa desde el offset de la carga")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parte recibida exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LabUploadDTO.class))),
+            @ApiResponse(responseCode = "400", description = "La parte excede el tamaño declarado"),
+            @ApiResponse(responseCode = "404", description = "Carga no encontrada o expirada"),
+            @ApiResponse(responseCode = "409", description = "El offset no coincide con los bytes recibidos u otra parte se está escribiendo", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LabUploadDTO.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado para actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('UPDATE_LABS')")
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<LabUploadDTO> appendChunk(
+            @Parameter(description = "ID de la carga") @PathVariable String uploadId,
+            @Parameter(description = "Posición de la parte en el archivo") @RequestParam long offset,
+            HttpServletRequest request, Principal principal) {
+        String owner = ownerOf(principal);
+        try {
+            return ResponseEntity.ok(labUploadService.appendChunk(uploadId, offset, request.getInputStream(), owner));
+        } catch (UploadOffsetMismatchException e) {
+            return conflict(uploadId, owner);
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        }
+    }
+
+    /**
+     * Finishes an upload whose bytes have all arrived: the file becomes the
+     * lab's attachment, replacing the previous one.
+     *
+     * @param uploadId  the ID of the upload.
+     * @param principal the user who started the upload.
+     * @return the updated lab; on 409, the upload with the bytes received.
+     */
+    @Operation(summary = "Completar carga por partes", description = "Guarda el archivo recibido como adjunto del examen, reemplazando el anterior, y finaliza la carga")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Adjunto guardado exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LabDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Carga o examen no encontrado"),
+            @ApiResponse(responseCode = "409", description = "Faltan bytes por recibir", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LabUploadDTO.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado para actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('UPDATE_LABS')")
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(
+            @Parameter(description = "ID de la carga") @PathVariable String uploadId, Principal principal) {
+        String owner = ownerOf(principal);
+        try {
+            return ResponseEntity.ok(labUploadService.completeUpload(uploadId, owner));
+        } catch (UploadOffsetMismatchException e) {
+            return conflict(uploadId, owner);
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(null);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        }
+    }
+
+    /**
+     * Cancels an upload and deletes what was received.
+     *
+     * @param uploadId  the ID of the upload.
+     * @param principal the user who started the upload.
+     * @return a response entity with no content.
+     */
+    @Operation(summary = "Cancelar carga por partes", description = "Cancela la carga y elimina los bytes recibidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Carga cancelada exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Carga no encontrada o expirada"),
+            @ApiResponse(responseCode = "409", description = "Una parte se está escribiendo"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para actualizar exámenes")
+    })
+    @PreAuthorize("hasAuthority('UPDATE_LABS')")
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(
+            @Parameter(description = "ID de la carga") @PathVariable String uploadId, Principal principal) {
+        try {
+            labUploadService.cancelUpload(uploadId, ownerOf(principal));
+            return ResponseEntity.noContent().build();
+        } catch (UploadOffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * A 409 carrying the upload's current offset, so the client knows where
+     * to resume without another request.
+     */
+    private ResponseEntity<LabUploadDTO> conflict(String uploadId, String owner) {
+        try {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(labUploadService.getUpload(uploadId, owner));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+        }
+    }
+
+    private static String ownerOf(Principal principal) {
+        return principal != null ? principal.getName() : null;
+    }
+}
@@ -15,22 +15,31 @@ import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
 import org.thevoids.oncologic.service.MedicalHistoryService;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import java.util.List;
+import org.thevoids.oncologic.utils.NdjsonExport;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/v1/medical-histories")
 @Tag(name = "Historias Médicas", description = "API para la gestión de historias médicas de pacientes")
 public class RestMedicalHistoryController {
     private final MedicalHistoryService medicalHistoryService;
+    private final ObjectMapper objectMapper;
 
-    public RestMedicalHistoryController(MedicalHistoryService medicalHistoryService) {
+    public RestMedicalHistoryController(MedicalHistoryService medicalHistoryService, ObjectMapper objectMapper) {
         this.medicalHistoryService = medicalHistoryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Retrieves all medical histories.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all medical histories as DTOs.
      */
     @Operation(summary = "Obtener todas las historias médicas", description = "Recupera una lista de todas las historias médicas")
@@ -40,15 +49,35 @@ public class RestMedicalHistoryController {
     })
     @PreAuthorize("hasAuthority('VIEW_MEDICAL_HISTORIES')")
     @GetMapping
-    public ResponseEntity<List<MedicalHistoryDTO>> getAllMedicalHistories() {
+    public ResponseEntity<List<MedicalHistoryDTO>> getAllMedicalHistories(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<MedicalHistoryDTO> histories = medicalHistoryService.getAllMedicalHistories();
-            return ResponseEntity.ok(histories);
+            List<MedicalHistoryDTO> histories = medicalHistoryService.getMedicalHistoriesAfter(after, KeysetPage.fetchSize(limit));
+            return KeysetPage.ok(histories, limit, MedicalHistoryDTO::getHistoryId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    /**
+     * Exports all medical histories as newline-delimited JSON, one medical history per line.
+     * Rows are streamed from the database as they are written, so the export
+     * works for tables of any size.
+     *
+     * @return a streaming NDJSON body.
+     */
+    @Operation(summary = "Exportar historias médicas", description = "Exporta todas las historias médicas en formato NDJSON (una historia por línea)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación de historias médicas generada exitosamente", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = MedicalHistoryDTO.class))),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver historias médicas")
+    })
+    @PreAuthorize("hasAuthority('VIEW_MEDICAL_HISTORIES')")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMedicalHistories() {
+        return NdjsonExport.ok("medical-histories.ndjson", objectMapper, medicalHistoryService::forEachMedicalHistoryForExport);
+    }
+
     /**
      * Retrieves a specific medical history by its ID.
      *
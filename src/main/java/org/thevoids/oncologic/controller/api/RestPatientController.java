@@ -11,10 +11,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.thevoids.oncologic.dto.custom.PatientChartDTO;
 import org.thevoids.oncologic.dto.entity.PatientDTO;
 import org.thevoids.oncologic.service.PatientService;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import java.util.List;
 
@@ -31,6 +33,8 @@ public class RestPatientController {
     /**
      * Retrieves all patients.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all patients as DTOs.
      */
     @Operation(summary = "Obtener todos los pacientes", description = "Recupera una lista de todos los pacientes registrados")
@@ -40,10 +44,12 @@ public class RestPatientController {
     })
     @PreAuthorize("hasAuthority('VIEW_PATIENTS')")
     @GetMapping
-    public ResponseEntity<List<PatientDTO>> getAllPatients() {
+    public ResponseEntity<List<PatientDTO>> getAllPatients(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<PatientDTO> patients = patientService.getAllPatients();
-            return ResponseEntity.ok(patients);
+            List<PatientDTO> patients = patientService.getPatientsAfter(after, KeysetPage.fetchSize(limit));
+            return KeysetPage.ok(patients, limit, PatientDTO::getPatientId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(null);
@@ -81,6 +87,42 @@ public class RestPatientController {
         }
     }
 
+    /**
+     * Retrieves a patient's chart in a single request: the patient, their most
+     * recent medical histories and labs and their upcoming appointments with
+     * tasks.
+     *
+     * @param id               the ID of the patient.
+     * @param historyLimit     maximum number of medical histories (0-100).
+     * @param labLimit         maximum number of labs (0-100).
+     * @param appointmentLimit maximum number of upcoming appointments (0-100).
+     * @return the patient's chart.
+     */
+    @Operation(summary = "Obtener el expediente del paciente", description = "Recupera en una sola petición el paciente, sus historias médicas y laboratorios más recientes y sus próximas citas con sus tareas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Expediente obtenido exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PatientChartDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Paciente no encontrado"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver el expediente")
+    })
+    @PreAuthorize("hasAuthority('VIEW_PATIENTS') and hasAuthority('VIEW_MEDICAL_HISTORIES') "
+            + "and hasAuthority('VIEW_LABS') and hasAuthority('VIEW_APPOINTMENTS')")
+    @GetMapping("/{id}/chart")
+    public ResponseEntity<PatientChartDTO> getPatientChart(
+            @Parameter(description = "ID del paciente") @PathVariable Long id,
+            @Parameter(description = "Cantidad máxima de historias médicas (0-100)") @RequestParam(defaultValue = "10") int historyLimit,
+            @Parameter(description = "Cantidad máxima de laboratorios (0-100)") @RequestParam(defaultValue = "10") int labLimit,
+            @Parameter(description = "Cantidad máxima de próximas citas (0-100)") @RequestParam(defaultValue = "10") int appointmentLimit) {
+        try {
+            return ResponseEntity.ok(patientService.getPatientChart(id, historyLimit, labLimit, appointmentLimit));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(null);
+        }
+    }
+
     /**
      * Creates a new patient.
      *
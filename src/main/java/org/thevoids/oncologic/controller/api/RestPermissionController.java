@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.thevoids.oncologic.dto.entity.PermissionDTO;
 import org.thevoids.oncologic.entity.Permission;
@@ -22,6 +23,7 @@ import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.PermissionMapper;
 import org.thevoids.oncologic.service.PermissionService;
+import org.thevoids.oncologic.utils.KeysetPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -44,6 +46,8 @@ public class RestPermissionController {
     /**
      * Retrieves all permissions.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all permissions as DTOs.
      */
     @Operation(summary = "Obtener todos los permisos", description = "Recupera una lista de todos los permisos disponibles")
@@ -54,13 +58,15 @@ public class RestPermissionController {
     })
     @PreAuthorize("hasAuthority('VIEW_PERMISSIONS')")
     @GetMapping
-    public ResponseEntity<List<PermissionDTO>> getAllPermissions() {
+    public ResponseEntity<List<PermissionDTO>> getAllPermissions(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<Permission> permissions = permissionService.getAllPermissions();
+            List<Permission> permissions = permissionService.getPermissionsAfter(after, KeysetPage.fetchSize(limit));
             List<PermissionDTO> permissionDTOs = permissions.stream()
                     .map(permissionMapper::toPermissionDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(permissionDTOs);
+            return KeysetPage.ok(permissionDTOs, limit, PermissionDTO::getPermissionId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,58 @@
+package org.thevoids.oncologic.controller.api;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.cache.BoundedTtlCache;
+import org.thevoids.oncologic.cache.ReferenceCaches;
+import org.thevoids.oncologic.dto.custom.ReferenceCacheStatsDTO;
+
+@RestController
+@RequestMapping("/api/v1/admin/reference-cache")
+@Tag(name = "Caché de datos de referencia", description = "API para consultar las estadísticas de la caché de tipos de cita, especialidades, clínicas, permisos y roles")
+public class RestReferenceCacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Gets the hit, miss and eviction counters of every reference-data cache.
+     *
+     * @return a response with one entry per cache.
+     */
+    @Operation(summary = "Obtener estadísticas de la caché de datos de referencia", description = "Recupera los aciertos, fallos, desalojos y la tasa de aciertos de cada caché de datos de referencia")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas recuperadas exitosamente",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ReferenceCacheStatsDTO.class)))),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado")
+    })
+    @GetMapping
+    public ResponseEntity<List<ReferenceCacheStatsDTO>> getStats() {
+        List<ReferenceCacheStatsDTO> stats = ReferenceCaches.ALL.stream()
+                .map(cacheManager::getCache)
+                .filter(BoundedTtlCache.class::isInstance)
+                .map(BoundedTtlCache.class::cast)
+                .map(RestReferenceCacheController::toStats)
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+
+    private static ReferenceCacheStatsDTO toStats(BoundedTtlCache cache) {
+        long hits = cache.getHits();
+        long lookups = hits + cache.getMisses();
+        return new ReferenceCacheStatsDTO(cache.getName(), hits, cache.getMisses(), cache.getEvictions(), cache.size(),
+                lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.thevoids.oncologic.dto.entity.RoleDTO;
 import org.thevoids.oncologic.dto.entity.RoleWithPermissionsDTO;
@@ -24,6 +25,7 @@ import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.RoleMapper;
 import org.thevoids.oncologic.service.RolePermissionService;
 import org.thevoids.oncologic.service.RoleService;
+import org.thevoids.oncologic.utils.KeysetPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -49,6 +51,8 @@ public class RestRoleController {
     /**
      * Retrieves all roles.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all roles as DTOs.
      */
     @Operation(summary = "Obtener todos los roles", description = "Recupera una lista de todos los roles disponibles")
@@ -59,13 +63,15 @@ public class RestRoleController {
     })
     @PreAuthorize("hasAuthority('VIEW_ROLES')")
     @GetMapping
-    public ResponseEntity<List<RoleDTO>> getAllRoles() {
+    public ResponseEntity<List<RoleDTO>> getAllRoles(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<Role> roles = roleService.getAllRoles();
+            List<Role> roles = roleService.getRolesAfter(after, KeysetPage.fetchSize(limit));
             List<RoleDTO> roleDTOs = roles.stream()
                     .map(roleMapper::toRoleDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(roleDTOs);
+            return KeysetPage.ok(roleDTOs, limit, RoleDTO::getRoleId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -91,7 +97,7 @@ public class RestRoleController {
         @PathVariable Long roleId
     ) {
         try {
-            Role role = roleService.getRole(roleId);
+            Role role = roleService.getRoleWithPermissions(roleId);
             RoleWithPermissionsDTO roleDTO = roleMapper.toRoleWithPermissionsDTO(role);
             return ResponseEntity.ok(roleDTO);
         } catch (ResourceNotFoundException e) {
@@ -223,7 +229,7 @@ public class RestRoleController {
     ) {
         try {
             rolePermissionService.assignPermissionToRole(permissionId, roleId);
-            RoleWithPermissionsDTO roleWithPermissionsDTO = roleMapper.toRoleWithPermissionsDTO(roleService.getRole(roleId));
+            RoleWithPermissionsDTO roleWithPermissionsDTO = roleMapper.toRoleWithPermissionsDTO(roleService.getRoleWithPermissions(roleId));
             return ResponseEntity.ok(roleWithPermissionsDTO);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -257,7 +263,7 @@ public class RestRoleController {
     ) {
         try {
             rolePermissionService.removePermissionFromRole(permissionId, roleId);
-            RoleWithPermissionsDTO roleWithPermissionsDTO = roleMapper.toRoleWithPermissionsDTO(roleService.getRole(roleId));
+            RoleWithPermissionsDTO roleWithPermissionsDTO = roleMapper.toRoleWithPermissionsDTO(roleService.getRoleWithPermissions(roleId));
             return ResponseEntity.ok(roleWithPermissionsDTO);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -16,6 +16,7 @@ import org.thevoids.oncologic.dto.entity.ScheduleDTO;
 import org.thevoids.oncologic.service.ScheduleService;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import java.util.List;
 
@@ -33,6 +34,8 @@ public class RestScheduleController {
     /**
      * Retrieves all schedules.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a response entity containing a list of schedule DTOs.
      */
     @Operation(summary = "Obtener horario por ID", description = "Recupera un horario específico por su ID")
@@ -43,10 +46,12 @@ public class RestScheduleController {
     })
     @PreAuthorize("hasAuthority('VIEW_SCHEDULES')")
     @GetMapping
-    public ResponseEntity<List<ScheduleDTO>> getAllSchedules() {
+    public ResponseEntity<List<ScheduleDTO>> getAllSchedules(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<ScheduleDTO> schedules = scheduleService.getAllSchedules();
-            return ResponseEntity.ok(schedules);
+            List<ScheduleDTO> schedules = scheduleService.getSchedulesAfter(after, KeysetPage.fetchSize(limit));
+            return KeysetPage.ok(schedules, limit, ScheduleDTO::getScheduleId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(null);
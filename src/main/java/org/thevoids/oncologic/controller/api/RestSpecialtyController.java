@@ -17,6 +17,7 @@ import org.thevoids.oncologic.entity.Specialty;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.SpecialtyMapper;
 import org.thevoids.oncologic.service.SpecialtyService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -35,6 +36,8 @@ public class RestSpecialtyController {
     /**
      * Retrieves all specialties.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a response entity containing a list of specialty DTOs.
      */
     @Operation(summary = "Obtener todas las especialidades", description = "Retorna una lista de todas las especialidades médicas disponibles")
@@ -45,13 +48,15 @@ public class RestSpecialtyController {
     })
     @PreAuthorize("hasAuthority('VIEW_SPECIALTIES')")
     @GetMapping
-    public ResponseEntity<List<SpecialtyDTO>> getAllSpecialties() {
+    public ResponseEntity<List<SpecialtyDTO>> getAllSpecialties(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<Specialty> specialties = specialtyService.getAllSpecialties();
+            List<Specialty> specialties = specialtyService.getSpecialtiesAfter(after, KeysetPage.fetchSize(limit));
             List<SpecialtyDTO> specialtyDTOs = specialties.stream()
                     .map(specialtyMapper::toSpecialtyDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(specialtyDTOs);
+            return KeysetPage.ok(specialtyDTOs, limit, SpecialtyDTO::getSpecialtyId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
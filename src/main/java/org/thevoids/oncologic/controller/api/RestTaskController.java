@@ -16,6 +16,7 @@ import org.thevoids.oncologic.dto.entity.TaskDTO;
 import org.thevoids.oncologic.entity.Task;
 import org.thevoids.oncologic.mapper.TaskMapper;
 import org.thevoids.oncologic.service.TaskService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -36,6 +37,8 @@ public class RestTaskController {
     /**
      * Retrieves all tasks.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all tasks as DTOs.
      */
     @Operation(summary = "Obtener todas las tareas", description = "Recupera una lista de todas las tareas médicas")
@@ -47,12 +50,14 @@ public class RestTaskController {
     })
     @PreAuthorize("hasAuthority('VIEW_APPOINTMENTS')")
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
+    public ResponseEntity<List<TaskDTO>> getAllTasks(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<TaskDTO> tasks = taskService.getAllTasks().stream()
+            List<TaskDTO> tasks = taskService.getTasksAfter(after, KeysetPage.fetchSize(limit)).stream()
                     .map(taskMapper::toTaskDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(tasks);
+            return KeysetPage.ok(tasks, limit, TaskDTO::getId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,44 @@
+package org.thevoids.oncologic.controller.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.dto.custom.TokenCacheStatsDTO;
+import org.thevoids.oncologic.security.jwt.VerifiedTokenCache;
+
+@RestController
+@RequestMapping("/api/v1/admin/token-cache")
+@Tag(name = "Caché de tokens", description = "API para consultar las estadísticas de la caché de tokens verificados")
+public class RestTokenCacheController {
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Gets the hit, miss and eviction counters of the verified-token cache.
+     *
+     * @return a response with the cache statistics.
+     */
+    @Operation(summary = "Obtener estadísticas de la caché de tokens", description = "Recupera los aciertos, fallos y desalojos de la caché de tokens verificados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas recuperadas exitosamente",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TokenCacheStatsDTO.class))),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado")
+    })
+    @GetMapping
+    public ResponseEntity<TokenCacheStatsDTO> getStats() {
+        return ResponseEntity.ok(new TokenCacheStatsDTO(
+                verifiedTokenCache.getHits(),
+                verifiedTokenCache.getMisses(),
+                verifiedTokenCache.getEvictions(),
+                verifiedTokenCache.size()));
+    }
+}
@@ -14,7 +14,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
 import org.thevoids.oncologic.dto.entity.RoleDTO;
 import org.thevoids.oncologic.dto.entity.UserDTO;
 import org.thevoids.oncologic.dto.entity.UserWithRolesDTO;
@@ -27,8 +29,10 @@ import org.thevoids.oncologic.mapper.RoleMapper;
 import org.thevoids.oncologic.mapper.UserMapper;
 import org.thevoids.oncologic.service.AssignedRoles;
 import org.thevoids.oncologic.service.UserService;
+import org.thevoids.oncologic.utils.KeysetPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -55,6 +59,8 @@ public class RestUserController {
     /**
      * Retrieves all users.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a list of all users as DTOs.
      */
     @Operation(summary = "Obtener todos los usuarios", description = "Recupera una lista de todos los usuarios del sistema")
@@ -65,13 +71,42 @@ public class RestUserController {
     })
     @PreAuthorize("hasAuthority('VIEW_USERS')")
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<User> users = userService.getAllUsers();
+            List<User> users = userService.getUsersAfter(after, KeysetPage.fetchSize(limit));
             List<UserDTO> userDTOs = users.stream()
                     .map(userMapper::toUserDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(userDTOs);
+            return KeysetPage.ok(userDTOs, limit, UserDTO::getUserId);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Finds users as their name, identification, phone or email is typed.
+     *
+     * @param q     what has been typed so far; every word must match.
+     * @param limit maximum number of users (1-50).
+     * @return the matching users, best match first.
+     */
+    @Operation(summary = "Buscar usuarios", description = "Búsqueda mientras se escribe por nombre, identificación, teléfono o correo, sin distinguir mayúsculas, tildes ni signos de puntuación")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Usuarios encontrados", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UserSearchHitDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Búsqueda vacía"),
+            @ApiResponse(responseCode = "403", description = "No autorizado para ver usuarios")
+    })
+    @PreAuthorize("hasAuthority('VIEW_USERS')")
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchHitDTO>> searchUsers(
+            @Parameter(description = "Texto escrito hasta el momento") @RequestParam String q,
+            @Parameter(description = "Cantidad máxima de resultados (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(userService.searchUsers(q, limit));
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -94,7 +129,7 @@ public class RestUserController {
     public ResponseEntity<UserWithRolesDTO> getUserById(
             @Parameter(description = "ID del usuario a buscar") @PathVariable Long userId) {
         try {
-            User user = userService.getUserById(userId);
+            User user = userService.getUserWithRoles(userId);
             UserWithRolesDTO userDTO = userMapper.toUserWithRolesDTO(user);
             return ResponseEntity.ok(userDTO);
         } catch (ResourceNotFoundException e) {
@@ -257,7 +292,7 @@ public class RestUserController {
             @Parameter(description = "ID del rol") @PathVariable Long roleId) {
         try {
             assignedRolesService.assignRoleToUser(roleId, userId);
-            UserWithRolesDTO userWithRolesDTO = userMapper.toUserWithRolesDTO(userService.getUserById(userId));
+            UserWithRolesDTO userWithRolesDTO = userMapper.toUserWithRolesDTO(userService.getUserWithRoles(userId));
             return ResponseEntity.ok(userWithRolesDTO);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -288,7 +323,7 @@ public class RestUserController {
             @Parameter(description = "ID del rol") @PathVariable Long roleId) {
         try {
             assignedRolesService.removeRoleFromUser(roleId, userId);
-            UserWithRolesDTO userWithRolesDTO = userMapper.toUserWithRolesDTO(userService.getUserById(userId));
+            UserWithRolesDTO userWithRolesDTO = userMapper.toUserWithRolesDTO(userService.getUserWithRoles(userId));
             return ResponseEntity.ok(userWithRolesDTO);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
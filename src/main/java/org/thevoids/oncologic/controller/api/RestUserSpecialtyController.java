@@ -13,12 +13,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.thevoids.oncologic.dto.entity.UserSpecialtyDTO;
 import org.thevoids.oncologic.entity.UserSpecialty;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.UserSpecialtyMapper;
 import org.thevoids.oncologic.service.UserSpecialtyService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -42,6 +44,8 @@ public class RestUserSpecialtyController {
     /**
      * Retrieves all user specialties.
      *
+     * @param after  optional keyset cursor; only rows with a greater id are returned.
+     * @param limit  optional page size, 50 by default; the next cursor is sent in the X-Next-Cursor header.
      * @return a response entity containing a list of user specialty DTOs.
      */
     @Operation(summary = "Obtener todas las especialidades de usuarios", description = "Recupera una lista de todas las especialidades asignadas a usuarios")
@@ -52,13 +56,15 @@ public class RestUserSpecialtyController {
     })
     @PreAuthorize("hasAuthority('VIEW_USER_SPECIALTIES')")
     @GetMapping
-    public ResponseEntity<List<UserSpecialtyDTO>> getAllUserSpecialties() {
+    public ResponseEntity<List<UserSpecialtyDTO>> getAllUserSpecialties(
+            @Parameter(description = "Devuelve solo los registros con id mayor a este cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño máximo de la página (1-500, por defecto 50)") @RequestParam(required = false) Integer limit) {
         try {
-            List<UserSpecialty> userSpecialties = userSpecialtyService.getAllUserSpecialties();
+            List<UserSpecialty> userSpecialties = userSpecialtyService.getUserSpecialtiesAfter(after, KeysetPage.fetchSize(limit));
             List<UserSpecialtyDTO> userSpecialtyDTOs = userSpecialties.stream()
                     .map(userSpecialtyMapper::toUserSpecialtyDTO)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(userSpecialtyDTOs);
+            return KeysetPage.ok(userSpecialtyDTOs, limit, UserSpecialtyDTO::getId);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
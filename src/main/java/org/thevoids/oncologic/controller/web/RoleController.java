@@ -46,7 +46,7 @@ public class RoleController {
     @PreAuthorize("hasAuthority('VIEW_ROLES')")
     @GetMapping
     public String listRoles(Model model) {
-        List<RoleWithPermissionsDTO> roles = roleService.getAllRoles().stream()
+        List<RoleWithPermissionsDTO> roles = roleService.getAllRolesWithPermissions().stream()
                 .map(roleMapper::toRoleWithPermissionsDTO)
                 .toList();
         model.addAttribute("roles", roles);
@@ -162,7 +162,7 @@ public class RoleController {
     @GetMapping("/{id}/permissions")
     public String managePermissions(@PathVariable Long id, Model model) {
         try {
-            RoleWithPermissionsDTO roleWithPermissionsDTO = roleMapper.toRoleWithPermissionsDTO(roleService.getRole(id));
+            RoleWithPermissionsDTO roleWithPermissionsDTO = roleMapper.toRoleWithPermissionsDTO(roleService.getRoleWithPermissions(id));
             List<PermissionDTO> permissions = rolePermissionService.getAllPermissions()
                 .stream()
                 .filter(p -> !roleWithPermissionsDTO.getPermissions().stream()
@@ -44,7 +44,7 @@ public class UserController {
     @PreAuthorize("hasAuthority('VIEW_USERS')")
     @GetMapping
     public String listUsers(Model model) {
-        List<UserWithRolesDTO> userDTOs = userService.getAllUsers().stream()
+        List<UserWithRolesDTO> userDTOs = userService.getAllUsersWithRoles().stream()
                 .map(userMapper::toUserWithRolesDTO)
                 .toList();
         model.addAttribute("users", userDTOs);
@@ -77,7 +77,7 @@ public class UserController {
     @PreAuthorize("hasAuthority('MANAGE_USER_ROLES')")
     @GetMapping("/{id}/roles")
     public String manageRoles(@PathVariable Long id, Model model) {
-        UserWithRolesDTO userWithRolesDTO = userMapper.toUserWithRolesDTO(userService.getUserById(id));
+        UserWithRolesDTO userWithRolesDTO = userMapper.toUserWithRolesDTO(userService.getUserWithRoles(id));
         List<RoleDTO> roles = roleService.getAllRoles().stream()
                 .map(roleMapper::toRoleDTO)
                 .filter(r -> !userWithRolesDTO.hasRole(r.getRoleId()))
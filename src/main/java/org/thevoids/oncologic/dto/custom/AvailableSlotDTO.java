@@ -0,0 +1,20 @@
+package org.thevoids.oncologic.dto.custom;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+    private Long doctorId;
+    private Long clinicId;
+    private Long clinicAssignmentId;
+    private Date start;
+    private Date end;
+}
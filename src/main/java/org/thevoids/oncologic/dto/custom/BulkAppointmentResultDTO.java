@@ -0,0 +1,32 @@
+package org.thevoids.oncologic.dto.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one item of a bulk appointment request, in request order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentResultDTO {
+
+    public enum Status {
+        /** Inserted; {@code appointmentId} is set. */
+        CREATED,
+        /** Passed validation but not inserted because another item failed. */
+        VALID,
+        /** Missing fields, unknown references or outside the assignment window. */
+        INVALID,
+        /** Overlaps an existing appointment or another item of the request. */
+        CONFLICT
+    }
+
+    private int index;
+    private Status status;
+    private Long appointmentId;
+    private String message;
+}
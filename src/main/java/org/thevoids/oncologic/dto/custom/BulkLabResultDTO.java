@@ -0,0 +1,30 @@
+package org.thevoids.oncologic.dto.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one row of a bulk lab ingestion, in input order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLabResultDTO {
+
+    public enum Status {
+        /** Inserted as a new lab; {@code labId} is the generated id. */
+        CREATED,
+        /** Merged into the existing lab {@code labId}. */
+        UPDATED,
+        /** Not written; {@code message} tells why. */
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private Long labId;
+    private String message;
+}
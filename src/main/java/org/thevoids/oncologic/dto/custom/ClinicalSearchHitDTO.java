@@ -0,0 +1,23 @@
+package org.thevoids.oncologic.dto.custom;
+
+import org.thevoids.oncologic.search.ClinicalRecordType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One match of a clinical full-text search: the record, its patient and the
+ * relevance score (higher is better; only comparable within one search).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClinicalSearchHitDTO {
+    private ClinicalRecordType type;
+    private Long id;
+    private Long patientId;
+    private double score;
+}
@@ -0,0 +1,28 @@
+package org.thevoids.oncologic.dto.custom;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A resumable upload of a lab attachment. The client sends {@code labId},
+ * {@code fileName}, {@code contentType} and {@code size} to start it; the
+ * server fills in the rest. {@code offset} is the number of bytes received,
+ * where the next chunk must start.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabUploadDTO {
+    private String uploadId;
+    private Long labId;
+    private String fileName;
+    private String contentType;
+    private long size;
+    private long offset;
+    private Date expiresAt;
+}
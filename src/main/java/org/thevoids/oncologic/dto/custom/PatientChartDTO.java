@@ -0,0 +1,30 @@
+package org.thevoids.oncologic.dto.custom;
+
+import java.util.List;
+
+import org.thevoids.oncologic.dto.entity.AppointmentWithTasksDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+import org.thevoids.oncologic.dto.entity.PatientDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Everything a clinician sees when opening a patient's chart: the patient,
+ * the most recent medical histories and labs (newest first) and the upcoming
+ * appointments (soonest first) with their tasks. Each list is capped by the
+ * limit requested for its section.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientChartDTO {
+    private PatientDTO patient;
+    private List<MedicalHistoryDTO> medicalHistories;
+    private List<LabDTO> labs;
+    private List<AppointmentWithTasksDTO> upcomingAppointments;
+}
@@ -0,0 +1,19 @@
+package org.thevoids.oncologic.dto.custom;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceCacheStatsDTO {
+    private String name;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+    private double hitRate;
+}
@@ -0,0 +1,17 @@
+package org.thevoids.oncologic.dto.custom;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+}
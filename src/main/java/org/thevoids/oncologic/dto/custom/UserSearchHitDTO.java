@@ -0,0 +1,24 @@
+package org.thevoids.oncologic.dto.custom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One match of the user typeahead: enough to show and pick the person
+ * without loading the user. {@code patientId} is set when the user is a
+ * patient.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchHitDTO {
+    private Long userId;
+    private Long patientId;
+    private String fullName;
+    private String identification;
+    private String phoneNumber;
+    private String email;
+}
@@ -0,0 +1,21 @@
+package org.thevoids.oncologic.dto.entity;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class AppointmentWithTasksDTO extends AppointmentDTO {
+    private List<TaskDTO> tasks;
+
+    public AppointmentWithTasksDTO(AppointmentDTO appointment, List<TaskDTO> tasks) {
+        super(appointment.getAppointmentId(), appointment.getDateTime(), appointment.getStatus(),
+                appointment.getPatientId(), appointment.getDoctorId(), appointment.getAppointmentTypeId(),
+                appointment.getClinicAssignmentId());
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,16 @@
+package org.thevoids.oncologic.dto.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabAttachmentTextDTO {
+    private Long labId;
+    private Long patientId;
+    private String content;
+}
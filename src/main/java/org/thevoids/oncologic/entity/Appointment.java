@@ -10,13 +10,18 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "Appointments")
+@Table(name = "Appointments", indexes = {
+        @Index(name = "idx_appointments_doctor_date_time", columnList = "doctor_id, date_time"),
+        @Index(name = "idx_appointments_date_time", columnList = "date_time"),
+        @Index(name = "idx_appointments_patient", columnList = "patient_id"),
+        @Index(name = "idx_appointments_clinic_assignment", columnList = "clinic_assignment_id")
+})
 @Getter
 @Setter
 @ToString
 public class Appointment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("appointments_seq")
     private Long appointmentId;
 
     @Column(name = "date_time", nullable = false)
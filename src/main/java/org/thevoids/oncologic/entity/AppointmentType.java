@@ -2,8 +2,6 @@ package org.thevoids.oncologic.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -17,7 +15,7 @@ import lombok.ToString;
 @ToString
 public class AppointmentType {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("appointment_types_seq")
     private Long typeId;
 
     @Column(name = "type_name", length = 100, nullable = false, unique = true)
@@ -1,9 +1,8 @@
 package org.thevoids.oncologic.entity;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -12,13 +11,16 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "Assigned_Roles")
+@Table(name = "Assigned_Roles", indexes = {
+        @Index(name = "idx_assigned_roles_user_role", columnList = "user_id, role_id"),
+        @Index(name = "idx_assigned_roles_role", columnList = "role_id")
+})
 @Getter
 @Setter
 @ToString
 public class AssignedRole {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("assigned_roles_seq")
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,24 @@
+package org.thevoids.oncologic.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * How many stores returned a content-addressed blob and have not been
+ * deleted yet (see BlobReferenceCounter). The row goes away with the blob.
+ */
+@Entity
+@Table(name = "blob_references")
+@Getter
+@Setter
+public class BlobReference {
+
+    // The blob's key in the blob store
+    @Id
+    @Column(name = "blob_key", length = 512)
+    private String blobKey;
+
+    @Column(name = "refs", nullable = false)
+    private Integer refs;
+}
@@ -15,7 +15,7 @@ import java.util.List;
 @ToString
 public class Clinic {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("clinics_seq")
     private Long id;
 
     @Column(name = "name", length = 20, nullable = false)
@@ -11,13 +11,16 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "Clinic_Assignments")
+@Table(name = "Clinic_Assignments", indexes = {
+        @Index(name = "idx_clinic_assignments_user_start_time", columnList = "user_id, start_time"),
+        @Index(name = "idx_clinic_assignments_clinic", columnList = "clinic_id")
+})
 @Getter
 @Setter
 @ToString
 public class ClinicAssignment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("clinic_assignments_seq")
     private Long id;
 
     @Column(name = "start_time", nullable = false)
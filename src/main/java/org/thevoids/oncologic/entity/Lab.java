@@ -8,13 +8,16 @@ import lombok.ToString;
 import java.util.Date;
 
 @Entity
-@Table(name = "Labs")
+@Table(name = "Labs", indexes = {
+        @Index(name = "idx_labs_patient", columnList = "patient_id"),
+        @Index(name = "idx_labs_lab_technician", columnList = "lab_technician_id")
+})
 @Getter
 @Setter
 @ToString
 public class Lab {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("labs_seq")
     private Long labId;
 
     @ManyToOne
@@ -0,0 +1,39 @@
+package org.thevoids.oncologic.entity;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Text extracted from a lab's attachment, searched along with the labs. The
+ * row goes away with its lab (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "lab_attachment_texts")
+@Getter
+@Setter
+@ToString
+public class LabAttachmentText {
+    public static final int MAX_CONTENT_LENGTH = 100_000;
+
+    @Id
+    private Long labId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lab_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Lab lab;
+
+    // The attachment the text was extracted from
+    @Column(name = "attachment", length = 255, nullable = false)
+    private String attachment;
+
+    @Column(name = "content", length = MAX_CONTENT_LENGTH)
+    private String content;
+}
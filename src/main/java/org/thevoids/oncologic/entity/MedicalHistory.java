@@ -8,13 +8,15 @@ import lombok.ToString;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "Medical_History")
+@Table(name = "Medical_History", indexes = {
+        @Index(name = "idx_medical_history_patient", columnList = "patient_id")
+})
 @Getter
 @Setter
 @ToString
 public class MedicalHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("medical_history_seq")
     private Long historyId;
 
     @ManyToOne
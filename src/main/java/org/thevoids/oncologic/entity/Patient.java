@@ -15,7 +15,7 @@ import java.util.List;
 @ToString
 public class Patient {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("patients_seq")
     private Long patientId;
 
     @OneToOne
@@ -0,0 +1,23 @@
+package org.thevoids.oncologic.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The single row holding the version of the role/permission assignments,
+ * shared by every node (see PermissionVersionTracker).
+ */
+@Entity
+@Table(name = "permission_version")
+@Getter
+@Setter
+public class PermissionVersion {
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
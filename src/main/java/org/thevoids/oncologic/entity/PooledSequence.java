@@ -0,0 +1,25 @@
+package org.thevoids.oncologic.entity;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the annotated id from the named database sequence through
+ * {@link PooledSequenceGenerator}, reserving a block of ids per round trip so
+ * Hibernate can batch inserts (which {@code IDENTITY} columns prevent).
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledSequence {
+
+    /**
+     * Name of the database sequence, e.g. {@code users_seq}.
+     */
+    String value();
+}
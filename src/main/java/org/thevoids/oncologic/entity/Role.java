@@ -7,24 +7,35 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+/**
+ * A named set of permissions assigned to users.
+ *
+ * Permissions are loaded lazily; the role pages that list them load the role
+ * through the {@value #WITH_PERMISSIONS} graph.
+ */
 @Entity
 @Table(name = "Roles")
+@NamedEntityGraph(name = Role.WITH_PERMISSIONS, attributeNodes = @NamedAttributeNode(value = "rolePermissions",
+        subgraph = "rolePermissions"), subgraphs = @NamedSubgraph(name = "rolePermissions",
+                attributeNodes = @NamedAttributeNode("permission")))
 @Getter
 @Setter
 @ToString
 public class Role {
+    public static final String WITH_PERMISSIONS = "Role.withPermissions";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("roles_seq")
     private Long roleId;
 
     @Column(name = "role_name", length = 50, nullable = false, unique = true)
@@ -34,7 +45,7 @@ public class Role {
     @JsonIgnore
     private List<AssignedRole> assignedRoles;
 
-    @OneToMany(mappedBy = "role", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "role")
     @JsonIgnore
     private List<RolePermission> rolePermissions; // Cascade and orphan removal ensure proper cleanup
 }
\ No newline at end of file
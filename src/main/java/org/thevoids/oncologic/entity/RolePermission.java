@@ -6,13 +6,16 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "Roles_Permissions")
+@Table(name = "Roles_Permissions", indexes = {
+        @Index(name = "idx_roles_permissions_role_permission", columnList = "role_id, permission_id"),
+        @Index(name = "idx_roles_permissions_permission", columnList = "permission_id")
+})
 @Getter
 @Setter
 @ToString
 public class RolePermission {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("roles_permissions_seq")
     private Long id;
 
     @ManyToOne
@@ -8,13 +8,15 @@ import lombok.ToString;
 import java.util.Date;
 
 @Entity
-@Table(name = "Schedules")
+@Table(name = "Schedules", indexes = {
+        @Index(name = "idx_schedules_user", columnList = "user_id")
+})
 @Getter
 @Setter
 @ToString
 public class Schedule {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("schedules_seq")
     private Long scheduleId;
 
     @ManyToOne
@@ -15,7 +15,7 @@ import java.util.List;
 @ToString
 public class Specialty {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("specialties_seq")
     private Long specialtyId;
 
     @Column(name = "specialty_name", length = 100, nullable = false, unique = true)
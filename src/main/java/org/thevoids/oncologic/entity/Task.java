@@ -8,13 +8,15 @@ import lombok.ToString;
 import java.util.Date;
 
 @Entity
-@Table(name = "Tasks")
+@Table(name = "Tasks", indexes = {
+        @Index(name = "idx_tasks_appointment", columnList = "appointment_id")
+})
 @Getter
 @Setter
 @ToString
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("tasks_seq")
     private Long id;
 
     @Column(name = "description", length = 500)
@@ -7,10 +7,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -18,14 +18,26 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+/**
+ * A staff member or patient account.
+ *
+ * Roles are loaded lazily; paths that need them (authentication and the user
+ * pages that show roles) load the user through the {@value #WITH_ROLES} graph.
+ */
 @Entity
 @Table(name = "Users")
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode(value = "assignedRoles", subgraph = "assignedRoles")
+}, subgraphs = @NamedSubgraph(name = "assignedRoles", attributeNodes = @NamedAttributeNode("role")))
 @Getter
 @Setter
 @ToString
 public class User {
+    public static final String WITH_ROLES = "User.withRoles";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("users_seq")
     private Long userId;
 
     @Column(name = "full_name", length = 255, nullable = false)
@@ -79,7 +91,7 @@ public class User {
     @JsonIgnore
     private List<UserSpecialty> userSpecialties;
 
-    @OneToMany(mappedBy = "user", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user")
     @JsonIgnore
     private List<AssignedRole> assignedRoles;
 }
\ No newline at end of file
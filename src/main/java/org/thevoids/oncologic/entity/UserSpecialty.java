@@ -6,13 +6,16 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "User_Specialties")
+@Table(name = "User_Specialties", indexes = {
+        @Index(name = "idx_user_specialties_user", columnList = "user_id"),
+        @Index(name = "idx_user_specialties_specialty", columnList = "specialty_id")
+})
 @Getter
 @Setter
 @ToString
 public class UserSpecialty {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("user_specialties_seq")
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,7 @@
+package org.thevoids.oncologic.exception;
+
+public class UploadOffsetMismatchException extends RuntimeException {
+    public UploadOffsetMismatchException(long expectedOffset) {
+        super(String.format("La carga continúa en el byte %d", expectedOffset));
+    }
+}
@@ -1,9 +1,79 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Appointment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.thevoids.oncologic.dto.entity.AppointmentDTO;
+import org.thevoids.oncologic.scheduling.BookedInterval;
+import org.springframework.data.repository.query.Param;
+import java.util.Date;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = {
+            "patient", "patient.user", "doctor", "doctor.patient", "appointmentType", "clinicAssignment",
+            "clinicAssignment.clinic", "clinicAssignment.user", "clinicAssignment.user.patient" })
+    List<Appointment> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {
+            "patient", "patient.user", "doctor", "doctor.patient", "appointmentType", "clinicAssignment",
+            "clinicAssignment.clinic", "clinicAssignment.user", "clinicAssignment.user.patient" })
+    Optional<Appointment> findById(Long id);
+
+    @EntityGraph(attributePaths = {
+            "patient", "patient.user", "doctor", "doctor.patient", "appointmentType", "clinicAssignment",
+            "clinicAssignment.clinic", "clinicAssignment.user", "clinicAssignment.user.patient" })
+    List<Appointment> findByAppointmentIdGreaterThanOrderByAppointmentIdAsc(Long appointmentId, Limit limit);
+
+    /**
+     * Forward-only stream of every row as a DTO, for exports. Rows are read in
+     * batches of the fetch size and never enter the persistence context, so
+     * memory stays flat. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.AppointmentDTO(a.appointmentId, a.dateTime, a.status, "
+            + "a.patient.patientId, a.doctor.userId, a.appointmentType.typeId, a.clinicAssignment.id) "
+            + "FROM Appointment a ORDER BY a.appointmentId")
+    Stream<AppointmentDTO> streamAllForExport();
+
+    /**
+     * The interval every appointment occupies, for building the booking index.
+     */
+    @Query("SELECT new org.thevoids.oncologic.scheduling.BookedInterval(a.appointmentId, a.doctor.userId, "
+            + "c.id, a.dateTime, t.standardDuration) FROM Appointment a JOIN a.appointmentType t "
+            + "JOIN a.clinicAssignment ca LEFT JOIN ca.clinic c")
+    List<BookedInterval> findAllBookedIntervals();
+
+    /**
+     * Intervals of the doctor's or the clinic's appointments starting in
+     * {@code [from, to)}.
+     */
+    @Query("SELECT new org.thevoids.oncologic.scheduling.BookedInterval(a.appointmentId, a.doctor.userId, "
+            + "c.id, a.dateTime, t.standardDuration) FROM Appointment a JOIN a.appointmentType t "
+            + "JOIN a.clinicAssignment ca LEFT JOIN ca.clinic c "
+            + "WHERE (a.doctor.userId = :doctorId OR c.id = :clinicId) "
+            + "AND a.dateTime >= :from AND a.dateTime < :to")
+    List<BookedInterval> findBookedIntervalsStartingBetween(@Param("doctorId") Long doctorId,
+            @Param("clinicId") Long clinicId, @Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * The patient's appointments from {@code from} on as DTOs, soonest first,
+     * for the patient chart.
+     */
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.AppointmentDTO(a.appointmentId, a.dateTime, a.status, "
+            + "a.patient.patientId, a.doctor.userId, a.appointmentType.typeId, a.clinicAssignment.id) "
+            + "FROM Appointment a WHERE a.patient.patientId = :patientId AND a.dateTime >= :from "
+            + "ORDER BY a.dateTime, a.appointmentId")
+    List<AppointmentDTO> findUpcomingByPatientId(@Param("patientId") Long patientId, @Param("from") Date from,
+            Limit limit);
+}
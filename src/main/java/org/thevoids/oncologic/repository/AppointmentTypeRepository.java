@@ -1,9 +1,24 @@
 package org.thevoids.oncologic.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.AppointmentType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.cache.annotation.Cacheable;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 
 @Repository
 public interface AppointmentTypeRepository extends JpaRepository<AppointmentType, Long> {
-}
\ No newline at end of file
+    List<AppointmentType> findByTypeIdGreaterThanOrderByTypeIdAsc(Long typeId, Limit limit);
+
+    /**
+     * Read on every booking to size the overlap window. Cached with the other
+     * appointment-type entries, so type writes through the service clear it.
+     */
+    @Cacheable(cacheNames = ReferenceCaches.APPOINTMENT_TYPES, key = "'longestStandardDuration'", unless = "#result == null")
+    @Query("SELECT MAX(t.standardDuration) FROM AppointmentType t")
+    Integer findLongestStandardDuration();
+}
@@ -0,0 +1,33 @@
+package org.thevoids.oncologic.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.thevoids.oncologic.entity.BlobReference;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface BlobReferenceRepository extends JpaRepository<BlobReference, String> {
+
+    /**
+     * Locks the blob's count until the end of the transaction, so stores and
+     * deletes of the same blob are serialized across nodes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM BlobReference r WHERE r.blobKey = :blobKey")
+    Optional<BlobReference> lockByBlobKey(@Param("blobKey") String blobKey);
+
+    // In its own transaction, so a duplicate key raised by a concurrent insert does not roll back the caller's
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO blob_references (blob_key, refs) VALUES (:blobKey, 0)", nativeQuery = true)
+    int insertReference(@Param("blobKey") String blobKey);
+}
@@ -1,9 +1,39 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.ClinicAssignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.Date;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.thevoids.oncologic.scheduling.AssignmentWindow;
 
 @Repository
 public interface ClinicAssignmentRepository extends JpaRepository<ClinicAssignment, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = { "clinic", "user", "user.patient" })
+    List<ClinicAssignment> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "clinic", "user", "user.patient" })
+    Optional<ClinicAssignment> findById(Long id);
+
+    @EntityGraph(attributePaths = { "clinic", "user", "user.patient" })
+    List<ClinicAssignment> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Assignment windows of the given users that overlap {@code [from, to)},
+     * in start order.
+     */
+    @Query("SELECT new org.thevoids.oncologic.scheduling.AssignmentWindow(ca.id, ca.user.userId, ca.clinic.id, "
+            + "ca.startTime, ca.endTime) FROM ClinicAssignment ca "
+            + "WHERE ca.user.userId IN :userIds AND ca.startTime < :to AND ca.endTime > :from "
+            + "ORDER BY ca.startTime, ca.id")
+    List<AssignmentWindow> findWindowsOverlapping(@Param("userIds") Collection<Long> userIds,
+            @Param("from") Date from, @Param("to") Date to);
+}
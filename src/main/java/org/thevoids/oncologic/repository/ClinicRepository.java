@@ -1,9 +1,25 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Clinic;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface ClinicRepository extends JpaRepository<Clinic, Long> {
-}
\ No newline at end of file
+    List<Clinic> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Loads the clinic with a row lock held until the transaction ends, to
+     * serialize concurrent bookings in the same clinic.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Clinic c WHERE c.id = :id")
+    Optional<Clinic> lockById(@Param("id") Long id);
+}
@@ -0,0 +1,25 @@
+package org.thevoids.oncologic.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.entity.LabAttachmentText;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface LabAttachmentTextRepository extends JpaRepository<LabAttachmentText, Long> {
+
+    /**
+     * Forward-only stream of every extracted text with its lab's patient, for
+     * building the search index. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO(t.labId, t.lab.patient.patientId, "
+            + "t.content) FROM LabAttachmentText t ORDER BY t.labId")
+    Stream<LabAttachmentTextDTO> streamAllForIndex();
+}
@@ -1,9 +1,54 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Lab;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.springframework.data.repository.query.Param;
 
 @Repository
 public interface LabRepository extends JpaRepository<Lab, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = { "patient", "patient.user", "labTechnician", "labTechnician.patient" })
+    List<Lab> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "patient", "patient.user", "labTechnician", "labTechnician.patient" })
+    Optional<Lab> findById(Long id);
+
+    @EntityGraph(attributePaths = { "patient", "patient.user", "labTechnician", "labTechnician.patient" })
+    List<Lab> findByLabIdGreaterThanOrderByLabIdAsc(Long labId, Limit limit);
+
+    /**
+     * Forward-only stream of every row as a DTO, for exports. Rows are read in
+     * batches of the fetch size and never enter the persistence context, so
+     * memory stays flat. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.LabDTO(l.labId, l.patient.patientId, l.labTechnician.userId, "
+            + "l.testType, l.requestDate, l.completionDate, l.result, l.attachment) FROM Lab l ORDER BY l.labId")
+    Stream<LabDTO> streamAllForExport();
+
+    /**
+     * The patient's most recently requested labs as DTOs, newest first, for
+     * the patient chart.
+     */
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.LabDTO(l.labId, l.patient.patientId, l.labTechnician.userId, "
+            + "l.testType, l.requestDate, l.completionDate, l.result, l.attachment) FROM Lab l "
+            + "WHERE l.patient.patientId = :patientId ORDER BY l.requestDate DESC, l.labId DESC")
+    List<LabDTO> findRecentByPatientId(@Param("patientId") Long patientId, Limit limit);
+
+    /**
+     * Whether the lab still has this attachment, i.e. it was not replaced or
+     * removed while the attachment was being processed.
+     */
+    boolean existsByLabIdAndAttachment(Long labId, String attachment);
+}
@@ -1,9 +1,48 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.MedicalHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+import org.springframework.data.repository.query.Param;
 
 @Repository
 public interface MedicalHistoryRepository extends JpaRepository<MedicalHistory, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = { "patient", "patient.user" })
+    List<MedicalHistory> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "patient", "patient.user" })
+    Optional<MedicalHistory> findById(Long id);
+
+    @EntityGraph(attributePaths = { "patient", "patient.user" })
+    List<MedicalHistory> findByHistoryIdGreaterThanOrderByHistoryIdAsc(Long historyId, Limit limit);
+
+    /**
+     * Forward-only stream of every row as a DTO, for exports. Rows are read in
+     * batches of the fetch size and never enter the persistence context, so
+     * memory stays flat. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.MedicalHistoryDTO(h.historyId, h.patient.patientId, "
+            + "h.diagnosis, h.treatment, h.medications, h.recordDate) FROM MedicalHistory h ORDER BY h.historyId")
+    Stream<MedicalHistoryDTO> streamAllForExport();
+
+    /**
+     * The patient's most recent histories as DTOs, newest first, for the
+     * patient chart.
+     */
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.MedicalHistoryDTO(h.historyId, h.patient.patientId, "
+            + "h.diagnosis, h.treatment, h.medications, h.recordDate) FROM MedicalHistory h "
+            + "WHERE h.patient.patientId = :patientId ORDER BY h.recordDate DESC NULLS LAST, h.historyId DESC")
+    List<MedicalHistoryDTO> findRecentByPatientId(@Param("patientId") Long patientId, Limit limit);
+}
@@ -1,9 +1,23 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = { "user" })
+    List<Patient> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "user" })
+    Optional<Patient> findById(Long id);
+
+    @EntityGraph(attributePaths = { "user" })
+    List<Patient> findByPatientIdGreaterThanOrderByPatientIdAsc(Long patientId, Limit limit);
+}
@@ -1,9 +1,13 @@
 package org.thevoids.oncologic.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
-}
\ No newline at end of file
+    List<Permission> findByPermissionIdGreaterThanOrderByPermissionIdAsc(Long permissionId, Limit limit);
+}
@@ -0,0 +1,35 @@
+package org.thevoids.oncologic.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.thevoids.oncologic.entity.PermissionVersion;
+
+/**
+ * The writes run in their own transaction because they are made after the
+ * transaction that changed the roles or permissions has committed.
+ */
+@Repository
+public interface PermissionVersionRepository extends JpaRepository<PermissionVersion, Short> {
+
+    // A scalar query, so the value never comes from a persistence context opened earlier in the request
+    @Query("SELECT v.version FROM PermissionVersion v WHERE v.id = " + PermissionVersion.ID)
+    Optional<Long> findCurrentVersion();
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE PermissionVersion v SET v.version = v.version + 1 WHERE v.id = " + PermissionVersion.ID)
+    int incrementVersion();
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO permission_version (id, version) VALUES (" + PermissionVersion.ID + ", :version)",
+            nativeQuery = true)
+    int insertVersion(@Param("version") long version);
+}
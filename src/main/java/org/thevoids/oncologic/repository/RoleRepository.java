@@ -1,8 +1,11 @@
 package org.thevoids.oncologic.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.thevoids.oncologic.entity.Role;
@@ -11,4 +14,19 @@ import org.thevoids.oncologic.entity.Role;
 public interface RoleRepository extends JpaRepository<Role, Long> {
     @Query("SELECT r FROM Role r JOIN r.assignedRoles ar WHERE ar.user.userId = :userId")
     List<Role> findRolesByUserId(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Flat (roleId, roleName, permissionName) rows for every role; permissionName
+     * is null for roles without permissions.
+     */
+    @Query("SELECT r.roleId, r.roleName, p.permissionName FROM Role r LEFT JOIN r.rolePermissions rp LEFT JOIN rp.permission p")
+    List<Object[]> findRolePermissionNames();
+
+    List<Role> findByRoleIdGreaterThanOrderByRoleIdAsc(Long roleId, Limit limit);
+
+    @EntityGraph(Role.WITH_PERMISSIONS)
+    Optional<Role> findWithPermissionsByRoleId(Long roleId);
+
+    @EntityGraph(Role.WITH_PERMISSIONS)
+    List<Role> findAllWithPermissionsBy();
+}
@@ -1,9 +1,31 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Schedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.thevoids.oncologic.scheduling.WeeklyWindow;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = { "user", "user.patient" })
+    List<Schedule> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "user", "user.patient" })
+    Optional<Schedule> findById(Long id);
+
+    @EntityGraph(attributePaths = { "user", "user.patient" })
+    List<Schedule> findByScheduleIdGreaterThanOrderByScheduleIdAsc(Long scheduleId, Limit limit);
+
+    @Query("SELECT new org.thevoids.oncologic.scheduling.WeeklyWindow(s.user.userId, s.dayOfWeek, s.startTime, s.endTime) "
+            + "FROM Schedule s WHERE s.user.userId IN :userIds")
+    List<WeeklyWindow> findWeeklyWindows(@Param("userIds") Collection<Long> userIds);
+}
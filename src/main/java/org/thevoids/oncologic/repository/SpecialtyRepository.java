@@ -1,9 +1,13 @@
 package org.thevoids.oncologic.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Specialty;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SpecialtyRepository extends JpaRepository<Specialty, Long> {
-}
\ No newline at end of file
+    List<Specialty> findBySpecialtyIdGreaterThanOrderBySpecialtyIdAsc(Long specialtyId, Limit limit);
+}
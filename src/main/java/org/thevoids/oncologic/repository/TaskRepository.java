@@ -1,9 +1,48 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.thevoids.oncologic.dto.entity.TaskDTO;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = {
+            "appointment", "appointment.patient", "appointment.patient.user", "appointment.doctor",
+            "appointment.doctor.patient", "appointment.appointmentType", "appointment.clinicAssignment",
+            "appointment.clinicAssignment.clinic", "appointment.clinicAssignment.user",
+            "appointment.clinicAssignment.user.patient" })
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {
+            "appointment", "appointment.patient", "appointment.patient.user", "appointment.doctor",
+            "appointment.doctor.patient", "appointment.appointmentType", "appointment.clinicAssignment",
+            "appointment.clinicAssignment.clinic", "appointment.clinicAssignment.user",
+            "appointment.clinicAssignment.user.patient" })
+    Optional<Task> findById(Long id);
+
+    @EntityGraph(attributePaths = {
+            "appointment", "appointment.patient", "appointment.patient.user", "appointment.doctor",
+            "appointment.doctor.patient", "appointment.appointmentType", "appointment.clinicAssignment",
+            "appointment.clinicAssignment.clinic", "appointment.clinicAssignment.user",
+            "appointment.clinicAssignment.user.patient" })
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Tasks of all the given appointments as DTOs in one query, ordered by
+     * appointment.
+     */
+    @Query("SELECT new org.thevoids.oncologic.dto.entity.TaskDTO(t.id, t.description, t.completed, t.startDate, "
+            + "t.endDate, t.appointment.appointmentId) FROM Task t "
+            + "WHERE t.appointment.appointmentId IN :appointmentIds ORDER BY t.appointment.appointmentId, t.id")
+    List<TaskDTO> findByAppointmentIds(@Param("appointmentIds") Collection<Long> appointmentIds);
+}
@@ -1,18 +1,81 @@
 package org.thevoids.oncologic.repository;
 
+import org.springframework.data.domain.Limit;
 import org.thevoids.oncologic.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.lang.NonNull;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.QueryHints;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "patient" })
+    Optional<User> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = { "patient" })
     @NonNull
     List<User> findAll();
 
     @NonNull
     Optional<User> findByIdentification(@NonNull String identification);
-}
\ No newline at end of file
+
+    /**
+     * Loads the user with its roles, for authentication: the principal outlives
+     * the persistence context, so the roles cannot be loaded lazily later.
+     */
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByIdentification(String identification);
+
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByUserId(Long userId);
+
+    @EntityGraph(User.WITH_ROLES)
+    List<User> findAllWithRolesBy();
+
+    /**
+     * Everything the login response needs in a single round trip, as flat
+     * (userId, roleId, roleName, permissionId, permissionName) rows. Role and
+     * permission columns are null when the user has no roles or the role has
+     * no permissions.
+     */
+    @Query("SELECT u.userId, r.roleId, r.roleName, p.permissionId, p.permissionName FROM User u "
+            + "LEFT JOIN u.assignedRoles ar LEFT JOIN ar.role r "
+            + "LEFT JOIN r.rolePermissions rp LEFT JOIN rp.permission p "
+            + "WHERE u.identification = :identification ORDER BY r.roleId, p.permissionId")
+    List<Object[]> findLoginRowsByIdentification(@Param("identification") String identification);
+
+    /**
+     * Forward-only stream of the searchable fields of every user, to build the
+     * typeahead index. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new org.thevoids.oncologic.dto.custom.UserSearchHitDTO(u.userId, p.patientId, u.fullName, "
+            + "u.identification, u.phone, u.email) FROM User u LEFT JOIN u.patient p ORDER BY u.userId")
+    Stream<UserSearchHitDTO> streamAllForSearch();
+
+    @EntityGraph(attributePaths = { "patient" })
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long userId, Limit limit);
+
+    /**
+     * Loads the user with a row lock held until the transaction ends, to
+     * serialize concurrent bookings of the same doctor.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.userId = :userId")
+    Optional<User> lockById(@Param("userId") Long userId);
+}
@@ -3,19 +3,36 @@ package org.thevoids.oncologic.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.thevoids.oncologic.entity.UserSpecialty;
 
 @Repository
 public interface UserSpecialtyRepository extends JpaRepository<UserSpecialty, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "user", "user.patient", "specialty" })
+    List<UserSpecialty> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "user", "user.patient", "specialty" })
+    Optional<UserSpecialty> findById(Long id);
+
     /**
      * Finds all user specialties for a specific user.
      *
+     * The filter is on the foreign key column rather than on the fetched
+     * user row, so the lookup can use {@code idx_user_specialties_user}.
+     *
      * @param userId the ID of the user
      * @return a list of user specialties for the user
      */
-    List<UserSpecialty> findByUser_UserId(Long userId);
+    @EntityGraph(attributePaths = { "user", "user.patient", "specialty" })
+    @Query("SELECT us FROM UserSpecialty us WHERE us.user.userId = :userId ORDER BY us.id")
+    List<UserSpecialty> findByUser_UserId(@Param("userId") Long userId);
 
     /**
      * Finds the first user specialty for a specific user.
@@ -23,5 +40,20 @@ public interface UserSpecialtyRepository extends JpaRepository<UserSpecialty, Lo
      * @param userId the ID of the user
      * @return an optional containing the first user specialty for the user
      */
-    Optional<UserSpecialty> findFirstByUser_UserId(Long userId);
-}
\ No newline at end of file
+    default Optional<UserSpecialty> findFirstByUser_UserId(Long userId) {
+        return findByUser_UserId(userId, Limit.of(1)).stream().findFirst();
+    }
+
+    @EntityGraph(attributePaths = { "user", "user.patient", "specialty" })
+    @Query("SELECT us FROM UserSpecialty us WHERE us.user.userId = :userId ORDER BY us.id")
+    List<UserSpecialty> findByUser_UserId(@Param("userId") Long userId, Limit limit);
+
+    @EntityGraph(attributePaths = { "user", "user.patient", "specialty" })
+    List<UserSpecialty> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Ids of the users that practise the given specialty.
+     */
+    @Query("SELECT DISTINCT us.user.userId FROM UserSpecialty us WHERE us.specialty.specialtyId = :specialtyId")
+    List<Long> findUserIdsBySpecialtyId(@Param("specialtyId") Long specialtyId);
+}
@@ -0,0 +1,268 @@
+package org.thevoids.oncologic.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thevoids.oncologic.repository.AppointmentRepository;
+
+/**
+ * In-memory index of booked appointment intervals per doctor and per clinic,
+ * used to find free slots without scanning the appointments table.
+ *
+ * Each doctor and clinic has a timeline ordered by start time. An overlap
+ * check only visits the bookings that start less than the longest booked
+ * duration before the requested end, which for non-overlapping timelines is a
+ * logarithmic lookup plus one or two neighbours.
+ *
+ * The index is built from {@link AppointmentRepository} and kept up to date
+ * by {@code AppointmentServiceImpl} on every create, update and delete made on
+ * this node, including the appointments deleted with their patient. Changes
+ * it cannot follow one by one (a new appointment type duration, an
+ * assignment moved to another doctor or clinic) {@link #invalidate()
+ * invalidate} it, and it is rebuilt once
+ * {@code app.scheduling.interval-index.ttl} has passed so changes made on
+ * other nodes are picked up. It may therefore lag behind the database: it
+ * serves the availability search, and bookings are checked against the
+ * database under a row lock without consulting it. Only the lookups rebuild
+ * it; {@link #put} and {@link #remove} never do, so a booking never waits for
+ * a full reload.
+ */
+@Component
+public class AppointmentIntervalIndex {
+
+    private static final Comparator<BookedInterval> BY_START = Comparator
+            .comparingLong(BookedInterval::startMillis)
+            .thenComparing(BookedInterval::appointmentId);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Map<Long, BookedInterval> byAppointment = new HashMap<>();
+    private final Map<Long, Timeline> byDoctor = new HashMap<>();
+    private final Map<Long, Timeline> byClinic = new HashMap<>();
+    private final long ttlNanos;
+    private boolean loaded;
+    private long loadedAt;
+
+    /**
+     * An index only rebuilt when invalidated.
+     */
+    public AppointmentIntervalIndex(AppointmentRepository appointmentRepository) {
+        this(appointmentRepository, Duration.ofNanos(Long.MAX_VALUE));
+    }
+
+    @Autowired
+    public AppointmentIntervalIndex(AppointmentRepository appointmentRepository,
+            @Value("${app.scheduling.interval-index.ttl:PT1M}") Duration ttl) {
+        this.appointmentRepository = appointmentRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            // The schema may not be ready yet; the index is built on first use instead
+        }
+    }
+
+    /**
+     * Discards the index and reloads every booked interval from the database.
+     */
+    public synchronized void rebuild() {
+        byAppointment.clear();
+        byDoctor.clear();
+        byClinic.clear();
+        for (BookedInterval interval : appointmentRepository.findAllBookedIntervals()) {
+            add(interval);
+        }
+        loaded = true;
+        loadedAt = System.nanoTime();
+    }
+
+    /**
+     * Has the index rebuilt on next use, once the current transaction
+     * commits (or right away outside a transaction).
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markStale();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markStale();
+            }
+        });
+    }
+
+    /**
+     * Returns a booking of the doctor or the clinic that overlaps
+     * {@code [from, to)}, ignoring the given appointment (the one being moved).
+     */
+    public synchronized Optional<BookedInterval> findConflict(Long doctorId, Long clinicId, long from, long to,
+            Long ignoredAppointmentId) {
+        ensureLoaded();
+        BookedInterval conflict = overlapIn(byDoctor.get(doctorId), from, to, ignoredAppointmentId);
+        if (conflict == null) {
+            conflict = overlapIn(byClinic.get(clinicId), from, to, ignoredAppointmentId);
+        }
+        return Optional.ofNullable(conflict);
+    }
+
+    /**
+     * Every booking of the doctor or the clinic overlapping {@code [from, to)},
+     * sorted by start.
+     */
+    public synchronized List<BookedInterval> bookingsOverlapping(Long doctorId, Long clinicId, long from, long to) {
+        ensureLoaded();
+        List<BookedInterval> doctor = new ArrayList<>();
+        collectOverlaps(byDoctor.get(doctorId), from, to, doctor);
+        List<BookedInterval> clinic = new ArrayList<>();
+        collectOverlaps(byClinic.get(clinicId), from, to, clinic);
+        if (doctor.isEmpty() || clinic.isEmpty()) {
+            return doctor.isEmpty() ? clinic : doctor;
+        }
+        // Both lists are in start order; merge them, keeping bookings present in both once
+        List<BookedInterval> merged = new ArrayList<>(doctor.size() + clinic.size());
+        int i = 0;
+        int j = 0;
+        while (i < doctor.size() || j < clinic.size()) {
+            if (j == clinic.size()) {
+                merged.add(doctor.get(i++));
+            } else if (i == doctor.size()) {
+                merged.add(clinic.get(j++));
+            } else {
+                int order = BY_START.compare(doctor.get(i), clinic.get(j));
+                merged.add(order <= 0 ? doctor.get(i++) : clinic.get(j++));
+                if (order == 0) {
+                    j++;
+                }
+            }
+        }
+        return merged;
+    }
+
+    public synchronized Optional<BookedInterval> find(Long appointmentId) {
+        ensureLoaded();
+        return Optional.ofNullable(byAppointment.get(appointmentId));
+    }
+
+    /**
+     * Adds the booking, replacing the previous interval of the same
+     * appointment. Nothing to do while the index waits for a rebuild, which
+     * reads the booking from the database.
+     */
+    public synchronized void put(BookedInterval interval) {
+        if (!loaded) {
+            return;
+        }
+        remove(interval.appointmentId());
+        add(interval);
+    }
+
+    public synchronized void remove(Long appointmentId) {
+        if (!loaded) {
+            return;
+        }
+        BookedInterval previous = byAppointment.remove(appointmentId);
+        if (previous == null) {
+            return;
+        }
+        Timeline doctor = byDoctor.get(previous.doctorId());
+        if (doctor != null) {
+            doctor.bookings.remove(previous);
+        }
+        Timeline clinic = byClinic.get(previous.clinicId());
+        if (clinic != null) {
+            clinic.bookings.remove(previous);
+        }
+    }
+
+    public synchronized int size() {
+        return byAppointment.size();
+    }
+
+    private synchronized void markStale() {
+        loaded = false;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded || System.nanoTime() - loadedAt >= ttlNanos) {
+            rebuild();
+        }
+    }
+
+    private void add(BookedInterval interval) {
+        byAppointment.put(interval.appointmentId(), interval);
+        if (interval.doctorId() != null) {
+            byDoctor.computeIfAbsent(interval.doctorId(), id -> new Timeline()).add(interval);
+        }
+        if (interval.clinicId() != null) {
+            byClinic.computeIfAbsent(interval.clinicId(), id -> new Timeline()).add(interval);
+        }
+    }
+
+    private static BookedInterval overlapIn(Timeline timeline, long from, long to, Long ignoredAppointmentId) {
+        if (timeline == null) {
+            return null;
+        }
+        for (BookedInterval booking : timeline.startingBetween(from - timeline.longestDuration, to)) {
+            if (booking.overlaps(from, to) && !booking.appointmentId().equals(ignoredAppointmentId)) {
+                return booking;
+            }
+        }
+        return null;
+    }
+
+    private static void collectOverlaps(Timeline timeline, long from, long to, List<BookedInterval> out) {
+        if (timeline == null) {
+            return;
+        }
+        for (BookedInterval booking : timeline.startingBetween(from - timeline.longestDuration, to)) {
+            if (booking.overlaps(from, to)) {
+                out.add(booking);
+            }
+        }
+    }
+
+    private static BookedInterval probe(long start) {
+        return new BookedInterval(Long.MIN_VALUE, null, null, new Date(start), 0);
+    }
+
+    /**
+     * Bookings of one doctor or clinic ordered by start. Only the longest
+     * duration ever added is tracked; it bounds how far back an overlapping
+     * booking can start.
+     */
+    private static final class Timeline {
+        private final NavigableSet<BookedInterval> bookings = new TreeSet<>(BY_START);
+        private long longestDuration;
+
+        void add(BookedInterval interval) {
+            bookings.add(interval);
+            longestDuration = Math.max(longestDuration, interval.endMillis() - interval.startMillis());
+        }
+
+        NavigableSet<BookedInterval> startingBetween(long from, long to) {
+            return bookings.subSet(probe(from), true, probe(to), false);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.thevoids.oncologic.scheduling;
+
+import java.util.Date;
+
+/**
+ * The period a doctor is assigned to a clinic, taken from a
+ * {@code ClinicAssignment} row, in epoch milliseconds.
+ */
+public record AssignmentWindow(Long clinicAssignmentId, Long doctorId, Long clinicId, long start, long end) {
+
+    public AssignmentWindow(Long clinicAssignmentId, Long doctorId, Long clinicId, Date start, Date end) {
+        this(clinicAssignmentId, doctorId, clinicId, start.getTime(), end.getTime());
+    }
+}
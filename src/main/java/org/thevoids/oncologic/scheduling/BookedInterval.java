@@ -0,0 +1,36 @@
+package org.thevoids.oncologic.scheduling;
+
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * The time an appointment occupies: from its start to the end of the
+ * appointment type's standard duration, for the doctor and the clinic it was
+ * booked with.
+ */
+public record BookedInterval(Long appointmentId, Long doctorId, Long clinicId, Date start, Integer durationMinutes) {
+
+    public long startMillis() {
+        return start.getTime();
+    }
+
+    public long endMillis() {
+        return startMillis() + (durationMinutes == null ? 0 : durationMinutes) * 60_000L;
+    }
+
+    public boolean overlaps(long from, long to) {
+        return startMillis() < to && endMillis() > from;
+    }
+
+    /**
+     * True when both intervals occupy the same doctor, clinic and time span,
+     * whatever the appointment ids.
+     */
+    public boolean sameSlotAs(BookedInterval other) {
+        return other != null
+                && Objects.equals(doctorId, other.doctorId)
+                && Objects.equals(clinicId, other.clinicId)
+                && startMillis() == other.startMillis()
+                && endMillis() == other.endMillis();
+    }
+}
@@ -0,0 +1,150 @@
+package org.thevoids.oncologic.scheduling;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds free appointment slots by intersecting clinic assignment windows with
+ * the doctors' weekly schedules and subtracting the intervals already booked
+ * for the doctor or the clinic.
+ *
+ * The range is swept one day at a time across every assignment, so the search
+ * stops at the first day by which {@code limit} slots were found. Within a day
+ * the schedule windows are cut around that day's sorted bookings with a single
+ * forward cursor, and slots are packed back to back from the start of each
+ * free gap. The cost therefore depends on the assignments and days visited,
+ * not on how many appointments the whole range holds.
+ */
+public final class FreeSlotFinder {
+
+    /**
+     * Bookings of the doctor or the clinic that overlap {@code [from, to)},
+     * sorted by start.
+     */
+    @FunctionalInterface
+    public interface BookingLookup {
+        List<BookedInterval> overlapping(Long doctorId, Long clinicId, long from, long to);
+    }
+
+    public record Slot(Long doctorId, Long clinicId, Long clinicAssignmentId, long start, long end) {
+    }
+
+    private static final Comparator<Slot> BY_START = Comparator.comparingLong(Slot::start)
+            .thenComparing(Slot::doctorId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Slot::clinicAssignmentId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private FreeSlotFinder() {
+    }
+
+    /**
+     * Returns the first {@code limit} free slots of {@code durationMillis} in
+     * {@code [from, to)}, ordered by start time. Doctors without any weekly
+     * window are only bound by their clinic assignments.
+     */
+    public static List<Slot> find(Collection<WeeklyWindow> schedules, Collection<AssignmentWindow> assignments,
+            BookingLookup bookings, long from, long to, long durationMillis, int limit, ZoneId zone) {
+        if (durationMillis <= 0 || limit <= 0 || from >= to) {
+            return List.of();
+        }
+        Map<Long, List<WeeklyWindow>> schedulesByDoctor = new HashMap<>();
+        for (WeeklyWindow window : schedules) {
+            schedulesByDoctor.computeIfAbsent(window.doctorId(), id -> new ArrayList<>()).add(window);
+        }
+        schedulesByDoctor.values().forEach(windows -> windows.sort(Comparator.comparing(WeeklyWindow::start)));
+
+        List<Slot> slots = new ArrayList<>();
+        LocalDate last = Instant.ofEpochMilli(to).atZone(zone).toLocalDate();
+        for (LocalDate day = Instant.ofEpochMilli(from).atZone(zone).toLocalDate();
+                !day.isAfter(last) && slots.size() < limit; day = day.plusDays(1)) {
+            long dayStart = Math.max(from, day.atStartOfDay(zone).toInstant().toEpochMilli());
+            long dayEnd = Math.min(to, day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            for (AssignmentWindow assignment : assignments) {
+                long start = Math.max(dayStart, assignment.start());
+                long end = Math.min(dayEnd, assignment.end());
+                if (end - start < durationMillis) {
+                    continue;
+                }
+                List<WeeklyWindow> weekly = schedulesByDoctor.get(assignment.doctorId());
+                Sweep sweep = new Sweep(assignment, durationMillis, slots, bookings, start, end);
+                if (weekly == null) {
+                    sweep.fill(start, end);
+                    continue;
+                }
+                for (WeeklyWindow window : weekly) {
+                    if (window.appliesTo(day.getDayOfWeek())) {
+                        sweep.fill(
+                                Math.max(start, day.atTime(window.start()).atZone(zone).toInstant().toEpochMilli()),
+                                Math.min(end, day.atTime(window.end()).atZone(zone).toInstant().toEpochMilli()));
+                    }
+                }
+            }
+        }
+        slots.sort(BY_START);
+        return slots.size() > limit ? new ArrayList<>(slots.subList(0, limit)) : slots;
+    }
+
+    /**
+     * Emits the slots of one assignment on one day. Windows must be passed in
+     * increasing time order so the booking cursor only moves forward.
+     */
+    private static final class Sweep {
+        private final AssignmentWindow assignment;
+        private final long duration;
+        private final List<Slot> out;
+        private final BookingLookup lookup;
+        private final long from;
+        private final long to;
+        private List<BookedInterval> bookings;
+        private int next;
+
+        Sweep(AssignmentWindow assignment, long duration, List<Slot> out, BookingLookup lookup, long from, long to) {
+            this.assignment = assignment;
+            this.duration = duration;
+            this.out = out;
+            this.lookup = lookup;
+            this.from = from;
+            this.to = to;
+        }
+
+        void fill(long windowStart, long windowEnd) {
+            if (windowEnd - windowStart < duration) {
+                return;
+            }
+            if (bookings == null) {
+                // Looked up once per assignment and day, and only when a window is open that day
+                bookings = lookup.overlapping(assignment.doctorId(), assignment.clinicId(), from, to);
+            }
+            long cursor = windowStart;
+            while (cursor + duration <= windowEnd) {
+                while (next < bookings.size() && bookings.get(next).endMillis() <= cursor) {
+                    next++;
+                }
+                long slotEnd = cursor + duration;
+                BookedInterval blocking = firstOverlap(cursor, slotEnd);
+                if (blocking != null) {
+                    cursor = blocking.endMillis();
+                    continue;
+                }
+                out.add(new Slot(assignment.doctorId(), assignment.clinicId(), assignment.clinicAssignmentId(),
+                        cursor, slotEnd));
+                cursor = slotEnd;
+            }
+        }
+
+        private BookedInterval firstOverlap(long from, long to) {
+            for (int i = next; i < bookings.size() && bookings.get(i).startMillis() < to; i++) {
+                if (bookings.get(i).endMillis() > from) {
+                    return bookings.get(i);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.thevoids.oncologic.scheduling;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A doctor's recurring working hours on one day of the week, taken from a
+ * {@code Schedule} row. Only the time of day of the schedule's start and end
+ * is used. A null day means every day. A row whose day is not recognised
+ * opens no time at all (an empty window), so it cannot fail the availability
+ * search for everyone.
+ */
+public record WeeklyWindow(Long doctorId, DayOfWeek day, LocalTime start, LocalTime end) {
+
+    private static final Logger log = LoggerFactory.getLogger(WeeklyWindow.class);
+
+    private static final Map<String, DayOfWeek> SPANISH_DAYS = Map.of(
+            "lunes", DayOfWeek.MONDAY,
+            "martes", DayOfWeek.TUESDAY,
+            "miercoles", DayOfWeek.WEDNESDAY,
+            "miércoles", DayOfWeek.WEDNESDAY,
+            "jueves", DayOfWeek.THURSDAY,
+            "viernes", DayOfWeek.FRIDAY,
+            "sabado", DayOfWeek.SATURDAY,
+            "sábado", DayOfWeek.SATURDAY,
+            "domingo", DayOfWeek.SUNDAY);
+
+    /**
+     * Builds the window from the columns of a schedule, as selected by
+     * {@code ScheduleRepository.findWeeklyWindows}.
+     */
+    public WeeklyWindow(Long doctorId, String dayOfWeek, Date startTime, Date endTime) {
+        this(doctorId, parseDay(dayOfWeek),
+                isKnownDay(dayOfWeek) ? timeOf(startTime) : LocalTime.MIDNIGHT,
+                isKnownDay(dayOfWeek) ? timeOf(endTime) : LocalTime.MIDNIGHT);
+        if (!isKnownDay(dayOfWeek)) {
+            log.warn("Ignoring the schedule of doctor {} on unknown day '{}'", doctorId, dayOfWeek);
+        }
+    }
+
+    public boolean appliesTo(DayOfWeek date) {
+        return day == null || day == date;
+    }
+
+    /**
+     * The day named in Spanish or English, or {@code null} for a blank or
+     * unknown name.
+     */
+    static DayOfWeek parseDay(String dayOfWeek) {
+        if (dayOfWeek == null || dayOfWeek.isBlank()) {
+            return null;
+        }
+        String name = dayOfWeek.trim().toLowerCase(Locale.ROOT);
+        DayOfWeek spanish = SPANISH_DAYS.get(name);
+        if (spanish != null) {
+            return spanish;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().equalsIgnoreCase(name)) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    static boolean isKnownDay(String dayOfWeek) {
+        return dayOfWeek == null || dayOfWeek.isBlank() || parseDay(dayOfWeek) != null;
+    }
+
+    private static LocalTime timeOf(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalTime();
+    }
+}
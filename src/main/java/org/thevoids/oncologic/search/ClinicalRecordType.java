@@ -0,0 +1,13 @@
+package org.thevoids.oncologic.search;
+
+/**
+ * Kinds of clinical records covered by the full-text search.
+ */
+public enum ClinicalRecordType {
+    /** A medical history: diagnosis, treatment and medications are indexed. */
+    MEDICAL_HISTORY,
+    /** A lab: test type and result are indexed. */
+    LAB,
+    /** The text extracted from a lab's attachment; the id is the lab's. */
+    LAB_ATTACHMENT
+}
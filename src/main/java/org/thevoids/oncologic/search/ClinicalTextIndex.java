@@ -0,0 +1,48 @@
+package org.thevoids.oncologic.search;
+
+import java.util.List;
+
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+
+/**
+ * Full-text index over the free text of medical histories, labs and the
+ * text extracted from lab attachments.
+ *
+ * The services call the write methods on every create, update and delete;
+ * inside a transaction the change is applied once it commits. Which
+ * implementation is used is chosen with {@code app.search.engine}:
+ * {@code memory} ({@link InMemoryClinicalTextIndex}) or {@code postgres}
+ * ({@link PostgresClinicalTextIndex}).
+ */
+public interface ClinicalTextIndex {
+
+    /**
+     * Adds the history or replaces its previous text.
+     */
+    void indexMedicalHistory(MedicalHistoryDTO history);
+
+    /**
+     * Adds the lab or replaces its previous text.
+     */
+    void indexLab(LabDTO lab);
+
+    /**
+     * Adds the text extracted from the lab's attachment or replaces the
+     * previous one.
+     */
+    void indexLabAttachmentText(LabAttachmentTextDTO text);
+
+    void remove(ClinicalRecordType type, Long id);
+
+    /**
+     * Records containing every word of the query, best match first.
+     *
+     * @param query free text; case and accents are ignored
+     * @param type  only records of this type, or {@code null} for both
+     * @param limit maximum number of hits
+     */
+    List<ClinicalSearchHitDTO> search(String query, ClinicalRecordType type, int limit);
+}
@@ -0,0 +1,43 @@
+package org.thevoids.oncologic.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits clinical free text into index terms on every character that is not
+ * a letter or a digit. Terms are lower case and without accents, and
+ * compatibility characters are folded ({@code m²} becomes {@code m2}). Single
+ * letters are dropped; numbers of any length are kept (doses, codes).
+ */
+public final class ClinicalTextTokenizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ClinicalTextTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String term : SEPARATORS.split(fold(text))) {
+            if (term.length() > 1 || (term.length() == 1 && Character.isDigit(term.charAt(0)))) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The text in lower case, without accents and with compatibility
+     * characters folded, as the terms are produced.
+     */
+    public static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,412 @@
+package org.thevoids.oncologic.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+import org.thevoids.oncologic.repository.LabAttachmentTextRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.MedicalHistoryRepository;
+
+/**
+ * Embedded inverted index over the text of medical histories, labs and lab
+ * attachments.
+ *
+ * Every record gets an internal document number, assigned in increasing
+ * order, and every term a postings list of (document, term frequency) sorted
+ * by document. A search intersects the postings of its terms starting from
+ * the rarest one, skipping ahead in the others with a galloping search, and
+ * ranks the matches with BM25, so its cost depends on how rare the terms are
+ * rather than on the number of records.
+ *
+ * Updating a record marks its old document deleted and appends a new one.
+ * Deleted documents are skipped by searches and dropped once they make up a
+ * quarter of the index. The index is built from the repositories once and
+ * then kept up to date by the services (see {@link ClinicalTextIndex}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryClinicalTextIndex implements ClinicalTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+    private static final long NO_PATIENT = Long.MIN_VALUE;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::doc).reversed());
+
+    private final MedicalHistoryRepository medicalHistoryRepository;
+    private final LabRepository labRepository;
+    private final LabAttachmentTextRepository labAttachmentTextRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<ClinicalRecordType, Map<Long, Integer>> live = new EnumMap<>(ClinicalRecordType.class);
+    private final BitSet deleted = new BitSet();
+    private ClinicalRecordType[] types = new ClinicalRecordType[1024];
+    private long[] ids = new long[1024];
+    private long[] patientIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int docCount;
+    private int deletedCount;
+    private long liveLength;
+    private volatile boolean loaded;
+
+    public InMemoryClinicalTextIndex(MedicalHistoryRepository medicalHistoryRepository, LabRepository labRepository,
+            LabAttachmentTextRepository labAttachmentTextRepository, TransactionTemplate transactionTemplate) {
+        this.medicalHistoryRepository = medicalHistoryRepository;
+        this.labRepository = labRepository;
+        this.labAttachmentTextRepository = labAttachmentTextRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (ClinicalRecordType type : ClinicalRecordType.values()) {
+            live.put(type, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            // The schema may not be ready yet; the index is built on first use instead
+        }
+    }
+
+    /**
+     * Discards the index and reads every history, lab and attachment text
+     * from the database.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            live.values().forEach(Map::clear);
+            deleted.clear();
+            docCount = 0;
+            deletedCount = 0;
+            liveLength = 0;
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<MedicalHistoryDTO> rows = medicalHistoryRepository.streamAllForExport()) {
+                    rows.forEach(row -> add(ClinicalRecordType.MEDICAL_HISTORY, row.getHistoryId(),
+                            row.getPatientId(), textOf(row)));
+                }
+                try (Stream<LabDTO> rows = labRepository.streamAllForExport()) {
+                    rows.forEach(row -> add(ClinicalRecordType.LAB, row.getLabId(), row.getPatientId(), textOf(row)));
+                }
+                try (Stream<LabAttachmentTextDTO> rows = labAttachmentTextRepository.streamAllForIndex()) {
+                    rows.forEach(row -> add(ClinicalRecordType.LAB_ATTACHMENT, row.getLabId(), row.getPatientId(),
+                            nullToEmpty(row.getContent())));
+                }
+            });
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexMedicalHistory(MedicalHistoryDTO history) {
+        put(ClinicalRecordType.MEDICAL_HISTORY, history.getHistoryId(), history.getPatientId(), textOf(history));
+    }
+
+    @Override
+    public void indexLab(LabDTO lab) {
+        put(ClinicalRecordType.LAB, lab.getLabId(), lab.getPatientId(), textOf(lab));
+    }
+
+    @Override
+    public void indexLabAttachmentText(LabAttachmentTextDTO text) {
+        put(ClinicalRecordType.LAB_ATTACHMENT, text.getLabId(), text.getPatientId(), nullToEmpty(text.getContent()));
+    }
+
+    @Override
+    public void remove(ClinicalRecordType type, Long id) {
+        afterCommit(() -> write(() -> delete(type, id)));
+    }
+
+    @Override
+    public List<ClinicalSearchHitDTO> search(String query, ClinicalRecordType type, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(ClinicalTextTokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            return toHits(intersect(lists, type, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of records currently searchable.
+     */
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PriorityQueue<Hit> intersect(List<Postings> lists, ClinicalRecordType type, int limit) {
+        int liveDocs = docCount - deletedCount;
+        double averageLength = liveDocs == 0 ? 1 : (double) liveLength / liveDocs;
+        double[] idf = new double[lists.size()];
+        for (int t = 0; t < lists.size(); t++) {
+            int df = lists.get(t).size;
+            idf[t] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        }
+        int[] cursors = new int[lists.size()];
+        PriorityQueue<Hit> top = new PriorityQueue<>(WORST_FIRST);
+        Postings rarest = lists.get(0);
+        candidates: for (int i = 0; i < rarest.size; i++) {
+            int doc = rarest.docs[i];
+            if (deleted.get(doc) || (type != null && types[doc] != type)) {
+                continue;
+            }
+            double score = bm25(rarest.freqs[i], idf[0], lengths[doc], averageLength);
+            for (int t = 1; t < lists.size(); t++) {
+                Postings list = lists.get(t);
+                int at = list.advance(cursors[t], doc);
+                cursors[t] = at;
+                if (at == list.size) {
+                    break candidates;
+                }
+                if (list.docs[at] != doc) {
+                    continue candidates;
+                }
+                score += bm25(list.freqs[at], idf[t], lengths[doc], averageLength);
+            }
+            Hit hit = new Hit(doc, score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (WORST_FIRST.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        return top;
+    }
+
+    private List<ClinicalSearchHitDTO> toHits(PriorityQueue<Hit> top) {
+        ClinicalSearchHitDTO[] hits = new ClinicalSearchHitDTO[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            Hit hit = top.poll();
+            int doc = hit.doc();
+            hits[i] = new ClinicalSearchHitDTO(types[doc], ids[doc],
+                    patientIds[doc] == NO_PATIENT ? null : patientIds[doc], hit.score());
+        }
+        return List.of(hits);
+    }
+
+    private static double bm25(int freq, double idf, int length, double averageLength) {
+        return idf * freq * (K1 + 1) / (freq + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void put(ClinicalRecordType type, Long id, Long patientId, String text) {
+        afterCommit(() -> write(() -> add(type, id, patientId, text)));
+    }
+
+    private void write(Runnable change) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount * 4L >= docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ClinicalRecordType type, Long id, Long patientId, String text) {
+        delete(type, id);
+        List<String> terms = ClinicalTextTokenizer.tokenize(text);
+        if (terms.isEmpty()) {
+            return;
+        }
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        types[doc] = type;
+        ids[doc] = id;
+        patientIds[doc] = patientId == null ? NO_PATIENT : patientId;
+        lengths[doc] = terms.size();
+        liveLength += terms.size();
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String term : terms) {
+            freqs.merge(term, 1, Integer::sum);
+        }
+        freqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, freq));
+        live.get(type).put(id, doc);
+    }
+
+    private void delete(ClinicalRecordType type, Long id) {
+        Integer doc = live.get(type).remove(id);
+        if (doc != null) {
+            deleted.set(doc);
+            deletedCount++;
+            liveLength -= lengths[doc];
+        }
+    }
+
+    /**
+     * Drops the deleted documents and renumbers the rest, keeping their order.
+     */
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            types[next] = types[doc];
+            ids[next] = ids[doc];
+            patientIds[next] = patientIds[doc];
+            lengths[next] = lengths[doc];
+            next++;
+        }
+        postings.values().removeIf(list -> list.compact(renumbered) == 0);
+        live.values().forEach(docs -> docs.replaceAll((id, doc) -> renumbered[doc]));
+        deleted.clear();
+        deletedCount = 0;
+        docCount = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length * 2);
+            types = Arrays.copyOf(types, grown);
+            ids = Arrays.copyOf(ids, grown);
+            patientIds = Arrays.copyOf(patientIds, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    private static String textOf(MedicalHistoryDTO history) {
+        return String.join(" ", nullToEmpty(history.getDiagnosis()), nullToEmpty(history.getTreatment()),
+                nullToEmpty(history.getMedications()));
+    }
+
+    private static String textOf(LabDTO lab) {
+        return String.join(" ", nullToEmpty(lab.getTestType()), nullToEmpty(lab.getResult()));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Hit(int doc, double score) {
+    }
+
+    /**
+     * Documents containing one term, in increasing order, with the number of
+     * times the term occurs in each.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        /**
+         * Appends a document; documents are always added in increasing order.
+         */
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /**
+         * Position of the first document at or after {@code target}, searching
+         * from {@code from} with exponentially growing steps and then a binary
+         * search; {@code size} when there is none.
+         */
+        int advance(int from, int target) {
+            if (from >= size || docs[from] >= target) {
+                return from;
+            }
+            int step = 1;
+            while (from + step < size && docs[from + step] < target) {
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(docs, from + (step >> 1) + 1, Math.min(size, from + step + 1), target);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        int compact(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.thevoids.oncologic.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.UserRepository;
+
+/**
+ * Prefix index over the users, kept in the application.
+ *
+ * Terms (see {@link UserSearchTokenizer}) are kept in a sorted map, so the
+ * terms starting with a query word are one contiguous range of it. Each term
+ * lists the slots of the users that have it; a search marks, for every word,
+ * the slots of all the terms in its range and keeps the users marked by
+ * every word. Users matching a whole term rank before those matching only
+ * its start, then users are sorted by name.
+ *
+ * The index is built from the repository once and then kept up to date by
+ * the services (see {@link UserDirectoryIndex}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserDirectoryIndex implements UserDirectoryIndex {
+
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingInt(Candidate::score)
+            .thenComparing(Candidate::sortKey, Comparator.reverseOrder())
+            .thenComparing(Candidate::userId, Comparator.reverseOrder());
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Slots> terms = new TreeMap<>();
+    private final Map<Long, Integer> slotsByUser = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private Entry[] entries = new Entry[1024];
+    private int slotCount;
+    private volatile boolean loaded;
+
+    public InMemoryUserDirectoryIndex(UserRepository userRepository, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            // The schema may not be ready yet; the index is built on first use instead
+        }
+    }
+
+    /**
+     * Discards the index and reads every user from the database.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            slotsByUser.clear();
+            freeSlots.clear();
+            Arrays.fill(entries, null);
+            slotCount = 0;
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserSearchHitDTO> rows = userRepository.streamAllForSearch()) {
+                    rows.forEach(this::add);
+                }
+            });
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(User user) {
+        UserSearchHitDTO row = new UserSearchHitDTO(user.getUserId(),
+                user.getPatient() == null ? null : user.getPatient().getPatientId(), user.getFullName(),
+                user.getIdentification(), user.getPhone(), user.getEmail());
+        afterCommit(() -> write(() -> add(row)));
+    }
+
+    @Override
+    public void remove(Long userId) {
+        afterCommit(() -> write(() -> delete(userId)));
+    }
+
+    @Override
+    public List<UserSearchHitDTO> search(String query, int limit) {
+        List<String> tokens = UserSearchTokenizer.queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            BitSet[] exact = new BitSet[tokens.size()];
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                BitSet prefixed = new BitSet(slotCount);
+                for (Map.Entry<String, Slots> term : terms
+                        .subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    term.getValue().addTo(prefixed);
+                }
+                if (matches == null) {
+                    matches = prefixed;
+                } else {
+                    matches.and(prefixed);
+                }
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                exact[t] = new BitSet(slotCount);
+                Slots whole = terms.get(token);
+                if (whole != null) {
+                    whole.addTo(exact[t]);
+                }
+            }
+            return top(matches, exact, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of users currently searchable.
+     */
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return slotsByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<UserSearchHitDTO> top(BitSet matches, BitSet[] exact, int limit) {
+        PriorityQueue<Candidate> top = new PriorityQueue<>(WORST_FIRST);
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            int score = 0;
+            for (BitSet whole : exact) {
+                score += whole.get(slot) ? 2 : 1;
+            }
+            Entry entry = entries[slot];
+            Candidate candidate = new Candidate(score, entry.sortKey(), entry.hit().getUserId(), entry);
+            if (top.size() < limit) {
+                top.add(candidate);
+            } else if (WORST_FIRST.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+        UserSearchHitDTO[] hits = new UserSearchHitDTO[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            UserSearchHitDTO hit = top.poll().entry().hit();
+            hits[i] = new UserSearchHitDTO(hit.getUserId(), hit.getPatientId(), hit.getFullName(),
+                    hit.getIdentification(), hit.getPhoneNumber(), hit.getEmail());
+        }
+        return List.of(hits);
+    }
+
+    private void write(Runnable change) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(UserSearchHitDTO row) {
+        delete(row.getUserId());
+        String[] userTerms = UserSearchTokenizer.terms(row.getFullName(), row.getIdentification(),
+                row.getPhoneNumber(), row.getEmail()).toArray(String[]::new);
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        if (slot == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[slot] = new Entry(row, row.getFullName() == null ? "" : ClinicalTextTokenizer.fold(row.getFullName()),
+                userTerms);
+        for (String term : userTerms) {
+            terms.computeIfAbsent(term, t -> new Slots()).add(slot);
+        }
+        slotsByUser.put(row.getUserId(), slot);
+    }
+
+    private void delete(Long userId) {
+        Integer slot = slotsByUser.remove(userId);
+        if (slot == null) {
+            return;
+        }
+        for (String term : entries[slot].terms()) {
+            Slots slots = terms.get(term);
+            if (slots.remove(slot) == 0) {
+                terms.remove(term);
+            }
+        }
+        entries[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(UserSearchHitDTO hit, String sortKey, String[] terms) {
+    }
+
+    private record Candidate(int score, String sortKey, Long userId, Entry entry) {
+    }
+
+    /**
+     * Slots of the users that have one term, in no particular order.
+     */
+    private static final class Slots {
+        private int[] slots = new int[2];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Removes the slot by moving the last one into its place; returns
+         * how many are left.
+         */
+        int remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    break;
+                }
+            }
+            return size;
+        }
+
+        void addTo(BitSet set) {
+            for (int i = 0; i < size; i++) {
+                set.set(slots[i]);
+            }
+        }
+    }
+}
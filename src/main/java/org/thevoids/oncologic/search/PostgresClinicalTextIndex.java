@@ -0,0 +1,91 @@
+package org.thevoids.oncologic.search;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+
+/**
+ * Full-text search on PostgreSQL: {@code tsvector} expression indexes (GIN)
+ * over the histories, labs and attachment texts, created by
+ * {@code db/postgresql/add-full-text-indexes.sql} and
+ * {@code db/postgresql/add-lab-attachment-texts.sql}.
+ *
+ * PostgreSQL keeps the indexes up to date in the same transaction as the
+ * write, so the write methods have nothing to do. The queries must use the
+ * exact expression of the indexes ({@code clinical_tsvector(...)}) for the
+ * planner to pick them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres")
+public class PostgresClinicalTextIndex implements ClinicalTextIndex {
+
+    private static final String MEDICAL_HISTORIES = "SELECT 'MEDICAL_HISTORY' AS type, history_id AS id, patient_id, "
+            + "ts_rank(clinical_tsvector(diagnosis, treatment, medications), q) AS score "
+            + "FROM medical_history, clinical_tsquery(?) q "
+            + "WHERE clinical_tsvector(diagnosis, treatment, medications) @@ q";
+
+    private static final String LABS = "SELECT 'LAB' AS type, lab_id AS id, patient_id, "
+            + "ts_rank(clinical_tsvector(test_type, result, NULL), q) AS score "
+            + "FROM labs, clinical_tsquery(?) q "
+            + "WHERE clinical_tsvector(test_type, result, NULL) @@ q";
+
+    private static final String LAB_ATTACHMENTS = "SELECT 'LAB_ATTACHMENT' AS type, t.lab_id AS id, l.patient_id, "
+            + "ts_rank(clinical_tsvector(t.content, NULL, NULL), q) AS score "
+            + "FROM lab_attachment_texts t JOIN labs l ON l.lab_id = t.lab_id, clinical_tsquery(?) q "
+            + "WHERE clinical_tsvector(t.content, NULL, NULL) @@ q";
+
+    private static final RowMapper<ClinicalSearchHitDTO> HIT = (rs, row) -> new ClinicalSearchHitDTO(
+            ClinicalRecordType.valueOf(rs.getString("type")), rs.getLong("id"), rs.getObject("patient_id", Long.class),
+            rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresClinicalTextIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void indexMedicalHistory(MedicalHistoryDTO history) {
+        // Maintained by the GIN index
+    }
+
+    @Override
+    public void indexLab(LabDTO lab) {
+        // Maintained by the GIN index
+    }
+
+    @Override
+    public void indexLabAttachmentText(LabAttachmentTextDTO text) {
+        // Maintained by the GIN index
+    }
+
+    @Override
+    public void remove(ClinicalRecordType type, Long id) {
+        // Maintained by the GIN index
+    }
+
+    @Override
+    public List<ClinicalSearchHitDTO> search(String query, ClinicalRecordType type, int limit) {
+        if (ClinicalTextTokenizer.tokenize(query).isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (type == ClinicalRecordType.MEDICAL_HISTORY) {
+            return jdbcTemplate.query(MEDICAL_HISTORIES + " ORDER BY score DESC, id LIMIT ?", HIT, query, limit);
+        }
+        if (type == ClinicalRecordType.LAB) {
+            return jdbcTemplate.query(LABS + " ORDER BY score DESC, id LIMIT ?", HIT, query, limit);
+        }
+        if (type == ClinicalRecordType.LAB_ATTACHMENT) {
+            return jdbcTemplate.query(LAB_ATTACHMENTS + " ORDER BY score DESC, id LIMIT ?", HIT, query, limit);
+        }
+        return jdbcTemplate.query(MEDICAL_HISTORIES + " UNION ALL " + LABS + " UNION ALL " + LAB_ATTACHMENTS
+                + " ORDER BY score DESC, id LIMIT ?", HIT, query, query, query, limit);
+    }
+}
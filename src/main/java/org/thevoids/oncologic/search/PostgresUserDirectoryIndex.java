@@ -0,0 +1,69 @@
+package org.thevoids.oncologic.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
+import org.thevoids.oncologic.entity.User;
+
+/**
+ * User typeahead on PostgreSQL: a trigram (pg_trgm) GIN index over the
+ * users' searchable text, created by
+ * {@code db/postgresql/add-user-search-index.sql}.
+ *
+ * Every query word becomes a {@code LIKE '%word%'} condition, which the
+ * trigram index answers; words shorter than three characters cannot use it
+ * on their own, so a single one- or two-letter query reads the whole index.
+ * PostgreSQL keeps the index up to date with the rows, so the write methods
+ * have nothing to do.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres")
+public class PostgresUserDirectoryIndex implements UserDirectoryIndex {
+
+    private static final String SEARCH_TEXT = "user_search_text(u.full_name, u.identification, u.phone, u.email)";
+
+    private static final RowMapper<UserSearchHitDTO> HIT = (rs, row) -> new UserSearchHitDTO(rs.getLong("user_id"),
+            rs.getObject("patient_id", Long.class), rs.getString("full_name"), rs.getString("identification"),
+            rs.getString("phone"), rs.getString("email"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresUserDirectoryIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void index(User user) {
+        // Maintained by the GIN index
+    }
+
+    @Override
+    public void remove(Long userId) {
+        // Maintained by the GIN index
+    }
+
+    @Override
+    public List<UserSearchHitDTO> search(String query, int limit) {
+        List<String> tokens = UserSearchTokenizer.queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("SELECT u.user_id, p.patient_id, u.full_name, u.identification, "
+                + "u.phone, u.email FROM users u LEFT JOIN patients p ON p.user_id = u.user_id WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        for (String token : tokens) {
+            // Tokens are letters and digits only, so they need no LIKE escaping
+            sql.append(" AND ").append(SEARCH_TEXT).append(" LIKE ?");
+            args.add("%" + token + "%");
+        }
+        sql.append(" ORDER BY similarity(").append(SEARCH_TEXT).append(", ?) DESC, u.full_name, u.user_id LIMIT ?");
+        args.add(String.join(" ", tokens));
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), HIT, args.toArray());
+    }
+}
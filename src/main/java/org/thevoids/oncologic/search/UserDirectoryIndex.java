@@ -0,0 +1,37 @@
+package org.thevoids.oncologic.search;
+
+import java.util.List;
+
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
+import org.thevoids.oncologic.entity.User;
+
+/**
+ * Typeahead over the users' full name, identification, phone and email.
+ *
+ * {@code UserServiceImpl} and {@code PatientServiceImpl} call the write
+ * methods whenever a user, or the patient linked to it, changes; inside a
+ * transaction the change is applied once it commits. The implementation
+ * follows {@code app.search.engine}, like {@link ClinicalTextIndex}:
+ * {@code memory} ({@link InMemoryUserDirectoryIndex}) or {@code postgres}
+ * ({@link PostgresUserDirectoryIndex}).
+ */
+public interface UserDirectoryIndex {
+
+    /**
+     * Adds the user or replaces its previous entry. The patient id is taken
+     * from {@link User#getPatient()}.
+     */
+    void index(User user);
+
+    void remove(Long userId);
+
+    /**
+     * Users whose name, identification, phone or email contain every word of
+     * the query, best match first. The in-memory index matches the start of
+     * a term (see {@link UserSearchTokenizer}); PostgreSQL matches anywhere.
+     *
+     * @param query as typed; case, accents and punctuation are ignored
+     * @param limit maximum number of hits
+     */
+    List<UserSearchHitDTO> search(String query, int limit);
+}
@@ -0,0 +1,94 @@
+package org.thevoids.oncologic.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Terms for the user typeahead. Text is folded like clinical text (see
+ * {@link ClinicalTextTokenizer#fold(String)}) and punctuation inside a word
+ * is ignored, so {@code 1.023.456}, {@code ana.perez@} and
+ * {@code García-López} are typed the way they are written or without the
+ * punctuation.
+ *
+ * A field yields every word on its own, with and without its punctuation
+ * ({@code garcialopez}, {@code garcia} and {@code lopez}). Numbers written in
+ * groups are also joined from each group to the end, so a phone typed
+ * without its country code or spaces ({@code 3001234567} for
+ * {@code +57 300 123 4567}) matches by prefix. Names are not joined that
+ * way: every user would get terms of its own, which makes the short
+ * prefixes typed first slower to look up.
+ */
+public final class UserSearchTokenizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIGITS = Pattern.compile("\\p{N}+");
+
+    private UserSearchTokenizer() {
+    }
+
+    /**
+     * The distinct terms of the given fields; {@code null} fields are skipped.
+     */
+    public static Set<String> terms(String... fields) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field == null || field.isBlank()) {
+                continue;
+            }
+            String folded = ClinicalTextTokenizer.fold(field);
+            String[] words = WHITESPACE.split(folded.strip());
+            for (int i = 0; i < words.length; i++) {
+                String word = compact(words[i]);
+                if (!DIGITS.matcher(word).matches()) {
+                    addIfNotEmpty(terms, word);
+                    continue;
+                }
+                StringBuilder joined = new StringBuilder(word);
+                for (int j = i + 1; j < words.length; j++) {
+                    String next = compact(words[j]);
+                    if (!DIGITS.matcher(next).matches()) {
+                        break;
+                    }
+                    joined.append(next);
+                }
+                terms.add(joined.toString());
+            }
+            for (String part : NOT_ALPHANUMERIC.split(folded)) {
+                addIfNotEmpty(terms, part);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The words of a query, each of which must be the prefix of a term; a
+     * word made only of punctuation is dropped.
+     */
+    public static List<String> queryTokens(String query) {
+        List<String> tokens = new ArrayList<>();
+        if (query == null || query.isBlank()) {
+            return tokens;
+        }
+        for (String word : WHITESPACE.split(ClinicalTextTokenizer.fold(query).strip())) {
+            String token = compact(word);
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String compact(String text) {
+        return NOT_ALPHANUMERIC.matcher(text).replaceAll("");
+    }
+
+    private static void addIfNotEmpty(Set<String> terms, String term) {
+        if (!term.isEmpty()) {
+            terms.add(term);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.thevoids.oncologic.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder with a configurable cost that asks for re-encoding of any
+ * hash stored with a different cost, higher or lower. Spring Security's
+ * {@code DaoAuthenticationProvider} then re-hashes the password on the next
+ * successful login through {@code UserDetailsPasswordService}.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost != -1 && cost != strength;
+    }
+
+    /**
+     * Reads the cost from a "$2a$12$..." style hash, or -1 if it is not a BCrypt hash.
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+}
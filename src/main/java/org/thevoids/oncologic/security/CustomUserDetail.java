@@ -12,11 +12,21 @@ import org.thevoids.oncologic.entity.User;
 public class CustomUserDetail implements UserDetails {
     
     private User user;
+    private RoleAuthorityIndex roleAuthorityIndex;
+
+    // Authorities resolved against the snapshot they came from, reused until it is replaced. The
+    // principal is shared between requests by the token cache, so both are published together.
+    private volatile Resolved resolved;
 
     public CustomUserDetail(User user) {
         this.user = user;
     }
 
+    public CustomUserDetail(User user, RoleAuthorityIndex roleAuthorityIndex) {
+        this.user = user;
+        this.roleAuthorityIndex = roleAuthorityIndex;
+    }
+
     @Override
     public String getPassword() {
         return user.getPassword();
@@ -29,6 +39,9 @@ public class CustomUserDetail implements UserDetails {
 
     @Override
     public Collection<GrantedAuthority> getAuthorities() {
+        if (roleAuthorityIndex != null) {
+            return getIndexedAuthorities();
+        }
         List<GrantedAuthority> roles = user.getAssignedRoles().stream()
                 .map(assignedRole -> new SimpleGrantedAuthority("ROLE_" + assignedRole.getRole().getRoleName())) // Add "ROLE_" prefix
                 .collect(Collectors.toList());
@@ -39,4 +52,23 @@ public class CustomUserDetail implements UserDetails {
         roles.addAll(permissions);
         return roles;
     }
+
+    private List<GrantedAuthority> getIndexedAuthorities() {
+        RoleAuthorityIndex.Snapshot snapshot = roleAuthorityIndex.snapshot();
+        Resolved current = resolved;
+        if (current != null && current.snapshot() == snapshot) {
+            return current.authorities();
+        }
+        List<Long> roleIds = user.getAssignedRoles() == null
+                ? List.of()
+                : user.getAssignedRoles().stream()
+                        .map(assignedRole -> assignedRole.getRole().getRoleId())
+                        .collect(Collectors.toList());
+        List<GrantedAuthority> authorities = snapshot.authoritiesFor(roleIds);
+        resolved = new Resolved(snapshot, authorities);
+        return authorities;
+    }
+
+    private record Resolved(RoleAuthorityIndex.Snapshot snapshot, List<GrantedAuthority> authorities) {
+    }
 }
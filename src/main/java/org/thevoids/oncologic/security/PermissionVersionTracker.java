@@ -0,0 +1,141 @@
+package org.thevoids.oncologic.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thevoids.oncologic.repository.PermissionVersionRepository;
+
+/**
+ * Keeps a version number for the role/permission assignments. Every service
+ * that changes who has which authority bumps it, and the version is signed
+ * into each JWT so the filter can tell whether the authorities in a token are
+ * still current.
+ *
+ * The version lives in the permission_version row, so a change made on one
+ * node sends the tokens back to the database on every node. Each node reads
+ * the row again once {@code app.security.permission-version.ttl} has passed,
+ * which bounds how long another node's change can go unnoticed; a change
+ * made on this node is seen here at once. The row is created, seeded with the
+ * current time, the first time it is missing.
+ */
+@Component
+public class PermissionVersionTracker {
+
+    private final PermissionVersionRepository repository;
+    private final long ttlNanos;
+
+    // Only used without a repository
+    private final AtomicLong localVersion = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /**
+     * A version kept in memory on this node only, starting at the current
+     * time so tokens issued before a restart are treated as stale. Changes
+     * made on other nodes are not seen.
+     */
+    public PermissionVersionTracker() {
+        this(null, Duration.ZERO);
+    }
+
+    @Autowired
+    public PermissionVersionTracker(PermissionVersionRepository repository,
+            @Value("${app.security.permission-version.ttl:PT5S}") Duration ttl) {
+        this.repository = repository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long currentVersion() {
+        if (repository == null) {
+            return localVersion.get();
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            return reload();
+        }
+        // One thread reads the row again; the others keep using the version they have meanwhile
+        if (System.nanoTime() - current.loadedAt >= ttlNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                return reload();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return current.version;
+    }
+
+    /**
+     * Moves the version on once the current transaction commits, or right
+     * away outside a transaction. Bumping earlier would let a token be
+     * checked against the new version while the change is not yet visible.
+     */
+    public void increment() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementNow();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementNow();
+            }
+        });
+    }
+
+    public boolean isCurrent(Number tokenVersion) {
+        return tokenVersion != null && tokenVersion.longValue() == currentVersion();
+    }
+
+    private void incrementNow() {
+        if (repository == null) {
+            localVersion.incrementAndGet();
+            return;
+        }
+        if (repository.incrementVersion() == 0) {
+            createRow();
+            repository.incrementVersion();
+        }
+        reload();
+    }
+
+    private long reload() {
+        Long version = repository.findCurrentVersion().orElse(null);
+        if (version == null) {
+            createRow();
+            version = repository.findCurrentVersion().orElseThrow();
+        }
+        return publish(version);
+    }
+
+    /**
+     * Versions only go up, so a read that raced with a newer one is dropped
+     * instead of bringing an outdated version back.
+     */
+    private synchronized long publish(long version) {
+        Snapshot current = snapshot;
+        if (current != null && current.version > version) {
+            return current.version;
+        }
+        snapshot = new Snapshot(version, System.nanoTime());
+        return version;
+    }
+
+    private void createRow() {
+        try {
+            repository.insertVersion(System.currentTimeMillis());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+
+    private record Snapshot(long version, long loadedAt) {
+    }
+}
@@ -0,0 +1,180 @@
+package org.thevoids.oncologic.security;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.thevoids.oncologic.repository.RoleRepository;
+
+/**
+ * Immutable role-to-permission index used to resolve authorities without
+ * walking the role and permission entities on every request.
+ *
+ * Every authority is interned once per snapshot and the permissions of each
+ * role are kept as a bitset over the permission ordinals. The snapshot is
+ * rebuilt and swapped as a whole when {@link PermissionVersionTracker} moves,
+ * which every service that changes roles or permissions already does.
+ */
+@Component
+public class RoleAuthorityIndex {
+
+    private final RoleRepository roleRepository;
+    private final PermissionVersionTracker permissionVersionTracker;
+
+    private volatile Snapshot snapshot;
+
+    public RoleAuthorityIndex(RoleRepository roleRepository, PermissionVersionTracker permissionVersionTracker) {
+        this.roleRepository = roleRepository;
+        this.permissionVersionTracker = permissionVersionTracker;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            snapshot();
+        } catch (DataAccessException e) {
+            // The schema may not be ready yet; the index is built on first use instead
+        }
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it if roles or permissions
+     * changed since it was built.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        long version = permissionVersionTracker.currentVersion();
+        if (current != null && current.version == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.version != permissionVersionTracker.currentVersion()) {
+                current = build(permissionVersionTracker.currentVersion());
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build(long version) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<GrantedAuthority> permissions = new ArrayList<>();
+        Map<Long, String> roleNames = new LinkedHashMap<>();
+        Map<Long, BitSet> roleBits = new HashMap<>();
+
+        for (Object[] row : roleRepository.findRolePermissionNames()) {
+            Long roleId = (Long) row[0];
+            String permissionName = (String) row[2];
+            roleNames.put(roleId, (String) row[1]);
+            BitSet bits = roleBits.computeIfAbsent(roleId, id -> new BitSet());
+            if (permissionName != null) {
+                Integer ordinal = ordinals.get(permissionName);
+                if (ordinal == null) {
+                    ordinal = permissions.size();
+                    ordinals.put(permissionName, ordinal);
+                    permissions.add(new SimpleGrantedAuthority(permissionName));
+                }
+                bits.set(ordinal);
+            }
+        }
+
+        Map<Long, RoleAuthorities> roles = new HashMap<>();
+        for (Map.Entry<Long, String> role : roleNames.entrySet()) {
+            BitSet bits = roleBits.get(role.getKey());
+            GrantedAuthority roleAuthority = new SimpleGrantedAuthority("ROLE_" + role.getValue());
+            List<GrantedAuthority> authorities = new ArrayList<>(bits.cardinality() + 1);
+            authorities.add(roleAuthority);
+            bits.stream().forEach(ordinal -> authorities.add(permissions.get(ordinal)));
+            roles.put(role.getKey(), new RoleAuthorities(roleAuthority, bits, Collections.unmodifiableList(authorities)));
+        }
+
+        return new Snapshot(version, Map.copyOf(ordinals), List.copyOf(permissions), Map.copyOf(roles));
+    }
+
+    /**
+     * Authorities of a single role. The bitset is never handed out, so the
+     * instance is effectively immutable.
+     */
+    public static final class RoleAuthorities {
+        private final GrantedAuthority roleAuthority;
+        private final BitSet permissions;
+        private final List<GrantedAuthority> authorities;
+
+        private RoleAuthorities(GrantedAuthority roleAuthority, BitSet permissions, List<GrantedAuthority> authorities) {
+            this.roleAuthority = roleAuthority;
+            this.permissions = permissions;
+            this.authorities = authorities;
+        }
+
+        public GrantedAuthority getRoleAuthority() {
+            return roleAuthority;
+        }
+
+        /**
+         * The "ROLE_" authority followed by the role's permissions.
+         */
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final Map<String, Integer> permissionOrdinals;
+        private final List<GrantedAuthority> permissions;
+        private final Map<Long, RoleAuthorities> roles;
+
+        private Snapshot(long version, Map<String, Integer> permissionOrdinals, List<GrantedAuthority> permissions,
+                Map<Long, RoleAuthorities> roles) {
+            this.version = version;
+            this.permissionOrdinals = permissionOrdinals;
+            this.permissions = permissions;
+            this.roles = roles;
+        }
+
+        public RoleAuthorities getRole(Long roleId) {
+            return roles.get(roleId);
+        }
+
+        public boolean roleHasPermission(Long roleId, String permissionName) {
+            RoleAuthorities role = roles.get(roleId);
+            Integer ordinal = permissionOrdinals.get(permissionName);
+            return role != null && ordinal != null && role.permissions.get(ordinal);
+        }
+
+        /**
+         * Resolves the authorities granted by the given roles: one "ROLE_"
+         * authority per role followed by the union of their permissions, using
+         * the interned instances of this snapshot. Unknown role ids are ignored.
+         */
+        public List<GrantedAuthority> authoritiesFor(Collection<Long> roleIds) {
+            if (roleIds.size() == 1) {
+                RoleAuthorities role = roles.get(roleIds.iterator().next());
+                return role != null ? role.authorities : Collections.emptyList();
+            }
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            BitSet union = new BitSet(permissions.size());
+            for (Long roleId : roleIds) {
+                RoleAuthorities role = roles.get(roleId);
+                if (role != null) {
+                    authorities.add(role.roleAuthority);
+                    union.or(role.permissions);
+                }
+            }
+            union.stream().forEach(ordinal -> authorities.add(permissions.get(ordinal)));
+            return Collections.unmodifiableList(authorities);
+        }
+    }
+}
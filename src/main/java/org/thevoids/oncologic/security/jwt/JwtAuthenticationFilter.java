@@ -5,6 +5,7 @@ import java.io.IOException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -12,6 +13,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.thevoids.oncologic.service.impl.CustomUserDetailsServiceImpl;
 import org.thevoids.oncologic.utils.JwtService;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -25,10 +27,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsServiceImpl customUserDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsServiceImpl customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsServiceImpl customUserDetailsService,
+            VerifiedTokenCache verifiedTokenCache) {
         this.jwtService = jwtService;
         this.customUserDetailsService = customUserDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
@@ -41,17 +46,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        
+
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Tokens verified on a previous request skip signature checks and the user lookup
+            UserDetails cached = verifiedTokenCache.get(jwt);
+            if (cached != null) {
+                authenticate(request, cached);
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+
         try {
-            String username = jwtService.extractUsername(jwt);
+            // Parse and verify the token once; the same claims are reused for validation
+            Claims claims = jwtService.parseClaims(jwt);
+            String username = jwtService.extractUsername(claims);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                UserDetails userDetails = jwtService.hasCurrentAuthorities(claims)
+                        ? User.withUsername(username)
+                                .password("")
+                                .authorities(jwtService.extractAuthorities(claims))
+                                .build()
+                        : customUserDetailsService.loadUserByUsername(username);
+                if (jwtService.validateClaims(claims, userDetails)) {
+                    authenticate(request, userDetails);
+                    verifiedTokenCache.put(jwt, userDetails, claims.getExpiration());
                 }
             }
         } catch (ExpiredJwtException e) {
@@ -73,4 +93,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
@@ -2,6 +2,8 @@ package org.thevoids.oncologic.security.jwt;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -16,6 +18,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.thevoids.oncologic.security.CustomAccessDeniedHandler;
 import org.thevoids.oncologic.service.impl.CustomUserDetailsServiceImpl;
 import org.thevoids.oncologic.utils.JwtService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 @Configuration
 public class JwtSecurityConfig {
@@ -35,12 +38,15 @@ public class JwtSecurityConfig {
                 configuration.setAllowedOrigins(List.of("http://localhost:5173"));
                 configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
                 configuration.setAllowedHeaders(List.of("*"));
+                configuration.setExposedHeaders(List.of(KeysetPage.NEXT_CURSOR_HEADER));
                 return configuration;
             }))
             .securityMatcher("/api/v1/**")
             .userDetailsService(userDetailsService)
             .authorizeHttpRequests(
                 auth -> auth
+                    // Streaming responses finish on an async dispatch; the request was authorized before it started
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers("/css/**", "/js/**", "/img/**").permitAll()
                     .requestMatchers("/api/v1/auth/**").permitAll()
                     .requestMatchers("/api/v1/users/**").hasAuthority("VIEW_USERS")
@@ -60,8 +66,9 @@ public class JwtSecurityConfig {
     }
 
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsServiceImpl customUserDetailsServiceImpl) {
-        return new JwtAuthenticationFilter(jwtService, customUserDetailsServiceImpl);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsServiceImpl customUserDetailsServiceImpl,
+            VerifiedTokenCache verifiedTokenCache) {
+        return new JwtAuthenticationFilter(jwtService, customUserDetailsServiceImpl, verifiedTokenCache);
     }
 
     @Bean
@@ -0,0 +1,202 @@
+package org.thevoids.oncologic.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
+
+/**
+ * Bounded cache of bearer tokens that already passed signature and
+ * expiration checks in {@link JwtAuthenticationFilter}, so repeated requests
+ * with the same token skip the HMAC verification and the user lookup.
+ *
+ * Entries are keyed by the SHA-256 of the token (the raw token is never kept),
+ * live until the token's {@code exp} claim and are dropped when the permission
+ * version changes or when the user's roles are modified.
+ *
+ * Lookups take no lock: a hit only stamps the entry's last use. Once the map
+ * grows past {@code maxSize}, one thread at a time drops the unusable entries
+ * and then the least recently used ones down to 90% of the bound, so eviction
+ * is approximately LRU and the size can briefly overshoot while it runs. The
+ * tokens of each user are indexed so {@link #evictUser} does not scan the map.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final int maxSize;
+    private final PermissionVersionTracker permissionVersionTracker;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${app.security.token-cache.max-size:10000}") int maxSize,
+            PermissionVersionTracker permissionVersionTracker) {
+        this.maxSize = maxSize;
+        this.permissionVersionTracker = permissionVersionTracker;
+    }
+
+    /**
+     * Returns the principal cached for the token, or null if the token was not
+     * verified before, has expired or its authorities may be stale.
+     */
+    public UserDetails get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry != null && !isUsable(entry, System.currentTimeMillis(), permissionVersionTracker.currentVersion())) {
+            remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.lastUsed = System.nanoTime();
+        hits.increment();
+        return entry.principal;
+    }
+
+    public void put(String token, UserDetails principal, Date expiration) {
+        if (maxSize <= 0 || expiration == null) {
+            return;
+        }
+        Entry entry = new Entry(principal, expiration.getTime(), permissionVersionTracker.currentVersion());
+        String key = hash(token);
+        // Indexed first, so evictUser cannot miss an entry that is already visible
+        tokensByUser.compute(principal.getUsername(), (username, keys) -> {
+            Set<String> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            indexed.add(key);
+            return indexed;
+        });
+        entries.put(key, entry);
+        if (entries.size() > maxSize) {
+            trim();
+        }
+    }
+
+    /**
+     * Drops every cached token of the given user, e.g. after their roles changed.
+     */
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        Set<String> keys = tokensByUser.remove(username);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            if (entries.remove(key) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            long version = permissionVersionTracker.currentVersion();
+            entries.forEach((key, entry) -> {
+                if (!isUsable(entry, now, version)) {
+                    remove(key, entry);
+                }
+            });
+            int excess = entries.size() - (maxSize - maxSize / 10);
+            if (excess <= 0) {
+                return;
+            }
+            // Last uses are copied first: hits keep moving them while the list is sorted
+            List<Candidate> byLastUse = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> byLastUse.add(new Candidate(key, entry, entry.lastUsed)));
+            byLastUse.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (Candidate candidate : byLastUse.subList(0, Math.min(excess, byLastUse.size()))) {
+                remove(candidate.key(), candidate.entry());
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (!entries.remove(key, entry)) {
+            return;
+        }
+        evictions.increment();
+        tokensByUser.computeIfPresent(entry.principal.getUsername(), (username, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static boolean isUsable(Entry entry, long now, long permissionVersion) {
+        return entry.expiresAt > now && entry.permissionVersion == permissionVersion;
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static final class Entry {
+        private final UserDetails principal;
+        private final long expiresAt;
+        private final long permissionVersion;
+        private volatile long lastUsed = System.nanoTime();
+
+        Entry(UserDetails principal, long expiresAt, long permissionVersion) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+            this.permissionVersion = permissionVersion;
+        }
+    }
+
+    private record Candidate(String key, Entry entry, long lastUsed) {
+    }
+}
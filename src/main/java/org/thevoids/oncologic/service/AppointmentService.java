@@ -1,17 +1,36 @@
 package org.thevoids.oncologic.service;
 
+import org.thevoids.oncologic.dto.custom.BulkAppointmentResultDTO;
+import org.thevoids.oncologic.dto.entity.AppointmentDTO;
 import org.thevoids.oncologic.entity.Appointment;
 
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AppointmentService {
     List<Appointment> getAllAppointments();
 
+    List<Appointment> getAppointmentsAfter(Long after, int limit);
+
+    /**
+     * Passes every appointment to the consumer in id order, reading them as a
+     * forward-only stream so the whole table is never held in memory.
+     */
+    void forEachAppointmentForExport(Consumer<AppointmentDTO> consumer);
+
     Appointment getAppointmentById(Long id);
 
     Appointment createAppointment(Long patientId, Long ClinicAssigmentId, Long appointmentTypeId, Date dateTime);
 
+    /**
+     * Creates several appointments at once, all or nothing. Every item is
+     * validated first (references are resolved with one lookup per entity
+     * type); only if all of them are valid and free are they inserted, in JDBC
+     * batches within a single transaction. Returns one result per item.
+     */
+    List<BulkAppointmentResultDTO> createAppointments(List<AppointmentDTO> appointments);
+
     Appointment updateAppointment(Appointment appointment); // Updates only the attributes of the existing entity
 
     void deleteAppointment(Long id);
@@ -15,4 +15,6 @@ public interface AppointmentTypeService {
     void deleteAppointmentType(Long id);
 
     List<AppointmentType> getAllAppointmentTypes();
+
+    List<AppointmentType> getAppointmentTypesAfter(Long after, int limit);
 }
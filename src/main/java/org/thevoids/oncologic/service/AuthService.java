@@ -0,0 +1,7 @@
+package org.thevoids.oncologic.service;
+
+import org.thevoids.oncologic.dto.custom.AuthResponseDTO;
+
+public interface AuthService {
+    AuthResponseDTO buildAuthResponse(String identification, String token);
+}
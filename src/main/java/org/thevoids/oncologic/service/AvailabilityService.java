@@ -0,0 +1,15 @@
+package org.thevoids.oncologic.service;
+
+import java.util.Date;
+import java.util.List;
+
+import org.thevoids.oncologic.dto.custom.AvailableSlotDTO;
+
+public interface AvailabilityService {
+
+    /**
+     * Finds the first free slots for an appointment type with any doctor of
+     * the specialty, ordered by start time.
+     */
+    List<AvailableSlotDTO> findFreeSlots(Long specialtyId, Long appointmentTypeId, Date from, Date to, int limit);
+}
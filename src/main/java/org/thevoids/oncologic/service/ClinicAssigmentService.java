@@ -7,6 +7,8 @@ import org.thevoids.oncologic.entity.ClinicAssignment;
 public interface ClinicAssigmentService {
     List<ClinicAssignment> getAllClinicAssignments();
 
+    List<ClinicAssignment> getClinicAssignmentsAfter(Long after, int limit);
+
     ClinicAssignment getClinicAssignmentById(Long id);
 
     ClinicAssignment updateClinicAssignment(ClinicAssignment clinicAssigment);
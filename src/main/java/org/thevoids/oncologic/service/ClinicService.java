@@ -7,6 +7,8 @@ import java.util.List;
 public interface ClinicService {
     List<Clinic> getAllClinics();
 
+    List<Clinic> getClinicsAfter(Long after, int limit);
+
     Clinic getClinicById(Long id);
 
     Clinic createClinic(Clinic clinic);
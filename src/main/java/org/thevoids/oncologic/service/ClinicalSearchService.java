@@ -0,0 +1,17 @@
+package org.thevoids.oncologic.service;
+
+import java.util.List;
+
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+
+public interface ClinicalSearchService {
+
+    /**
+     * Histories and labs whose text contains every word of the query, best
+     * match first. The limit is clamped to {@code [1, 100]}.
+     *
+     * @param type only records of this type, or {@code null} for both
+     */
+    List<ClinicalSearchHitDTO> search(String query, ClinicalRecordType type, int limit);
+}
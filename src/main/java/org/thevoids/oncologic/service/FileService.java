@@ -1,10 +1,18 @@
 package org.thevoids.oncologic.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileService {
     /**
-     * Stores a file and returns the file path
+     * Stores a file and returns the file path. Files are content-addressed:
+     * the path is derived from the SHA-256 of the content, and storing the
+     * same content again returns the same path without a second copy.
      * 
      * @param file         The file to store
      * @param subdirectory The subdirectory within uploads to store the file
@@ -13,7 +21,21 @@ public interface FileService {
     String storeFile(MultipartFile file, String subdirectory);
 
     /**
-     * Deletes a file from the file system
+     * Same as {@link #storeFile(MultipartFile, String)} for a file already on
+     * disk, such as a completed chunked upload. The file is taken over: moved
+     * into the store when it can be, otherwise copied and deleted.
+     * 
+     * @param file             The file to take over
+     * @param originalFilename The client's name for the file, for its extension
+     * @param subdirectory     The subdirectory within uploads to store the file
+     * @return The relative path to the stored file
+     */
+    String storeFile(Path file, String originalFilename, String subdirectory);
+
+    /**
+     * Deletes a file, and the files derived from it, from the storage. A
+     * content-addressed file is only removed once every store of it has been
+     * deleted.
      * 
      * @param filePath The relative path to the file to delete
      */
@@ -28,10 +50,78 @@ public interface FileService {
     boolean isValidFile(MultipartFile file);
 
     /**
-     * Gets the full path to a file
+     * Whether files of this content type may be stored
+     * 
+     * @param contentType The declared content type
+     * @return true if allowed, false otherwise
+     */
+    boolean isAllowedContentType(String contentType);
+
+    /**
+     * Gets the full path to a file, when the storage keeps files on this
+     * machine's disk
      * 
      * @param relativePath The relative path to the file
-     * @return The full path to the file
+     * @return The full path to the file, or null if the storage is remote
      */
     String getFullPath(String relativePath);
+
+    /**
+     * Opens a stored file for reading; the caller closes the stream
+     * 
+     * @param relativePath The relative path to the file
+     * @return The file's content
+     * @throws java.nio.file.NoSuchFileException if there is no such file
+     */
+    InputStream openFile(String relativePath) throws IOException;
+
+    /**
+     * Whether a file is stored at this path
+     * 
+     * @param relativePath The relative path to the file
+     * @return true if the file exists
+     */
+    boolean exists(String relativePath) throws IOException;
+
+    /**
+     * A URL from which the client can download the file straight from the
+     * storage, for a limited time, so its bytes do not go through the
+     * application
+     * 
+     * @param relativePath The relative path to the file
+     * @param downloadName The file name suggested to the client
+     * @return The URL, or empty if the storage has none and the file must be
+     *         sent by the application
+     */
+    Optional<URI> getDownloadUrl(String relativePath, String downloadName);
+
+    /**
+     * Gets the relative path of a file derived from a stored file
+     * (thumbnail, extracted text...). Derived files are read like any other
+     * stored file and are deleted along with the file.
+     * 
+     * @param relativePath The relative path to the file
+     * @param name         The derived file's name, such as thumbnail.jpg
+     * @return The relative path to the derived file, which may not exist yet
+     */
+    String getDerivativePath(String relativePath, String name);
+
+    /**
+     * Stores a file derived from a stored file, replacing the previous one.
+     * The file is taken over like in {@link #storeFile(Path, String, String)}.
+     * 
+     * @param relativePath The relative path to the file it was derived from
+     * @param name         The derived file's name
+     * @param file         The derived file
+     */
+    void storeDerivative(String relativePath, String name, Path file) throws IOException;
+
+    /**
+     * Whether the content at this path can never change, so clients may cache
+     * it indefinitely (true for content-addressed paths)
+     * 
+     * @param relativePath The relative path to the file
+     * @return true if the path names immutable content
+     */
+    boolean isImmutable(String relativePath);
 }
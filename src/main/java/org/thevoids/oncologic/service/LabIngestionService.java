@@ -0,0 +1,38 @@
+package org.thevoids.oncologic.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+import org.thevoids.oncologic.dto.custom.BulkLabResultDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+
+/**
+ * Bulk ordering and result ingestion of labs, e.g. a batch exported by a lab
+ * instrument.
+ *
+ * Each row without {@code labId} orders a new lab and needs the patient,
+ * technician and request date. A row with {@code labId} updates that lab, and
+ * only the fields present in the row are changed. The attachment is only set
+ * by uploading a file, so a row may repeat the lab's current one but not
+ * change it. Rows are processed in chunks.
+ * Each chunk resolves its patients, technicians and labs with one query per
+ * entity type and is written in JDBC batches in its own transaction. A
+ * failing row is reported and skipped, and never aborts the rest of the batch.
+ */
+public interface LabIngestionService {
+
+    int MAX_ROWS = 50_000;
+
+    List<BulkLabResultDTO> ingestLabs(List<LabDTO> labs);
+
+    /**
+     * Same as {@link #ingestLabs(List)} for CSV input. The first record is a
+     * header naming the {@link LabDTO} fields used as columns, in any order.
+     * Dates are ISO-8601 and may omit the offset or the time.
+     *
+     * @throws IllegalArgumentException if the header is missing or names an
+     *                                  unknown column.
+     */
+    List<BulkLabResultDTO> ingestLabsCsv(Reader csv) throws IOException;
+}
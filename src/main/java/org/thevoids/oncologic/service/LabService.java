@@ -2,6 +2,7 @@ package org.thevoids.oncologic.service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.web.multipart.MultipartFile;
 import org.thevoids.oncologic.dto.entity.LabDTO;
@@ -13,10 +14,25 @@ public interface LabService {
 
     LabDTO updateLabWithFile(LabDTO labDTO, MultipartFile file);
 
+    /**
+     * Makes a stored file the lab's attachment, deleting the one it replaces.
+     *
+     * @param filePath a path returned by {@link FileService#storeFile}
+     */
+    LabDTO attachFile(Long labId, String filePath);
+
     void deleteLab(Long id);
 
     List<LabDTO> getAllLabs();
 
+    List<LabDTO> getLabsAfter(Long after, int limit);
+
+    /**
+     * Passes every lab to the consumer in id order, reading them as a
+     * forward-only stream so the whole table is never held in memory.
+     */
+    void forEachLabForExport(Consumer<LabDTO> consumer);
+
     LabDTO assignLab(Long patientId, Long userId, Date requestDate, String testType, Date completionDate,
             String result);
 
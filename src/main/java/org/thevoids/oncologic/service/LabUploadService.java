@@ -0,0 +1,55 @@
+package org.thevoids.oncologic.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.thevoids.oncologic.dto.custom.LabUploadDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+
+/**
+ * Resumable uploads of lab attachments too large for a single multipart
+ * request.
+ *
+ * An upload is started for an existing lab with the file's name, content
+ * type and size. Each chunk is then written at its offset, which must be the
+ * number of bytes received so far; a client whose connection dropped asks
+ * for the upload, reads the offset and continues from there. Once every byte
+ * has arrived, completing the upload stores the file and makes it the lab's
+ * attachment. Only the user who started an upload sees it, and uploads not
+ * written to for a while expire.
+ */
+public interface LabUploadService {
+
+    /**
+     * @param upload the lab, file name, content type and size of the file
+     * @param owner  the user starting the upload
+     * @return the new upload, at offset 0
+     */
+    LabUploadDTO startUpload(LabUploadDTO upload, String owner);
+
+    LabUploadDTO getUpload(String uploadId, String owner);
+
+    /**
+     * Writes the chunk at {@code offset}. The bytes that arrive are kept even
+     * if the chunk is cut short, so the returned (or later read) offset is
+     * where the client must continue.
+     *
+     * @throws org.thevoids.oncologic.exception.UploadOffsetMismatchException
+     *         if {@code offset} is not the number of bytes received so far, or
+     *         another chunk of the upload is being written
+     * @throws org.thevoids.oncologic.exception.InvalidOperationException
+     *         if the chunk goes past the declared size; nothing of it is kept
+     */
+    LabUploadDTO appendChunk(String uploadId, long offset, InputStream chunk, String owner) throws IOException;
+
+    /**
+     * Stores the received file, attaches it to the lab in place of its
+     * previous attachment and ends the upload.
+     *
+     * @throws org.thevoids.oncologic.exception.UploadOffsetMismatchException
+     *         if bytes are still missing
+     */
+    LabDTO completeUpload(String uploadId, String owner);
+
+    void cancelUpload(String uploadId, String owner);
+}
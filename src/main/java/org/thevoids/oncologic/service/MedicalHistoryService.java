@@ -1,6 +1,7 @@
 package org.thevoids.oncologic.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
 
@@ -8,6 +9,14 @@ public interface MedicalHistoryService {
 
     List<MedicalHistoryDTO> getAllMedicalHistories();
 
+    List<MedicalHistoryDTO> getMedicalHistoriesAfter(Long after, int limit);
+
+    /**
+     * Passes every medical history to the consumer in id order, reading them as a
+     * forward-only stream so the whole table is never held in memory.
+     */
+    void forEachMedicalHistoryForExport(Consumer<MedicalHistoryDTO> consumer);
+
     MedicalHistoryDTO getMedicalHistoryById(Long id);
 
     MedicalHistoryDTO createMedicalHistory(MedicalHistoryDTO medicalHistoryDTO);
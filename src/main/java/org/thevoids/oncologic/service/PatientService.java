@@ -2,6 +2,7 @@ package org.thevoids.oncologic.service;
 
 import java.util.List;
 
+import org.thevoids.oncologic.dto.custom.PatientChartDTO;
 import org.thevoids.oncologic.dto.entity.PatientDTO;
 
 public interface PatientService {
@@ -14,4 +15,13 @@ public interface PatientService {
     void deletePatient(Long id);
 
     List<PatientDTO> getAllPatients();
+
+    List<PatientDTO> getPatientsAfter(Long after, int limit);
+
+    /**
+     * Reads the patient's chart with one query per section. Each limit is
+     * clamped to {@code [0, 100]}; a section with limit zero is returned
+     * empty without querying.
+     */
+    PatientChartDTO getPatientChart(Long id, int historyLimit, int labLimit, int appointmentLimit);
 }
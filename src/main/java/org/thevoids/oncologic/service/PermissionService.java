@@ -8,6 +8,8 @@ import org.thevoids.oncologic.entity.Permission;
 public interface PermissionService {
     List<Permission> getAllPermissions();
 
+    List<Permission> getPermissionsAfter(Long after, int limit);
+
     Permission createPermission(Permission permission);
 
     Permission deletePermission(Long permissionId);
@@ -7,6 +7,8 @@ import java.util.List;
 public interface RoleService {
     List<Role> getAllRoles();
 
+    List<Role> getRolesAfter(Long after, int limit);
+
     Role createRole(Role role);
 
     Role deleteRole(Role role);
@@ -14,4 +16,14 @@ public interface RoleService {
     Role updateRole(Role role);
 
     Role getRole(Long roleId);
+
+    /**
+     * Same as {@link #getRole(Long)} but with the role's permissions loaded.
+     */
+    Role getRoleWithPermissions(Long roleId);
+
+    /**
+     * Same as {@link #getAllRoles()} but with every role's permissions loaded.
+     */
+    List<Role> getAllRolesWithPermissions();
 }
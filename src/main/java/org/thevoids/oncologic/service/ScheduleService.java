@@ -7,6 +7,8 @@ import org.thevoids.oncologic.dto.entity.ScheduleDTO;
 public interface ScheduleService {
     List<ScheduleDTO> getAllSchedules();
 
+    List<ScheduleDTO> getSchedulesAfter(Long after, int limit);
+
     ScheduleDTO getScheduleById(Long id);
 
     ScheduleDTO createSchedule(ScheduleDTO scheduleDTO);
@@ -14,4 +14,6 @@ public interface SpecialtyService {
     void deleteSpecialty(Long id);
 
     List<Specialty> getAllSpecialties();
+
+    List<Specialty> getSpecialtiesAfter(Long after, int limit);
 }
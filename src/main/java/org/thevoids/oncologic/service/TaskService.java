@@ -7,6 +7,8 @@ import java.util.List;
 public interface TaskService {
     List<Task> getAllTasks();
 
+    List<Task> getTasksAfter(Long after, int limit);
+
     Task getTaskById(Long id);
 
     Task createTask(Task task);
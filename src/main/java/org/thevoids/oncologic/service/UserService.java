@@ -1,5 +1,6 @@
 package org.thevoids.oncologic.service;
 
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
 import org.thevoids.oncologic.entity.User;
 
 import java.util.List;
@@ -7,15 +8,41 @@ import java.util.List;
 public interface UserService {
     List<User> getAllUsers();
 
+    List<User> getUsersAfter(Long after, int limit);
+
     User createUser(User user);
 
     void deleteUser(User user);
 
     void updateUser(User user);
 
+    /**
+     * Typeahead over name, identification, phone and email.
+     *
+     * @param limit maximum number of hits, clamped to 1-50
+     * @throws org.thevoids.oncologic.exception.InvalidOperationException if
+     *         the query has no letter or digit
+     */
+    List<UserSearchHitDTO> searchUsers(String query, int limit);
+
     User getUserById(Long id);
 
+    /**
+     * Same as {@link #getUserById(Long)} but with the user's roles loaded.
+     */
+    User getUserWithRoles(Long id);
+
+    /**
+     * Same as {@link #getAllUsers()} but with every user's roles loaded.
+     */
+    List<User> getAllUsersWithRoles();
+
+    /**
+     * Loads the user with its roles, as authentication needs them.
+     */
     User getUserByIdentification(String identification);
 
     void changePassword(Long userId, String currentPassword, String newPassword);
+
+    User updatePasswordHash(String identification, String encodedPassword);
 }
@@ -10,6 +10,8 @@ public interface UserSpecialtyService {
 
     List<UserSpecialty> getAllUserSpecialties();
 
+    List<UserSpecialty> getUserSpecialtiesAfter(Long after, int limit);
+
     UserSpecialty getUserSpecialtyById(Long id);
 
     UserSpecialty updateUserSpecialty(UserSpecialty userSpecialty);
@@ -1,5 +1,6 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.entity.Appointment;
 import org.thevoids.oncologic.entity.AppointmentType;
@@ -8,15 +9,40 @@ import org.thevoids.oncologic.entity.Patient;
 import org.thevoids.oncologic.repository.AppointmentRepository;
 import org.thevoids.oncologic.repository.AppointmentTypeRepository;
 import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
+import org.thevoids.oncologic.repository.ClinicRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.scheduling.BookedInterval;
 import org.thevoids.oncologic.service.AppointmentService;
+import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.thevoids.oncologic.dto.custom.BulkAppointmentResultDTO;
+import org.thevoids.oncologic.dto.entity.AppointmentDTO;
+import jakarta.transaction.Transactional;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+    public static final int MAX_BULK_SIZE = 500;
+
     private final AppointmentRepository appointmentRepository;
 
     private final AppointmentTypeRepository appointmentTypeRepository;
@@ -25,15 +51,27 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private final ClinicAssignmentRepository clinicAssignmentRepository;
 
+    private final UserRepository userRepository;
+
+    private final ClinicRepository clinicRepository;
+
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+
     public AppointmentServiceImpl(
             AppointmentRepository appointmentRepository,
             AppointmentTypeRepository appointmentTypeRepository,
             PatientRepository patientRepository,
-            ClinicAssignmentRepository clinicAssignmentRepository) {
+            ClinicAssignmentRepository clinicAssignmentRepository,
+            UserRepository userRepository,
+            ClinicRepository clinicRepository,
+            AppointmentIntervalIndex appointmentIntervalIndex) {
         this.appointmentRepository = appointmentRepository;
         this.appointmentTypeRepository = appointmentTypeRepository;
         this.patientRepository = patientRepository;
         this.clinicAssignmentRepository = clinicAssignmentRepository;
+        this.userRepository = userRepository;
+        this.clinicRepository = clinicRepository;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
     }
 
     @Override
@@ -41,6 +79,19 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentRepository.findAll();
     }
 
+    @Override
+    public List<Appointment> getAppointmentsAfter(Long after, int limit) {
+        return appointmentRepository.findByAppointmentIdGreaterThanOrderByAppointmentIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional
+    public void forEachAppointmentForExport(Consumer<AppointmentDTO> consumer) {
+        try (Stream<AppointmentDTO> rows = appointmentRepository.streamAllForExport()) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Override
     public Appointment getAppointmentById(Long id) {
         return appointmentRepository.findById(id)
@@ -48,24 +99,12 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional
     public Appointment createAppointment(Long patientId, Long clinicAssignmentId, Long appointmentTypeId,
             Date dateTime) {
-        if (patientId == null || clinicAssignmentId == null || appointmentTypeId == null || dateTime == null) {
-            StringBuilder errorMessage = new StringBuilder("Missing required parameter(s): ");
-
-            if (patientId == null)
-                errorMessage.append("patientId, ");
-            if (clinicAssignmentId == null)
-                errorMessage.append("clinicAssignmentId, ");
-            if (appointmentTypeId == null)
-                errorMessage.append("appointmentTypeId, ");
-            if (dateTime == null)
-                errorMessage.append("dateTime, ");
-
-            // Remove trailing comma and space
-            errorMessage.setLength(errorMessage.length() - 2);
-
-            throw new IllegalArgumentException(errorMessage.toString());
+        String missing = missingParameters(patientId, clinicAssignmentId, appointmentTypeId, dateTime);
+        if (missing != null) {
+            throw new IllegalArgumentException(missing);
         }
 
         Patient patient = patientRepository.findById(patientId).orElseThrow(
@@ -86,11 +125,94 @@ public class AppointmentServiceImpl implements AppointmentService {
         appointment.setDateTime(dateTime);
         appointment.setDoctor(clinicAssignment.getUser());
 
+        BookedInterval requested = toInterval(appointment);
+        checkWithinAssignment(requested, clinicAssignment);
+        checkAvailable(requested);
+
         appointmentRepository.save(appointment);
+        indexAfterCommit(toInterval(appointment));
         return appointment;
     }
 
     @Override
+    @Transactional
+    public List<BulkAppointmentResultDTO> createAppointments(List<AppointmentDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one appointment is required");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " appointments can be created at once");
+        }
+
+        Map<Long, Patient> patients = byId(patientRepository.findAllById(
+                idsOf(requests, AppointmentDTO::getPatientId)), Patient::getPatientId);
+        Map<Long, ClinicAssignment> clinicAssignments = byId(clinicAssignmentRepository.findAllById(
+                idsOf(requests, AppointmentDTO::getClinicAssignmentId)), ClinicAssignment::getId);
+        Map<Long, AppointmentType> appointmentTypes = byId(appointmentTypeRepository.findAllById(
+                idsOf(requests, AppointmentDTO::getAppointmentTypeId)), AppointmentType::getTypeId);
+
+        List<BulkAppointmentResultDTO> results = new ArrayList<>(requests.size());
+        List<Appointment> appointments = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AppointmentDTO request = requests.get(i);
+            BulkAppointmentResultDTO result = new BulkAppointmentResultDTO(i, BulkAppointmentResultDTO.Status.VALID,
+                    null, null);
+            results.add(result);
+            appointments.add(null);
+            if (request == null) {
+                reject(result, BulkAppointmentResultDTO.Status.INVALID, "Appointment cannot be null");
+                continue;
+            }
+            String error = missingParameters(request.getPatientId(), request.getClinicAssignmentId(),
+                    request.getAppointmentTypeId(), request.getDateTime());
+            Patient patient = patients.get(request.getPatientId());
+            ClinicAssignment clinicAssignment = clinicAssignments.get(request.getClinicAssignmentId());
+            AppointmentType appointmentType = appointmentTypes.get(request.getAppointmentTypeId());
+            if (error == null && patient == null) {
+                error = "Patient with id " + request.getPatientId() + " does not exist";
+            } else if (error == null && clinicAssignment == null) {
+                error = "ClinicAssignment with id " + request.getClinicAssignmentId() + " does not exist";
+            } else if (error == null && appointmentType == null) {
+                error = "AppointmentType with id " + request.getAppointmentTypeId() + " does not exist";
+            }
+            if (error != null) {
+                reject(result, BulkAppointmentResultDTO.Status.INVALID, error);
+                continue;
+            }
+
+            Appointment appointment = new Appointment();
+            appointment.setPatient(patient);
+            appointment.setClinicAssignment(clinicAssignment);
+            appointment.setAppointmentType(appointmentType);
+            appointment.setDateTime(request.getDateTime());
+            appointment.setDoctor(clinicAssignment.getUser());
+            try {
+                checkWithinAssignment(toInterval(appointment), clinicAssignment);
+            } catch (IllegalArgumentException e) {
+                reject(result, BulkAppointmentResultDTO.Status.INVALID, e.getMessage());
+                continue;
+            }
+            appointments.set(i, appointment);
+        }
+
+        checkAvailable(appointments, results);
+
+        if (results.stream().anyMatch(result -> result.getStatus() != BulkAppointmentResultDTO.Status.VALID)) {
+            return results;
+        }
+
+        appointmentRepository.saveAll(appointments);
+        for (int i = 0; i < appointments.size(); i++) {
+            Appointment appointment = appointments.get(i);
+            results.get(i).setStatus(BulkAppointmentResultDTO.Status.CREATED);
+            results.get(i).setAppointmentId(appointment.getAppointmentId());
+            indexAfterCommit(toInterval(appointment));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
     public Appointment updateAppointment(Appointment appointment) {
         if (appointment == null) {
             throw new IllegalArgumentException("Appointment cannot be null");
@@ -104,6 +226,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Appointment with id " + appointment.getAppointmentId() + " does not exist"));
 
+        BookedInterval current = existing.getDateTime() != null ? toInterval(existing) : null;
+
         // Only update fields from the input appointment
         if (appointment.getDateTime() != null)
             existing.setDateTime(appointment.getDateTime());
@@ -118,15 +242,211 @@ public class AppointmentServiceImpl implements AppointmentService {
         if (appointment.getClinicAssignment() != null && appointment.getClinicAssignment().getId() != null)
             existing.getClinicAssignment().setId(appointment.getClinicAssignment().getId());
 
-        return appointmentRepository.save(existing);
+        // Only a moved booking needs the window and overlap checks
+        BookedInterval requested = toInterval(existing);
+        boolean scheduled = requested.start() != null;
+        if (scheduled && !requested.sameSlotAs(current)) {
+            checkWithinAssignment(requested, existing.getClinicAssignment());
+            checkAvailable(requested);
+        }
+
+        Appointment saved = appointmentRepository.save(existing);
+        if (scheduled) {
+            indexAfterCommit(requested);
+        }
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteAppointment(Long id) {
         if (!appointmentRepository.existsById(id)) {
             throw new IllegalArgumentException("Appointment with id " + id + " does not exist");
         }
 
         appointmentRepository.deleteById(id);
+        afterCommit(() -> appointmentIntervalIndex.remove(id));
+    }
+
+    private static String missingParameters(Long patientId, Long clinicAssignmentId, Long appointmentTypeId,
+            Date dateTime) {
+        if (patientId != null && clinicAssignmentId != null && appointmentTypeId != null && dateTime != null) {
+            return null;
+        }
+        StringBuilder errorMessage = new StringBuilder("Missing required parameter(s): ");
+
+        if (patientId == null)
+            errorMessage.append("patientId, ");
+        if (clinicAssignmentId == null)
+            errorMessage.append("clinicAssignmentId, ");
+        if (appointmentTypeId == null)
+            errorMessage.append("appointmentTypeId, ");
+        if (dateTime == null)
+            errorMessage.append("dateTime, ");
+
+        // Remove trailing comma and space
+        errorMessage.setLength(errorMessage.length() - 2);
+        return errorMessage.toString();
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>();
+        for (T entity : entities) {
+            map.put(id.apply(entity), entity);
+        }
+        return map;
+    }
+
+    private static void reject(BulkAppointmentResultDTO result, BulkAppointmentResultDTO.Status status,
+            String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+
+    private static BookedInterval toInterval(Appointment appointment) {
+        ClinicAssignment clinicAssignment = appointment.getClinicAssignment();
+        return new BookedInterval(
+                appointment.getAppointmentId(),
+                appointment.getDoctor() != null ? appointment.getDoctor().getUserId() : null,
+                clinicAssignment != null && clinicAssignment.getClinic() != null
+                        ? clinicAssignment.getClinic().getId()
+                        : null,
+                appointment.getDateTime(),
+                appointment.getAppointmentType() != null ? appointment.getAppointmentType().getStandardDuration() : null);
+    }
+
+    private static void checkWithinAssignment(BookedInterval requested, ClinicAssignment clinicAssignment) {
+        if (clinicAssignment == null || clinicAssignment.getStartTime() == null
+                || clinicAssignment.getEndTime() == null) {
+            return;
+        }
+        if (requested.startMillis() < clinicAssignment.getStartTime().getTime()
+                || requested.endMillis() > clinicAssignment.getEndTime().getTime()) {
+            throw new IllegalArgumentException("Appointment must fall within the clinic assignment from "
+                    + clinicAssignment.getStartTime() + " to " + clinicAssignment.getEndTime());
+        }
+    }
+
+    /**
+     * Rejects the booking if it overlaps another appointment of the same
+     * doctor or clinic. The doctor and clinic rows are locked and the overlap
+     * is checked against the committed appointments, so concurrent bookings
+     * (also from other nodes) cannot both succeed. The in-memory index is not
+     * consulted: it may lag behind the database and only serves the
+     * availability search.
+     */
+    private void checkAvailable(BookedInterval requested) {
+        long from = requested.startMillis();
+        long to = requested.endMillis();
+        Long self = requested.appointmentId();
+        if (requested.doctorId() != null) {
+            userRepository.lockById(requested.doctorId());
+        }
+        if (requested.clinicId() != null) {
+            clinicRepository.lockById(requested.clinicId());
+        }
+        Integer longest = appointmentTypeRepository.findLongestStandardDuration();
+        Date earliest = new Date(from - (longest == null ? 0 : longest) * 60_000L);
+        Optional<BookedInterval> conflict = appointmentRepository.findBookedIntervalsStartingBetween(
+                requested.doctorId(), requested.clinicId(), earliest, new Date(to)).stream()
+                .filter(booking -> booking.overlaps(from, to) && !booking.appointmentId().equals(self))
+                .findFirst();
+        if (conflict.isPresent()) {
+            throw new ResourceAlreadyExistsException("The requested time overlaps appointment "
+                    + conflict.get().appointmentId());
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #checkAvailable(BookedInterval)}: marks as
+     * conflicting every item that overlaps another item of the request or an
+     * existing appointment. The doctors and clinics involved are locked in id
+     * order, and the committed appointments are read with one query per
+     * doctor and clinic pair over the whole span of the request.
+     */
+    private void checkAvailable(List<Appointment> appointments, List<BulkAppointmentResultDTO> results) {
+        List<BookedInterval> requested = new ArrayList<>();
+        for (int i = 0; i < appointments.size(); i++) {
+            if (appointments.get(i) != null) {
+                // The index of the item stands in for the id it does not have yet
+                Appointment appointment = appointments.get(i);
+                BookedInterval interval = toInterval(appointment);
+                requested.add(new BookedInterval((long) i, interval.doctorId(), interval.clinicId(),
+                        interval.start(), interval.durationMinutes()));
+            }
+        }
+        if (requested.isEmpty()) {
+            return;
+        }
+        requested.sort(Comparator.comparingLong(BookedInterval::startMillis));
+
+        for (int a = 0; a < requested.size(); a++) {
+            BookedInterval first = requested.get(a);
+            for (int b = a + 1; b < requested.size() && requested.get(b).startMillis() < first.endMillis(); b++) {
+                BookedInterval second = requested.get(b);
+                if (sharesDoctorOrClinic(first, second) && second.overlaps(first.startMillis(), first.endMillis())) {
+                    reject(results.get(second.appointmentId().intValue()), BulkAppointmentResultDTO.Status.CONFLICT,
+                            "The requested time overlaps item " + first.appointmentId());
+                }
+            }
+        }
+
+        new TreeSet<>(idsOf(requested, BookedInterval::doctorId)).forEach(userRepository::lockById);
+        new TreeSet<>(idsOf(requested, BookedInterval::clinicId)).forEach(clinicRepository::lockById);
+
+        Integer longest = appointmentTypeRepository.findLongestStandardDuration();
+        long lookBack = (longest == null ? 0 : longest) * 60_000L;
+        Map<List<Long>, List<BookedInterval>> byDoctorAndClinic = new LinkedHashMap<>();
+        for (BookedInterval interval : requested) {
+            byDoctorAndClinic.computeIfAbsent(Arrays.asList(interval.doctorId(), interval.clinicId()),
+                    key -> new ArrayList<>()).add(interval);
+        }
+        for (List<BookedInterval> group : byDoctorAndClinic.values()) {
+            long from = group.get(0).startMillis();
+            long to = group.stream().mapToLong(BookedInterval::endMillis).max().getAsLong();
+            List<BookedInterval> booked = appointmentRepository.findBookedIntervalsStartingBetween(
+                    group.get(0).doctorId(), group.get(0).clinicId(), new Date(from - lookBack), new Date(to));
+            for (BookedInterval interval : group) {
+                booked.stream()
+                        .filter(booking -> sharesDoctorOrClinic(booking, interval)
+                                && booking.overlaps(interval.startMillis(), interval.endMillis()))
+                        .findFirst()
+                        .ifPresent(booking -> reject(results.get(interval.appointmentId().intValue()),
+                                BulkAppointmentResultDTO.Status.CONFLICT,
+                                "The requested time overlaps appointment " + booking.appointmentId()));
+            }
+        }
+    }
+
+    private static boolean sharesDoctorOrClinic(BookedInterval first, BookedInterval second) {
+        return (first.doctorId() != null && first.doctorId().equals(second.doctorId()))
+                || (first.clinicId() != null && first.clinicId().equals(second.clinicId()));
+    }
+
+    private static <T> Set<Long> idsOf(List<T> items, Function<T, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (T item : items) {
+            if (item != null && id.apply(item) != null) {
+                ids.add(id.apply(item));
+            }
+        }
+        return ids;
+    }
+
+    private void indexAfterCommit(BookedInterval interval) {
+        afterCommit(() -> appointmentIntervalIndex.put(interval));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
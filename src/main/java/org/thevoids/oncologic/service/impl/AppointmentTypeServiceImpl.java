@@ -1,21 +1,31 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 import org.thevoids.oncologic.entity.AppointmentType;
 import org.thevoids.oncologic.repository.AppointmentTypeRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
 import org.thevoids.oncologic.service.AppointmentTypeService;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class AppointmentTypeServiceImpl implements AppointmentTypeService {
     private final AppointmentTypeRepository appointmentTypeRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
 
-    public AppointmentTypeServiceImpl(AppointmentTypeRepository appointmentTypeRepository) {
+    public AppointmentTypeServiceImpl(AppointmentTypeRepository appointmentTypeRepository,
+            AppointmentIntervalIndex appointmentIntervalIndex) {
         this.appointmentTypeRepository = appointmentTypeRepository;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.APPOINTMENT_TYPES, allEntries = true)
     public AppointmentType createAppointmentType(AppointmentType appointmentType) {
         if (appointmentType == null) {
             throw new IllegalArgumentException("AppointmentType cannot be null");
@@ -39,11 +49,13 @@ public class AppointmentTypeServiceImpl implements AppointmentTypeService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.APPOINTMENT_TYPES, key = "#id", unless = "#result == null")
     public AppointmentType getAppointmentTypeById(Long id) {
         return appointmentTypeRepository.findById(id).orElse(null);
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.APPOINTMENT_TYPES, allEntries = true)
     public AppointmentType updateAppointmentType(AppointmentType appointmentType) {
         if (appointmentType == null) {
             throw new IllegalArgumentException("AppointmentType cannot be null");
@@ -56,23 +68,39 @@ public class AppointmentTypeServiceImpl implements AppointmentTypeService {
         AppointmentType existingAppointmentType = appointmentTypeRepository.findById(appointmentType.getTypeId())
                 .orElseThrow(() -> new IllegalArgumentException("AppointmentType with ID " + appointmentType.getTypeId() + " does not exist"));
 
+        // The booked intervals of every appointment of this type change length
+        boolean durationChanged = !Objects.equals(existingAppointmentType.getStandardDuration(),
+                appointmentType.getStandardDuration());
+
         existingAppointmentType.setTypeName(appointmentType.getTypeName());
         existingAppointmentType.setStandardDuration(appointmentType.getStandardDuration());
 
-        return appointmentTypeRepository.save(existingAppointmentType);
+        AppointmentType saved = appointmentTypeRepository.save(existingAppointmentType);
+        if (durationChanged) {
+            appointmentIntervalIndex.invalidate();
+        }
+        return saved;
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.APPOINTMENT_TYPES, allEntries = true)
     public void deleteAppointmentType(Long id) {
         if (!appointmentTypeRepository.existsById(id)) {
             throw new IllegalArgumentException("AppointmentType with id " + id + " does not exist");
         }
 
         appointmentTypeRepository.deleteById(id);
+        appointmentIntervalIndex.invalidate();
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.APPOINTMENT_TYPES, key = "'all'")
     public List<AppointmentType> getAllAppointmentTypes() {
         return appointmentTypeRepository.findAll();
     }
+
+    @Override
+    public List<AppointmentType> getAppointmentTypesAfter(Long after, int limit) {
+        return appointmentTypeRepository.findByTypeIdGreaterThanOrderByTypeIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
 }
@@ -6,9 +6,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.entity.AssignedRole;
 import org.thevoids.oncologic.entity.Role;
+import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.repository.AssignedRoleRepository;
 import org.thevoids.oncologic.repository.RoleRepository;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
+import org.thevoids.oncologic.security.jwt.VerifiedTokenCache;
 import org.thevoids.oncologic.service.AssignedRoles;
 
 @Service
@@ -22,6 +25,12 @@ public class AssignedRolesImpl implements AssignedRoles {
     @Autowired
     private AssignedRoleRepository assignedRoleRepository;
 
+    @Autowired
+    private PermissionVersionTracker permissionVersionTracker;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Override
     public void assignRoleToUser(Long roleId, Long userId) {
         var newAssignedRole = new AssignedRole();
@@ -45,6 +54,8 @@ public class AssignedRolesImpl implements AssignedRoles {
         newAssignedRole.setRole(role);
 
         assignedRoleRepository.save(newAssignedRole);
+        permissionVersionTracker.increment();
+        evictTokens(user);
     }
 
     @Override
@@ -64,6 +75,8 @@ public class AssignedRolesImpl implements AssignedRoles {
         var assignedRole = assignedRoleRepository.findByRoleIdAndUserId(roleId, userId).orElse(null);
         
         assignedRoleRepository.deleteById(assignedRole.getId());
+        permissionVersionTracker.increment();
+        evictTokens(assignedRole.getUser());
     }
 
     @Override
@@ -85,6 +98,8 @@ public class AssignedRolesImpl implements AssignedRoles {
         assignedRole.setRole(roleRepository.findById(roleId).orElse(null));
 
         assignedRoleRepository.save(assignedRole);
+        permissionVersionTracker.increment();
+        evictTokens(assignedRole.getUser());
     }
 
     @Override
@@ -95,4 +110,10 @@ public class AssignedRolesImpl implements AssignedRoles {
 
         return roleRepository.findRolesByUserId(userId);
     }
+
+    private void evictTokens(User user) {
+        if (user != null) {
+            verifiedTokenCache.evictUser(user.getIdentification());
+        }
+    }
 }
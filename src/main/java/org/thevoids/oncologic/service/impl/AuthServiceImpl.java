@@ -0,0 +1,52 @@
+package org.thevoids.oncologic.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.dto.custom.AuthResponseDTO;
+import org.thevoids.oncologic.dto.entity.PermissionDTO;
+import org.thevoids.oncologic.dto.entity.RoleWithPermissionsDTO;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.service.AuthService;
+
+@Service
+public class AuthServiceImpl implements AuthService {
+    private final UserRepository userRepository;
+
+    public AuthServiceImpl(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Builds the login response from a single user/role/permission query
+     * instead of loading the user, its roles and each role's permissions
+     * separately.
+     */
+    @Override
+    public AuthResponseDTO buildAuthResponse(String identification, String token) {
+        List<Object[]> rows = userRepository.findLoginRowsByIdentification(identification);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Usuario", "identificación", identification);
+        }
+
+        Long userId = (Long) rows.get(0)[0];
+        Map<Long, RoleWithPermissionsDTO> roles = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Long roleId = (Long) row[1];
+            if (roleId == null) {
+                continue;
+            }
+            RoleWithPermissionsDTO role = roles.computeIfAbsent(roleId,
+                    id -> new RoleWithPermissionsDTO(id, (String) row[2], new ArrayList<>()));
+            if (row[3] != null) {
+                role.getPermissions().add(new PermissionDTO((Long) row[3], (String) row[4]));
+            }
+        }
+
+        return new AuthResponseDTO(token, identification, userId, new ArrayList<>(roles.values()));
+    }
+}
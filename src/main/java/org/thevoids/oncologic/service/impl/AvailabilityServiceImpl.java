@@ -0,0 +1,83 @@
+package org.thevoids.oncologic.service.impl;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.dto.custom.AvailableSlotDTO;
+import org.thevoids.oncologic.entity.AppointmentType;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.repository.AppointmentTypeRepository;
+import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
+import org.thevoids.oncologic.repository.ScheduleRepository;
+import org.thevoids.oncologic.repository.UserSpecialtyRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.scheduling.AssignmentWindow;
+import org.thevoids.oncologic.scheduling.FreeSlotFinder;
+import org.thevoids.oncologic.scheduling.WeeklyWindow;
+import org.thevoids.oncologic.service.AvailabilityService;
+
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    public static final int MAX_LIMIT = 200;
+    public static final Duration MAX_RANGE = Duration.ofDays(92);
+
+    private final UserSpecialtyRepository userSpecialtyRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ClinicAssignmentRepository clinicAssignmentRepository;
+    private final AppointmentTypeRepository appointmentTypeRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+
+    public AvailabilityServiceImpl(UserSpecialtyRepository userSpecialtyRepository,
+            ScheduleRepository scheduleRepository,
+            ClinicAssignmentRepository clinicAssignmentRepository,
+            AppointmentTypeRepository appointmentTypeRepository,
+            AppointmentIntervalIndex appointmentIntervalIndex) {
+        this.userSpecialtyRepository = userSpecialtyRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.clinicAssignmentRepository = clinicAssignmentRepository;
+        this.appointmentTypeRepository = appointmentTypeRepository;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
+    }
+
+    @Override
+    public List<AvailableSlotDTO> findFreeSlots(Long specialtyId, Long appointmentTypeId, Date from, Date to,
+            int limit) {
+        if (specialtyId == null || appointmentTypeId == null || from == null || to == null) {
+            throw new IllegalArgumentException("specialtyId, appointmentTypeId, from and to are required");
+        }
+        if (!from.before(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (to.getTime() - from.getTime() > MAX_RANGE.toMillis()) {
+            throw new IllegalArgumentException("The search range cannot exceed " + MAX_RANGE.toDays() + " days");
+        }
+
+        AppointmentType appointmentType = appointmentTypeRepository.findById(appointmentTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tipo de cita", "id", appointmentTypeId));
+        if (appointmentType.getStandardDuration() == null || appointmentType.getStandardDuration() <= 0) {
+            throw new IllegalArgumentException("Appointment type " + appointmentTypeId + " has no duration");
+        }
+
+        List<Long> doctorIds = userSpecialtyRepository.findUserIdsBySpecialtyId(specialtyId);
+        if (doctorIds.isEmpty()) {
+            return List.of();
+        }
+        List<AssignmentWindow> assignments = clinicAssignmentRepository.findWindowsOverlapping(doctorIds, from, to);
+        if (assignments.isEmpty()) {
+            return List.of();
+        }
+        List<WeeklyWindow> schedules = scheduleRepository.findWeeklyWindows(doctorIds);
+
+        return FreeSlotFinder.find(schedules, assignments, appointmentIntervalIndex::bookingsOverlapping,
+                from.getTime(), to.getTime(), appointmentType.getStandardDuration() * 60_000L,
+                Math.max(1, Math.min(limit, MAX_LIMIT)), ZoneId.systemDefault()).stream()
+                .map(slot -> new AvailableSlotDTO(slot.doctorId(), slot.clinicId(), slot.clinicAssignmentId(),
+                        new Date(slot.start()), new Date(slot.end())))
+                .collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,7 @@ package org.thevoids.oncologic.service.impl;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.entity.Clinic;
 import org.thevoids.oncologic.entity.ClinicAssignment;
@@ -9,6 +10,7 @@ import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
 import org.thevoids.oncologic.repository.ClinicRepository;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
 import org.thevoids.oncologic.service.ClinicAssigmentService;
 
 import jakarta.transaction.Transactional;
@@ -18,14 +20,17 @@ public class ClinicAssigmentImpl implements ClinicAssigmentService {
     private final ClinicAssignmentRepository clinicAssignmentRepository;
     private final ClinicRepository clinicRepository;
     private final UserRepository userRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
 
     public ClinicAssigmentImpl(
             ClinicAssignmentRepository clinicAssignmentRepository,
             UserRepository userRepository,
-            ClinicRepository clinicRepository) {
+            ClinicRepository clinicRepository,
+            AppointmentIntervalIndex appointmentIntervalIndex) {
         this.clinicAssignmentRepository = clinicAssignmentRepository;
         this.userRepository = userRepository;
         this.clinicRepository = clinicRepository;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
     }
 
     @Override
@@ -33,6 +38,11 @@ public class ClinicAssigmentImpl implements ClinicAssigmentService {
         return clinicAssignmentRepository.findAll();
     }
 
+    @Override
+    public List<ClinicAssignment> getClinicAssignmentsAfter(Long after, int limit) {
+        return clinicAssignmentRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
     @Override
     public ClinicAssignment getClinicAssignmentById(Long id) {
         return clinicAssignmentRepository.findById(id).orElse(null);
@@ -53,7 +63,10 @@ public class ClinicAssigmentImpl implements ClinicAssigmentService {
                     "ClinicAssigment with id " + clinicAssigment.getId() + " does not exist");
         }
 
-        return clinicAssignmentRepository.save(clinicAssigment);
+        ClinicAssignment saved = clinicAssignmentRepository.save(clinicAssigment);
+        // The appointments of the assignment are indexed under its doctor and clinic
+        appointmentIntervalIndex.invalidate();
+        return saved;
     }
 
     @Override
@@ -63,6 +76,7 @@ public class ClinicAssigmentImpl implements ClinicAssigmentService {
         }
 
         clinicAssignmentRepository.deleteById(id);
+        appointmentIntervalIndex.invalidate();
     }
 
     @Transactional
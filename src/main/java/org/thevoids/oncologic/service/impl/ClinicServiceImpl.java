@@ -1,6 +1,10 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 import org.thevoids.oncologic.entity.Clinic;
 import org.thevoids.oncologic.repository.ClinicRepository;
 import org.thevoids.oncologic.service.ClinicService;
@@ -16,16 +20,23 @@ public class ClinicServiceImpl implements ClinicService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.CLINICS, key = "'all'")
     public List<Clinic> getAllClinics() {
         return clinicRepository.findAll();
     }
 
+    @Override
+    public List<Clinic> getClinicsAfter(Long after, int limit) {
+        return clinicRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
     @Override
     public Clinic getClinicById(Long id) {
         return clinicRepository.findById(id).orElse(null);
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.CLINICS, allEntries = true)
     public Clinic createClinic(Clinic clinic) {
         if (clinic == null) {
             throw new IllegalArgumentException("Clinic cannot be null");
@@ -35,6 +46,7 @@ public class ClinicServiceImpl implements ClinicService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.CLINICS, allEntries = true)
     public Clinic updateClinic(Long id, Clinic clinic) {
         if (clinic == null) {
             throw new IllegalArgumentException("Clinic cannot be null");
@@ -67,6 +79,7 @@ public class ClinicServiceImpl implements ClinicService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.CLINICS, allEntries = true)
     public void deleteClinic(Long id) {
         if (!clinicRepository.existsById(id)) {
             throw new IllegalArgumentException("Clinic with id " + id + " does not exist");
@@ -0,0 +1,30 @@
+package org.thevoids.oncologic.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.search.ClinicalTextTokenizer;
+import org.thevoids.oncologic.service.ClinicalSearchService;
+
+@Service
+public class ClinicalSearchServiceImpl implements ClinicalSearchService {
+    private static final int MAX_LIMIT = 100;
+
+    private final ClinicalTextIndex clinicalTextIndex;
+
+    public ClinicalSearchServiceImpl(ClinicalTextIndex clinicalTextIndex) {
+        this.clinicalTextIndex = clinicalTextIndex;
+    }
+
+    @Override
+    public List<ClinicalSearchHitDTO> search(String query, ClinicalRecordType type, int limit) {
+        if (ClinicalTextTokenizer.tokenize(query).isEmpty()) {
+            throw new InvalidOperationException("Search query must contain at least one word");
+        }
+        return clinicalTextIndex.search(query, type, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
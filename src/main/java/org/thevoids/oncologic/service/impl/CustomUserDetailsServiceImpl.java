@@ -1,19 +1,23 @@
 package org.thevoids.oncologic.service.impl;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.security.CustomUserDetail;
+import org.thevoids.oncologic.security.RoleAuthorityIndex;
 import org.thevoids.oncologic.service.UserService;
 
 @Service
-public class CustomUserDetailsServiceImpl implements UserDetailsService {
+public class CustomUserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserService userService;
+    private final RoleAuthorityIndex roleAuthorityIndex;
 
-    public CustomUserDetailsServiceImpl(UserService userService) {
+    public CustomUserDetailsServiceImpl(UserService userService, RoleAuthorityIndex roleAuthorityIndex) {
         this.userService = userService;
+        this.roleAuthorityIndex = roleAuthorityIndex;
     }
 
     @Override
@@ -22,6 +26,16 @@ public class CustomUserDetailsServiceImpl implements UserDetailsService {
         if (user == null) {
             throw new UsernameNotFoundException("User not found");
         }
-        return new CustomUserDetail(user);
+        return new CustomUserDetail(user, roleAuthorityIndex);
     }
-}
\ No newline at end of file
+
+    /**
+     * Called by the authentication provider after a successful login when the
+     * stored hash was produced with a different BCrypt cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userService.updatePasswordHash(userDetails.getUsername(), newPassword);
+        return new CustomUserDetail(user, roleAuthorityIndex);
+    }
+}
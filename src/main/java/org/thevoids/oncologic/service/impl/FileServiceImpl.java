@@ -1,29 +1,77 @@
 package org.thevoids.oncologic.service.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.service.FileService;
+import org.thevoids.oncologic.storage.BlobReferenceCounter;
+import org.thevoids.oncologic.storage.BlobStore;
 
+/**
+ * Content-addressed file storage on top of a {@link BlobStore} (local disk,
+ * memory or an S3-compatible store, see {@code app.storage.type}).
+ *
+ * A stored file is named by the SHA-256 of its content, computed while the
+ * upload is streamed to a temporary file under {@code app.file.upload.dir},
+ * and kept once per subdirectory under two levels of fan-out
+ * ({@code labs/ab/cd/abcd...}) so no directory grows past a few thousand
+ * entries. The returned path is {@code <subdirectory>/<hash><extension>};
+ * the extension is only kept for the clients (content type) and is not part
+ * of the stored name.
+ *
+ * A {@link BlobReferenceCounter} counts the stores that returned each blob;
+ * {@link #deleteFile(String)} decrements the count and removes the blob at
+ * zero. The count is locked in the database while the blob is put or
+ * deleted, so this holds across nodes. The blob store replaces objects
+ * atomically, so readers never see a partial file. Files derived from a blob
+ * (see {@link #getDerivativePath(String, String)}) are kept under
+ * {@code <blob>.d/} and deleted with it. Files stored before content
+ * addressing (random UUID names) are still served and deleted as before.
+ */
 @Service
 public class FileServiceImpl implements FileService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileServiceImpl.class);
+
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}(\\.[^/]*)?");
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final String DERIVATIVES_SUFFIX = ".d/";
+
+    private final BlobStore blobStore;
+    private final BlobReferenceCounter blobReferenceCounter;
+
     @Value("${app.file.upload.dir:uploads}")
     private String uploadDir;
 
     @Value("${app.file.max-size:10485760}") // 10MB default
     private long maxFileSize;
 
+    @Value("${app.storage.download-url-expiry:PT5M}")
+    private Duration downloadUrlExpiry = Duration.ofMinutes(5);
+
     private final List<String> allowedContentTypes = Arrays.asList(
             "image/jpeg", "image/png", "image/gif", "image/webp",
             "application/pdf",
@@ -31,6 +79,11 @@ public class FileServiceImpl implements FileService {
             "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
             "text/plain");
 
+    public FileServiceImpl(BlobStore blobStore, BlobReferenceCounter blobReferenceCounter) {
+        this.blobStore = blobStore;
+        this.blobReferenceCounter = blobReferenceCounter;
+    }
+
     @Override
     public String storeFile(MultipartFile file, String subdirectory) {
         if (file == null || file.isEmpty()) {
@@ -42,25 +95,37 @@ public class FileServiceImpl implements FileService {
         }
 
         try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir, subdirectory);
-            Files.createDirectories(uploadPath);
-
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            // Stream to a temporary file, hashing on the way
+            Path tempDirectory = Paths.get(uploadDir, TEMP_DIRECTORY);
+            Files.createDirectories(tempDirectory);
+            Path temp = Files.createTempFile(tempDirectory, "upload", null);
+            try {
+                MessageDigest digest = sha256();
+                try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                String hash = HexFormat.of().formatHex(digest.digest());
+                return storeBlob(temp, hash, subdirectory, file.getOriginalFilename());
+            } finally {
+                Files.deleteIfExists(temp);
             }
-            String filename = UUID.randomUUID().toString() + fileExtension;
-
-            // Store the file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            // Return relative path
-            return subdirectory + "/" + filename;
+        } catch (IOException e) {
+            throw new InvalidOperationException("Failed to store file: " + e.getMessage());
+        }
+    }
 
+    @Override
+    public String storeFile(Path file, String originalFilename, String subdirectory) {
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            try {
+                return storeBlob(file, HexFormat.of().formatHex(digest.digest()), subdirectory, originalFilename);
+            } finally {
+                Files.deleteIfExists(file);
+            }
         } catch (IOException e) {
             throw new InvalidOperationException("Failed to store file: " + e.getMessage());
         }
@@ -73,11 +138,27 @@ public class FileServiceImpl implements FileService {
         }
 
         try {
-            Path path = Paths.get(uploadDir, filePath);
-            Files.deleteIfExists(path);
+            ContentAddress address = ContentAddress.parse(filePath);
+            if (address == null) {
+                blobStore.delete(filePath);
+                deleteDerivatives(filePath);
+                return;
+            }
+            String key = address.key();
+            blobReferenceCounter.update(key, counted -> {
+                if (!blobStore.exists(key)) {
+                    return 0;
+                }
+                int refs = currentRefs(counted) - 1;
+                if (refs <= 0) {
+                    blobStore.delete(key);
+                    deleteDerivatives(key);
+                }
+                return refs;
+            });
         } catch (IOException e) {
             // Log the error but don't throw exception as this is cleanup
-            System.err.println("Failed to delete file: " + filePath + " - " + e.getMessage());
+            log.warn("Failed to delete file {}", filePath, e);
         }
     }
 
@@ -93,7 +174,11 @@ public class FileServiceImpl implements FileService {
         }
 
         // Check content type
-        String contentType = file.getContentType();
+        return isAllowedContentType(file.getContentType());
+    }
+
+    @Override
+    public boolean isAllowedContentType(String contentType) {
         return contentType != null && allowedContentTypes.contains(contentType.toLowerCase());
     }
 
@@ -102,6 +187,134 @@ public class FileServiceImpl implements FileService {
         if (relativePath == null || relativePath.trim().isEmpty()) {
             return null;
         }
-        return Paths.get(uploadDir, relativePath).toString();
+        return blobStore.localPath(keyOf(relativePath)).map(Path::toString).orElse(null);
+    }
+
+    @Override
+    public InputStream openFile(String relativePath) throws IOException {
+        return blobStore.get(keyOf(relativePath));
+    }
+
+    @Override
+    public boolean exists(String relativePath) throws IOException {
+        return relativePath != null && !relativePath.isBlank() && blobStore.exists(keyOf(relativePath));
+    }
+
+    @Override
+    public Optional<URI> getDownloadUrl(String relativePath, String downloadName) {
+        String contentType = MediaTypeFactory.getMediaType(downloadName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        return blobStore.presignGet(keyOf(relativePath), downloadUrlExpiry, downloadName, contentType);
+    }
+
+    @Override
+    public String getDerivativePath(String relativePath, String name) {
+        return relativePath + DERIVATIVES_SUFFIX + name;
+    }
+
+    @Override
+    public void storeDerivative(String relativePath, String name, Path file) throws IOException {
+        if (name.contains("/") || name.contains("\\")) {
+            throw new InvalidOperationException("Invalid derived file name: " + name);
+        }
+        blobStore.put(keyOf(getDerivativePath(relativePath, name)), file);
+    }
+
+    @Override
+    public boolean isImmutable(String relativePath) {
+        return relativePath != null && ContentAddress.parse(relativePath) != null;
+    }
+
+    /**
+     * Puts the file with this content hash into the store, or counts one
+     * more store of the blob if it is already there.
+     */
+    private String storeBlob(Path file, String hash, String subdirectory, String originalFilename)
+            throws IOException {
+        String key = new ContentAddress(subdirectory, hash).key();
+        blobReferenceCounter.update(key, counted -> {
+            if (!blobStore.exists(key)) {
+                blobStore.put(key, file);
+                return 1;
+            }
+            return currentRefs(counted) + 1;
+        });
+        return subdirectory + "/" + hash + extensionOf(originalFilename);
+    }
+
+    /**
+     * The blob store key for a relative path: the blob's for content-addressed
+     * paths and the files derived from them, the path itself for older ones.
+     */
+    private static String keyOf(String relativePath) {
+        int derived = relativePath.lastIndexOf(DERIVATIVES_SUFFIX);
+        if (derived >= 0) {
+            ContentAddress owner = ContentAddress.parse(relativePath.substring(0, derived));
+            if (owner != null) {
+                return owner.key() + relativePath.substring(derived);
+            }
+        }
+        ContentAddress address = ContentAddress.parse(relativePath);
+        return address != null ? address.key() : relativePath;
+    }
+
+    /**
+     * Stores of an existing blob not yet deleted. One whose count was lost
+     * (e.g. by a crash right after it was written) counts as stored once.
+     */
+    private static int currentRefs(int counted) {
+        return counted > 0 ? counted : 1;
+    }
+
+    private void deleteDerivatives(String key) throws IOException {
+        for (String derived : blobStore.list(key + DERIVATIVES_SUFFIX)) {
+            blobStore.delete(derived);
+        }
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename != null && originalFilename.contains(".")) {
+            String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            if (!extension.contains("/") && !extension.contains("\\")) {
+                return extension;
+            }
+        }
+        return "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A relative path returned by {@link #storeFile}: the subdirectory and
+     * the content hash.
+     */
+    private record ContentAddress(String subdirectory, String hash) {
+
+        /**
+         * The blob's key in the store.
+         */
+        String key() {
+            return (subdirectory.isEmpty() ? "" : subdirectory + "/") + hash.substring(0, 2) + "/"
+                    + hash.substring(2, 4) + "/" + hash;
+        }
+
+        /**
+         * The address in the path, or {@code null} for a path stored before
+         * content addressing.
+         */
+        static ContentAddress parse(String relativePath) {
+            int slash = relativePath.lastIndexOf('/');
+            String name = relativePath.substring(slash + 1);
+            if (!CONTENT_ADDRESSED_NAME.matcher(name).matches()) {
+                return null;
+            }
+            return new ContentAddress(slash < 0 ? "" : relativePath.substring(0, slash), name.substring(0, 64));
+        }
     }
 }
@@ -0,0 +1,355 @@
+package org.thevoids.oncologic.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.BulkLabResultDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.entity.Lab;
+import org.thevoids.oncologic.entity.Patient;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.service.LabIngestionService;
+import org.thevoids.oncologic.utils.CsvReader;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class LabIngestionServiceImpl implements LabIngestionService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final int TEST_TYPE_LENGTH = 100;
+    private static final int RESULT_LENGTH = 300;
+
+    private final LabRepository labRepository;
+    private final PatientRepository patientRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ClinicalTextIndex clinicalTextIndex;
+
+    public LabIngestionServiceImpl(
+            LabRepository labRepository,
+            PatientRepository patientRepository,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            ClinicalTextIndex clinicalTextIndex) {
+        this.labRepository = labRepository;
+        this.patientRepository = patientRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.clinicalTextIndex = clinicalTextIndex;
+    }
+
+    @Override
+    public List<BulkLabResultDTO> ingestLabs(List<LabDTO> labs) {
+        if (labs == null || labs.isEmpty()) {
+            throw new IllegalArgumentException("At least one lab is required");
+        }
+        if (labs.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS + " labs can be ingested at once");
+        }
+        return ingest(labs, new HashMap<>());
+    }
+
+    @Override
+    public List<BulkLabResultDTO> ingestLabsCsv(Reader csv) throws IOException {
+        CsvReader reader = new CsvReader(csv);
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV is empty");
+        }
+        List<CsvColumn> columns = new ArrayList<>(header.size());
+        for (String name : header) {
+            columns.add(CsvColumn.named(name.trim()));
+        }
+
+        List<LabDTO> labs = new ArrayList<>();
+        Map<Integer, String> errors = new HashMap<>();
+        List<String> record;
+        long line = reader.getLine();
+        while ((record = reader.next()) != null) {
+            if (labs.size() == MAX_ROWS) {
+                throw new IllegalArgumentException("At most " + MAX_ROWS + " labs can be ingested at once");
+            }
+            LabDTO lab = new LabDTO();
+            try {
+                if (record.size() != columns.size()) {
+                    throw new IllegalArgumentException("Expected " + columns.size() + " fields but found "
+                            + record.size());
+                }
+                for (int i = 0; i < columns.size(); i++) {
+                    String value = record.get(i).trim();
+                    if (!value.isEmpty()) {
+                        columns.get(i).apply(lab, value);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                errors.put(labs.size(), "Line " + line + ": " + e.getMessage());
+            }
+            labs.add(lab);
+            line = reader.getLine();
+        }
+        if (labs.isEmpty()) {
+            throw new IllegalArgumentException("At least one lab is required");
+        }
+        return ingest(labs, errors);
+    }
+
+    private List<BulkLabResultDTO> ingest(List<LabDTO> labs, Map<Integer, String> errors) {
+        List<BulkLabResultDTO> results = new ArrayList<>(labs.size());
+        for (int from = 0; from < labs.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, labs.size());
+            List<BulkLabResultDTO> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String error = errors.get(i);
+                chunk.add(new BulkLabResultDTO(i, error != null ? BulkLabResultDTO.Status.FAILED : null, null, error));
+            }
+            int first = from;
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(labs.subList(first, to), chunk));
+            } catch (RuntimeException e) {
+                // Rows that passed validation were rolled back with the chunk
+                String message = "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (BulkLabResultDTO result : chunk) {
+                    if (result.getStatus() != BulkLabResultDTO.Status.FAILED) {
+                        result.setStatus(BulkLabResultDTO.Status.FAILED);
+                        result.setLabId(null);
+                        result.setMessage(message);
+                    }
+                }
+            }
+            results.addAll(chunk);
+        }
+        return results;
+    }
+
+    /**
+     * Validates and writes one chunk. Results without a status on entry are
+     * still pending and get CREATED, UPDATED or FAILED.
+     */
+    private void writeChunk(List<LabDTO> labs, List<BulkLabResultDTO> results) {
+        Map<Long, Patient> patients = byId(patientRepository.findAllById(
+                idsOf(labs, results, LabDTO::getPatientId)), Patient::getPatientId);
+        Map<Long, User> technicians = byId(userRepository.findAllById(
+                idsOf(labs, results, LabDTO::getLabTechnicianId)), User::getUserId);
+        Map<Long, Lab> existing = byId(labRepository.findAllById(
+                idsOf(labs, results, LabDTO::getLabId)), Lab::getLabId);
+
+        List<Lab> created = new ArrayList<>();
+        List<BulkLabResultDTO> createdResults = new ArrayList<>();
+        List<Lab> written = new ArrayList<>();
+        for (int i = 0; i < labs.size(); i++) {
+            BulkLabResultDTO result = results.get(i);
+            if (result.getStatus() != null) {
+                continue;
+            }
+            LabDTO row = labs.get(i);
+            String error = validate(row, patients, technicians, existing);
+            if (error != null) {
+                result.setStatus(BulkLabResultDTO.Status.FAILED);
+                result.setMessage(error);
+                continue;
+            }
+
+            Lab lab = row.getLabId() != null ? existing.get(row.getLabId()) : new Lab();
+            if (row.getPatientId() != null)
+                lab.setPatient(patients.get(row.getPatientId()));
+            if (row.getLabTechnicianId() != null)
+                lab.setLabTechnician(technicians.get(row.getLabTechnicianId()));
+            if (row.getTestType() != null)
+                lab.setTestType(row.getTestType());
+            if (row.getRequestDate() != null)
+                lab.setRequestDate(row.getRequestDate());
+            if (row.getCompletionDate() != null)
+                lab.setCompletionDate(row.getCompletionDate());
+            if (row.getResult() != null)
+                lab.setResult(row.getResult());
+
+            written.add(lab);
+            if (lab.getLabId() == null) {
+                created.add(lab);
+                createdResults.add(result);
+                result.setStatus(BulkLabResultDTO.Status.CREATED);
+            } else {
+                result.setStatus(BulkLabResultDTO.Status.UPDATED);
+                result.setLabId(lab.getLabId());
+            }
+        }
+
+        labRepository.saveAll(created);
+        for (int i = 0; i < created.size(); i++) {
+            createdResults.get(i).setLabId(created.get(i).getLabId());
+        }
+        // Runs the batched inserts and updates now and keeps the context small
+        entityManager.flush();
+        entityManager.clear();
+        // Applied when the chunk commits
+        for (Lab lab : written) {
+            clinicalTextIndex.indexLab(new LabDTO(lab.getLabId(), lab.getPatient().getPatientId(),
+                    lab.getLabTechnician().getUserId(), lab.getTestType(), lab.getRequestDate(),
+                    lab.getCompletionDate(), lab.getResult(), lab.getAttachment()));
+        }
+    }
+
+    private static String validate(LabDTO row, Map<Long, Patient> patients, Map<Long, User> technicians,
+            Map<Long, Lab> existing) {
+        if (row == null) {
+            return "Lab cannot be null";
+        }
+        if (row.getLabId() != null && !existing.containsKey(row.getLabId())) {
+            return "Lab with id " + row.getLabId() + " does not exist";
+        }
+        if (row.getLabId() == null
+                && (row.getPatientId() == null || row.getLabTechnicianId() == null || row.getRequestDate() == null)) {
+            return "Patient ID, Lab technician ID and Request Date cannot be null";
+        }
+        if (row.getPatientId() != null && !patients.containsKey(row.getPatientId())) {
+            return "Patient with id " + row.getPatientId() + " does not exist";
+        }
+        if (row.getLabTechnicianId() != null && !technicians.containsKey(row.getLabTechnicianId())) {
+            return "User with id " + row.getLabTechnicianId() + " does not exist";
+        }
+        if (tooLong(row.getTestType(), TEST_TYPE_LENGTH)) {
+            return "testType exceeds " + TEST_TYPE_LENGTH + " characters";
+        }
+        if (tooLong(row.getResult(), RESULT_LENGTH)) {
+            return "result exceeds " + RESULT_LENGTH + " characters";
+        }
+        // Only uploads change it, as they count the stored file
+        if (row.getAttachment() != null && (row.getLabId() == null
+                || !row.getAttachment().equals(existing.get(row.getLabId()).getAttachment()))) {
+            return "attachment can only be changed by uploading a file";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value, int length) {
+        return value != null && value.length() > length;
+    }
+
+    private static Set<Long> idsOf(List<LabDTO> labs, List<BulkLabResultDTO> results, Function<LabDTO, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < labs.size(); i++) {
+            LabDTO lab = labs.get(i);
+            if (lab != null && results.get(i).getStatus() == null && id.apply(lab) != null) {
+                ids.add(id.apply(lab));
+            }
+        }
+        return ids;
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>();
+        for (T entity : entities) {
+            map.put(id.apply(entity), entity);
+        }
+        return map;
+    }
+
+    private enum CsvColumn {
+        LAB_ID("labId") {
+            void apply(LabDTO lab, String value) {
+                lab.setLabId(parseId(value));
+            }
+        },
+        PATIENT_ID("patientId") {
+            void apply(LabDTO lab, String value) {
+                lab.setPatientId(parseId(value));
+            }
+        },
+        LAB_TECHNICIAN_ID("labTechnicianId") {
+            void apply(LabDTO lab, String value) {
+                lab.setLabTechnicianId(parseId(value));
+            }
+        },
+        TEST_TYPE("testType") {
+            void apply(LabDTO lab, String value) {
+                lab.setTestType(value);
+            }
+        },
+        REQUEST_DATE("requestDate") {
+            void apply(LabDTO lab, String value) {
+                lab.setRequestDate(parseDate(value));
+            }
+        },
+        COMPLETION_DATE("completionDate") {
+            void apply(LabDTO lab, String value) {
+                lab.setCompletionDate(parseDate(value));
+            }
+        },
+        RESULT("result") {
+            void apply(LabDTO lab, String value) {
+                lab.setResult(value);
+            }
+        },
+        ATTACHMENT("attachment") {
+            void apply(LabDTO lab, String value) {
+                lab.setAttachment(value);
+            }
+        };
+
+        private final String header;
+
+        CsvColumn(String header) {
+            this.header = header;
+        }
+
+        abstract void apply(LabDTO lab, String value);
+
+        static CsvColumn named(String name) {
+            String normalized = name.replace("_", "").toLowerCase(Locale.ROOT);
+            for (CsvColumn column : values()) {
+                if (column.header.toLowerCase(Locale.ROOT).equals(normalized)) {
+                    return column;
+                }
+            }
+            throw new IllegalArgumentException("Unknown CSV column: " + name);
+        }
+
+        private static Long parseId(String value) {
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid id '" + value + "'");
+            }
+        }
+
+        private static Date parseDate(String value) {
+            try {
+                if (value.length() == 10) {
+                    return Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+                }
+                if (value.endsWith("Z") || value.matches(".*[+-]\\d{2}:?\\d{2}$")) {
+                    return Date.from(OffsetDateTime.parse(value).toInstant());
+                }
+                return Date.from(LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date '" + value + "'");
+            }
+        }
+    }
+}
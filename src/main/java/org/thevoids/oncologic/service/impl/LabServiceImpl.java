@@ -4,8 +4,10 @@ import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.thevoids.oncologic.attachment.AttachmentPipeline;
 import org.thevoids.oncologic.dto.entity.LabDTO;
 import org.thevoids.oncologic.entity.Lab;
 import org.thevoids.oncologic.entity.Patient;
@@ -16,10 +18,14 @@ import org.thevoids.oncologic.mapper.LabMapper;
 import org.thevoids.oncologic.repository.LabRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
 import org.thevoids.oncologic.service.FileService;
 import org.thevoids.oncologic.service.LabService;
 
 import jakarta.transaction.Transactional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class LabServiceImpl implements LabService {
@@ -28,18 +34,24 @@ public class LabServiceImpl implements LabService {
     private final PatientRepository patientRepository;
     private final LabMapper labMapper;
     private final FileService fileService;
+    private final ClinicalTextIndex clinicalTextIndex;
+    private final AttachmentPipeline attachmentPipeline;
 
     public LabServiceImpl(
             LabRepository labRepository,
             UserRepository userRepository,
             PatientRepository patientRepository,
             LabMapper labMapper,
-            FileService fileService) {
+            FileService fileService,
+            ClinicalTextIndex clinicalTextIndex,
+            AttachmentPipeline attachmentPipeline) {
         this.labRepository = labRepository;
         this.userRepository = userRepository;
         this.patientRepository = patientRepository;
         this.labMapper = labMapper;
         this.fileService = fileService;
+        this.clinicalTextIndex = clinicalTextIndex;
+        this.attachmentPipeline = attachmentPipeline;
     }
 
     @Override
@@ -59,11 +71,12 @@ public class LabServiceImpl implements LabService {
             throw new InvalidOperationException("Lab ID cannot be null");
         }
 
-        if (!labRepository.existsById(labDTO.getLabId())) {
-            throw new ResourceNotFoundException("Lab", "id", labDTO.getLabId());
-        }
+        Lab existingLab = labRepository.findById(labDTO.getLabId())
+                .orElseThrow(() -> new ResourceNotFoundException("Lab", "id", labDTO.getLabId()));
+        String attachment = keptAttachment(labDTO, existingLab);
 
         Lab lab = labMapper.toLab(labDTO);
+        lab.setAttachment(attachment);
 
         // Fetch the complete entities to avoid null references
         if (lab.getPatient() != null && lab.getPatient().getPatientId() != null) {
@@ -81,7 +94,9 @@ public class LabServiceImpl implements LabService {
         }
 
         Lab savedLab = labRepository.save(lab);
-        return labMapper.toLabDTO(savedLab);
+        LabDTO saved = labMapper.toLabDTO(savedLab);
+        clinicalTextIndex.indexLab(saved);
+        return saved;
     }
 
     @Override
@@ -91,6 +106,21 @@ public class LabServiceImpl implements LabService {
                 .map(labMapper::toLabDTO).collect(Collectors.toList());
     }
 
+    @Override
+    public List<LabDTO> getLabsAfter(Long after, int limit) {
+        return labRepository.findByLabIdGreaterThanOrderByLabIdAsc(after == null ? 0L : after, Limit.of(limit)).stream()
+                .map(labMapper::toLabDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void forEachLabForExport(Consumer<LabDTO> consumer) {
+        try (Stream<LabDTO> rows = labRepository.streamAllForExport()) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Override
     @Transactional
     public LabDTO assignLab(Long patientId, Long userId, Date requestDate, String testType, Date completionDate,
@@ -113,7 +143,9 @@ public class LabServiceImpl implements LabService {
         lab.setResult(result);
 
         Lab savedLab = labRepository.save(lab);
-        return labMapper.toLabDTO(savedLab);
+        LabDTO saved = labMapper.toLabDTO(savedLab);
+        clinicalTextIndex.indexLab(saved);
+        return saved;
     }
 
     @Override
@@ -131,6 +163,7 @@ public class LabServiceImpl implements LabService {
                 .orElseThrow(() -> new ResourceNotFoundException("Lab", "id", labDTO.getLabId()));
 
         // Handle file upload if provided
+        String attachment;
         if (file != null && !file.isEmpty()) {
             // Validate file
             if (!fileService.isValidFile(file)) {
@@ -143,11 +176,14 @@ public class LabServiceImpl implements LabService {
             }
 
             // Store new file
-            String filePath = fileService.storeFile(file, "labs");
-            labDTO.setAttachment(filePath);
+            attachment = fileService.storeFile(file, "labs");
+            attachmentPipeline.discard(labDTO.getLabId());
+        } else {
+            attachment = keptAttachment(labDTO, existingLab);
         }
 
         Lab lab = labMapper.toLab(labDTO);
+        lab.setAttachment(attachment);
 
         // Fetch the complete entities to avoid null references
         if (lab.getPatient() != null && lab.getPatient().getPatientId() != null) {
@@ -165,7 +201,12 @@ public class LabServiceImpl implements LabService {
         }
 
         Lab savedLab = labRepository.save(lab);
-        return labMapper.toLabDTO(savedLab);
+        LabDTO saved = labMapper.toLabDTO(savedLab);
+        clinicalTextIndex.indexLab(saved);
+        if (file != null && !file.isEmpty()) {
+            attachmentPipeline.submit(saved);
+        }
+        return saved;
     }
 
     @Override
@@ -202,7 +243,34 @@ public class LabServiceImpl implements LabService {
         }
 
         Lab savedLab = labRepository.save(lab);
-        return labMapper.toLabDTO(savedLab);
+        LabDTO saved = labMapper.toLabDTO(savedLab);
+        clinicalTextIndex.indexLab(saved);
+        attachmentPipeline.submit(saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public LabDTO attachFile(Long labId, String filePath) {
+        if (labId == null || filePath == null || filePath.isBlank()) {
+            throw new InvalidOperationException("Lab ID and file cannot be null");
+        }
+
+        Lab lab = labRepository.findById(labId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lab", "id", labId));
+
+        // Delete old file if exists
+        if (lab.getAttachment() != null && !lab.getAttachment().isEmpty()) {
+            fileService.deleteFile(lab.getAttachment());
+        }
+        lab.setAttachment(filePath);
+        attachmentPipeline.discard(labId);
+
+        Lab savedLab = labRepository.save(lab);
+        LabDTO saved = labMapper.toLabDTO(savedLab);
+        clinicalTextIndex.indexLab(saved);
+        attachmentPipeline.submit(saved);
+        return saved;
     }
 
     @Override
@@ -215,6 +283,21 @@ public class LabServiceImpl implements LabService {
             fileService.deleteFile(lab.getAttachment());
         }
 
+        attachmentPipeline.discard(id);
         labRepository.deleteById(id);
+        clinicalTextIndex.remove(ClinicalRecordType.LAB, id);
+    }
+
+    /**
+     * The attachment a lab keeps through an update without a file. Only
+     * uploads change it, as they count the stored file for
+     * {@link FileService#deleteFile}; the client may send the current one back
+     * or leave it out.
+     */
+    private static String keptAttachment(LabDTO labDTO, Lab existingLab) {
+        if (labDTO.getAttachment() != null && !labDTO.getAttachment().equals(existingLab.getAttachment())) {
+            throw new InvalidOperationException("The attachment can only be changed by uploading a file");
+        }
+        return existingLab.getAttachment();
     }
 }
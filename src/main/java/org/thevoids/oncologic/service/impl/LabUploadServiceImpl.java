@@ -0,0 +1,366 @@
+package org.thevoids.oncologic.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.dto.custom.LabUploadDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.exception.UploadOffsetMismatchException;
+import org.thevoids.oncologic.service.FileService;
+import org.thevoids.oncologic.service.LabService;
+import org.thevoids.oncologic.service.LabUploadService;
+
+/**
+ * Chunked uploads written straight to disk.
+ *
+ * Each upload is a file created at its final size under
+ * {@code <upload dir>/.uploads}, next to a small properties file with the
+ * lab, file name, owner and offset. A chunk is read from the request body and
+ * written into the file at its offset through a {@link FileChannel}, 64 KiB at
+ * a time, so neither the heap nor the servlet container's multipart temporary
+ * directory ever holds the file. The data is forced to disk before the new
+ * offset is recorded, so a recorded offset never covers bytes that could be
+ * lost; the state survives a restart and the client resumes from it.
+ *
+ * With local storage the completed file is on the same file system as the
+ * store, so {@link FileService#storeFile(Path, String, String)} takes it over
+ * with a rename instead of a copy; a remote store receives it in parts. The
+ * upload itself lives on the node that started it, so with several nodes its
+ * requests must reach that node (or the upload directory must be shared).
+ */
+@Service
+public class LabUploadServiceImpl implements LabUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(LabUploadServiceImpl.class);
+
+    private static final String UPLOAD_DIRECTORY = ".uploads";
+    private static final String PART_SUFFIX = ".part";
+    private static final String STATE_SUFFIX = ".properties";
+    private static final int WRITE_CHUNK_BYTES = 64 * 1024;
+
+    private final LabService labService;
+    private final FileService fileService;
+    private final Path directory;
+    private final long maxSize;
+    private final Duration expiry;
+
+    private final ConcurrentMap<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    public LabUploadServiceImpl(LabService labService, FileService fileService,
+            @Value("${app.file.upload.dir:uploads}") String uploadDir,
+            @Value("${app.file.chunked-upload.max-size:2147483648}") long maxSize,
+            @Value("${app.file.chunked-upload.expiry:PT24H}") Duration expiry) {
+        this.labService = labService;
+        this.fileService = fileService;
+        this.directory = Paths.get(uploadDir, UPLOAD_DIRECTORY);
+        this.maxSize = maxSize;
+        this.expiry = expiry;
+    }
+
+    @Override
+    public LabUploadDTO startUpload(LabUploadDTO request, String owner) {
+        if (request == null || request.getLabId() == null || request.getFileName() == null
+                || request.getFileName().isBlank()) {
+            throw new InvalidOperationException("Lab ID and file name cannot be null");
+        }
+        if (request.getSize() <= 0 || request.getSize() > maxSize) {
+            throw new InvalidOperationException("File size must be between 1 and " + maxSize + " bytes");
+        }
+        if (!fileService.isAllowedContentType(request.getContentType())) {
+            throw new InvalidOperationException("Invalid file type");
+        }
+        labService.getLabById(request.getLabId());
+
+        Upload upload = new Upload(UUID.randomUUID().toString(), request.getLabId(), request.getFileName(),
+                request.getContentType().toLowerCase(), request.getSize(), owner);
+        try {
+            Files.createDirectories(directory);
+            purgeExpired();
+            try (FileChannel channel = FileChannel.open(partPath(upload.id), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                // Writing the last byte sizes the file without touching the rest
+                channel.write(ByteBuffer.allocate(1), upload.size - 1);
+            }
+            save(upload);
+        } catch (IOException e) {
+            discard(upload.id);
+            throw new InvalidOperationException("Failed to start upload: " + e.getMessage());
+        }
+        uploads.put(upload.id, upload);
+        return upload.toDTO(expiry);
+    }
+
+    @Override
+    public LabUploadDTO getUpload(String uploadId, String owner) {
+        return find(uploadId, owner).toDTO(expiry);
+    }
+
+    @Override
+    public LabUploadDTO appendChunk(String uploadId, long offset, InputStream chunk, String owner)
+            throws IOException {
+        Upload upload = lock(find(uploadId, owner));
+        try {
+            if (offset != upload.offset) {
+                throw new UploadOffsetMismatchException(upload.offset);
+            }
+            byte[] bytes = new byte[WRITE_CHUNK_BYTES];
+            long position = offset;
+            int buffered = 0;
+            boolean overflow = false;
+            try (FileChannel channel = FileChannel.open(partPath(upload.id), StandardOpenOption.WRITE)) {
+                try {
+                    int read;
+                    while (position + buffered < upload.size && (read = chunk.read(bytes, buffered,
+                            (int) Math.min(bytes.length - buffered, upload.size - position - buffered))) >= 0) {
+                        buffered += read;
+                        if (buffered == bytes.length) {
+                            position += write(channel, bytes, buffered, position);
+                            buffered = 0;
+                        }
+                    }
+                    overflow = chunk.read() >= 0;
+                } finally {
+                    // Keep what arrived, even from a chunk cut short, so the client resumes after it
+                    if (!overflow) {
+                        position += write(channel, bytes, buffered, position);
+                        if (position > upload.offset) {
+                            channel.force(false);
+                            upload.offset = position;
+                            save(upload);
+                        }
+                    }
+                }
+            }
+            if (overflow) {
+                throw new InvalidOperationException("Chunk goes past the declared file size");
+            }
+            return upload.toDTO(expiry);
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    @Override
+    public LabDTO completeUpload(String uploadId, String owner) {
+        Upload upload = lock(find(uploadId, owner));
+        try {
+            if (upload.offset != upload.size) {
+                throw new UploadOffsetMismatchException(upload.offset);
+            }
+            String filePath = fileService.storeFile(partPath(upload.id), upload.fileName, "labs");
+            try {
+                return labService.attachFile(upload.labId, filePath);
+            } catch (RuntimeException e) {
+                fileService.deleteFile(filePath);
+                throw e;
+            } finally {
+                close(upload);
+            }
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    @Override
+    public void cancelUpload(String uploadId, String owner) {
+        Upload upload = lock(find(uploadId, owner));
+        try {
+            close(upload);
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    private static int write(FileChannel channel, byte[] bytes, int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return length;
+    }
+
+    private Upload find(String uploadId, String owner) {
+        Upload upload = isUploadId(uploadId) ? uploads.computeIfAbsent(uploadId, this::load) : null;
+        if (upload == null || upload.closed || !Objects.equals(upload.owner, owner)
+                || upload.updatedAt + expiry.toMillis() < System.currentTimeMillis()) {
+            throw new ResourceNotFoundException("Upload", "id", uploadId);
+        }
+        return upload;
+    }
+
+    /**
+     * Takes the upload's lock without waiting: a second writer means the
+     * client lost track of the offset, and it must ask for it again.
+     */
+    private Upload lock(Upload upload) {
+        if (!upload.lock.tryLock()) {
+            throw new UploadOffsetMismatchException(upload.offset);
+        }
+        if (upload.closed) {
+            upload.lock.unlock();
+            throw new ResourceNotFoundException("Upload", "id", upload.id);
+        }
+        return upload;
+    }
+
+    private void close(Upload upload) {
+        upload.closed = true;
+        uploads.remove(upload.id);
+        discard(upload.id);
+    }
+
+    /**
+     * Removes uploads nobody has written to within the expiry. Runs when an
+     * upload starts, so abandoned files cannot pile up while uploads are in use.
+     */
+    private void purgeExpired() throws IOException {
+        long cutoff = System.currentTimeMillis() - expiry.toMillis();
+        try (DirectoryStream<Path> states = Files.newDirectoryStream(directory, "*" + STATE_SUFFIX)) {
+            for (Path state : states) {
+                if (Files.getLastModifiedTime(state).toMillis() >= cutoff) {
+                    continue;
+                }
+                String name = state.getFileName().toString();
+                String id = name.substring(0, name.length() - STATE_SUFFIX.length());
+                Upload upload = uploads.get(id);
+                if (upload == null) {
+                    discard(id);
+                } else if (upload.lock.tryLock()) {
+                    try {
+                        close(upload);
+                    } finally {
+                        upload.lock.unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    private void discard(String id) {
+        try {
+            Files.deleteIfExists(partPath(id));
+            Files.deleteIfExists(statePath(id));
+        } catch (IOException e) {
+            // Log the error but don't throw exception as this is cleanup
+            log.warn("Failed to delete upload {}", id, e);
+        }
+    }
+
+    private void save(Upload upload) throws IOException {
+        Properties state = new Properties();
+        state.setProperty("labId", upload.labId.toString());
+        state.setProperty("fileName", upload.fileName);
+        state.setProperty("contentType", upload.contentType);
+        state.setProperty("size", Long.toString(upload.size));
+        state.setProperty("offset", Long.toString(upload.offset));
+        if (upload.owner != null) {
+            state.setProperty("owner", upload.owner);
+        }
+        Path temp = Files.createTempFile(directory, upload.id, STATE_SUFFIX + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                state.store(out, null);
+            }
+            Files.move(temp, statePath(upload.id), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        upload.updatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * The upload as recorded on disk, e.g. before a restart, or {@code null}.
+     */
+    private Upload load(String id) {
+        Path statePath = statePath(id);
+        Properties state = new Properties();
+        try (InputStream in = Files.newInputStream(statePath)) {
+            state.load(in);
+            Upload upload = new Upload(id, Long.valueOf(state.getProperty("labId")), state.getProperty("fileName"),
+                    state.getProperty("contentType"), Long.parseLong(state.getProperty("size")),
+                    state.getProperty("owner"));
+            upload.offset = Long.parseLong(state.getProperty("offset"));
+            upload.updatedAt = Files.getLastModifiedTime(statePath).toMillis();
+            return upload;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path partPath(String id) {
+        return directory.resolve(id + PART_SUFFIX);
+    }
+
+    private Path statePath(String id) {
+        return directory.resolve(id + STATE_SUFFIX);
+    }
+
+    /**
+     * Upload ids are random UUIDs; anything else would name a path outside
+     * the upload directory or no upload at all.
+     */
+    private static boolean isUploadId(String uploadId) {
+        try {
+            return uploadId != null && UUID.fromString(uploadId).toString().equals(uploadId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static final class Upload {
+        final String id;
+        final Long labId;
+        final String fileName;
+        final String contentType;
+        final long size;
+        final String owner;
+        final ReentrantLock lock = new ReentrantLock();
+
+        // Written under the lock; volatile so status reads need not take it
+        volatile long offset;
+        volatile long updatedAt = System.currentTimeMillis();
+        volatile boolean closed;
+
+        Upload(String id, Long labId, String fileName, String contentType, long size, String owner) {
+            this.id = id;
+            this.labId = labId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.owner = owner;
+        }
+
+        LabUploadDTO toDTO(Duration expiry) {
+            return new LabUploadDTO(id, labId, fileName, contentType, size, offset,
+                    new Date(updatedAt + expiry.toMillis()));
+        }
+    }
+}
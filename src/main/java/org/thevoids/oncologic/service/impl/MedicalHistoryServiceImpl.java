@@ -1,5 +1,6 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
 import org.thevoids.oncologic.entity.MedicalHistory;
@@ -9,22 +10,30 @@ import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.mapper.MedicalHistoryMapper;
 import org.thevoids.oncologic.repository.MedicalHistoryRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
 import org.thevoids.oncologic.service.MedicalHistoryService;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import jakarta.transaction.Transactional;
 
 @Service
 public class MedicalHistoryServiceImpl implements MedicalHistoryService {
     private final MedicalHistoryRepository medicalHistoryRepository;
     private final MedicalHistoryMapper medicalHistoryMapper;
     private final PatientRepository patientRepository;
+    private final ClinicalTextIndex clinicalTextIndex;
 
     public MedicalHistoryServiceImpl(MedicalHistoryRepository medicalHistoryRepository,
-            MedicalHistoryMapper medicalHistoryMapper, PatientRepository patientRepository) {
+            MedicalHistoryMapper medicalHistoryMapper, PatientRepository patientRepository,
+            ClinicalTextIndex clinicalTextIndex) {
         this.medicalHistoryRepository = medicalHistoryRepository;
         this.medicalHistoryMapper = medicalHistoryMapper;
         this.patientRepository = patientRepository;
+        this.clinicalTextIndex = clinicalTextIndex;
     }
 
     @Override
@@ -35,6 +44,21 @@ public class MedicalHistoryServiceImpl implements MedicalHistoryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<MedicalHistoryDTO> getMedicalHistoriesAfter(Long after, int limit) {
+        return medicalHistoryRepository.findByHistoryIdGreaterThanOrderByHistoryIdAsc(after == null ? 0L : after, Limit.of(limit)).stream()
+                .map(medicalHistoryMapper::toMedicalHistoryDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void forEachMedicalHistoryForExport(Consumer<MedicalHistoryDTO> consumer) {
+        try (Stream<MedicalHistoryDTO> rows = medicalHistoryRepository.streamAllForExport()) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Override
     public MedicalHistoryDTO getMedicalHistoryById(Long id) {
         MedicalHistory medicalHistory = medicalHistoryRepository.findById(id)
@@ -56,7 +80,9 @@ public class MedicalHistoryServiceImpl implements MedicalHistoryService {
         MedicalHistory medicalHistory = medicalHistoryMapper.toMedicalHistory(medicalHistoryDTO);
         medicalHistory.setPatient(patient);
         MedicalHistory savedMedicalHistory = medicalHistoryRepository.save(medicalHistory);
-        return medicalHistoryMapper.toMedicalHistoryDTO(savedMedicalHistory);
+        MedicalHistoryDTO saved = medicalHistoryMapper.toMedicalHistoryDTO(savedMedicalHistory);
+        clinicalTextIndex.indexMedicalHistory(saved);
+        return saved;
     }
 
     @Override
@@ -80,7 +106,9 @@ public class MedicalHistoryServiceImpl implements MedicalHistoryService {
         MedicalHistory medicalHistory = medicalHistoryMapper.toMedicalHistory(medicalHistoryDTO);
         medicalHistory.setPatient(patient);
         MedicalHistory updatedMedicalHistory = medicalHistoryRepository.save(medicalHistory);
-        return medicalHistoryMapper.toMedicalHistoryDTO(updatedMedicalHistory);
+        MedicalHistoryDTO updated = medicalHistoryMapper.toMedicalHistoryDTO(updatedMedicalHistory);
+        clinicalTextIndex.indexMedicalHistory(updated);
+        return updated;
     }
 
     @Override
@@ -90,5 +118,6 @@ public class MedicalHistoryServiceImpl implements MedicalHistoryService {
         }
 
         medicalHistoryRepository.deleteById(id);
+        clinicalTextIndex.remove(ClinicalRecordType.MEDICAL_HISTORY, id);
     }
 }
@@ -1,37 +1,76 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thevoids.oncologic.dto.custom.PatientChartDTO;
+import org.thevoids.oncologic.dto.entity.AppointmentDTO;
+import org.thevoids.oncologic.dto.entity.AppointmentWithTasksDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
 import org.thevoids.oncologic.dto.entity.PatientDTO;
+import org.thevoids.oncologic.dto.entity.TaskDTO;
+import org.thevoids.oncologic.entity.Appointment;
 import org.thevoids.oncologic.entity.Patient;
 import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.mapper.PatientMapper;
+import org.thevoids.oncologic.repository.AppointmentRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.MedicalHistoryRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
 import org.thevoids.oncologic.repository.TaskRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.search.UserDirectoryIndex;
 import org.thevoids.oncologic.service.PatientService;
 import org.thevoids.oncologic.service.UserService;
 
 import jakarta.transaction.Transactional;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class PatientServiceImpl implements PatientService {
+    private static final int MAX_CHART_SECTION_LIMIT = 100;
+
     private final PatientRepository patientRepository;
     private final UserService userService;
     private final PatientMapper patientMapper;
     private final TaskRepository taskRepository;
+    private final MedicalHistoryRepository medicalHistoryRepository;
+    private final LabRepository labRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ClinicalTextIndex clinicalTextIndex;
+    private final UserDirectoryIndex userDirectoryIndex;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
 
     public PatientServiceImpl(
             PatientRepository patientRepository,
             PatientMapper patientMapper,
             UserService userService,
-            TaskRepository taskRepository) {
+            TaskRepository taskRepository,
+            MedicalHistoryRepository medicalHistoryRepository,
+            LabRepository labRepository,
+            AppointmentRepository appointmentRepository,
+            ClinicalTextIndex clinicalTextIndex,
+            UserDirectoryIndex userDirectoryIndex,
+            AppointmentIntervalIndex appointmentIntervalIndex) {
         this.patientRepository = patientRepository;
         this.patientMapper = patientMapper;
         this.userService = userService;
         this.taskRepository = taskRepository;
+        this.medicalHistoryRepository = medicalHistoryRepository;
+        this.labRepository = labRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.clinicalTextIndex = clinicalTextIndex;
+        this.userDirectoryIndex = userDirectoryIndex;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
     }
 
     @Override
@@ -54,6 +93,8 @@ public class PatientServiceImpl implements PatientService {
         patient.setUser(user);
         user.setPatient(patient); // Bidirectional
         Patient savedPatient = patientRepository.save(patient);
+        // The typeahead shows which users are patients
+        userDirectoryIndex.index(user);
         return patientMapper.toPatientDTO(savedPatient);
     }
 
@@ -90,9 +131,14 @@ public class PatientServiceImpl implements PatientService {
         if (user != null) {
             user.setPatient(null);
             patient.setUser(null);
+            userDirectoryIndex.index(user);
         }
 
         if (patient.getAppointments() != null) {
+            // The orphaned appointments are deleted with the patient
+            List<Long> appointmentIds = patient.getAppointments().stream()
+                    .map(Appointment::getAppointmentId)
+                    .toList();
             patient.getAppointments().forEach(appointment -> {
                 if (appointment.getTasks() != null) {
                     taskRepository.deleteAll(appointment.getTasks());
@@ -101,17 +147,25 @@ public class PatientServiceImpl implements PatientService {
                 appointment.setPatient(null);
             });
             patient.getAppointments().clear();
+            afterCommit(() -> appointmentIds.forEach(appointmentIntervalIndex::remove));
         }
 
         // Elimina labs asociados
         if (patient.getLabs() != null) {
-            patient.getLabs().forEach(lab -> lab.setPatient(null));
+            patient.getLabs().forEach(lab -> {
+                clinicalTextIndex.remove(ClinicalRecordType.LAB, lab.getLabId());
+                clinicalTextIndex.remove(ClinicalRecordType.LAB_ATTACHMENT, lab.getLabId());
+                lab.setPatient(null);
+            });
             patient.getLabs().clear();
         }
 
         // Elimina historias médicas asociadas
         if (patient.getMedicalHistories() != null) {
-            patient.getMedicalHistories().forEach(hist -> hist.setPatient(null));
+            patient.getMedicalHistories().forEach(hist -> {
+                clinicalTextIndex.remove(ClinicalRecordType.MEDICAL_HISTORY, hist.getHistoryId());
+                hist.setPatient(null);
+            });
             patient.getMedicalHistories().clear();
         }
 
@@ -125,4 +179,62 @@ public class PatientServiceImpl implements PatientService {
                 .map(patientMapper::toPatientDTO)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<PatientDTO> getPatientsAfter(Long after, int limit) {
+        return patientRepository.findByPatientIdGreaterThanOrderByPatientIdAsc(after == null ? 0L : after, Limit.of(limit)).stream()
+                .map(patientMapper::toPatientDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Five queries at most whatever the size of the chart: the patient, one
+     * per section (each a DTO projection over the patient_id index, so no
+     * entity or association is loaded) and one for the tasks of all the
+     * upcoming appointments together.
+     */
+    @Override
+    public PatientChartDTO getPatientChart(Long id, int historyLimit, int labLimit, int appointmentLimit) {
+        PatientDTO patient = getPatientById(id);
+
+        int histories = chartSectionLimit(historyLimit);
+        List<MedicalHistoryDTO> medicalHistories = histories == 0 ? List.of()
+                : medicalHistoryRepository.findRecentByPatientId(id, Limit.of(histories));
+
+        int labCount = chartSectionLimit(labLimit);
+        List<LabDTO> labs = labCount == 0 ? List.of()
+                : labRepository.findRecentByPatientId(id, Limit.of(labCount));
+
+        int appointments = chartSectionLimit(appointmentLimit);
+        List<AppointmentDTO> upcoming = appointments == 0 ? List.of()
+                : appointmentRepository.findUpcomingByPatientId(id, new Date(), Limit.of(appointments));
+
+        Map<Long, List<TaskDTO>> tasksByAppointment = upcoming.isEmpty() ? Map.of()
+                : taskRepository.findByAppointmentIds(upcoming.stream().map(AppointmentDTO::getAppointmentId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(TaskDTO::getAppointmentId));
+        List<AppointmentWithTasksDTO> upcomingAppointments = upcoming.stream()
+                .map(appointment -> new AppointmentWithTasksDTO(appointment,
+                        tasksByAppointment.getOrDefault(appointment.getAppointmentId(), List.of())))
+                .collect(Collectors.toList());
+
+        return new PatientChartDTO(patient, medicalHistories, labs, upcomingAppointments);
+    }
+
+    private static int chartSectionLimit(int limit) {
+        return Math.max(0, Math.min(limit, MAX_CHART_SECTION_LIMIT));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -4,11 +4,16 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 import org.thevoids.oncologic.entity.Permission;
 import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.repository.PermissionRepository;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 import org.thevoids.oncologic.service.PermissionService;
 
 @Service
@@ -16,12 +21,22 @@ public class PermissionServiceImpl implements PermissionService {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private PermissionVersionTracker permissionVersionTracker;
+
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.PERMISSIONS, key = "'all'")
     public List<Permission> getAllPermissions() {
         return permissionRepository.findAll();
     }
 
     @Override
+    public List<Permission> getPermissionsAfter(Long after, int limit) {
+        return permissionRepository.findByPermissionIdGreaterThanOrderByPermissionIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = { ReferenceCaches.PERMISSIONS, ReferenceCaches.ROLES }, allEntries = true)
     public Permission createPermission(Permission permission) {
         if (permission.getPermissionId() != null && permissionRepository.existsById(permission.getPermissionId())) {
             throw new ResourceAlreadyExistsException("Permiso", "id", permission.getPermissionId());
@@ -33,6 +48,7 @@ public class PermissionServiceImpl implements PermissionService {
     }
 
     @Override
+    @CacheEvict(cacheNames = { ReferenceCaches.PERMISSIONS, ReferenceCaches.ROLES }, allEntries = true)
     public Permission deletePermission(Long permissionId) {
         if (!permissionRepository.existsById(permissionId)) {
             throw new ResourceNotFoundException("Permiso", "id", permissionId);
@@ -42,17 +58,20 @@ public class PermissionServiceImpl implements PermissionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Permiso", "id", permissionId));
 
         permissionRepository.delete(permission);
+        permissionVersionTracker.increment();
 
         return permission;
     }
 
     @Override
+    @CacheEvict(cacheNames = { ReferenceCaches.PERMISSIONS, ReferenceCaches.ROLES }, allEntries = true)
     public Permission updatePermission(Permission permission) {
         if (!permissionRepository.existsById(permission.getPermissionId())) {
             throw new ResourceNotFoundException("Permiso", "id", permission.getPermissionId());
         }
 
         permissionRepository.save(permission);
+        permissionVersionTracker.increment();
 
         return permission;
     }
@@ -2,7 +2,10 @@ package org.thevoids.oncologic.service.impl;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 import org.thevoids.oncologic.entity.Permission;
 import org.thevoids.oncologic.entity.RolePermission;
 import org.thevoids.oncologic.exception.InvalidOperationException;
@@ -10,6 +13,7 @@ import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.repository.PermissionRepository;
 import org.thevoids.oncologic.repository.RolePermissionRepository;
 import org.thevoids.oncologic.repository.RoleRepository;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 import org.thevoids.oncologic.service.RolePermissionService;
 
 @Service
@@ -17,18 +21,22 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     private final RolePermissionRepository rolePermissionRepository;
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final PermissionVersionTracker permissionVersionTracker;
 
     public RolePermissionServiceImpl(
             RolePermissionRepository rolePermissionRepository,
             RoleRepository roleRepository,
-            PermissionRepository permissionRepository
+            PermissionRepository permissionRepository,
+            PermissionVersionTracker permissionVersionTracker
     ) {
         this.rolePermissionRepository = rolePermissionRepository;
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.permissionVersionTracker = permissionVersionTracker;
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.ROLES, allEntries = true)
     public void assignPermissionToRole(Long permissionId, Long roleId) {
         if (!permissionRepository.existsById(permissionId)) {
             throw new ResourceNotFoundException("Permiso", "id", permissionId);
@@ -50,9 +58,11 @@ public class RolePermissionServiceImpl implements RolePermissionService {
         newPermission.setPermission(permission);
 
         rolePermissionRepository.save(newPermission);
+        permissionVersionTracker.increment();
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.ROLES, allEntries = true)
     public void removePermissionFromRole(Long permissionId, Long roleId) {
         if (!permissionRepository.existsById(permissionId)) {
             throw new ResourceNotFoundException("Permiso", "id", permissionId);
@@ -69,6 +79,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
         var rolePermission = rolePermissionRepository.findByRoleIdAndPermissionId(roleId, permissionId).orElse(null);
 
         rolePermissionRepository.deleteById(rolePermission.getId());
+        permissionVersionTracker.increment();
     }
 
     @Override
@@ -85,6 +96,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.ROLES, allEntries = true)
     public void updatePermissionForRole(Long lastPermissionId, Long newPermissionId, Long roleId) {
         if (!roleRepository.existsById(roleId)) {
             throw new ResourceNotFoundException("Rol", "id", roleId);
@@ -107,6 +119,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
         rolePermission.setPermission(permissionRepository.findById(newPermissionId).orElse(null));
 
         rolePermissionRepository.save(rolePermission);
+        permissionVersionTracker.increment();
     }
 
     @Override
@@ -119,6 +132,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.PERMISSIONS, key = "'all'")
     public List<Permission> getAllPermissions() {
         return permissionRepository.findAll();
     }
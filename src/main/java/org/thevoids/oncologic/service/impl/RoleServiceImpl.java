@@ -2,28 +2,42 @@ package org.thevoids.oncologic.service.impl;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 import org.thevoids.oncologic.entity.Role;
 import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.repository.RoleRepository;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 import org.thevoids.oncologic.service.RoleService;
 
 @Service
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
+    private final PermissionVersionTracker permissionVersionTracker;
 
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, PermissionVersionTracker permissionVersionTracker) {
         this.roleRepository = roleRepository;
+        this.permissionVersionTracker = permissionVersionTracker;
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.ROLES, key = "'all'")
     public List<Role> getAllRoles() {
         return roleRepository.findAll();
     }
 
     @Override
+    public List<Role> getRolesAfter(Long after, int limit) {
+        return roleRepository.findByRoleIdGreaterThanOrderByRoleIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = ReferenceCaches.ROLES, allEntries = true)
     public Role createRole(Role role) {
         if (role.getRoleId() != null && roleRepository.existsById(role.getRoleId())) {
             throw new ResourceAlreadyExistsException("Rol", "id", role.getRoleId());
@@ -35,23 +49,27 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.ROLES, allEntries = true)
     public Role deleteRole(Role role) {
         if (!roleRepository.existsById(role.getRoleId())) {
             throw new ResourceNotFoundException("Rol", "id", role.getRoleId());
         }
 
         roleRepository.delete(role);
+        permissionVersionTracker.increment();
 
         return role;
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.ROLES, allEntries = true)
     public Role updateRole(Role role) {
         if (!roleRepository.existsById(role.getRoleId())) {
             throw new ResourceNotFoundException("Rol", "id", role.getRoleId());
         }
 
         roleRepository.save(role);
+        permissionVersionTracker.increment();
 
         return role;
     }
@@ -62,4 +80,17 @@ public class RoleServiceImpl implements RoleService {
         return roleRepository.findById(roleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Rol", "id", roleId));
     }
+
+    @Override
+    @Cacheable(cacheNames = ReferenceCaches.ROLES, key = "#roleId")
+    public Role getRoleWithPermissions(Long roleId) {
+        return roleRepository.findWithPermissionsByRoleId(roleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Rol", "id", roleId));
+    }
+
+    @Override
+    @Cacheable(cacheNames = ReferenceCaches.ROLES, key = "'allWithPermissions'")
+    public List<Role> getAllRolesWithPermissions() {
+        return roleRepository.findAllWithPermissionsBy();
+    }
 }
@@ -1,5 +1,6 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.dto.entity.ScheduleDTO;
 import org.thevoids.oncologic.entity.Schedule;
@@ -30,6 +31,13 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ScheduleDTO> getSchedulesAfter(Long after, int limit) {
+        return scheduleRepository.findByScheduleIdGreaterThanOrderByScheduleIdAsc(after == null ? 0L : after, Limit.of(limit)).stream()
+                .map(scheduleMapper::toScheduleDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ScheduleDTO getScheduleById(Long id) {
         Schedule schedule = scheduleRepository.findById(id)
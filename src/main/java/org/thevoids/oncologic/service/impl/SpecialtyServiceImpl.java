@@ -1,6 +1,10 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.cache.ReferenceCaches;
 import org.thevoids.oncologic.entity.Specialty;
 import org.thevoids.oncologic.repository.SpecialtyRepository;
 import org.thevoids.oncologic.service.SpecialtyService;
@@ -16,12 +20,14 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.SPECIALTIES, key = "#id")
     public Specialty getSpecialtyById(Long id) {
         return specialtyRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Specialty with id " + id + " does not exist"));
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.SPECIALTIES, allEntries = true)
     public Specialty createSpecialty(Specialty specialty) {
         if (specialty == null) {
             throw new IllegalArgumentException("Specialty cannot be null");
@@ -31,6 +37,7 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.SPECIALTIES, allEntries = true)
     public Specialty updateSpecialty(Specialty specialty) {
         if (specialty == null) {
             throw new IllegalArgumentException("Specialty cannot be null");
@@ -48,6 +55,7 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ReferenceCaches.SPECIALTIES, allEntries = true)
     public void deleteSpecialty(Long id) {
         if (!specialtyRepository.existsById(id)) {
             throw new IllegalArgumentException("Specialty with id " + id + " does not exist");
@@ -57,7 +65,13 @@ public class SpecialtyServiceImpl implements SpecialtyService {
     }
 
     @Override
+    @Cacheable(cacheNames = ReferenceCaches.SPECIALTIES, key = "'all'")
     public List<Specialty> getAllSpecialties() {
         return specialtyRepository.findAll();
     }
+
+    @Override
+    public List<Specialty> getSpecialtiesAfter(Long after, int limit) {
+        return specialtyRepository.findBySpecialtyIdGreaterThanOrderBySpecialtyIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
 }
\ No newline at end of file
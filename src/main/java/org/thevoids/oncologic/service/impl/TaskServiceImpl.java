@@ -1,5 +1,6 @@
 package org.thevoids.oncologic.service.impl;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.entity.Task;
 import org.thevoids.oncologic.repository.TaskRepository;
@@ -21,6 +22,11 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAll();
     }
 
+    @Override
+    public List<Task> getTasksAfter(Long after, int limit) {
+        return taskRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
     @Override
     public Task getTaskById(Long id) {
         return taskRepository.findById(id)
@@ -2,22 +2,34 @@ package org.thevoids.oncologic.service.impl;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
 import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.search.UserDirectoryIndex;
+import org.thevoids.oncologic.search.UserSearchTokenizer;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 import org.thevoids.oncologic.service.UserService;
 
 @Service
 public class UserServiceImpl implements UserService {
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PermissionVersionTracker permissionVersionTracker;
+    private final UserDirectoryIndex userDirectoryIndex;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PermissionVersionTracker permissionVersionTracker, UserDirectoryIndex userDirectoryIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.permissionVersionTracker = permissionVersionTracker;
+        this.userDirectoryIndex = userDirectoryIndex;
     }
 
     @Override
@@ -25,6 +37,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public List<User> getUsersAfter(Long after, int limit) {
+        return userRepository.findByUserIdGreaterThanOrderByUserIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
     @Override
     public User createUser(User user) {
         if (userRepository.findByIdentification(user.getIdentification()).isPresent()) {
@@ -34,6 +51,7 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
         this.userRepository.save(user);
+        userDirectoryIndex.index(user);
 
         return user;
     }
@@ -45,6 +63,9 @@ public class UserServiceImpl implements UserService {
         }
 
         this.userRepository.delete(user);
+        userDirectoryIndex.remove(user.getUserId());
+        // Tokens of a deleted user must not keep authenticating statelessly
+        permissionVersionTracker.increment();
     }
 
     @Override
@@ -53,7 +74,18 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("Usuario", "id", user.getUserId());
         }
 
+        // Profile fields only: roles are changed through AssignedRoles, which bumps the version itself
         this.userRepository.save(user);
+        userDirectoryIndex.index(user);
+    }
+
+    @Override
+    public List<UserSearchHitDTO> searchUsers(String query, int limit) {
+        if (UserSearchTokenizer.queryTokens(query).isEmpty()) {
+            throw new org.thevoids.oncologic.exception.InvalidOperationException(
+                    "Search query must contain at least one letter or digit");
+        }
+        return userDirectoryIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
     }
 
     @Override
@@ -62,9 +94,20 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", id));
     }
 
+    @Override
+    public User getUserWithRoles(Long id) {
+        return userRepository.findWithRolesByUserId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", id));
+    }
+
+    @Override
+    public List<User> getAllUsersWithRoles() {
+        return userRepository.findAllWithRolesBy();
+    }
+
     @Override
     public User getUserByIdentification(String identification) {
-        return userRepository.findByIdentification(identification)
+        return userRepository.findWithRolesByIdentification(identification)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "identificación", identification));
     }
 
@@ -81,4 +124,15 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
     }
+
+    /**
+     * Stores an already encoded password, e.g. when a hash is re-encoded with
+     * the current BCrypt cost after a successful login.
+     */
+    @Override
+    public User updatePasswordHash(String identification, String encodedPassword) {
+        User user = getUserByIdentification(identification);
+        user.setPassword(encodedPassword);
+        return userRepository.save(user);
+    }
 }
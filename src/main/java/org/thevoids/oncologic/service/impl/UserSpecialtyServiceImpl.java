@@ -3,6 +3,7 @@ package org.thevoids.oncologic.service.impl;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.thevoids.oncologic.entity.Specialty;
 import org.thevoids.oncologic.entity.User;
@@ -34,6 +35,11 @@ public class UserSpecialtyServiceImpl implements UserSpecialtyService {
         return userSpecialtyRepository.findAll();
     }
 
+    @Override
+    public List<UserSpecialty> getUserSpecialtiesAfter(Long after, int limit) {
+        return userSpecialtyRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(limit));
+    }
+
     @Override
     public UserSpecialty getUserSpecialtyById(Long id) {
         return userSpecialtyRepository.findById(id)
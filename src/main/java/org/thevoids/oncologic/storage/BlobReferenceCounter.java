@@ -0,0 +1,93 @@
+package org.thevoids.oncologic.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.entity.BlobReference;
+import org.thevoids.oncologic.repository.BlobReferenceRepository;
+
+/**
+ * Counts the stores of each content-addressed blob, for deleting the blob
+ * once the last one is deleted.
+ *
+ * The counts live in the blob_references table. {@link #update} locks the
+ * blob's row for as long as the caller works on the blob, so stores and
+ * deletes of the same blob are serialized on every node sharing the store.
+ * It runs in its own transaction, committed when the update returns: the
+ * count always matches what was done to the blob, even if the caller's
+ * transaction rolls back later.
+ *
+ * That is a trade-off. A store made inside a caller's transaction (such as a
+ * lab upload) holds a second pool connection for the length of the update,
+ * so the pool must leave room for one per concurrent upload. And if the
+ * caller then rolls back, nothing refers to the stored blob but its count
+ * stays: the blob is kept as an orphan until a store of the same content is
+ * deleted. An orphaned blob wastes space but is never lost, whereas a count
+ * rolled back with its caller could delete a blob still in use.
+ */
+@Component
+public class BlobReferenceCounter {
+
+    private final BlobReferenceRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BlobReferenceCounter(BlobReferenceRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Calls {@code update} with the blob's count (0 when it has none) while
+     * holding it locked, and stores the count it returns. A count of 0 is
+     * dropped. Nothing is stored if {@code update} throws.
+     */
+    public void update(String key, CountUpdate update) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                BlobReference reference = lock(key);
+                int refs;
+                try {
+                    refs = update.apply(reference.getRefs());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (refs > 0) {
+                    reference.setRefs(refs);
+                } else {
+                    repository.delete(reference);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private BlobReference lock(String key) {
+        BlobReference reference = repository.lockByBlobKey(key).orElse(null);
+        // Also retried when the row was deleted while this thread waited for it
+        while (reference == null) {
+            try {
+                repository.insertReference(key);
+            } catch (DataIntegrityViolationException e) {
+                // Another node created it first
+            }
+            reference = repository.lockByBlobKey(key).orElse(null);
+        }
+        return reference;
+    }
+
+    @FunctionalInterface
+    public interface CountUpdate {
+
+        /**
+         * Works on the blob and returns its new count.
+         */
+        int apply(int refs) throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+package org.thevoids.oncologic.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Where stored files keep their bytes, addressed by keys such as
+ * {@code labs/ab/cd/abcd...}. The backend is chosen with
+ * {@code app.storage.type}: {@code local} (the default, see
+ * {@link LocalBlobStore}), {@code memory} ({@link InMemoryBlobStore}) or
+ * {@code s3} ({@link S3BlobStore}).
+ *
+ * A put replaces the object atomically: readers see the old bytes or the new
+ * ones, never a mix. Large objects can be put in parts with a multipart
+ * upload, which only becomes visible once completed.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores {@code length} bytes read from {@code content} under the key.
+     */
+    void put(String key, InputStream content, long length) throws IOException;
+
+    /**
+     * Stores the file's content under the key. The store may take the file
+     * over (move it) instead of copying it, so callers must not use it
+     * afterwards.
+     */
+    default void put(String key, Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            put(key, in, Files.size(file));
+        }
+    }
+
+    /**
+     * Opens the object for reading; the caller closes the stream.
+     *
+     * @throws java.nio.file.NoSuchFileException if there is no such object
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * The object's size in bytes, or empty if there is no such object.
+     */
+    OptionalLong size(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return size(key).isPresent();
+    }
+
+    /**
+     * Deletes the object; does nothing if there is no such object.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * The keys starting with {@code prefix}.
+     */
+    List<String> list(String prefix) throws IOException;
+
+    /**
+     * Starts a multipart upload to the key.
+     *
+     * @return the upload's ID
+     */
+    String startMultipart(String key) throws IOException;
+
+    /**
+     * Stores part {@code partNumber} (from 1) of a multipart upload; putting
+     * a part again replaces it.
+     */
+    void putPart(String key, String uploadId, int partNumber, InputStream content, long length) throws IOException;
+
+    /**
+     * Joins the parts put so far, in part number order, into the object.
+     */
+    void completeMultipart(String key, String uploadId) throws IOException;
+
+    /**
+     * Drops a multipart upload and its parts.
+     */
+    void abortMultipart(String key, String uploadId) throws IOException;
+
+    /**
+     * A URL from which clients can download the object directly for a while,
+     * without its bytes going through this application; empty if the store
+     * has no such URLs.
+     *
+     * @param downloadName the file name suggested to the client
+     * @param contentType  the content type the client is told
+     */
+    Optional<URI> presignGet(String key, Duration expiry, String downloadName, String contentType);
+
+    /**
+     * The object's file on this machine's disk, for stores that keep one, so
+     * it can be sent with sendfile; empty otherwise.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,105 @@
+package org.thevoids.oncologic.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Objects kept on the heap, for tests and local runs that should leave
+ * nothing on disk. Everything is lost on restart and each node has its own
+ * objects, so it must not be used in production.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "memory")
+public class InMemoryBlobStore implements BlobStore {
+
+    private final NavigableMap<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableMap<Integer, byte[]>> multipartUploads = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String key, InputStream content, long length) throws IOException {
+        objects.put(key, content.readAllBytes());
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        byte[] bytes = objects.get(key);
+        if (bytes == null) {
+            throw new NoSuchFileException(key);
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public OptionalLong size(String key) {
+        byte[] bytes = objects.get(key);
+        return bytes == null ? OptionalLong.empty() : OptionalLong.of(bytes.length);
+    }
+
+    @Override
+    public void delete(String key) {
+        objects.remove(key);
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        return objects.tailMap(prefix, true).keySet().stream()
+                .takeWhile(key -> key.startsWith(prefix))
+                .toList();
+    }
+
+    @Override
+    public String startMultipart(String key) {
+        String uploadId = UUID.randomUUID().toString();
+        multipartUploads.put(uploadId, new ConcurrentSkipListMap<>());
+        return uploadId;
+    }
+
+    @Override
+    public void putPart(String key, String uploadId, int partNumber, InputStream content, long length)
+            throws IOException {
+        NavigableMap<Integer, byte[]> parts = multipartUploads.get(uploadId);
+        if (parts == null || partNumber < 1) {
+            throw new NoSuchFileException("Multipart upload " + uploadId + ", part " + partNumber);
+        }
+        parts.put(partNumber, content.readAllBytes());
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId) throws IOException {
+        NavigableMap<Integer, byte[]> parts = multipartUploads.remove(uploadId);
+        if (parts == null) {
+            throw new NoSuchFileException("Multipart upload " + uploadId);
+        }
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        for (byte[] part : parts.values()) {
+            joined.write(part);
+        }
+        objects.put(key, joined.toByteArray());
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        multipartUploads.remove(uploadId);
+    }
+
+    @Override
+    public Optional<URI> presignGet(String key, Duration expiry, String downloadName, String contentType) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,263 @@
+package org.thevoids.oncologic.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Objects as files under {@code app.file.upload.dir}, the key being the
+ * relative path.
+ *
+ * Everything is written to {@code .tmp}, forced to disk and renamed into
+ * place, so an object is durable before it becomes visible. Directories are
+ * created as needed and removed once a delete leaves them empty. Multipart
+ * uploads keep each part in {@code .tmp/multipart/<uploadId>} until they are
+ * joined. There are no direct download URLs: files are sent by the
+ * application, with sendfile (see {@link #localPath(String)}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final String MULTIPART_DIRECTORY = "multipart";
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${app.file.upload.dir:uploads}") String root) {
+        this.root = Paths.get(root);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long length) throws IOException {
+        Path temp = tempFile();
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(temp, resolve(key));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        Path target = resolve(key);
+        try {
+            moveIntoPlace(file, target);
+        } catch (AtomicMoveNotSupportedException e) {
+            // On another file system: copy it over first
+            Path temp = tempFile();
+            try {
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public OptionalLong size(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            return attributes.isRegularFile() ? OptionalLong.of(attributes.size()) : OptionalLong.empty();
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path file = resolve(key);
+        Files.deleteIfExists(file);
+        // Drop directories left empty, up to the root
+        for (Path directory = file.getParent(); directory != null && !directory.equals(root);
+                directory = directory.getParent()) {
+            try (Stream<Path> entries = Files.list(directory)) {
+                if (entries.findAny().isPresent()) {
+                    break;
+                }
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            try {
+                Files.delete(directory);
+            } catch (IOException e) {
+                // Not empty any more, or already gone
+                break;
+            }
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        Path start = resolve(prefix.contains("/") ? prefix.substring(0, prefix.lastIndexOf('/')) : "");
+        if (!Files.isDirectory(start)) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(start)) {
+            files.filter(Files::isRegularFile)
+                    .map(file -> root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"))
+                    .filter(key -> key.startsWith(prefix) && !key.startsWith(TEMP_DIRECTORY + "/"))
+                    .sorted()
+                    .forEach(keys::add);
+        }
+        return keys;
+    }
+
+    @Override
+    public String startMultipart(String key) throws IOException {
+        resolve(key);
+        String uploadId = UUID.randomUUID().toString();
+        Files.createDirectories(partsDirectory(uploadId));
+        return uploadId;
+    }
+
+    @Override
+    public void putPart(String key, String uploadId, int partNumber, InputStream content, long length)
+            throws IOException {
+        Path directory = partsDirectory(uploadId);
+        if (!Files.isDirectory(directory) || partNumber < 1) {
+            throw new NoSuchFileException("Multipart upload " + uploadId + ", part " + partNumber);
+        }
+        Path temp = Files.createTempFile(directory, "part", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, directory.resolve(Integer.toString(partNumber)), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId) throws IOException {
+        Path directory = partsDirectory(uploadId);
+        if (!Files.isDirectory(directory)) {
+            throw new NoSuchFileException("Multipart upload " + uploadId);
+        }
+        List<Path> parts;
+        try (Stream<Path> files = Files.list(directory)) {
+            parts = files.filter(file -> file.getFileName().toString().matches("\\d+"))
+                    .sorted(Comparator.comparingInt(file -> Integer.parseInt(file.getFileName().toString())))
+                    .toList();
+        }
+        Path temp = tempFile();
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                for (Path part : parts) {
+                    try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                        long position = 0;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            moveIntoPlace(temp, resolve(key));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        abortMultipart(key, uploadId);
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) throws IOException {
+        Path directory = partsDirectory(uploadId);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public Optional<URI> presignGet(String key, Duration expiry, String downloadName, String contentType) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    /**
+     * The key's file. Keys are relative paths that must stay under the root.
+     */
+    private Path resolve(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root.normalize()) || Paths.get(key).isAbsolute()) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        return file;
+    }
+
+    private Path tempFile() throws IOException {
+        Path directory = root.resolve(TEMP_DIRECTORY);
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "blob", null);
+    }
+
+    private Path partsDirectory(String uploadId) {
+        if (!uploadId.matches("[0-9a-f-]{36}")) {
+            throw new IllegalArgumentException("Invalid upload ID: " + uploadId);
+        }
+        return root.resolve(TEMP_DIRECTORY).resolve(MULTIPART_DIRECTORY).resolve(uploadId);
+    }
+
+    /**
+     * Forces the file to disk and renames it to the target, replacing it.
+     *
+     * @throws AtomicMoveNotSupportedException if they are on different file
+     *                                         systems
+     */
+    private static void moveIntoPlace(Path file, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        for (int attempt = 1;; attempt++) {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            } catch (NoSuchFileException e) {
+                // A delete removed the directory once it was empty; create it again
+                if (attempt == 3 || !Files.exists(file)) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package org.thevoids.oncologic.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Objects in a bucket of an S3-compatible store (Amazon S3, or MinIO and the
+ * like for local runs), spoken to over its REST API with the JDK's HTTP
+ * client and AWS Signature Version 4.
+ *
+ * Bodies are streamed in both directions and sent unsigned
+ * ({@code UNSIGNED-PAYLOAD}), so nothing is buffered. Files larger than
+ * {@code app.storage.s3.part-size} (at least 5 MiB for S3) are put with a
+ * multipart upload, a part at a time. Downloads go straight from the store to
+ * the client through presigned URLs, so file bytes never pass through the
+ * application. Buckets are addressed path-style ({@code endpoint/bucket/key})
+ * unless {@code app.storage.s3.path-style} is false.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(S3BlobStore.class);
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Duration MAX_PRESIGN_EXPIRY = Duration.ofDays(7);
+
+    private final URI endpoint;
+    private final String region;
+    private final String bucket;
+    private final String accessKey;
+    private final String secretKey;
+    private final boolean pathStyle;
+    private final long partSize;
+    private final Clock clock;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public S3BlobStore(@Value("${app.storage.s3.endpoint}") String endpoint,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.access-key}") String accessKey,
+            @Value("${app.storage.s3.secret-key}") String secretKey,
+            @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+            @Value("${app.storage.s3.part-size:8388608}") long partSize) {
+        this(URI.create(endpoint), region, bucket, accessKey, secretKey, pathStyle, partSize, Clock.systemUTC());
+    }
+
+    S3BlobStore(URI endpoint, String region, String bucket, String accessKey, String secretKey, boolean pathStyle,
+            long partSize, Clock clock) {
+        this.endpoint = endpoint;
+        this.region = region;
+        this.bucket = bucket;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.pathStyle = pathStyle;
+        this.partSize = partSize;
+        this.clock = clock;
+        // S3 speaks HTTP/1.1; don't try to upgrade
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long length) throws IOException {
+        call("PUT", key, Map.of(), BodyPublishers.fromPublisher(BodyPublishers.ofInputStream(() -> content), length));
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        long size = Files.size(file);
+        if (size <= partSize) {
+            call("PUT", key, Map.of(), BodyPublishers.ofFile(file));
+            return;
+        }
+        String uploadId = startMultipart(key);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                putPart(key, uploadId, partNumber, limited(Channels.newInputStream(channel.position(offset)), length),
+                        length);
+            }
+            completeMultipart(key, uploadId);
+        } catch (IOException | RuntimeException e) {
+            abortQuietly(key, uploadId);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        HttpResponse<InputStream> response = exchange("GET", key, Map.of(), BodyPublishers.noBody());
+        if (response.statusCode() == 404) {
+            discard(response);
+            throw new NoSuchFileException(key);
+        }
+        check(response, "GET " + key);
+        return response.body();
+    }
+
+    @Override
+    public OptionalLong size(String key) throws IOException {
+        HttpResponse<InputStream> response = exchange("HEAD", key, Map.of(), BodyPublishers.noBody());
+        discard(response);
+        if (response.statusCode() == 404) {
+            return OptionalLong.empty();
+        }
+        check(response, "HEAD " + key);
+        return response.headers().firstValueAsLong("Content-Length");
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        call("DELETE", key, Map.of(), BodyPublishers.noBody());
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        List<String> keys = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            Map<String, String> query = new TreeMap<>(Map.of("list-type", "2", "prefix", prefix));
+            if (continuationToken != null) {
+                query.put("continuation-token", continuationToken);
+            }
+            Document page = xml(send("GET", "", query, BodyPublishers.noBody()));
+            NodeList contents = page.getElementsByTagName("Contents");
+            for (int i = 0; i < contents.getLength(); i++) {
+                keys.add(childText((Element) contents.item(i), "Key"));
+            }
+            continuationToken = "true".equals(childText(page.getDocumentElement(), "IsTruncated"))
+                    ? childText(page.getDocumentElement(), "NextContinuationToken")
+                    : null;
+        } while (continuationToken != null);
+        return keys;
+    }
+
+    @Override
+    public String startMultipart(String key) throws IOException {
+        Document result = xml(send("POST", key, Map.of("uploads", ""), BodyPublishers.noBody()));
+        String uploadId = childText(result.getDocumentElement(), "UploadId");
+        if (uploadId == null) {
+            throw new IOException("S3 did not return an upload ID for " + key);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public void putPart(String key, String uploadId, int partNumber, InputStream content, long length)
+            throws IOException {
+        call("PUT", key, Map.of("partNumber", Integer.toString(partNumber), "uploadId", uploadId),
+                BodyPublishers.fromPublisher(BodyPublishers.ofInputStream(() -> content), length));
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId) throws IOException {
+        // The parts' ETags are asked for rather than remembered, so any node can complete the upload
+        StringBuilder body = new StringBuilder("<CompleteMultipartUpload>");
+        String marker = null;
+        do {
+            Map<String, String> query = new TreeMap<>(Map.of("uploadId", uploadId));
+            if (marker != null) {
+                query.put("part-number-marker", marker);
+            }
+            Document page = xml(send("GET", key, query, BodyPublishers.noBody()));
+            NodeList parts = page.getElementsByTagName("Part");
+            for (int i = 0; i < parts.getLength(); i++) {
+                Element part = (Element) parts.item(i);
+                body.append("<Part><PartNumber>").append(childText(part, "PartNumber"))
+                        .append("</PartNumber><ETag>").append(escapeXml(childText(part, "ETag")))
+                        .append("</ETag></Part>");
+            }
+            marker = "true".equals(childText(page.getDocumentElement(), "IsTruncated"))
+                    ? childText(page.getDocumentElement(), "NextPartNumberMarker")
+                    : null;
+        } while (marker != null);
+        body.append("</CompleteMultipartUpload>");
+
+        Document result = xml(send("POST", key, Map.of("uploadId", uploadId),
+                BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8)));
+        // S3 can report a failed completion in the body of a 200
+        if ("Error".equals(result.getDocumentElement().getTagName())) {
+            throw new IOException("S3 failed to complete the upload of " + key + ": "
+                    + childText(result.getDocumentElement(), "Message"));
+        }
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) throws IOException {
+        call("DELETE", key, Map.of("uploadId", uploadId), BodyPublishers.noBody());
+    }
+
+    @Override
+    public Optional<URI> presignGet(String key, Duration expiry, String downloadName, String contentType) {
+        ZonedDateTime now = ZonedDateTime.now(clock).withZoneSameInstant(ZoneOffset.UTC);
+        Map<String, String> query = new TreeMap<>();
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope(now));
+        query.put("X-Amz-Date", now.format(DATE_TIME));
+        query.put("X-Amz-Expires", Long.toString(Math.min(expiry.toSeconds(), MAX_PRESIGN_EXPIRY.toSeconds())));
+        query.put("X-Amz-SignedHeaders", "host");
+        if (downloadName != null) {
+            query.put("response-content-disposition",
+                    ContentDisposition.attachment().filename(downloadName).build().toString());
+        }
+        if (contentType != null) {
+            query.put("response-content-type", contentType);
+        }
+        String canonicalQuery = canonicalQuery(query);
+        String canonicalRequest = "GET\n" + path(key) + "\n" + canonicalQuery + "\nhost:" + host() + "\n\nhost\n"
+                + UNSIGNED_PAYLOAD;
+        return Optional.of(URI.create(endpoint.getScheme() + "://" + host() + path(key) + "?" + canonicalQuery
+                + "&X-Amz-Signature=" + signature(now, canonicalRequest)));
+    }
+
+    /**
+     * Sends a request whose response body is not needed, reading it to the
+     * end so the connection goes back to the pool.
+     */
+    private void call(String method, String key, Map<String, String> query, BodyPublisher body)
+            throws IOException {
+        discard(send(method, key, query, body));
+    }
+
+    private HttpResponse<InputStream> send(String method, String key, Map<String, String> query,
+            BodyPublisher body) throws IOException {
+        HttpResponse<InputStream> response = exchange(method, key, query, body);
+        check(response, method + " " + (key.isEmpty() ? bucket : key));
+        return response;
+    }
+
+    /**
+     * Sends a request signed with AWS Signature Version 4 in the
+     * {@code Authorization} header. The key is empty for requests to the
+     * bucket itself.
+     */
+    private HttpResponse<InputStream> exchange(String method, String key, Map<String, String> query,
+            BodyPublisher body) throws IOException {
+        ZonedDateTime now = ZonedDateTime.now(clock).withZoneSameInstant(ZoneOffset.UTC);
+        String amzDate = now.format(DATE_TIME);
+        String canonicalQuery = canonicalQuery(query);
+        String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        String canonicalRequest = method + "\n" + path(key) + "\n" + canonicalQuery + "\n"
+                + "host:" + host() + "\n"
+                + "x-amz-content-sha256:" + UNSIGNED_PAYLOAD + "\n"
+                + "x-amz-date:" + amzDate + "\n"
+                + "\n" + signedHeaders + "\n" + UNSIGNED_PAYLOAD;
+        String authorization = ALGORITHM + " Credential=" + accessKey + "/" + scope(now)
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature(now, canonicalRequest);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.getScheme() + "://" + host() + path(key)
+                + (canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery)))
+                .method(method, body)
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("x-amz-date", amzDate)
+                .header("Authorization", authorization)
+                .build();
+        try {
+            return httpClient.send(request, BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling S3: " + method + " " + key);
+        }
+    }
+
+    private String signature(ZonedDateTime now, String canonicalRequest) {
+        String stringToSign = ALGORITHM + "\n" + now.format(DATE_TIME) + "\n" + scope(now) + "\n"
+                + HexFormat.of().formatHex(sha256(canonicalRequest));
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), now.format(DATE));
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        return HexFormat.of().formatHex(hmac(key, stringToSign));
+    }
+
+    private String scope(ZonedDateTime now) {
+        return now.format(DATE) + "/" + region + "/s3/aws4_request";
+    }
+
+    private String host() {
+        return pathStyle ? endpoint.getRawAuthority() : bucket + "." + endpoint.getRawAuthority();
+    }
+
+    /**
+     * The request path, URI-encoded once; the bucket's own path for an
+     * empty key.
+     */
+    private String path(String key) {
+        String bucketPath = pathStyle ? "/" + encode(bucket) : "";
+        if (key.isEmpty()) {
+            return bucketPath.isEmpty() ? "/" : bucketPath;
+        }
+        return bucketPath + "/" + encode(key).replace("%2F", "/");
+    }
+
+    private static String canonicalQuery(Map<String, String> query) {
+        Map<String, String> encoded = new TreeMap<>();
+        query.forEach((name, value) -> encoded.put(encode(name), encode(value)));
+        return encoded.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * RFC 3986 encoding as SigV4 wants it: everything but unreserved
+     * characters, and spaces as {@code %20}.
+     */
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+
+    private static void check(HttpResponse<InputStream> response, String action) throws IOException {
+        if (response.statusCode() / 100 == 2) {
+            return;
+        }
+        String detail;
+        try (InputStream body = response.body()) {
+            // Read it all, not just what goes in the message, so the connection can be reused
+            detail = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (detail.length() > 512) {
+            detail = detail.substring(0, 512);
+        }
+        throw new IOException("S3 " + action + " failed with " + response.statusCode() + ": " + detail);
+    }
+
+    private static void discard(HttpResponse<InputStream> response) throws IOException {
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static Document xml(HttpResponse<InputStream> response) throws IOException {
+        try (InputStream body = response.body()) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return factory.newDocumentBuilder().parse(body);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Invalid response from S3: " + e.getMessage(), e);
+        }
+    }
+
+    private static String childText(Element parent, String name) {
+        NodeList children = parent.getElementsByTagName(name);
+        return children.getLength() == 0 ? null : children.item(0).getTextContent();
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            abortMultipart(key, uploadId);
+        } catch (IOException e) {
+            log.warn("Failed to abort multipart upload {} of {}", uploadId, key, e);
+        }
+    }
+
+    /**
+     * A view of the next {@code length} bytes of the stream.
+     */
+    private static InputStream limited(InputStream in, long length) {
+        return new FilterInputStream(in) {
+            private long remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = super.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(b, off, (int) Math.min(len, remaining));
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+                // The channel is shared by the parts and closed by the caller
+            }
+        };
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
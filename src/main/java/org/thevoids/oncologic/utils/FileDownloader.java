@@ -0,0 +1,273 @@
+package org.thevoids.oncologic.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.thevoids.oncologic.cache.BoundedTtlCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a stored file to the response with conditional GET and byte ranges.
+ *
+ * The strong ETag is the SHA-256 of the content. It is computed once per
+ * file version (path, size and modification time) and cached, so repeated
+ * downloads and revalidations only cost a {@code stat}. A request with a
+ * matching {@code If-None-Match} (or a not older {@code If-Modified-Since})
+ * gets a 304 without a body; a single {@code Range} gets a 206 with that part
+ * of the file. Several ranges in one request are answered with the whole
+ * file, which HTTP allows.
+ *
+ * The body is sent zero-copy when the container supports it: on Tomcat the
+ * file and range are handed to the connector, which sends them from the page
+ * cache to the socket with {@link FileChannel#transferTo} (sendfile).
+ * Elsewhere, and for small bodies, the range is copied into the response
+ * stream in large chunks.
+ */
+@Component
+public class FileDownloader {
+
+    /**
+     * Tomcat request attributes for sendfile (see
+     * {@code org.apache.catalina.Globals}).
+     */
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Below this size the copy is cheaper than setting up sendfile; Tomcat's
+     * default servlet uses the same threshold.
+     */
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    /**
+     * Read size when the body is copied; large reads keep the number of
+     * system calls and stream writes per megabyte low.
+     */
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+
+    private static final CacheControl REVALIDATE_PRIVATE = CacheControl.noCache().cachePrivate();
+    private static final CacheControl IMMUTABLE_PRIVATE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate()
+            .immutable();
+
+    private final BoundedTtlCache etags;
+
+    public FileDownloader(@Value("${app.file.etag-cache.max-size:10000}") int maxCachedEtags) {
+        // Entries are keyed by file version, so they never go stale; the TTL only recycles memory
+        this.etags = new BoundedTtlCache("fileEtags", maxCachedEtags, Duration.ofDays(1));
+    }
+
+    /**
+     * Sends the file, or the part or status the request's conditional and
+     * range headers ask for. Sets 404 if the file does not exist. Clients
+     * are told to revalidate their copy before using it.
+     *
+     * @param downloadName the file name suggested to the client
+     */
+    public void send(HttpServletRequest request, HttpServletResponse response, Path file, String downloadName)
+            throws IOException {
+        send(request, response, file, downloadName, false);
+    }
+
+    /**
+     * Same as {@link #send(HttpServletRequest, HttpServletResponse, Path, String)};
+     * when {@code immutable} (the path is content-addressed) clients may
+     * keep using their copy for a year without asking again.
+     */
+    public void send(HttpServletRequest request, HttpServletResponse response, Path file, String downloadName,
+            boolean immutable) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = etag(file, length, lastModified);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (immutable ? IMMUTABLE_PRIVATE : REVALIDATE_PRIVATE).getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            // 304, or 412 for a failed If-Match; ETag and Last-Modified are already set
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(downloadName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(downloadName).build().toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range;
+        try {
+            range = requestedRange(request, etag, lastModified);
+        } catch (IllegalArgumentException e) {
+            range = null;
+        }
+        if (range != null) {
+            if (length == 0 || !satisfiable(range, length)) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(file, start, count, response.getOutputStream());
+    }
+
+    /**
+     * Sends content that is not a file on this machine's disk, such as a file
+     * kept by a remote storage, whole: without ETags or ranges. The stream is
+     * closed.
+     *
+     * @param downloadName the file name suggested to the client
+     */
+    public void send(HttpServletResponse response, InputStream content, String downloadName, boolean immutable)
+            throws IOException {
+        try (InputStream in = content) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    (immutable ? IMMUTABLE_PRIVATE : REVALIDATE_PRIVATE).getHeaderValue());
+            response.setContentType(MediaTypeFactory.getMediaType(downloadName)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(downloadName).build().toString());
+            OutputStream out = response.getOutputStream();
+            byte[] chunk = new byte[COPY_CHUNK_BYTES];
+            int read;
+            while ((read = in.read(chunk)) >= 0) {
+                out.write(chunk, 0, read);
+            }
+        }
+    }
+
+    /**
+     * The strong ETag of the file's current content.
+     */
+    String etag(Path file, long length, long lastModified) {
+        return etags.get(new FileVersion(file.toAbsolutePath().normalize(), length, lastModified),
+                () -> "\"" + sha256(file) + "\"");
+    }
+
+    /**
+     * The single range requested, or {@code null} for the whole file: when
+     * there is no {@code Range}, several ranges, or an {@code If-Range} that
+     * no longer matches the file.
+     *
+     * @throws IllegalArgumentException if the {@code Range} header is invalid
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag) && !ifRangeDateMatches(request, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(header);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static boolean ifRangeDateMatches(HttpServletRequest request, long lastModified) {
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            // Not a date: an ETag that did not match
+            return false;
+        }
+    }
+
+    private static boolean satisfiable(HttpRange range, long length) {
+        try {
+            return range.getRangeStart(length) < length;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(Path file, long start, long count, OutputStream out) throws IOException {
+        byte[] chunk = new byte[(int) Math.min(count, COPY_CHUNK_BYTES)];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(chunk.length, remaining));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    // The file shrank under us; the client sees a short body
+                    break;
+                }
+                out.write(chunk, 0, read);
+                position += read;
+                remaining -= read;
+            }
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record FileVersion(Path path, long length, long lastModified) {
+    }
+}
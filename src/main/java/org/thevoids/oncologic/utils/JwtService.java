@@ -1,17 +1,26 @@
 package org.thevoids.oncologic.utils;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
@@ -22,8 +31,8 @@ import lombok.Setter;
 @Service
 public class JwtService {
 
-    @Value("${app.security.secretkey}")
-    @Setter
+    public static final String PERMISSION_VERSION_CLAIM = "pv";
+
     @Getter
     private String secret;
 
@@ -32,6 +41,34 @@ public class JwtService {
     @Getter
     private int expirationMinutes;
 
+    /**
+     * When enabled, the filter trusts the signed "roles" claim while its
+     * permission version is current and skips loading the user from the DB.
+     */
+    @Value("${app.security.stateless-authorities:false}")
+    @Setter
+    @Getter
+    private boolean statelessAuthorities;
+
+    @Autowired(required = false)
+    @Setter
+    private PermissionVersionTracker permissionVersionTracker;
+
+    // Both are immutable and thread-safe, so they are built once per secret
+    // instead of on every token operation.
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+
+    @Value("${app.security.secretkey}")
+    public void setSecret(String secret) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.secret = secret;
+        this.signingKey = key;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
     public String generateToken(UserDetails userDetails) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + 1000L * 60L * expirationMinutes);
@@ -41,7 +78,7 @@ public class JwtService {
                 .setClaims(createClaims(userDetails))
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -52,37 +89,82 @@ public class JwtService {
                 .stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        if (permissionVersionTracker != null) {
+            claims.put(PERMISSION_VERSION_CLAIM, permissionVersionTracker.currentVersion());
+        }
         return claims;
     }
 
+    /**
+     * Verifies the signature of the token and returns its claims. This is the
+     * only place where a token is actually parsed, so callers that need several
+     * values from the same token should call it once and reuse the result.
+     *
+     * @param token the compact JWT
+     * @return the verified claims
+     * @throws ExpiredJwtException if the token is expired
+     * @throws MalformedJwtException if the token is not a valid JWT
+     * @throws SignatureException if the signature does not match
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
     public String extractUsername(String token) {
-        return getClaims(token).get("identification", String.class);
+        return extractUsername(parseClaims(token));
+    }
+
+    public String extractUsername(Claims claims) {
+        return claims.get("identification", String.class);
     }
-    
+
     public boolean isTokenExpired(String token) {
         try {
-            return getClaims(token).getExpiration().before(new Date());
+            return isTokenExpired(parseClaims(token));
         } catch (ExpiredJwtException e) {
             return true;
         }
     }
-    
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+
+    public boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
-    
+
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return userDetails.getUsername().equals(username) && !isTokenExpired(token);
+            return validateClaims(parseClaims(token), userDetails);
         } catch (ExpiredJwtException e) {
             return false;
         } catch (MalformedJwtException | SignatureException | IllegalArgumentException e) {
             return false;
         }
     }
+
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String username = extractUsername(claims);
+        return userDetails.getUsername().equals(username) && !isTokenExpired(claims);
+    }
+
+    /**
+     * Whether the authorities signed into the token can be used as-is, i.e.
+     * stateless mode is on and no role or permission changed since the token
+     * was issued.
+     */
+    public boolean hasCurrentAuthorities(Claims claims) {
+        return statelessAuthorities
+                && permissionVersionTracker != null
+                && permissionVersionTracker.isCurrent(claims.get(PERMISSION_VERSION_CLAIM, Number.class));
+    }
+
+    public Collection<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) {
+            return Collections.emptyList();
+        }
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toUnmodifiableList());
+    }
 }
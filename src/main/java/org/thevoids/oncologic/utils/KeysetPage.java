@@ -0,0 +1,58 @@
+package org.thevoids.oncologic.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for keyset ({@code ?after=<id>&limit=<n>}) pagination of the REST
+ * collection endpoints.
+ *
+ * Pages are always ordered by id ascending and read with an indexed
+ * {@code id > after} query, so a page costs the same no matter how deep it is.
+ * The body stays a plain JSON array; when more rows exist the id to pass as
+ * the next {@code after} is returned in the {@value #NEXT_CURSOR_HEADER}
+ * header. Without {@code limit} a page holds {@value #DEFAULT_LIMIT} rows, so no
+ * request reads a whole table.
+ */
+public final class KeysetPage {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private KeysetPage() {
+    }
+
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Rows to read for a page: one more than the page size, so the extra row
+     * tells whether there is a next page without a count query.
+     */
+    public static int fetchSize(Integer limit) {
+        return pageSize(limit) + 1;
+    }
+
+    /**
+     * Builds the response for a collection endpoint: the look-ahead row is
+     * dropped and the next cursor header set when there is one.
+     */
+    public static <T> ResponseEntity<List<T>> ok(List<T> items, Integer limit, Function<T, Long> idOf) {
+        int size = pageSize(limit);
+        if (items.size() <= size) {
+            return ResponseEntity.ok(items);
+        }
+        List<T> page = new ArrayList<>(items.subList(0, size));
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(idOf.apply(page.get(size - 1))))
+                .body(page);
+    }
+}
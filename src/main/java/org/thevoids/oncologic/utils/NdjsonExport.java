@@ -0,0 +1,90 @@
+package org.thevoids.oncologic.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Helpers for the {@code /export} endpoints, which stream a whole table as
+ * newline-delimited JSON (one object per line).
+ *
+ * Rows are serialized one by one straight to the response and flushed every
+ * {@value #FLUSH_EVERY} rows, so neither the rows nor the body are buffered
+ * and memory stays flat regardless of the table size.
+ */
+public final class NdjsonExport {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final int FLUSH_EVERY = 200;
+
+    private NdjsonExport() {
+    }
+
+    /**
+     * A rows source: calls the given consumer once per row, e.g. a service's
+     * {@code forEach...ForExport} method.
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<T> consumer);
+    }
+
+    /**
+     * Builds the streaming response for an export. The rows are only read once
+     * the body is written, outside the request thread.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ok(String filename, ObjectMapper objectMapper,
+            RowSource<T> rows) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> write(out, objectMapper, rows));
+    }
+
+    /**
+     * Writes every row as one JSON line to the output stream and returns the
+     * number of rows written. The stream is flushed but not closed.
+     */
+    public static <T> long write(OutputStream out, ObjectMapper objectMapper, RowSource<T> rows) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.CLOSE_CLOSEABLE)
+                .withRootValueSeparator("\n");
+        long[] written = { 0 };
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try {
+                rows.forEach(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (written[0] > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+        return written[0];
+    }
+}
@@ -1,350 +1,368 @@
 -- Insert sample data into Roles
-INSERT INTO Roles (role_name) VALUES ('ADMIN');
-INSERT INTO Roles (role_name) VALUES ('RECEPCIONIST');
-INSERT INTO Roles (role_name) VALUES ('DOCTOR');
-INSERT INTO Roles (role_name) VALUES ('LAB-TECHNICIAN');
-INSERT INTO Roles (role_name) VALUES ('PATIENT');
+INSERT INTO Roles (role_id, role_name) VALUES (1, 'ADMIN');
+INSERT INTO Roles (role_id, role_name) VALUES (2, 'RECEPCIONIST');
+INSERT INTO Roles (role_id, role_name) VALUES (3, 'DOCTOR');
+INSERT INTO Roles (role_id, role_name) VALUES (4, 'LAB-TECHNICIAN');
+INSERT INTO Roles (role_id, role_name) VALUES (5, 'PATIENT');
 
 -- Add specific permissions for users
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_USERS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_USERS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_USERS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_USERS');
-INSERT INTO Permissions (permission_name) VALUES ('MANAGE_USER_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (1, 'VIEW_USERS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (2, 'ADD_USERS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (3, 'EDIT_USERS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (4, 'DELETE_USERS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (5, 'MANAGE_USER_ROLES');
 
 -- Add specific permissions for roles
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('MANAGE_ROLE_PERMISSIONS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (6, 'VIEW_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (7, 'ADD_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (8, 'EDIT_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (9, 'DELETE_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (10, 'MANAGE_ROLE_PERMISSIONS');
 
 -- Add specific permissions for permissions
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_PERMISSIONS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_PERMISSIONS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_PERMISSIONS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_PERMISSIONS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (11, 'VIEW_PERMISSIONS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (12, 'ADD_PERMISSIONS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (13, 'EDIT_PERMISSIONS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (14, 'DELETE_PERMISSIONS');
 
 -- Add specific permissions for appointments
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_APPOINTMENTS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_APPOINTMENTS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_APPOINTMENTS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_APPOINTMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (15, 'VIEW_APPOINTMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (16, 'ADD_APPOINTMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (17, 'EDIT_APPOINTMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (18, 'DELETE_APPOINTMENTS');
 
 -- Add specific permissions for appointment types
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_APPOINTMENT_TYPES');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_APPOINTMENT_TYPES');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_APPOINTMENT_TYPES');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_APPOINTMENT_TYPES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (19, 'VIEW_APPOINTMENT_TYPES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (20, 'ADD_APPOINTMENT_TYPES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (21, 'EDIT_APPOINTMENT_TYPES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (22, 'DELETE_APPOINTMENT_TYPES');
 
 -- Add specific permissions for clinics
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_CLINICS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_CLINICS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_CLINICS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_CLINICS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (23, 'VIEW_CLINICS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (24, 'ADD_CLINICS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (25, 'EDIT_CLINICS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (26, 'DELETE_CLINICS');
 
 -- Add specific permissions for clinic assignments
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_CLINIC_ASSIGNMENTS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_CLINIC_ASSIGNMENTS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_CLINIC_ASSIGNMENTS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_CLINIC_ASSIGNMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (27, 'VIEW_CLINIC_ASSIGNMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (28, 'ADD_CLINIC_ASSIGNMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (29, 'EDIT_CLINIC_ASSIGNMENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (30, 'DELETE_CLINIC_ASSIGNMENTS');
 
 -- Add specific permissions for tasks
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_TASKS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_TASKS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_TASKS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_TASKS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (31, 'VIEW_TASKS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (32, 'ADD_TASKS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (33, 'EDIT_TASKS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (34, 'DELETE_TASKS');
 
 -- Add specific permissions for medical history
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_MEDICAL_HISTORY');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_MEDICAL_HISTORY');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_MEDICAL_HISTORY');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_MEDICAL_HISTORY');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (35, 'VIEW_MEDICAL_HISTORY');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (36, 'ADD_MEDICAL_HISTORY');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (37, 'EDIT_MEDICAL_HISTORY');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (38, 'DELETE_MEDICAL_HISTORY');
 
 -- Add specific permissions for labs
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_LABS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_LABS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_LABS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_LABS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (39, 'VIEW_LABS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (40, 'ADD_LABS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (41, 'EDIT_LABS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (42, 'DELETE_LABS');
 
 -- Add specific permissions for schedules
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_SCHEDULES');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_SCHEDULES');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_SCHEDULES');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_SCHEDULES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (43, 'VIEW_SCHEDULES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (44, 'ADD_SCHEDULES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (45, 'EDIT_SCHEDULES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (46, 'DELETE_SCHEDULES');
 
 -- Add specific permissions for specialties
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_SPECIALTIES');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_SPECIALTIES');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_SPECIALTIES');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (47, 'VIEW_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (48, 'ADD_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (49, 'EDIT_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (50, 'DELETE_SPECIALTIES');
 
 -- Add specific permissions for users specialties
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_USER_SPECIALTIES');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_USER_SPECIALTIES');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_USER_SPECIALTIES');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_USER_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (51, 'VIEW_USER_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (52, 'ADD_USER_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (53, 'EDIT_USER_SPECIALTIES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (54, 'DELETE_USER_SPECIALTIES');
 
 -- Add specific permissions for patients
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_PATIENTS');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_PATIENTS');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_PATIENTS');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_PATIENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (55, 'VIEW_PATIENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (56, 'ADD_PATIENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (57, 'EDIT_PATIENTS');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (58, 'DELETE_PATIENTS');
 
 -- Add specific permissions for assigned roles
-INSERT INTO Permissions (permission_name) VALUES ('VIEW_ASSIGNED_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('ADD_ASSIGNED_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('EDIT_ASSIGNED_ROLES');
-INSERT INTO Permissions (permission_name) VALUES ('DELETE_ASSIGNED_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (59, 'VIEW_ASSIGNED_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (60, 'ADD_ASSIGNED_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (61, 'EDIT_ASSIGNED_ROLES');
+INSERT INTO Permissions (permission_id, permission_name) VALUES (62, 'DELETE_ASSIGNED_ROLES');
 
 
 -- Assign new permissions to the ADMIN role
 
 -- Users
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 1);  -- VIEW_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 2);  -- ADD_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 3);  -- EDIT_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 4);  -- DELETE_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 5);  -- MANAGE_USER_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (1, 1, 1);  -- VIEW_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (2, 1, 2);  -- ADD_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (3, 1, 3);  -- EDIT_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (4, 1, 4);  -- DELETE_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (5, 1, 5);  -- MANAGE_USER_ROLES
 
 -- Roles
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 6);  -- VIEW_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 7);  -- ADD_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 8);  -- EDIT_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 9);  -- DELETE_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 10); -- MANAGE_ROLE_PERMISSIONS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (6, 1, 6);  -- VIEW_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (7, 1, 7);  -- ADD_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (8, 1, 8);  -- EDIT_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (9, 1, 9);  -- DELETE_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (10, 1, 10); -- MANAGE_ROLE_PERMISSIONS
 
 -- Permissions
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 11); -- VIEW_PERMISSIONS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 12); -- ADD_PERMISSIONS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 13); -- EDIT_PERMISSIONS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 14); -- DELETE_PERMISSIONS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (11, 1, 11); -- VIEW_PERMISSIONS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (12, 1, 12); -- ADD_PERMISSIONS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (13, 1, 13); -- EDIT_PERMISSIONS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (14, 1, 14); -- DELETE_PERMISSIONS
 
 -- Appointments
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 15); -- VIEW_APPOINTMENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 16); -- ADD_APPOINTMENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 17); -- EDIT_APPOINTMENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 18); -- DELETE_APPOINTMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (15, 1, 15); -- VIEW_APPOINTMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (16, 1, 16); -- ADD_APPOINTMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (17, 1, 17); -- EDIT_APPOINTMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (18, 1, 18); -- DELETE_APPOINTMENTS
 
 -- Appointment Types
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 19); -- VIEW_APPOINTMENT_TYPES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 20); -- ADD_APPOINTMENT_TYPES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 21); -- EDIT_APPOINTMENT_TYPES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 22); -- DELETE_APPOINTMENT_TYPES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (19, 1, 19); -- VIEW_APPOINTMENT_TYPES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (20, 1, 20); -- ADD_APPOINTMENT_TYPES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (21, 1, 21); -- EDIT_APPOINTMENT_TYPES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (22, 1, 22); -- DELETE_APPOINTMENT_TYPES
 
 -- Clinics
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 23); -- VIEW_CLINICS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 24); -- ADD_CLINICS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 25); -- EDIT_CLINICS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 26); -- DELETE_CLINICS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (23, 1, 23); -- VIEW_CLINICS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (24, 1, 24); -- ADD_CLINICS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (25, 1, 25); -- EDIT_CLINICS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (26, 1, 26); -- DELETE_CLINICS
 
 -- Clinic Assignments
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 27); -- VIEW_CLINIC_ASSIGNMENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 28); -- ADD_CLINIC_ASSIGNMENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 29); -- EDIT_CLINIC_ASSIGNMENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 30); -- DELETE_CLINIC_ASSIGNMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (27, 1, 27); -- VIEW_CLINIC_ASSIGNMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (28, 1, 28); -- ADD_CLINIC_ASSIGNMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (29, 1, 29); -- EDIT_CLINIC_ASSIGNMENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (30, 1, 30); -- DELETE_CLINIC_ASSIGNMENTS
 
 -- Tasks
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 31); -- VIEW_TASKS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 32); -- ADD_TASKS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 33); -- EDIT_TASKS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 34); -- DELETE_TASKS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (31, 1, 31); -- VIEW_TASKS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (32, 1, 32); -- ADD_TASKS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (33, 1, 33); -- EDIT_TASKS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (34, 1, 34); -- DELETE_TASKS
 
 -- Medical History
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 35); -- VIEW_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 36); -- ADD_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 37); -- EDIT_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 38); -- DELETE_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (35, 1, 35); -- VIEW_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (36, 1, 36); -- ADD_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (37, 1, 37); -- EDIT_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (38, 1, 38); -- DELETE_MEDICAL_HISTORY
 
 -- Labs
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 39); -- VIEW_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 40); -- ADD_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 41); -- EDIT_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 42); -- DELETE_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (39, 1, 39); -- VIEW_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (40, 1, 40); -- ADD_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (41, 1, 41); -- EDIT_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (42, 1, 42); -- DELETE_LABS
 
 -- Schedules
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 43); -- VIEW_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 44); -- ADD_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 45); -- EDIT_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 46); -- DELETE_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (43, 1, 43); -- VIEW_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (44, 1, 44); -- ADD_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (45, 1, 45); -- EDIT_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (46, 1, 46); -- DELETE_SCHEDULES
 
 -- Specialties
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 47); -- VIEW_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 48); -- ADD_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 49); -- EDIT_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 50); -- DELETE_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (47, 1, 47); -- VIEW_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (48, 1, 48); -- ADD_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (49, 1, 49); -- EDIT_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (50, 1, 50); -- DELETE_SPECIALTIES
 
 -- User Specialties
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 51); -- VIEW_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 52); -- ADD_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 53); -- EDIT_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 54); -- DELETE_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (51, 1, 51); -- VIEW_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (52, 1, 52); -- ADD_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (53, 1, 53); -- EDIT_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (54, 1, 54); -- DELETE_USER_SPECIALTIES
 
 -- Patients
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 55); -- VIEW_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 56); -- ADD_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 57); -- EDIT_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 58); -- DELETE_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (55, 1, 55); -- VIEW_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (56, 1, 56); -- ADD_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (57, 1, 57); -- EDIT_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (58, 1, 58); -- DELETE_PATIENTS
 
 -- Assigned Roles
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 59); -- VIEW_ASSIGNED_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 60); -- ADD_ASSIGNED_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 61); -- EDIT_ASSIGNED_ROLES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 62); -- DELETE_ASSIGNED_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (59, 1, 59); -- VIEW_ASSIGNED_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (60, 1, 60); -- ADD_ASSIGNED_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (61, 1, 61); -- EDIT_ASSIGNED_ROLES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (62, 1, 62); -- DELETE_ASSIGNED_ROLES
 
 -- Assign view, edit, and register user permissions to the RECEPCIONIST role
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 1);  -- VIEW_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 3);  -- EDIT_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 2);  -- ADD_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (63, 2, 1);  -- VIEW_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (64, 2, 3);  -- EDIT_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (65, 2, 2);  -- ADD_USERS
 
 -- Assign view and register user permissions to the DOCTOR role
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 1);  -- VIEW_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 2);  -- ADD_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 3);  -- EDIT_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (66, 3, 1);  -- VIEW_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (67, 3, 2);  -- ADD_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (68, 3, 3);  -- EDIT_USERS
 
 -- Assign view and register user permissions to the LAB-TECHNICIAN role
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 1);  -- VIEW_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 2);  -- ADD_USERS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 3);  -- EDIT_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (69, 4, 1);  -- VIEW_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (70, 4, 2);  -- ADD_USERS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (71, 4, 3);  -- EDIT_USERS
 
 -- SCHEDULES (IDs 25-28)
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 25); -- VIEW_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 26); -- ADD_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 27); -- EDIT_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 28); -- DELETE_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (72, 1, 25); -- VIEW_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (73, 1, 26); -- ADD_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (74, 1, 27); -- EDIT_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (75, 1, 28); -- DELETE_SCHEDULES
 
 -- PATIENTS (IDs 29-32)
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 29); -- VIEW_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 30); -- ADD_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 31); -- EDIT_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 32); -- DELETE_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (76, 1, 29); -- VIEW_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (77, 1, 30); -- ADD_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (78, 1, 31); -- EDIT_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (79, 1, 32); -- DELETE_PATIENTS
 
 -- SPECIALTIES (IDs 33-36)
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 33); -- VIEW_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 34); -- ADD_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 35); -- EDIT_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 36); -- DELETE_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (80, 1, 33); -- VIEW_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (81, 1, 34); -- ADD_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (82, 1, 35); -- EDIT_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (83, 1, 36); -- DELETE_SPECIALTIES
 
 -- USER_SPECIALTIES (IDs 37-40)
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 37); -- VIEW_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 38); -- ADD_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 39); -- EDIT_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 40); -- DELETE_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (84, 1, 37); -- VIEW_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (85, 1, 38); -- ADD_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (86, 1, 39); -- EDIT_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (87, 1, 40); -- DELETE_USER_SPECIALTIES
 
 -- LABS (IDs 41-44)
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 41); -- VIEW_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 42); -- ADD_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 43); -- EDIT_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 44); -- DELETE_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (88, 1, 41); -- VIEW_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (89, 1, 42); -- ADD_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (90, 1, 43); -- EDIT_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (91, 1, 44); -- DELETE_LABS
 
 -- MEDICAL_HISTORY (IDs 45-48)
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 45); -- VIEW_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 46); -- ADD_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 47); -- EDIT_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (1, 48); -- DELETE_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (92, 1, 45); -- VIEW_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (93, 1, 46); -- ADD_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (94, 1, 47); -- EDIT_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (95, 1, 48); -- DELETE_MEDICAL_HISTORY
 
 -- DOCTOR (role_id = 3) - Permisos relacionados con pacientes y especialidades
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 29); -- VIEW_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 30); -- ADD_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 31); -- EDIT_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 33); -- VIEW_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 37); -- VIEW_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 39); -- EDIT_USER_SPECIALTIES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 25); -- VIEW_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 27); -- EDIT_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 45); -- VIEW_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 46); -- ADD_MEDICAL_HISTORY
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (3, 47); -- EDIT_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (96, 3, 29); -- VIEW_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (97, 3, 30); -- ADD_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (98, 3, 31); -- EDIT_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (99, 3, 33); -- VIEW_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (100, 3, 37); -- VIEW_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (101, 3, 39); -- EDIT_USER_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (102, 3, 25); -- VIEW_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (103, 3, 27); -- EDIT_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (104, 3, 45); -- VIEW_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (105, 3, 46); -- ADD_MEDICAL_HISTORY
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (106, 3, 47); -- EDIT_MEDICAL_HISTORY
 
 -- LAB-TECHNICIAN (role_id = 4) - Permisos de laboratorio
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 29); -- VIEW_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 41); -- VIEW_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 42); -- ADD_LABS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (4, 43); -- EDIT_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (107, 4, 29); -- VIEW_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (108, 4, 41); -- VIEW_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (109, 4, 42); -- ADD_LABS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (110, 4, 43); -- EDIT_LABS
 
 -- RECEPCIONIST (role_id = 2) - Permisos básicos
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 29); -- VIEW_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 30); -- ADD_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 31); -- EDIT_PATIENTS
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 25); -- VIEW_SCHEDULES
-INSERT INTO Roles_Permissions (role_id, permission_id) VALUES (2, 33); -- VIEW_SPECIALTIES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (111, 2, 29); -- VIEW_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (112, 2, 30); -- ADD_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (113, 2, 31); -- EDIT_PATIENTS
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (114, 2, 25); -- VIEW_SCHEDULES
+INSERT INTO Roles_Permissions (id, role_id, permission_id) VALUES (115, 2, 33); -- VIEW_SPECIALTIES
 
 -- Insert sample data into Users
-INSERT INTO Users (full_name, identification, birth_date, gender, address, phone, email, password, status)
-VALUES ('Admin', '123456789', '1980-05-15', 'Male', '123 Main St', '555-1234', 'john.doe@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (1, 'Admin', '123456789', '1980-05-15', 'Male', '123 Main St', '555-1234', 'john.doe@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
 
-INSERT INTO Users (full_name, identification, birth_date, gender, address, phone, email, password, status)
-VALUES ('Jane Smith', '111111111', '1990-08-25', 'Female', '456 Elm St', '555-5678', 'jane.smith@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (2, 'Jane Smith', '111111111', '1990-08-25', 'Female', '456 Elm St', '555-5678', 'jane.smith@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
 
-INSERT INTO Users (full_name, identification, birth_date, gender, address, phone, email, password, status)
-VALUES ('Johnny Sins', '456789123', '1985-03-10', 'Female', '789 Oak St', '555-9012', 'alice.johnson@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (3, 'Johnny Sins', '456789123', '1985-03-10', 'Female', '789 Oak St', '555-9012', 'alice.johnson@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
 
-INSERT INTO Users (full_name, identification, birth_date, gender, address, phone, email, password, status)
-VALUES ('Bob Wilson', '789123456', '1992-07-15', 'Male', '321 Pine St', '555-3456', 'bob.wilson@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (4, 'Bob Wilson', '789123456', '1992-07-15', 'Male', '321 Pine St', '555-3456', 'bob.wilson@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
 
-INSERT INTO Users (full_name, identification, birth_date, gender, address, phone, email, password, status)
-VALUES ('Maria Garcia', '654321789', '1988-12-03', 'Female', '456 Cedar Ave', '555-7890', 'maria.garcia@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (5, 'Maria Garcia', '654321789', '1988-12-03', 'Female', '456 Cedar Ave', '555-7890', 'maria.garcia@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
 
-INSERT INTO Users (full_name, identification, birth_date, gender, address, phone, email, password, status)
-VALUES ('Sarah Connor', '987654321', '1975-05-20', 'Female', '789 Future St', '555-4567', 'sarah.connor@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (6, 'Sarah Connor', '987654321', '1975-05-20', 'Female', '789 Future St', '555-4567', 'sarah.connor@example.com', '$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2', 'active');
 
 -- Insert sample data into Patients
-INSERT INTO Patients (user_id, blood_group, allergies, family_history)
-VALUES (2, 'A+', 'Pollen', 'Diabetes');
+INSERT INTO Patients (patient_id, user_id, blood_group, allergies, family_history)
+VALUES (1, 2, 'A+', 'Pollen', 'Diabetes');
 
-INSERT INTO Patients (user_id, blood_group, allergies, family_history)
-VALUES (4, 'O-', 'Penicillin', 'Hypertension');
+INSERT INTO Patients (patient_id, user_id, blood_group, allergies, family_history)
+VALUES (2, 4, 'O-', 'Penicillin', 'Hypertension');
 
-INSERT INTO Patients (user_id, blood_group, allergies, family_history)
-VALUES (5, 'B+', 'Nuts', 'Heart Disease');
+INSERT INTO Patients (patient_id, user_id, blood_group, allergies, family_history)
+VALUES (3, 5, 'B+', 'Nuts', 'Heart Disease');
 
-INSERT INTO Patients (user_id, blood_group, allergies, family_history)
-VALUES (6, 'AB+', 'None', 'Cancer');
+INSERT INTO Patients (patient_id, user_id, blood_group, allergies, family_history)
+VALUES (4, 6, 'AB+', 'None', 'Cancer');
 
 -- Insert sample data into Clinics
-INSERT INTO Clinics (name, address, phone, specialty, capacity)
-VALUES ('City Clinic', '789 Clinic Rd', '555-3456', 'Oncology', 50);
+INSERT INTO Clinics (id, name, address, phone, specialty, capacity)
+VALUES (1, 'City Clinic', '789 Clinic Rd', '555-3456', 'Oncology', 50);
 
 -- Insert sample data into Specialty
-INSERT INTO Specialties (specialty_name) VALUES ('Oncology');
-INSERT INTO Specialties (specialty_name) VALUES ('Cardiology');
+INSERT INTO Specialties (specialty_id, specialty_name) VALUES (1, 'Oncology');
+INSERT INTO Specialties (specialty_id, specialty_name) VALUES (2, 'Cardiology');
 
 -- Insert sample data into UserSpecialty
-INSERT INTO User_Specialties (user_id, specialty_id) VALUES (3, 1); -- John Doe is an Oncologist
+INSERT INTO User_Specialties (id, user_id, specialty_id) VALUES (1, 3, 1); -- John Doe is an Oncologist
 
 -- Insert sample data into AppointmentType
-INSERT INTO Appointment_Types (type_name, standard_duration) VALUES ('Consultation', 30);
-INSERT INTO Appointment_Types (type_name, standard_duration) VALUES ('Follow-up', 15);
+INSERT INTO Appointment_Types (type_id, type_name, standard_duration) VALUES (1, 'Consultation', 30);
+INSERT INTO Appointment_Types (type_id, type_name, standard_duration) VALUES (2, 'Follow-up', 15);
 
 -- Insert sample data into ClinicAssignment
-INSERT INTO Clinic_Assignments (start_time, end_time, clinic_id, user_id)
-VALUES ('2023-10-01 08:00:00', '2023-10-01 16:00:00', 1, 1);
+INSERT INTO Clinic_Assignments (id, start_time, end_time, clinic_id, user_id)
+VALUES (1, '2023-10-01 08:00:00', '2023-10-01 16:00:00', 1, 1);
 
 -- Insert sample data into Appointments
-INSERT INTO Appointments (date_time, status, patient_id, doctor_id, type_id, clinic_assignment_id)
-VALUES ('2023-10-02 10:00:00', 'pending', 1, 3, 1, 1);
+INSERT INTO Appointments (appointment_id, date_time, status, patient_id, doctor_id, type_id, clinic_assignment_id)
+VALUES (1, '2023-10-02 10:00:00', 'pending', 1, 3, 1, 1);
 
 -- Insert sample data into MedicalHistory
-INSERT INTO Medical_History (patient_id, diagnosis, treatment, medications)
-VALUES (2, 'Cancer', 'Chemotherapy', 'Medicine A, Medicine B');
+INSERT INTO Medical_History (history_id, patient_id, diagnosis, treatment, medications)
+VALUES (1, 2, 'Cancer', 'Chemotherapy', 'Medicine A, Medicine B');
 
 -- Insert sample data into Labs
-INSERT INTO Labs (patient_id, lab_technician_id, test_type, request_date, completion_date, result, attachment)
-VALUES (1, 3, 'Blood Test', '2023-10-01 10:00:00', '2023-10-02 12:00:00', 'Normal', 'path/to/attachment.pdf');
+INSERT INTO Labs (lab_id, patient_id, lab_technician_id, test_type, request_date, completion_date, result, attachment)
+VALUES (1, 1, 3, 'Blood Test', '2023-10-01 10:00:00', '2023-10-02 12:00:00', 'Normal', 'path/to/attachment.pdf');
 
 -- Insert sample data into Tasks
-INSERT INTO Tasks (description, completed, start_date, end_date, appointment_id)
-VALUES ('Prepare patient report', TRUE, '2023-10-02 09:00:00', '2023-10-02 09:30:00', 1);
+INSERT INTO Tasks (id, description, completed, start_date, end_date, appointment_id)
+VALUES (1, 'Prepare patient report', TRUE, '2023-10-02 09:00:00', '2023-10-02 09:30:00', 1);
 
 -- Insert sample data into Schedules
-INSERT INTO Schedules (user_id, day_of_week, start_time, end_time)
-VALUES (1, 'Monday', '2023-10-02 08:00:00', '2023-10-02 16:00:00');
+INSERT INTO Schedules (schedule_id, user_id, day_of_week, start_time, end_time)
+VALUES (1, 1, 'Monday', '2023-10-02 08:00:00', '2023-10-02 16:00:00');
 
 -- Insert sample data into AssignedRole
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (1, 1); -- Admin is assigned Admin role
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (3, 3); -- Johnny is assigned as a Doctor
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (2, 5); -- Jane Smith is assigned as a Patient
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (3, 4); -- Alice Johnson is assigned as a Lab Technician
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (4, 5); -- Bob Wilson is assigned as a Patient
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (5, 5); -- Maria Garcia is assigned as a Patient
-INSERT INTO Assigned_Roles (user_id, role_id) VALUES (6, 2); -- Sarah Connor is assigned as a Receptionist
\ No newline at end of file
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (1, 1, 1); -- Admin is assigned Admin role
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (2, 3, 3); -- Johnny is assigned as a Doctor
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (3, 2, 5); -- Jane Smith is assigned as a Patient
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (4, 3, 4); -- Alice Johnson is assigned as a Lab Technician
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (5, 4, 5); -- Bob Wilson is assigned as a Patient
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (6, 5, 5); -- Maria Garcia is assigned as a Patient
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (7, 6, 2); -- Sarah Connor is assigned as a Receptionist
+
+-- Seed rows use explicit ids; move every sequence past them so generated ids never collide
+ALTER SEQUENCE roles_seq RESTART WITH 1000;
+ALTER SEQUENCE permissions_seq RESTART WITH 1000;
+ALTER SEQUENCE roles_permissions_seq RESTART WITH 1000;
+ALTER SEQUENCE users_seq RESTART WITH 1000;
+ALTER SEQUENCE patients_seq RESTART WITH 1000;
+ALTER SEQUENCE clinics_seq RESTART WITH 1000;
+ALTER SEQUENCE specialties_seq RESTART WITH 1000;
+ALTER SEQUENCE user_specialties_seq RESTART WITH 1000;
+ALTER SEQUENCE appointment_types_seq RESTART WITH 1000;
+ALTER SEQUENCE clinic_assignments_seq RESTART WITH 1000;
+ALTER SEQUENCE appointments_seq RESTART WITH 1000;
+ALTER SEQUENCE medical_history_seq RESTART WITH 1000;
+ALTER SEQUENCE labs_seq RESTART WITH 1000;
+ALTER SEQUENCE tasks_seq RESTART WITH 1000;
+ALTER SEQUENCE schedules_seq RESTART WITH 1000;
+ALTER SEQUENCE assigned_roles_seq RESTART WITH 1000;
@@ -0,0 +1,14 @@
+-- How many stores returned each content-addressed file (BlobReference),
+-- shared by every node so a file is only deleted once no lab uses it.
+--
+-- Run once before deploying the version that reads it (ddl-auto=validate
+-- fails until the table exists). Safe to run again.
+--
+--   psql "$DB_URL" -f add-blob-references.sql
+
+\set ON_ERROR_STOP on
+
+CREATE TABLE IF NOT EXISTS blob_references (
+    blob_key varchar(512) PRIMARY KEY,
+    refs     integer      NOT NULL
+);
@@ -0,0 +1,43 @@
+-- Adds the indexes behind the foreign-key access paths of the repositories
+-- (the @Index definitions on the entities). PostgreSQL does not index foreign
+-- key columns by itself, so without these every lookup by user, patient,
+-- role, appointment... is a sequential scan of the child table.
+--
+-- Safe to run on a live database and to run again: every index is built
+-- CONCURRENTLY (no write lock on the table) and skipped if it already exists.
+-- CONCURRENTLY cannot run inside a transaction, so do not wrap this file in
+-- BEGIN/COMMIT or run it with --single-transaction:
+--
+--   psql "$DB_URL" -f add-foreign-key-indexes.sql
+--
+-- If a build fails it leaves an INVALID index behind; drop it and run the
+-- file again.
+
+\set ON_ERROR_STOP on
+
+-- Doctor agenda and slot search: appointments of a doctor in a time range.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_doctor_date_time ON appointments (doctor_id, date_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_date_time ON appointments (date_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_patient ON appointments (patient_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_clinic_assignment ON appointments (clinic_assignment_id);
+
+-- Role checks run on every authenticated request.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assigned_roles_user_role ON assigned_roles (user_id, role_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assigned_roles_role ON assigned_roles (role_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_roles_permissions_role_permission ON roles_permissions (role_id, permission_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_roles_permissions_permission ON roles_permissions (permission_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_specialties_user ON user_specialties (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_specialties_specialty ON user_specialties (specialty_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_labs_patient ON labs (patient_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_labs_lab_technician ON labs (lab_technician_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_medical_history_patient ON medical_history (patient_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clinic_assignments_user_start_time ON clinic_assignments (user_id, start_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_clinic_assignments_clinic ON clinic_assignments (clinic_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_schedules_user ON schedules (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_appointment ON tasks (appointment_id);
+
+ANALYZE appointments, assigned_roles, roles_permissions, user_specialties, labs, medical_history,
+    clinic_assignments, schedules, tasks;
@@ -0,0 +1,36 @@
+-- Full-text search over medical histories and labs for app.search.engine=postgres
+-- (PostgresClinicalTextIndex).
+--
+-- Creates the functions the queries use and a GIN index on the tsvector of
+-- each table. Text is matched without case or accents ('simple' dictionary
+-- plus unaccent, no stemming), like the in-memory index. Safe to run on a
+-- live database and to run again; CONCURRENTLY cannot run inside a
+-- transaction, so do not use --single-transaction:
+--
+--   psql "$DB_URL" -f add-full-text-indexes.sql
+--
+-- If an index build fails it leaves an INVALID index behind; drop it and run
+-- the file again.
+
+\set ON_ERROR_STOP on
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE; naming the dictionary makes the result fixed,
+-- which is what allows these functions (and the indexes) to be IMMUTABLE.
+CREATE OR REPLACE FUNCTION clinical_tsvector(a text, b text, c text)
+RETURNS tsvector AS $$
+    SELECT to_tsvector('simple'::regconfig, public.unaccent('public.unaccent'::regdictionary, concat_ws(' ', a, b, c)))
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+CREATE OR REPLACE FUNCTION clinical_tsquery(query text)
+RETURNS tsquery AS $$
+    SELECT plainto_tsquery('simple'::regconfig, public.unaccent('public.unaccent'::regdictionary, query))
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_medical_history_fts ON medical_history
+    USING GIN (clinical_tsvector(diagnosis, treatment, medications));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_labs_fts ON labs
+    USING GIN (clinical_tsvector(test_type, result, NULL));
+
+ANALYZE medical_history, labs;
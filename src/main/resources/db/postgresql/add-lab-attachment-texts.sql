@@ -0,0 +1,21 @@
+-- Text extracted from lab attachments (LabAttachmentText), searched by
+-- /api/v1/search/clinical.
+--
+-- Run once before deploying the version that extracts attachment text
+-- (ddl-auto=validate fails until the table exists). Needs the functions of
+-- add-full-text-indexes.sql, so run that file first. The table starts
+-- empty; an attachment's text is extracted the next time the attachment is
+-- uploaded or one of its derived files is requested.
+--
+--   psql "$DB_URL" -f add-lab-attachment-texts.sql
+
+\set ON_ERROR_STOP on
+
+CREATE TABLE IF NOT EXISTS lab_attachment_texts (
+    lab_id     bigint PRIMARY KEY REFERENCES labs (lab_id) ON DELETE CASCADE,
+    attachment varchar(255) NOT NULL,
+    content    varchar(100000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_lab_attachment_texts_fts ON lab_attachment_texts
+    USING GIN (clinical_tsvector(content, NULL, NULL));
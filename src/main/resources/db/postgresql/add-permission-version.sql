@@ -0,0 +1,21 @@
+-- The version of the role/permission assignments (PermissionVersion), shared
+-- by every node so a role or permission change on one of them stops the
+-- others trusting the roles signed into older tokens.
+--
+-- Run once before deploying the version that reads it (ddl-auto=validate
+-- fails until the table exists). The row is seeded with the current time, so
+-- tokens issued before the upgrade are checked against the database once.
+-- Safe to run again.
+--
+--   psql "$DB_URL" -f add-permission-version.sql
+
+\set ON_ERROR_STOP on
+
+CREATE TABLE IF NOT EXISTS permission_version (
+    id      smallint PRIMARY KEY,
+    version bigint   NOT NULL
+);
+
+INSERT INTO permission_version (id, version)
+VALUES (1, (extract(epoch FROM now()) * 1000)::bigint)
+ON CONFLICT (id) DO NOTHING;
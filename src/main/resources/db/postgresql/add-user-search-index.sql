@@ -0,0 +1,33 @@
+-- User typeahead for app.search.engine=postgres (PostgresUserDirectoryIndex).
+--
+-- Creates the function the queries use and a trigram GIN index on it. Each
+-- field is folded (lower case, no accents) and stripped of everything but
+-- letters and digits, so a query word matches however the identification,
+-- phone or email was punctuated. Safe to run on a live database and to run
+-- again; CONCURRENTLY cannot run inside a transaction, so do not use
+-- --single-transaction:
+--
+--   psql "$DB_URL" -f add-user-search-index.sql
+--
+-- If the index build fails it leaves an INVALID index behind; drop it and run
+-- the file again.
+
+\set ON_ERROR_STOP on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- See add-full-text-indexes.sql for why the dictionary is named.
+CREATE OR REPLACE FUNCTION user_search_text(full_name text, identification text, phone text, email text)
+RETURNS text AS $$
+    SELECT concat_ws(' ',
+        regexp_replace(lower(public.unaccent('public.unaccent'::regdictionary, full_name)), '[^[:alnum:]]', '', 'g'),
+        regexp_replace(lower(public.unaccent('public.unaccent'::regdictionary, identification)), '[^[:alnum:]]', '', 'g'),
+        regexp_replace(phone, '[^[:alnum:]]', '', 'g'),
+        regexp_replace(lower(public.unaccent('public.unaccent'::regdictionary, email)), '[^[:alnum:]]', '', 'g'))
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_search_trgm ON users
+    USING GIN (user_search_text(full_name, identification, phone, email) gin_trgm_ops);
+
+ANALYZE users;
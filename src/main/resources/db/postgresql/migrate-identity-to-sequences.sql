@@ -0,0 +1,54 @@
+-- Moves an existing OncoLogic PostgreSQL schema from IDENTITY id columns to the
+-- pooled sequences used by the entities (@PooledSequence).
+--
+-- Run once, with the application stopped, before deploying the version that
+-- uses sequences (ddl-auto=validate fails until the sequences exist):
+--
+--   psql "$DB_URL" -v allocation_size=50 -f migrate-identity-to-sequences.sql
+--
+-- allocation_size must equal app.persistence.id-allocation-size. Every
+-- sequence restarts right after the current MAX(id) of its table, and the
+-- identity defaults are dropped so ids can only come from the sequences.
+
+\set ON_ERROR_STOP on
+\if :{?allocation_size}
+\else
+\set allocation_size 50
+\endif
+
+BEGIN;
+
+CREATE OR REPLACE FUNCTION pg_temp.to_pooled_sequence(tbl text, id_column text, allocation_size integer)
+RETURNS void AS $$
+DECLARE
+    seq text := tbl || '_seq';
+    next_id bigint;
+BEGIN
+    EXECUTE format('LOCK TABLE %I IN EXCLUSIVE MODE', tbl);
+    EXECUTE format('SELECT COALESCE(MAX(%I), 0) + 1 FROM %I', id_column, tbl) INTO next_id;
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', tbl, id_column);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP DEFAULT', tbl, id_column);
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY %s', seq, allocation_size);
+    EXECUTE format('ALTER SEQUENCE %I INCREMENT BY %s', seq, allocation_size);
+    PERFORM setval(seq, next_id, false);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.to_pooled_sequence('roles', 'role_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('permissions', 'permission_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('roles_permissions', 'id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('users', 'user_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('patients', 'patient_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('clinics', 'id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('specialties', 'specialty_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('user_specialties', 'id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('appointment_types', 'type_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('clinic_assignments', 'id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('appointments', 'appointment_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('medical_history', 'history_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('labs', 'lab_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('tasks', 'id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('schedules', 'schedule_id', :allocation_size);
+SELECT pg_temp.to_pooled_sequence('assigned_roles', 'id', :allocation_size);
+
+COMMIT;
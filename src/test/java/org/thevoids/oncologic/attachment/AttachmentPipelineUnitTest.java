@@ -0,0 +1,228 @@
+package org.thevoids.oncologic.attachment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.entity.Lab;
+import org.thevoids.oncologic.entity.LabAttachmentText;
+import org.thevoids.oncologic.repository.LabAttachmentTextRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.service.impl.FileServiceImpl;
+import org.thevoids.oncologic.storage.InMemoryBlobReferences;
+import org.thevoids.oncologic.storage.InMemoryBlobStore;
+
+class AttachmentPipelineUnitTest {
+
+    private static final String REPORT = "Informe de patología: carcinoma ductal";
+
+    @TempDir
+    Path uploads;
+
+    private InMemoryBlobStore blobStore;
+    private FileServiceImpl fileService;
+    private LabRepository labRepository;
+    private LabAttachmentTextRepository labAttachmentTextRepository;
+    private ClinicalTextIndex clinicalTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new InMemoryBlobStore();
+        fileService = new FileServiceImpl(blobStore, InMemoryBlobReferences.counter());
+        ReflectionTestUtils.setField(fileService, "uploadDir", uploads.toString());
+        ReflectionTestUtils.setField(fileService, "maxFileSize", 10_485_760L);
+        labRepository = mock(LabRepository.class);
+        labAttachmentTextRepository = mock(LabAttachmentTextRepository.class);
+        clinicalTextIndex = mock(ClinicalTextIndex.class);
+        when(labRepository.existsByLabIdAndAttachment(any(), any())).thenReturn(true);
+        when(labRepository.getReferenceById(any())).thenReturn(new Lab());
+        when(labAttachmentTextRepository.findById(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void submit_TextAttachment_StoresAndIndexesTheText() throws IOException {
+        // Arrange
+        AttachmentPipeline pipeline = pipeline(List.of(new PlainTextAttachmentProcessor()), Runnable::run);
+        LabDTO lab = lab(store("report.txt", MediaType.TEXT_PLAIN_VALUE, REPORT.getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        pipeline.submit(lab);
+
+        // Assert
+        ArgumentCaptor<LabAttachmentText> saved = ArgumentCaptor.forClass(LabAttachmentText.class);
+        verify(labAttachmentTextRepository).save(saved.capture());
+        assertEquals(REPORT, saved.getValue().getContent());
+        assertEquals(lab.getAttachment(), saved.getValue().getAttachment());
+        ArgumentCaptor<LabAttachmentTextDTO> indexed = ArgumentCaptor.forClass(LabAttachmentTextDTO.class);
+        verify(clinicalTextIndex).indexLabAttachmentText(indexed.capture());
+        assertEquals(3L, indexed.getValue().getPatientId());
+        assertEquals(REPORT, indexed.getValue().getContent());
+        assertTrue(pipeline.find(lab, AttachmentDerivative.TEXT).isPresent());
+        assertFalse(pipeline.isPending(lab));
+    }
+
+    @Test
+    void submit_Image_WritesAThumbnail() throws IOException {
+        // Arrange
+        AttachmentPipeline pipeline = pipeline(List.of(new ImageAttachmentProcessor(1024 * 1024)), Runnable::run);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB), "png", png);
+        LabDTO lab = lab(store("scan.png", MediaType.IMAGE_PNG_VALUE, png.toByteArray()));
+
+        // Act
+        pipeline.submit(lab);
+
+        // Assert
+        String thumbnail = pipeline.find(lab, AttachmentDerivative.THUMBNAIL).orElseThrow();
+        assertEquals(256, ImageIO.read(fileService.openFile(thumbnail)).getWidth());
+        assertTrue(pipeline.find(lab, AttachmentDerivative.PREVIEW).isEmpty());
+        verify(labAttachmentTextRepository, never()).save(any());
+    }
+
+    @Test
+    void submit_InsideATransaction_WaitsForTheCommit() throws IOException {
+        // Arrange
+        AttachmentPipeline pipeline = pipeline(List.of(new PlainTextAttachmentProcessor()), Runnable::run);
+        LabDTO lab = lab(store("report.txt", MediaType.TEXT_PLAIN_VALUE, REPORT.getBytes(StandardCharsets.UTF_8)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pipeline.submit(lab);
+
+            // Act
+            boolean processedBeforeCommit = pipeline.find(lab, AttachmentDerivative.TEXT).isPresent();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertFalse(processedBeforeCommit);
+            assertTrue(pipeline.find(lab, AttachmentDerivative.TEXT).isPresent());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void submit_AttachmentReplacedMeanwhile_DoesNotStoreTheText() {
+        // Arrange
+        AttachmentPipeline pipeline = pipeline(List.of(new PlainTextAttachmentProcessor()), Runnable::run);
+        LabDTO lab = lab(store("report.txt", MediaType.TEXT_PLAIN_VALUE, REPORT.getBytes(StandardCharsets.UTF_8)));
+        when(labRepository.existsByLabIdAndAttachment(7L, lab.getAttachment())).thenReturn(false);
+
+        // Act
+        pipeline.submit(lab);
+
+        // Assert
+        verify(labAttachmentTextRepository, never()).save(any());
+        verify(clinicalTextIndex, never()).indexLabAttachmentText(any());
+    }
+
+    @Test
+    void failingProcessor_IsRetriedThenGivenUpLeavingNoTemporaryFiles() throws IOException {
+        // Arrange
+        AttachmentProcessor failing = mock(AttachmentProcessor.class);
+        when(failing.supports(any())).thenReturn(true);
+        doThrow(new IOException("Disk full")).when(failing).process(any(), any());
+        AttachmentPipeline pipeline = pipeline(List.of(failing), Runnable::run);
+        LabDTO lab = lab(store("report.txt", MediaType.TEXT_PLAIN_VALUE, REPORT.getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        pipeline.submit(lab);
+
+        // Assert
+        verify(failing, timeout(5000).times(3)).process(any(), any());
+        assertEquals(1, blobStore.list("labs/").size());
+        assertTrue(pipeline.find(lab, AttachmentDerivative.TEXT).isEmpty());
+    }
+
+    @Test
+    void rejectedJob_IsQueuedAgainWhenADerivativeIsRequested() throws IOException {
+        // Arrange
+        AtomicBoolean full = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (full.get()) {
+                throw new RejectedExecutionException("Queue full");
+            }
+            task.run();
+        };
+        AttachmentPipeline pipeline = pipeline(List.of(new PlainTextAttachmentProcessor()), executor);
+        LabDTO lab = lab(store("report.txt", MediaType.TEXT_PLAIN_VALUE, REPORT.getBytes(StandardCharsets.UTF_8)));
+        pipeline.submit(lab);
+        full.set(false);
+
+        // Act
+        boolean pending = pipeline.isPending(lab);
+
+        // Assert
+        assertTrue(pending);
+        assertTrue(pipeline.find(lab, AttachmentDerivative.TEXT).isPresent());
+    }
+
+    @Test
+    void discard_ForgetsTheExtractedText() {
+        // Arrange
+        AttachmentPipeline pipeline = pipeline(List.of(), Runnable::run);
+
+        // Act
+        pipeline.discard(7L);
+
+        // Assert
+        verify(labAttachmentTextRepository).deleteById(7L);
+        verify(clinicalTextIndex).remove(ClinicalRecordType.LAB_ATTACHMENT, 7L);
+    }
+
+    private AttachmentPipeline pipeline(List<AttachmentProcessor> processors, Executor executor) {
+        return new AttachmentPipeline(processors, fileService, labRepository, labAttachmentTextRepository,
+                clinicalTextIndex, new TransactionTemplate(mock(PlatformTransactionManager.class)), executor, 3,
+                Duration.ofMillis(10));
+    }
+
+    private String store(String name, String contentType, byte[] content) {
+        return fileService.storeFile(new MockMultipartFile("file", name, contentType, content), "labs");
+    }
+
+    private static LabDTO lab(String attachment) {
+        LabDTO lab = new LabDTO();
+        lab.setLabId(7L);
+        lab.setPatientId(3L);
+        lab.setAttachment(attachment);
+        return lab;
+    }
+}
@@ -0,0 +1,116 @@
+package org.thevoids.oncologic.attachment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+class ImageAttachmentProcessorUnitTest {
+
+    @TempDir
+    Path temp;
+
+    private final ImageAttachmentProcessor processor = new ImageAttachmentProcessor(1024 * 1024);
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createDirectory(temp.resolve("scan.d"));
+    }
+
+    @Test
+    void supports_ReadableImagesOnly() {
+        // Act & Assert
+        assertTrue(processor.supports(MediaType.IMAGE_PNG));
+        assertTrue(processor.supports(MediaType.IMAGE_JPEG));
+        assertFalse(processor.supports(MediaType.APPLICATION_PDF));
+        assertFalse(processor.supports(MediaType.TEXT_PLAIN));
+    }
+
+    @Test
+    void process_LargeImage_WritesASmallerPreviewAndAThumbnail() throws IOException {
+        // Arrange
+        BufferedImage image = new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        Path original = write(image, "scan.png");
+
+        // Act
+        processor.process(original, directory);
+
+        // Assert
+        BufferedImage preview = ImageIO.read(directory.resolve(AttachmentDerivative.PREVIEW.getFileName()).toFile());
+        BufferedImage thumbnail = ImageIO.read(
+                directory.resolve(AttachmentDerivative.THUMBNAIL.getFileName()).toFile());
+        assertEquals(1600, preview.getWidth());
+        assertEquals(800, preview.getHeight());
+        assertTrue(Files.size(directory.resolve(AttachmentDerivative.PREVIEW.getFileName())) < Files.size(original));
+        assertEquals(256, thumbnail.getWidth());
+        assertEquals(128, thumbnail.getHeight());
+    }
+
+    @Test
+    void process_SmallImage_WritesOnlyAThumbnailOnWhite() throws IOException {
+        // Arrange
+        Path original = write(new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB), "photo.png");
+
+        // Act
+        processor.process(original, directory);
+
+        // Assert
+        assertFalse(Files.exists(directory.resolve(AttachmentDerivative.PREVIEW.getFileName())));
+        BufferedImage thumbnail = ImageIO.read(
+                directory.resolve(AttachmentDerivative.THUMBNAIL.getFileName()).toFile());
+        assertEquals(256, thumbnail.getWidth());
+        assertEquals(171, thumbnail.getHeight());
+        assertTrue((thumbnail.getRGB(10, 10) & 0xFFFFFF) > 0xF0F0F0);
+    }
+
+    @Test
+    void process_NotAnImage_WritesNothing() throws IOException {
+        // Arrange
+        Path original = Files.writeString(temp.resolve("broken.png"), "not an image");
+
+        // Act
+        processor.process(original, directory);
+
+        // Assert
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void scale_NeverEnlarges() {
+        // Act
+        BufferedImage scaled = ImageAttachmentProcessor.scale(new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB),
+                ImageAttachmentProcessor.THUMBNAIL_SIZE);
+
+        // Assert
+        assertEquals(100, scaled.getWidth());
+        assertEquals(50, scaled.getHeight());
+    }
+
+    private Path write(BufferedImage image, String name) throws IOException {
+        Path file = temp.resolve(name);
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,150 @@
+package org.thevoids.oncologic.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thevoids.oncologic.utils.FileDownloader;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Compares lab attachment downloads before and after {@link FileDownloader}.
+ *
+ * <p>{@code legacyFullBody} is what {@code serveFile} used to do: a
+ * {@link UrlResource} written by Spring's resource converter, the whole file
+ * on every request. The others go through {@link FileDownloader}: a full
+ * download, a revalidation of a cached copy (304) and the first 64 KiB as a
+ * PDF viewer requests it. The body goes to a stream that discards it, so the
+ * numbers are the server-side cost per request (higher ops/s is better).
+ * Tomcat's sendfile is not available here; under Tomcat, large bodies skip
+ * the copy measured by {@code fullBody} altogether.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main AttachmentDownloadBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttachmentDownloadBenchmark {
+
+    @Param({ "65536", "10485760" })
+    private int fileSize;
+
+    private final FileDownloader downloader = new FileDownloader(100);
+    private final ResourceHttpMessageConverter converter = new ResourceHttpMessageConverter();
+    private Path file;
+    private String etag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("attachment", ".pdf");
+        Files.write(file, content);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        downloader.send(new MockHttpServletRequest("HEAD", "/"), response, file, "scan.pdf");
+        etag = response.getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int legacyFullBody() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        converter.write(new UrlResource(file.toUri()), MediaType.APPLICATION_OCTET_STREAM,
+                new ServletServerHttpResponse(response));
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int fullBody() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        downloader.send(new MockHttpServletRequest("GET", "/"), response, file, "scan.pdf");
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int revalidation() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        DiscardingResponse response = new DiscardingResponse();
+        downloader.send(request, response, file, "scan.pdf");
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int firstChunk() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-65535");
+        DiscardingResponse response = new DiscardingResponse();
+        downloader.send(request, response, file, "scan.pdf");
+        return response.getStatus();
+    }
+
+    /**
+     * A response whose body is thrown away as it is written.
+     */
+    private static final class DiscardingResponse extends HttpServletResponseWrapper {
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.thevoids.oncologic.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thevoids.oncologic.repository.AppointmentRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.scheduling.AssignmentWindow;
+import org.thevoids.oncologic.scheduling.BookedInterval;
+import org.thevoids.oncologic.scheduling.FreeSlotFinder;
+import org.thevoids.oncologic.scheduling.WeeklyWindow;
+
+/**
+ * Measures the free-slot search behind {@code GET /api/v1/availability} for a
+ * month-long range across every doctor of a specialty.
+ *
+ * <p>Each doctor has a month-long clinic assignment, works Monday to Friday
+ * from 08:00 to 16:00 and has the given share of the 30 minute slots already
+ * booked. The bookings are served by {@link AppointmentIntervalIndex}, as in
+ * the application; the three small database reads of the endpoint are not
+ * included.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main AvailabilityBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final long SLOT = 30 * 60_000L;
+
+    @Param({ "50", "200" })
+    private int doctors;
+
+    @Param({ "0.5", "0.95" })
+    private double bookedShare;
+
+    private List<WeeklyWindow> schedules;
+    private List<AssignmentWindow> assignments;
+    private AppointmentIntervalIndex index;
+    private long from;
+    private long to;
+
+    @Setup
+    public void setUp() {
+        from = LocalDateTime.of(2024, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        to = LocalDateTime.of(2024, 2, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        schedules = new ArrayList<>();
+        assignments = new ArrayList<>();
+        List<BookedInterval> bookings = new ArrayList<>();
+        Random random = new Random(42);
+        long appointmentId = 1;
+        for (long doctor = 1; doctor <= doctors; doctor++) {
+            long clinic = 1000 + doctor;
+            assignments.add(new AssignmentWindow(doctor, doctor, clinic, from, to));
+            for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                    DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+                schedules.add(new WeeklyWindow(doctor, day, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            }
+            for (LocalDateTime day = LocalDateTime.of(2024, 1, 1, 8, 0); day.getMonthValue() == 1; day = day.plusDays(1)) {
+                if (day.getDayOfWeek().getValue() > 5) {
+                    continue;
+                }
+                for (int slot = 0; slot < 16; slot++) {
+                    if (random.nextDouble() < bookedShare) {
+                        long start = day.toInstant(ZoneOffset.UTC).toEpochMilli() + slot * SLOT;
+                        bookings.add(new BookedInterval(appointmentId++, doctor, clinic, new Date(start), 30));
+                    }
+                }
+            }
+        }
+
+        AppointmentRepository repository = mock(AppointmentRepository.class);
+        when(repository.findAllBookedIntervals()).thenReturn(bookings);
+        index = new AppointmentIntervalIndex(repository);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<FreeSlotFinder.Slot> firstTwentySlots() {
+        return FreeSlotFinder.find(schedules, assignments, index::bookingsOverlapping, from, to, SLOT, 20, ZONE);
+    }
+
+    @Benchmark
+    public List<FreeSlotFinder.Slot> firstTwoHundredSlots() {
+        return FreeSlotFinder.find(schedules, assignments, index::bookingsOverlapping, from, to, SLOT, 200, ZONE);
+    }
+}
@@ -0,0 +1,136 @@
+package org.thevoids.oncologic.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.entity.Appointment;
+import org.thevoids.oncologic.entity.Lab;
+import org.thevoids.oncologic.entity.Patient;
+import org.thevoids.oncologic.entity.Task;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.TaskRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inserts a large batch of tasks and labs through JPA and reports the insert
+ * throughput and how many JDBC batches were needed, to check that pooled
+ * sequence ids and {@code hibernate.jdbc.batch_size} keep bulk writes batched.
+ *
+ * <p>Skipped by default; run with:
+ * <pre>
+ * mvn test -Dtest=BulkInsertLoadTest -DloadTests=true [-DloadTests.rows=100000 -DloadTests.chunk=1000 -DloadTests.batchSize=50]
+ * </pre>
+ * Pass {@code -DloadTests.batchSize=0} to compare against one statement per row.
+ */
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkinsert;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=always",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=${loadTests.batchSize:50}",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "app.persistence.id-allocation-size=50"
+})
+class BulkInsertLoadTest {
+
+    private static final int ROWS = Integer.getInteger("loadTests.rows", 100000);
+    private static final int CHUNK = Integer.getInteger("loadTests.chunk", 1000);
+    private static final int BATCH_SIZE = Integer.getInteger("loadTests.batchSize", 50);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private LabRepository labRepository;
+
+    @Test
+    void insertTasks() {
+        long before = taskRepository.count();
+        Appointment appointment = entityManager.getReference(Appointment.class, 1L);
+        Date now = new Date();
+
+        run("tasks", i -> {
+            Task task = new Task();
+            task.setDescription("Bulk task " + i);
+            task.setCompleted(false);
+            task.setStartDate(now);
+            task.setEndDate(now);
+            task.setAppointment(appointment);
+            entityManager.persist(task);
+        });
+
+        assertEquals(before + ROWS, taskRepository.count());
+    }
+
+    @Test
+    void insertLabs() {
+        long before = labRepository.count();
+        Patient patient = entityManager.getReference(Patient.class, 1L);
+        User technician = entityManager.getReference(User.class, 3L);
+        Date now = new Date();
+
+        run("labs", i -> {
+            Lab lab = new Lab();
+            lab.setPatient(patient);
+            lab.setLabTechnician(technician);
+            lab.setTestType("Bulk test " + i);
+            lab.setRequestDate(now);
+            entityManager.persist(lab);
+        });
+
+        assertEquals(before + ROWS, labRepository.count());
+    }
+
+    private void run(String label, IntConsumer insert) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            int to = Math.min(from + CHUNK, ROWS);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < to; i++) {
+                    insert.accept(i);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("Bulk insert %s: %d rows in %d ms (%d rows/s), %d prepared statements%n",
+                label, ROWS, millis, ROWS * 1000L / millis, statements);
+
+        if (BATCH_SIZE > 1) {
+            // One statement per batch plus one sequence call per id block
+            assertTrue(statements < ROWS / 10, "inserts were not batched: " + statements + " statements");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.thevoids.oncologic.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+import org.thevoids.oncologic.repository.LabAttachmentTextRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.MedicalHistoryRepository;
+import org.thevoids.oncologic.search.InMemoryClinicalTextIndex;
+
+/**
+ * Measures {@code GET /api/v1/search/clinical} on the in-memory index.
+ *
+ * <p>Each history has one of 300 diagnoses, one of 20 treatments and two of
+ * 400 medications; half as many labs carry one of 40 test types and a
+ * result. The queries cover a rare medication (about 0.5% of the records), a
+ * rare medication combined with a common treatment, and a word present in a
+ * third of the records, the worst case for ranking.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-Xmx4g -cp %classpath org.openjdk.jmh.Main ClinicalSearchBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClinicalSearchBenchmark {
+
+    private static final String[] TREATMENTS = { "quimioterapia", "radioterapia", "cirugia", "inmunoterapia",
+            "hormonoterapia", "paliativo", "observacion", "trasplante", "braquiterapia", "ablacion", "biopsia",
+            "reseccion", "mastectomia", "lobectomia", "colectomia", "nefrectomia", "histerectomia", "tiroidectomia",
+            "prostatectomia", "gastrectomia" };
+
+    @Param({ "100000", "1000000" })
+    private int histories;
+
+    private InMemoryClinicalTextIndex index;
+
+    @Setup
+    public void setUp() {
+        MedicalHistoryRepository medicalHistoryRepository = mock(MedicalHistoryRepository.class);
+        LabRepository labRepository = mock(LabRepository.class);
+        when(medicalHistoryRepository.streamAllForExport()).thenAnswer(invocation -> {
+            Random random = new Random(42);
+            return LongStream.rangeClosed(1, histories).mapToObj(id -> new MedicalHistoryDTO(id, id % 50_000,
+                    "diagnostico" + random.nextInt(300) + " estadio " + (1 + random.nextInt(4)),
+                    TREATMENTS[random.nextInt(TREATMENTS.length)] + (random.nextInt(3) == 0 ? " ciclo" : ""),
+                    "farmaco" + random.nextInt(400) + " " + (10 * (1 + random.nextInt(20))) + " mg, farmaco"
+                            + random.nextInt(400),
+                    null));
+        });
+        when(labRepository.streamAllForExport()).thenAnswer(invocation -> {
+            Random random = new Random(7);
+            return LongStream.rangeClosed(1, histories / 2).mapToObj(id -> new LabDTO(id, id % 50_000, 3L,
+                    "prueba" + random.nextInt(40), null, null, "valor " + random.nextInt(1000) + " normal", null));
+        });
+        index = new InMemoryClinicalTextIndex(medicalHistoryRepository, labRepository,
+                mock(LabAttachmentTextRepository.class), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.rebuild();
+        Stream.of("farmaco17", "farmaco17 quimioterapia", "ciclo").forEach(query -> index.search(query, null, 20));
+    }
+
+    @Benchmark
+    public List<ClinicalSearchHitDTO> rareMedication() {
+        return index.search("farmaco17", null, 20);
+    }
+
+    @Benchmark
+    public List<ClinicalSearchHitDTO> rareMedicationWithCommonTreatment() {
+        return index.search("farmaco17 quimioterapia", null, 20);
+    }
+
+    @Benchmark
+    public List<ClinicalSearchHitDTO> commonWord() {
+        return index.search("ciclo", null, 20);
+    }
+}
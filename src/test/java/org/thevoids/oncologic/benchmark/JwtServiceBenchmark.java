@@ -0,0 +1,86 @@
+package org.thevoids.oncologic.benchmark;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.thevoids.oncologic.utils.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Measures the per-request cost of authenticating a bearer token in
+ * {@code JwtAuthenticationFilter}.
+ *
+ * <p>{@code perRequestRebuildingParser} reproduces the previous behaviour: the
+ * signing key and parser are rebuilt and the token is parsed three times
+ * (extractUsername, then extractUsername and isTokenExpired inside
+ * validateToken). {@code perRequestSingleParse} is the current path.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtServiceBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "universidadicesiuniversidadicesiuniversidadicesi";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        jwtService.setSecret(SECRET);
+        jwtService.setExpirationMinutes(30);
+        userDetails = new User("1234567890", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("VIEW_USERS")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean perRequestRebuildingParser() {
+        String username = legacyClaims(token).get("identification", String.class);
+        return username != null
+                && userDetails.getUsername().equals(legacyClaims(token).get("identification", String.class))
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean perRequestSingleParse() {
+        Claims claims = jwtService.parseClaims(token);
+        return jwtService.extractUsername(claims) != null && jwtService.validateClaims(claims, userDetails);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,159 @@
+package org.thevoids.oncologic.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.thevoids.oncologic.entity.AssignedRole;
+import org.thevoids.oncologic.entity.Role;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.AssignedRoleRepository;
+import org.thevoids.oncologic.repository.RoleRepository;
+import org.thevoids.oncologic.repository.UserRepository;
+
+/**
+ * Simulates a shift start: a batch of users sign in at the same moment and the
+ * latency percentiles of {@code POST /api/v1/auth/login} are reported.
+ *
+ * <p>Skipped by default; run with:
+ * <pre>
+ * mvn test -Dtest=LoginLoadTest -DloadTests=true [-DloadTests.users=200 -DloadTests.threads=32 -DloadTests.p99Millis=15000]
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loginload;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=always",
+        "spring.jpa.defer-datasource-initialization=true"
+})
+class LoginLoadTest {
+
+    private static final String PASSWORD = "shift-start";
+    private static final String ID_PREFIX = "LOAD";
+
+    private static final int USERS = Integer.getInteger("loadTests.users", 200);
+    private static final int THREADS = Integer.getInteger("loadTests.threads", 32);
+    private static final long P99_MILLIS = Long.getLong("loadTests.p99Millis", 15000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AssignedRoleRepository assignedRoleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void seedUsers() {
+        if (userRepository.findByIdentification(ID_PREFIX + 0).isPresent()) {
+            return;
+        }
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Role> roles = roleRepository.findAll();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFullName("Load User " + i);
+            user.setIdentification(ID_PREFIX + i);
+            user.setPassword(hash);
+            user = userRepository.save(user);
+            for (Role role : roles.subList(0, Math.min(2, roles.size()))) {
+                AssignedRole assignedRole = new AssignedRole();
+                assignedRole.setUser(user);
+                assignedRole.setRole(role);
+                assignedRoleRepository.save(assignedRole);
+            }
+        }
+    }
+
+    @Test
+    void concurrentLoginsAtShiftStart() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(THREADS))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/v1/auth/login");
+
+        // Warm up the JIT and connection pool with a few sequential logins
+        for (int i = 0; i < 10; i++) {
+            login(client, uri, i % USERS);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            final int user = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                return login(client, uri, user);
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>();
+        int failures = 0;
+        for (Future<long[]> future : futures) {
+            long[] result = future.get(5, TimeUnit.MINUTES);
+            latencies.add(result[1]);
+            if (result[0] != 200) {
+                failures++;
+            }
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart);
+        pool.shutdown();
+
+        Collections.sort(latencies);
+        System.out.printf("Login load: %d users, %d threads, %d ms wall, p50=%d ms p95=%d ms p99=%d ms max=%d ms%n",
+                USERS, THREADS, wallMillis,
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                latencies.get(latencies.size() - 1));
+
+        assertEquals(0, failures);
+        assertTrue(percentile(latencies, 99) <= P99_MILLIS,
+                "p99 login latency above " + P99_MILLIS + " ms");
+    }
+
+    private static long[] login(HttpClient client, URI uri, int user) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + ID_PREFIX + user + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        long started = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        return new long[] { response.statusCode(), elapsed };
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
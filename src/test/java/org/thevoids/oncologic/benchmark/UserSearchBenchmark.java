@@ -0,0 +1,93 @@
+package org.thevoids.oncologic.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.search.InMemoryUserDirectoryIndex;
+
+/**
+ * Measures {@code GET /api/v1/users/search} on the in-memory index.
+ *
+ * <p>Users get two of 60 first names and two of 80 last names, a unique
+ * identification, phone and email. The queries are the first keystroke (one
+ * letter, matching most users), a first name plus the start of a last name,
+ * and the start of an identification.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-Xmx2g -cp %classpath org.openjdk.jmh.Main UserSearchBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    @Param({ "100000", "250000" })
+    private int users;
+
+    private InMemoryUserDirectoryIndex index;
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.streamAllForSearch()).thenAnswer(invocation -> {
+            Random random = new Random(42);
+            return LongStream.rangeClosed(1, users).mapToObj(id -> new UserSearchHitDTO(id, id % 3 == 0 ? id : null,
+                    name(random, 60) + " " + name(random, 60) + " " + name(random, 80) + " " + name(random, 80),
+                    String.valueOf(1_000_000_000L + id * 7919 % 900_000_000L),
+                    "+57 3" + (10 + random.nextInt(90)) + " " + (1_000_000 + random.nextInt(9_000_000)),
+                    "user" + id + "@example.com"));
+        });
+        index = new InMemoryUserDirectoryIndex(userRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<UserSearchHitDTO> firstKeystroke() {
+        return index.search("m", 10);
+    }
+
+    @Benchmark
+    public List<UserSearchHitDTO> nameAndLastNamePrefix() {
+        return index.search("maria gar", 10);
+    }
+
+    @Benchmark
+    public List<UserSearchHitDTO> identificationPrefix() {
+        return index.search("10007", 10);
+    }
+
+    /**
+     * One of {@code count} made-up names; "maria" and "garcia" are among them.
+     */
+    private static String name(Random random, int count) {
+        int n = random.nextInt(count);
+        return n == 0 ? "maria" : n == 1 ? "garcia" : (char) ('a' + n % 26) + "nombre" + n;
+    }
+}
@@ -0,0 +1,138 @@
+package org.thevoids.oncologic.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedTtlCacheUnitTest {
+
+    @Test
+    void get_AfterPut_CountsHitsAndMisses() {
+        // Arrange
+        BoundedTtlCache cache = new BoundedTtlCache("types", 10, Duration.ofMinutes(10));
+        cache.put(1L, "Consulta");
+
+        // Act
+        Object hit = cache.get(1L).get();
+        Object miss = cache.get(2L);
+
+        // Assert
+        assertEquals("Consulta", hit);
+        assertNull(miss);
+        assertEquals(1L, cache.getHits());
+        assertEquals(1L, cache.getMisses());
+    }
+
+    @Test
+    void get_WhenEntryOlderThanTtl_ReturnsNullAndEvicts() {
+        // Arrange
+        MutableClock clock = new MutableClock();
+        BoundedTtlCache cache = new BoundedTtlCache("types", 10, Duration.ofSeconds(30), clock);
+        cache.put(1L, "Consulta");
+
+        // Act
+        clock.advance(Duration.ofSeconds(29));
+        Object beforeExpiry = cache.get(1L);
+        clock.advance(Duration.ofSeconds(1));
+        Object afterExpiry = cache.get(1L);
+
+        // Assert
+        assertNotNull(beforeExpiry);
+        assertNull(afterExpiry);
+        assertEquals(1L, cache.getEvictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenFull_EvictsLeastRecentlyUsed() {
+        // Arrange
+        BoundedTtlCache cache = new BoundedTtlCache("types", 2, Duration.ofMinutes(10));
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L);
+
+        // Act
+        cache.put(3L, "c");
+
+        // Assert
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictions());
+    }
+
+    @Test
+    void put_WhenMaxSizeIsZero_StoresNothing() {
+        // Arrange
+        BoundedTtlCache cache = new BoundedTtlCache("types", 0, Duration.ofMinutes(10));
+
+        // Act
+        cache.put(1L, "a");
+
+        // Assert
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void clear_RemovesEveryEntry() {
+        // Arrange
+        BoundedTtlCache cache = new BoundedTtlCache("types", 10, Duration.ofMinutes(10));
+        cache.put(1L, "a");
+        cache.put("all", "b");
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(2L, cache.getEvictions());
+        assertNull(cache.get("all"));
+    }
+
+    @Test
+    void getWithLoader_OnMiss_LoadsAndStoresValue() {
+        // Arrange
+        BoundedTtlCache cache = new BoundedTtlCache("types", 10, Duration.ofMinutes(10));
+
+        // Act
+        String first = cache.get(1L, () -> "loaded");
+        String second = cache.get(1L, () -> "reloaded");
+
+        // Assert
+        assertEquals("loaded", first);
+        assertEquals("loaded", second);
+        assertEquals(1L, cache.getHits());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
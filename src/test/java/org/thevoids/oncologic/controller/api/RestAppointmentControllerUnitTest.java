@@ -17,10 +17,12 @@ import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.dto.custom.BulkAppointmentResultDTO;
 import org.thevoids.oncologic.dto.entity.AppointmentDTO;
 import org.thevoids.oncologic.entity.Appointment;
 import org.thevoids.oncologic.mapper.AppointmentMapper;
 import org.thevoids.oncologic.service.AppointmentService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestAppointmentControllerUnitTest {
 
@@ -53,10 +55,10 @@ class RestAppointmentControllerUnitTest {
     @SuppressWarnings("null")
     @Test
     void getAllAppointments_Success() {
-        when(appointmentService.getAllAppointments()).thenReturn(Arrays.asList(appointment));
+        when(appointmentService.getAppointmentsAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(appointment));
         when(appointmentMapper.toAppointmentDTO(appointment)).thenReturn(appointmentDTO);
 
-        ResponseEntity<List<AppointmentDTO>> response = controller.getAllAppointments();
+        ResponseEntity<List<AppointmentDTO>> response = controller.getAllAppointments(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -65,8 +67,8 @@ class RestAppointmentControllerUnitTest {
 
     @Test
     void getAllAppointments_InternalServerError() {
-        when(appointmentService.getAllAppointments()).thenThrow(new RuntimeException("DB error"));
-        ResponseEntity<List<AppointmentDTO>> response = controller.getAllAppointments();
+        when(appointmentService.getAppointmentsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("DB error"));
+        ResponseEntity<List<AppointmentDTO>> response = controller.getAllAppointments(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
@@ -124,6 +126,54 @@ class RestAppointmentControllerUnitTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    @Test
+    void createAppointments_Created() {
+        List<BulkAppointmentResultDTO> results = List.of(
+                new BulkAppointmentResultDTO(0, BulkAppointmentResultDTO.Status.CREATED, 10L, null),
+                new BulkAppointmentResultDTO(1, BulkAppointmentResultDTO.Status.CREATED, 11L, null));
+        when(appointmentService.createAppointments(any())).thenReturn(results);
+
+        ResponseEntity<List<BulkAppointmentResultDTO>> response = controller.createAppointments(
+                List.of(appointmentDTO, appointmentDTO));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void createAppointments_Conflict() {
+        when(appointmentService.createAppointments(any())).thenReturn(List.of(
+                new BulkAppointmentResultDTO(0, BulkAppointmentResultDTO.Status.VALID, null, null),
+                new BulkAppointmentResultDTO(1, BulkAppointmentResultDTO.Status.CONFLICT, null, "overlap")));
+
+        ResponseEntity<List<BulkAppointmentResultDTO>> response = controller.createAppointments(
+                List.of(appointmentDTO, appointmentDTO));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void createAppointments_BadRequestWhenAnyItemIsInvalid() {
+        when(appointmentService.createAppointments(any())).thenReturn(List.of(
+                new BulkAppointmentResultDTO(0, BulkAppointmentResultDTO.Status.CONFLICT, null, "overlap"),
+                new BulkAppointmentResultDTO(1, BulkAppointmentResultDTO.Status.INVALID, null, "missing")));
+
+        ResponseEntity<List<BulkAppointmentResultDTO>> response = controller.createAppointments(
+                List.of(appointmentDTO, appointmentDTO));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+    }
+
+    @Test
+    void createAppointments_BadRequestWhenEmpty() {
+        when(appointmentService.createAppointments(any())).thenThrow(new IllegalArgumentException());
+
+        ResponseEntity<List<BulkAppointmentResultDTO>> response = controller.createAppointments(List.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void updateAppointment_Success() {
         when(appointmentService.getAppointmentById(1L)).thenReturn(appointment);
@@ -19,6 +19,7 @@ import org.thevoids.oncologic.dto.entity.AppointmentTypeDTO;
 import org.thevoids.oncologic.entity.AppointmentType;
 import org.thevoids.oncologic.mapper.AppointmentTypeMapper;
 import org.thevoids.oncologic.service.AppointmentTypeService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestAppointmentTypeControllerUnitTest {
 
@@ -51,10 +52,10 @@ class RestAppointmentTypeControllerUnitTest {
     @SuppressWarnings("null")
     @Test
     void getAllAppointmentTypes_Success() {
-        when(appointmentTypeService.getAllAppointmentTypes()).thenReturn(Arrays.asList(type));
+        when(appointmentTypeService.getAppointmentTypesAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(type));
         when(appointmentTypeMapper.toAppointmentTypeDTO(type)).thenReturn(typeDTO);
 
-        ResponseEntity<List<AppointmentTypeDTO>> response = controller.getAllAppointmentTypes();
+        ResponseEntity<List<AppointmentTypeDTO>> response = controller.getAllAppointmentTypes(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -63,8 +64,8 @@ class RestAppointmentTypeControllerUnitTest {
 
     @Test
     void getAllAppointmentTypes_InternalServerError() {
-        when(appointmentTypeService.getAllAppointmentTypes()).thenThrow(new RuntimeException());
-        ResponseEntity<List<AppointmentTypeDTO>> response = controller.getAllAppointmentTypes();
+        when(appointmentTypeService.getAppointmentTypesAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException());
+        ResponseEntity<List<AppointmentTypeDTO>> response = controller.getAllAppointmentTypes(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
@@ -5,31 +5,31 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.thevoids.oncologic.dto.custom.AuthResponseDTO;
 import org.thevoids.oncologic.dto.entity.AuthRequest;
+import org.thevoids.oncologic.dto.entity.PermissionDTO;
 import org.thevoids.oncologic.dto.entity.RoleWithPermissionsDTO;
+import org.thevoids.oncologic.service.AuthService;
 import org.thevoids.oncologic.service.impl.CustomUserDetailsServiceImpl;
 import org.thevoids.oncologic.utils.JwtService;
-import org.thevoids.oncologic.service.UserService;
-import org.thevoids.oncologic.service.AssignedRoles;
-import org.thevoids.oncologic.service.RolePermissionService;
-import org.thevoids.oncologic.entity.User;
-import org.thevoids.oncologic.entity.Role;
-import org.thevoids.oncologic.entity.Permission;
 
-import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 class RestAuthControllerUnitTest {
@@ -44,13 +44,10 @@ class RestAuthControllerUnitTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private UserService userService;
+    private AuthService authService;
 
-    @Mock
-    private AssignedRoles assignedRolesService;
-
-    @Mock
-    private RolePermissionService rolePermissionService;
+    @Spy
+    private Executor passwordHashingExecutor = new SyncTaskExecutor();
 
     @InjectMocks
     private RestAuthController restAuthController;
@@ -68,26 +65,18 @@ class RestAuthControllerUnitTest {
         request.setPassword("password");
 
         UserDetails userDetails = mock(UserDetails.class);
-        User mockUser = new User();
-        mockUser.setUserId(1L);
-        mockUser.setEmail("testuser");
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, List.of());
 
-        Role mockRole = new Role();
-        mockRole.setRoleId(1L);
-        mockRole.setRoleName("ADMIN");
+        RoleWithPermissionsDTO roleDTO = new RoleWithPermissionsDTO(1L, "ADMIN",
+                List.of(new PermissionDTO(1L, "READ_USERS")));
+        AuthResponseDTO expected = new AuthResponseDTO("mocked-jwt-token", "testuser", 1L, List.of(roleDTO));
 
-        Permission mockPermission = new Permission();
-        mockPermission.setPermissionId(1L);
-        mockPermission.setPermissionName("READ_USERS");
-
-        when(customUserDetailsServiceImpl.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(jwtService.generateToken(userDetails)).thenReturn("mocked-jwt-token");
-        when(userService.getUserByIdentification("testuser")).thenReturn(mockUser);
-        when(assignedRolesService.getRolesFromUser(1L)).thenReturn(Arrays.asList(mockRole));
-        when(rolePermissionService.getPermissionsFromRole(1L)).thenReturn(Arrays.asList(mockPermission));
+        when(authService.buildAuthResponse("testuser", "mocked-jwt-token")).thenReturn(expected);
 
         // Act
-        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request);
+        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request).join();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -106,11 +95,31 @@ class RestAuthControllerUnitTest {
         assertEquals("READ_USERS", role.getPermissions().get(0).getPermissionName());
 
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(customUserDetailsServiceImpl, times(1)).loadUserByUsername("testuser");
+        verify(customUserDetailsServiceImpl, never()).loadUserByUsername(anyString());
         verify(jwtService, times(1)).generateToken(userDetails);
-        verify(userService, times(1)).getUserByIdentification("testuser");
-        verify(assignedRolesService, times(1)).getRolesFromUser(1L);
-        verify(rolePermissionService, times(1)).getPermissionsFromRole(1L);
+        verify(authService, times(1)).buildAuthResponse("testuser", "mocked-jwt-token");
+    }
+
+    @Test
+    void login_AuthenticationWithoutUserDetailsPrincipal_LoadsUser() {
+        // Arrange
+        AuthRequest request = new AuthRequest();
+        request.setUsername("testuser");
+        request.setPassword("password");
+
+        UserDetails userDetails = mock(UserDetails.class);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
+        when(customUserDetailsServiceImpl.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(jwtService.generateToken(userDetails)).thenReturn("mocked-jwt-token");
+        when(authService.buildAuthResponse("testuser", "mocked-jwt-token"))
+                .thenReturn(new AuthResponseDTO("mocked-jwt-token", "testuser", 1L, List.of()));
+
+        // Act
+        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request).join();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(customUserDetailsServiceImpl, times(1)).loadUserByUsername("testuser");
     }
 
     @Test
@@ -124,16 +133,14 @@ class RestAuthControllerUnitTest {
                 .authenticate(any(UsernamePasswordAuthenticationToken.class));
 
         // Act
-        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request);
+        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request).join();
 
         // Assert
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(customUserDetailsServiceImpl, never()).loadUserByUsername(anyString());
         verify(jwtService, never()).generateToken(any(UserDetails.class));
-        verify(userService, never()).getUserByIdentification(anyString());
-        verify(assignedRolesService, never()).getRolesFromUser(anyLong());
-        verify(rolePermissionService, never()).getPermissionsFromRole(anyLong());
+        verify(authService, never()).buildAuthResponse(anyString(), anyString());
     }
 
     @Test
@@ -147,15 +154,30 @@ class RestAuthControllerUnitTest {
                 .authenticate(any(UsernamePasswordAuthenticationToken.class));
 
         // Act
-        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request);
+        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request).join();
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(customUserDetailsServiceImpl, never()).loadUserByUsername(anyString());
         verify(jwtService, never()).generateToken(any(UserDetails.class));
-        verify(userService, never()).getUserByIdentification(anyString());
-        verify(assignedRolesService, never()).getRolesFromUser(anyLong());
-        verify(rolePermissionService, never()).getPermissionsFromRole(anyLong());
+        verify(authService, never()).buildAuthResponse(anyString(), anyString());
+    }
+
+    @Test
+    void login_HashingPoolSaturated_ReturnsServiceUnavailable() {
+        // Arrange
+        AuthRequest request = new AuthRequest();
+        request.setUsername("testuser");
+        request.setPassword("password");
+
+        doThrow(new RejectedExecutionException("Queue full")).when(passwordHashingExecutor).execute(any(Runnable.class));
+
+        // Act
+        ResponseEntity<AuthResponseDTO> response = restAuthController.login(request).join();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        verify(authenticationManager, never()).authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
-}
\ No newline at end of file
+}
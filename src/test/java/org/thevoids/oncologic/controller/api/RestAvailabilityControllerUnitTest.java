@@ -0,0 +1,75 @@
+package org.thevoids.oncologic.controller.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.dto.custom.AvailableSlotDTO;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.service.AvailabilityService;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+class RestAvailabilityControllerUnitTest {
+
+    @InjectMocks
+    private RestAvailabilityController restAvailabilityController;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    private final Date from = new Date(0);
+    private final Date to = new Date(3_600_000L);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void findFreeSlots_ReturnsSlots() {
+        // Arrange
+        List<AvailableSlotDTO> slots = List.of(new AvailableSlotDTO(7L, 4L, 5L, from, new Date(1_800_000L)));
+        when(availabilityService.findFreeSlots(1L, 3L, from, to, 20)).thenReturn(slots);
+
+        // Act
+        ResponseEntity<List<AvailableSlotDTO>> response = restAvailabilityController.findFreeSlots(1L, 3L, from, to, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(slots, response.getBody());
+    }
+
+    @Test
+    void findFreeSlots_InvalidRange_ReturnsBadRequest() {
+        // Arrange
+        when(availabilityService.findFreeSlots(1L, 3L, to, from, 20))
+                .thenThrow(new IllegalArgumentException("from must be before to"));
+
+        // Act
+        ResponseEntity<List<AvailableSlotDTO>> response = restAvailabilityController.findFreeSlots(1L, 3L, to, from, 20);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void findFreeSlots_UnknownAppointmentType_ReturnsNotFound() {
+        // Arrange
+        when(availabilityService.findFreeSlots(1L, 99L, from, to, 20))
+                .thenThrow(new ResourceNotFoundException("Tipo de cita", "id", 99L));
+
+        // Act
+        ResponseEntity<List<AvailableSlotDTO>> response = restAvailabilityController.findFreeSlots(1L, 99L, from, to, 20);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -20,6 +20,7 @@ import org.thevoids.oncologic.dto.entity.ClinicAssignmentDTO;
 import org.thevoids.oncologic.entity.ClinicAssignment;
 import org.thevoids.oncologic.mapper.ClinicAssignmentMapper;
 import org.thevoids.oncologic.service.ClinicAssigmentService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestClinicAssignmentControllerUnitTest {
 
@@ -54,10 +55,10 @@ class RestClinicAssignmentControllerUnitTest {
     @SuppressWarnings("null")
     @Test
     void getAllClinicAssignments_Success() {
-        when(clinicAssigmentService.getAllClinicAssignments()).thenReturn(Arrays.asList(assignment));
+        when(clinicAssigmentService.getClinicAssignmentsAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(assignment));
         when(clinicAssignmentMapper.toClinicAssignmentDTO(assignment)).thenReturn(assignmentDTO);
 
-        ResponseEntity<List<ClinicAssignmentDTO>> response = controller.getAllClinicAssignments();
+        ResponseEntity<List<ClinicAssignmentDTO>> response = controller.getAllClinicAssignments(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -66,8 +67,8 @@ class RestClinicAssignmentControllerUnitTest {
 
     @Test
     void getAllClinicAssignments_InternalServerError() {
-        when(clinicAssigmentService.getAllClinicAssignments()).thenThrow(new RuntimeException());
-        ResponseEntity<List<ClinicAssignmentDTO>> response = controller.getAllClinicAssignments();
+        when(clinicAssigmentService.getClinicAssignmentsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException());
+        ResponseEntity<List<ClinicAssignmentDTO>> response = controller.getAllClinicAssignments(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
@@ -19,6 +19,7 @@ import org.thevoids.oncologic.dto.entity.ClinicDTO;
 import org.thevoids.oncologic.entity.Clinic;
 import org.thevoids.oncologic.mapper.ClinicMapper;
 import org.thevoids.oncologic.service.ClinicService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestClinicControllerUnitTest {
 
@@ -49,10 +50,10 @@ class RestClinicControllerUnitTest {
     @SuppressWarnings("null")
     @Test
     void getAllClinics_Success() {
-        when(clinicService.getAllClinics()).thenReturn(Arrays.asList(clinic));
+        when(clinicService.getClinicsAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(clinic));
         when(clinicMapper.toClinicDTO(clinic)).thenReturn(clinicDTO);
 
-        ResponseEntity<List<ClinicDTO>> response = controller.getAllClinics();
+        ResponseEntity<List<ClinicDTO>> response = controller.getAllClinics(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -61,8 +62,8 @@ class RestClinicControllerUnitTest {
 
     @Test
     void getAllClinics_InternalServerError() {
-        when(clinicService.getAllClinics()).thenThrow(new RuntimeException());
-        ResponseEntity<List<ClinicDTO>> response = controller.getAllClinics();
+        when(clinicService.getClinicsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException());
+        ResponseEntity<List<ClinicDTO>> response = controller.getAllClinics(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
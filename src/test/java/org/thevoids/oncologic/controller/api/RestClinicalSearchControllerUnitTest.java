@@ -0,0 +1,64 @@
+package org.thevoids.oncologic.controller.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.service.ClinicalSearchService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+class RestClinicalSearchControllerUnitTest {
+
+    @InjectMocks
+    private RestClinicalSearchController restClinicalSearchController;
+
+    @Mock
+    private ClinicalSearchService clinicalSearchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void search_ReturnsHits() {
+        // Arrange
+        List<ClinicalSearchHitDTO> hits = List.of(
+                new ClinicalSearchHitDTO(ClinicalRecordType.MEDICAL_HISTORY, 1L, 10L, 2.5));
+        when(clinicalSearchService.search("tamoxifeno", null, 20)).thenReturn(hits);
+
+        // Act
+        ResponseEntity<List<ClinicalSearchHitDTO>> response = restClinicalSearchController.search("tamoxifeno", null,
+                20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(hits, response.getBody());
+    }
+
+    @Test
+    void search_BlankQuery_ReturnsBadRequest() {
+        // Arrange
+        when(clinicalSearchService.search(" ", ClinicalRecordType.LAB, 20))
+                .thenThrow(new InvalidOperationException("Search query must contain at least one word"));
+
+        // Act
+        ResponseEntity<List<ClinicalSearchHitDTO>> response = restClinicalSearchController.search(" ",
+                ClinicalRecordType.LAB, 20);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
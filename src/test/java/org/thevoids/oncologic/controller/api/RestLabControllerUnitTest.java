@@ -1,11 +1,16 @@
 package org.thevoids.oncologic.controller.api;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -20,19 +25,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
-import org.springframework.core.io.Resource;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.thevoids.oncologic.attachment.AttachmentDerivative;
+import org.thevoids.oncologic.attachment.AttachmentPipeline;
+import org.thevoids.oncologic.dto.custom.BulkLabResultDTO;
 import org.thevoids.oncologic.dto.entity.LabDTO;
 import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.service.FileService;
+import org.thevoids.oncologic.service.LabIngestionService;
 import org.thevoids.oncologic.service.LabService;
+import org.thevoids.oncologic.utils.FileDownloader;
+import org.thevoids.oncologic.utils.KeysetPage;
+import org.thevoids.oncologic.utils.NdjsonExport;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -50,6 +67,15 @@ class RestLabControllerUnitTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private LabIngestionService labIngestionService;
+
+    @Mock
+    private AttachmentPipeline attachmentPipeline;
+
+    @Spy
+    private FileDownloader fileDownloader = new FileDownloader(100);
+
     private LabDTO testLab1;
     private LabDTO testLab2;
     private Date testDate;
@@ -86,10 +112,10 @@ class RestLabControllerUnitTest {
     @Test
     void testGetAllLabs_Success() {
         // Arrange
-        when(labService.getAllLabs()).thenReturn(Arrays.asList(testLab1, testLab2));
+        when(labService.getLabsAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(testLab1, testLab2));
 
         // Act
-        ResponseEntity<?> response = labController.getAllLabs(); // Assert
+        ResponseEntity<?> response = labController.getAllLabs(null, null); // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody() instanceof List);
@@ -101,13 +127,57 @@ class RestLabControllerUnitTest {
         assertEquals("X-Ray", ((LabDTO) labsRaw.get(1)).getTestType());
     }
 
+    @Test
+    void testGetAllLabs_WithCursor_ReturnsPageAndNextCursor() {
+        // Arrange
+        when(labService.getLabsAfter(0L, 2)).thenReturn(Arrays.asList(testLab1, testLab2));
+
+        // Act
+        ResponseEntity<List<LabDTO>> response = labController.getAllLabs(0L, 1);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(1L, response.getBody().get(0).getLabId());
+        assertEquals("1", response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+        verify(labService, never()).getAllLabs();
+    }
+
+    @Test
+    void testExportLabs_ReturnsNdjsonAttachmentWithoutReadingRowsUpFront() {
+        // Act
+        ResponseEntity<StreamingResponseBody> response = labController.exportLabs();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(NdjsonExport.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("attachment; filename=\"labs.ndjson\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertNotNull(response.getBody());
+        verify(labService, never()).forEachLabForExport(any());
+    }
+
+    @Test
+    void testGetAllLabs_LastPage_HasNoNextCursor() {
+        // Arrange
+        when(labService.getLabsAfter(1L, 51)).thenReturn(Arrays.asList(testLab2));
+
+        // Act
+        ResponseEntity<List<LabDTO>> response = labController.getAllLabs(1L, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertNull(response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void testGetAllLabs_Failure() {
         // Arrange
-        when(labService.getAllLabs()).thenThrow(new RuntimeException("Database error"));
+        when(labService.getLabsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Database error"));
 
         // Act
-        ResponseEntity<?> response = labController.getAllLabs();
+        ResponseEntity<?> response = labController.getAllLabs(null, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -283,8 +353,8 @@ class RestLabControllerUnitTest {
 
     @Test
     void testGetAllLabs_RuntimeException() {
-        when(labService.getAllLabs()).thenThrow(new RuntimeException("Unexpected error"));
-        ResponseEntity<?> response = labController.getAllLabs();
+        when(labService.getLabsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Unexpected error"));
+        ResponseEntity<?> response = labController.getAllLabs(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -565,13 +635,17 @@ class RestLabControllerUnitTest {
         String fullPath = tempFile.toString();
 
         when(fileService.getFullPath(expectedFilePath)).thenReturn(fullPath);
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<Resource> response = labController.serveFile(filename);
+        labController.serveFile(filename, new MockHttpServletRequest("GET", "/api/v1/labs/files/" + filename),
+                response);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("test content", response.getContentAsString());
+        assertEquals("application/pdf", response.getContentType());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
         verify(fileService).getFullPath(expectedFilePath);
 
         // Cleanup
@@ -586,12 +660,14 @@ class RestLabControllerUnitTest {
         String fullPath = "/uploads/labs/nonexistent-file.pdf";
 
         when(fileService.getFullPath(expectedFilePath)).thenReturn(fullPath);
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<Resource> response = labController.serveFile(filename);
+        labController.serveFile(filename, new MockHttpServletRequest("GET", "/api/v1/labs/files/" + filename),
+                response);
 
         // Assert
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
         verify(fileService).getFullPath(expectedFilePath);
     }
 
@@ -602,15 +678,117 @@ class RestLabControllerUnitTest {
         String expectedFilePath = "labs/" + filename;
 
         when(fileService.getFullPath(expectedFilePath)).thenThrow(new RuntimeException("IO Error"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<Resource> response = labController.serveFile(filename);
+        labController.serveFile(filename, new MockHttpServletRequest("GET", "/api/v1/labs/files/" + filename),
+                response);
 
         // Assert
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatus());
         verify(fileService).getFullPath(expectedFilePath);
     }
 
+    @Test
+    void testServeFile_RemoteStorage_RedirectsToTheDownloadUrl() {
+        // Arrange
+        String filename = "test-file.pdf";
+        URI url = URI.create("https://storage.example.com/oncologic/labs/ab/cd/abcd?X-Amz-Signature=0f");
+        when(fileService.getDownloadUrl("labs/" + filename, filename)).thenReturn(Optional.of(url));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        labController.serveFile(filename, new MockHttpServletRequest("GET", "/api/v1/labs/files/" + filename),
+                response);
+
+        // Assert
+        assertEquals(HttpStatus.FOUND.value(), response.getStatus());
+        assertEquals(url.toString(), response.getHeader(HttpHeaders.LOCATION));
+        assertEquals("no-store", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        verify(fileService, never()).getFullPath(any());
+    }
+
+    @Test
+    void testServeFile_StorageWithoutLocalFiles_StreamsTheContent() throws IOException {
+        // Arrange
+        String filename = "test-file.pdf";
+        when(fileService.openFile("labs/" + filename))
+                .thenReturn(new ByteArrayInputStream("test content".getBytes(StandardCharsets.UTF_8)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        labController.serveFile(filename, new MockHttpServletRequest("GET", "/api/v1/labs/files/" + filename),
+                response);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("test content", response.getContentAsString());
+        assertEquals("application/pdf", response.getContentType());
+    }
+
+    @Test
+    void serveAttachmentDerivative_Processed_ServesTheFile() throws IOException {
+        // Arrange
+        Path thumbnail = Files.createTempFile("thumbnail", ".jpg");
+        Files.write(thumbnail, new byte[] { 1, 2, 3 });
+        testLab1.setAttachment("labs/scan.png");
+        String derived = "labs/scan.png.d/thumbnail.jpg";
+        when(labService.getLabById(1L)).thenReturn(testLab1);
+        when(attachmentPipeline.find(testLab1, AttachmentDerivative.THUMBNAIL)).thenReturn(Optional.of(derived));
+        when(fileService.getFullPath(derived)).thenReturn(thumbnail.toString());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        labController.serveAttachmentDerivative(1L, "thumbnail",
+                new MockHttpServletRequest("GET", "/api/v1/labs/1/attachment/thumbnail"), response);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals(3, response.getContentAsByteArray().length);
+
+        // Cleanup
+        Files.deleteIfExists(thumbnail);
+    }
+
+    @Test
+    void serveAttachmentDerivative_StillProcessing_ReturnsAccepted() throws IOException {
+        // Arrange
+        when(labService.getLabById(1L)).thenReturn(testLab1);
+        when(attachmentPipeline.find(testLab1, AttachmentDerivative.TEXT)).thenReturn(Optional.empty());
+        when(attachmentPipeline.isPending(testLab1)).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        labController.serveAttachmentDerivative(1L, "text",
+                new MockHttpServletRequest("GET", "/api/v1/labs/1/attachment/text"), response);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED.value(), response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void serveAttachmentDerivative_MissingOrUnknown_ReturnsNotFound() throws IOException {
+        // Arrange
+        when(labService.getLabById(1L)).thenReturn(testLab1);
+        when(attachmentPipeline.find(testLab1, AttachmentDerivative.PREVIEW)).thenReturn(Optional.empty());
+        when(labService.getLabById(99L)).thenThrow(new ResourceNotFoundException("Lab", "id", 99L));
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        MockHttpServletResponse unknown = new MockHttpServletResponse();
+        MockHttpServletResponse noLab = new MockHttpServletResponse();
+
+        // Act
+        labController.serveAttachmentDerivative(1L, "preview", new MockHttpServletRequest(), missing);
+        labController.serveAttachmentDerivative(1L, "original", new MockHttpServletRequest(), unknown);
+        labController.serveAttachmentDerivative(99L, "preview", new MockHttpServletRequest(), noLab);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND.value(), missing.getStatus());
+        assertEquals(HttpStatus.NOT_FOUND.value(), unknown.getStatus());
+        assertEquals(HttpStatus.NOT_FOUND.value(), noLab.getStatus());
+    }
+
     @Test
     void testAssignLab_NotFound() {
         // Arrange
@@ -642,4 +820,66 @@ class RestLabControllerUnitTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void ingestLabs_ReturnsPerRowResults() {
+        // Arrange
+        List<BulkLabResultDTO> results = List.of(
+                new BulkLabResultDTO(0, BulkLabResultDTO.Status.CREATED, 10L, null),
+                new BulkLabResultDTO(1, BulkLabResultDTO.Status.FAILED, null, "Patient with id 9 does not exist"));
+        when(labIngestionService.ingestLabs(any())).thenReturn(results);
+
+        // Act
+        ResponseEntity<List<BulkLabResultDTO>> response = labController.ingestLabs(List.of(testLab1, testLab2));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void ingestLabs_EmptyBatch_ReturnsBadRequest() {
+        // Arrange
+        when(labIngestionService.ingestLabs(any())).thenThrow(new IllegalArgumentException());
+
+        // Act
+        ResponseEntity<List<BulkLabResultDTO>> response = labController.ingestLabs(List.of());
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void ingestLabsCsv_ReadsBodyAsUtf8ByDefault() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("text/csv");
+        request.setContent("testType\nEcografía\n".getBytes(StandardCharsets.UTF_8));
+        when(labIngestionService.ingestLabsCsv(any())).thenAnswer(invocation -> {
+            BufferedReader reader = new BufferedReader(invocation.getArgument(0));
+            reader.readLine();
+            return List.of(new BulkLabResultDTO(0, BulkLabResultDTO.Status.FAILED, null, reader.readLine()));
+        });
+
+        // Act
+        ResponseEntity<List<BulkLabResultDTO>> response = labController.ingestLabsCsv(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Ecografía", response.getBody().get(0).getMessage());
+    }
+
+    @Test
+    void ingestLabsCsv_UnknownColumn_ReturnsBadRequest() throws IOException {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("color\nred\n".getBytes(StandardCharsets.UTF_8));
+        when(labIngestionService.ingestLabsCsv(any())).thenThrow(new IllegalArgumentException());
+
+        // Act
+        ResponseEntity<List<BulkLabResultDTO>> response = labController.ingestLabsCsv(request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
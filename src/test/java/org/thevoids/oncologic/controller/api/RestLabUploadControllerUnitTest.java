@@ -0,0 +1,161 @@
+package org.thevoids.oncologic.controller.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.thevoids.oncologic.dto.custom.LabUploadDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.exception.UploadOffsetMismatchException;
+import org.thevoids.oncologic.service.LabUploadService;
+
+class RestLabUploadControllerUnitTest {
+
+    private static final String UPLOAD_ID = "6f1c3a52-1d8e-4e8a-9a57-0c2f1b6d9e11";
+
+    @InjectMocks
+    private RestLabUploadController restLabUploadController;
+
+    @Mock
+    private LabUploadService labUploadService;
+
+    private final Principal principal = new UsernamePasswordAuthenticationToken("tecnico", null);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void startUpload_ReturnsCreatedWithLocation() {
+        // Arrange
+        LabUploadDTO request = new LabUploadDTO(null, 7L, "scan.pdf", "application/pdf", 50_000_000, 0, null);
+        LabUploadDTO started = new LabUploadDTO(UPLOAD_ID, 7L, "scan.pdf", "application/pdf", 50_000_000, 0, null);
+        when(labUploadService.startUpload(request, "tecnico")).thenReturn(started);
+
+        // Act
+        ResponseEntity<LabUploadDTO> response = restLabUploadController.startUpload(request, principal);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("/api/v1/labs/uploads/" + UPLOAD_ID, response.getHeaders().getLocation().toString());
+        assertEquals(started, response.getBody());
+    }
+
+    @Test
+    void startUpload_InvalidFile_ReturnsBadRequest() {
+        // Arrange
+        LabUploadDTO request = new LabUploadDTO(null, 7L, "scan.sh", "application/x-sh", 10, 0, null);
+        when(labUploadService.startUpload(request, "tecnico")).thenThrow(new InvalidOperationException("Invalid file type"));
+
+        // Act
+        ResponseEntity<LabUploadDTO> response = restLabUploadController.startUpload(request, principal);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void appendChunk_WritesTheRequestBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/labs/uploads/" + UPLOAD_ID);
+        request.setContent(new byte[] { 1, 2, 3 });
+        LabUploadDTO progress = new LabUploadDTO(UPLOAD_ID, 7L, "scan.pdf", "application/pdf", 10, 3, null);
+        when(labUploadService.appendChunk(eq(UPLOAD_ID), eq(0L), any(), eq("tecnico"))).thenReturn(progress);
+
+        // Act
+        ResponseEntity<LabUploadDTO> response = restLabUploadController.appendChunk(UPLOAD_ID, 0, request, principal);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getOffset());
+        verify(labUploadService).appendChunk(UPLOAD_ID, 0L, request.getInputStream(), "tecnico");
+    }
+
+    @Test
+    void appendChunk_WrongOffset_ReturnsConflictWithTheCurrentOffset() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/labs/uploads/" + UPLOAD_ID);
+        LabUploadDTO current = new LabUploadDTO(UPLOAD_ID, 7L, "scan.pdf", "application/pdf", 10, 4, null);
+        when(labUploadService.appendChunk(eq(UPLOAD_ID), eq(8L), any(), eq("tecnico")))
+                .thenThrow(new UploadOffsetMismatchException(4));
+        when(labUploadService.getUpload(UPLOAD_ID, "tecnico")).thenReturn(current);
+
+        // Act
+        ResponseEntity<LabUploadDTO> response = restLabUploadController.appendChunk(UPLOAD_ID, 8, request, principal);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(current, response.getBody());
+    }
+
+    @Test
+    void getUpload_Unknown_ReturnsNotFound() {
+        // Arrange
+        when(labUploadService.getUpload(UPLOAD_ID, "tecnico"))
+                .thenThrow(new ResourceNotFoundException("Upload", "id", UPLOAD_ID));
+
+        // Act
+        ResponseEntity<LabUploadDTO> response = restLabUploadController.getUpload(UPLOAD_ID, principal);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void completeUpload_ReturnsTheUpdatedLab() {
+        // Arrange
+        LabDTO lab = new LabDTO();
+        lab.setLabId(7L);
+        when(labUploadService.completeUpload(UPLOAD_ID, "tecnico")).thenReturn(lab);
+
+        // Act
+        ResponseEntity<?> response = restLabUploadController.completeUpload(UPLOAD_ID, principal);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(lab, response.getBody());
+    }
+
+    @Test
+    void completeUpload_MissingBytes_ReturnsConflict() {
+        // Arrange
+        LabUploadDTO current = new LabUploadDTO(UPLOAD_ID, 7L, "scan.pdf", "application/pdf", 10, 4, null);
+        when(labUploadService.completeUpload(UPLOAD_ID, "tecnico")).thenThrow(new UploadOffsetMismatchException(4));
+        when(labUploadService.getUpload(UPLOAD_ID, "tecnico")).thenReturn(current);
+
+        // Act
+        ResponseEntity<?> response = restLabUploadController.completeUpload(UPLOAD_ID, principal);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(current, response.getBody());
+    }
+
+    @Test
+    void cancelUpload_ReturnsNoContent() {
+        // Act
+        ResponseEntity<Void> response = restLabUploadController.cancelUpload(UPLOAD_ID, principal);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(labUploadService).cancelUpload(UPLOAD_ID, "tecnico");
+    }
+}
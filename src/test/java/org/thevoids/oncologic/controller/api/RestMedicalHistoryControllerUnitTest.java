@@ -25,6 +25,7 @@ import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
 import org.thevoids.oncologic.service.MedicalHistoryService;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestMedicalHistoryControllerUnitTest {
 
@@ -66,10 +67,10 @@ class RestMedicalHistoryControllerUnitTest {
     @Test
     void testGetAllMedicalHistories_Success() {
         // Arrange
-        when(medicalHistoryService.getAllMedicalHistories())
+        when(medicalHistoryService.getMedicalHistoriesAfter(null, KeysetPage.fetchSize(null)))
                 .thenReturn(Arrays.asList(testMedicalHistory1, testMedicalHistory2));
         // Act
-        ResponseEntity<List<MedicalHistoryDTO>> response = medicalHistoryController.getAllMedicalHistories();
+        ResponseEntity<List<MedicalHistoryDTO>> response = medicalHistoryController.getAllMedicalHistories(null, null);
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -82,9 +83,9 @@ class RestMedicalHistoryControllerUnitTest {
     @Test
     void testGetAllMedicalHistories_Failure() {
         // Arrange
-        when(medicalHistoryService.getAllMedicalHistories()).thenThrow(new RuntimeException("Database error"));
+        when(medicalHistoryService.getMedicalHistoriesAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Database error"));
         // Act
-        ResponseEntity<List<MedicalHistoryDTO>> response = medicalHistoryController.getAllMedicalHistories();
+        ResponseEntity<List<MedicalHistoryDTO>> response = medicalHistoryController.getAllMedicalHistories(null, null);
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
@@ -226,8 +227,8 @@ class RestMedicalHistoryControllerUnitTest {
 
     @Test
     void testGetAllMedicalHistories_RuntimeException() {
-        when(medicalHistoryService.getAllMedicalHistories()).thenThrow(new RuntimeException("Unexpected error"));
-        ResponseEntity<List<MedicalHistoryDTO>> response = medicalHistoryController.getAllMedicalHistories();
+        when(medicalHistoryService.getMedicalHistoriesAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Unexpected error"));
+        ResponseEntity<List<MedicalHistoryDTO>> response = medicalHistoryController.getAllMedicalHistories(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -15,10 +15,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.dto.custom.PatientChartDTO;
 import org.thevoids.oncologic.dto.entity.PatientDTO;
 import org.thevoids.oncologic.service.PatientService;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestPatientControllerUnitTest {
 
@@ -51,8 +53,8 @@ class RestPatientControllerUnitTest {
 
     @Test
     void testGetAllPatients_Success() {
-        when(patientService.getAllPatients()).thenReturn(Arrays.asList(testPatient1, testPatient2));
-        ResponseEntity<List<PatientDTO>> response = patientController.getAllPatients();
+        when(patientService.getPatientsAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(testPatient1, testPatient2));
+        ResponseEntity<List<PatientDTO>> response = patientController.getAllPatients(null, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         List<PatientDTO> patients = response.getBody();
@@ -63,8 +65,8 @@ class RestPatientControllerUnitTest {
 
     @Test
     void testGetAllPatients_Failure() {
-        when(patientService.getAllPatients()).thenThrow(new RuntimeException("Database error"));
-        ResponseEntity<List<PatientDTO>> response = patientController.getAllPatients();
+        when(patientService.getPatientsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Database error"));
+        ResponseEntity<List<PatientDTO>> response = patientController.getAllPatients(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -94,6 +96,24 @@ class RestPatientControllerUnitTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
 
+    @Test
+    void testGetPatientChart_Success() {
+        PatientChartDTO chart = new PatientChartDTO(testPatient1, List.of(), List.of(), List.of());
+        when(patientService.getPatientChart(1L, 10, 5, 3)).thenReturn(chart);
+        ResponseEntity<PatientChartDTO> response = patientController.getPatientChart(1L, 10, 5, 3);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(chart, response.getBody());
+    }
+
+    @Test
+    void testGetPatientChart_NotFound() {
+        when(patientService.getPatientChart(1L, 10, 10, 10))
+                .thenThrow(new ResourceNotFoundException("Patient", "id", 1L));
+        ResponseEntity<PatientChartDTO> response = patientController.getPatientChart(1L, 10, 10, 10);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     @Test
     void testCreatePatient_Success() {
         when(patientService.createPatient(any(PatientDTO.class))).thenReturn(testPatient1);
@@ -177,8 +197,8 @@ class RestPatientControllerUnitTest {
 
     @Test
     void testGetAllPatients_RuntimeException() {
-        when(patientService.getAllPatients()).thenThrow(new RuntimeException("Unexpected error"));
-        ResponseEntity<List<PatientDTO>> response = patientController.getAllPatients();
+        when(patientService.getPatientsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Unexpected error"));
+        ResponseEntity<List<PatientDTO>> response = patientController.getAllPatients(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -14,6 +14,7 @@ import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.mapper.PermissionMapper;
 import org.thevoids.oncologic.service.PermissionService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import java.util.Arrays;
 import java.util.List;
@@ -61,12 +62,12 @@ class RestPermissionControllerUnitTest {
         permissionDTO2.setPermissionId(2L);
         permissionDTO2.setPermissionName("EDIT_USERS");
 
-        when(permissionService.getAllPermissions()).thenReturn(permissions);
+        when(permissionService.getPermissionsAfter(null, KeysetPage.fetchSize(null))).thenReturn(permissions);
         when(permissionMapper.toPermissionDTO(permission1)).thenReturn(permissionDTO1);
         when(permissionMapper.toPermissionDTO(permission2)).thenReturn(permissionDTO2);
 
         // Act
-        ResponseEntity<List<PermissionDTO>> response = restPermissionController.getAllPermissions();
+        ResponseEntity<List<PermissionDTO>> response = restPermissionController.getAllPermissions(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -76,20 +77,20 @@ class RestPermissionControllerUnitTest {
         assertEquals("VIEW_USERS", permissionDTOs.get(0).getPermissionName());
         assertEquals("EDIT_USERS", permissionDTOs.get(1).getPermissionName());
         
-        verify(permissionService, times(1)).getAllPermissions();
+        verify(permissionService, times(1)).getPermissionsAfter(null, KeysetPage.fetchSize(null));
     }
 
     @Test
     void getAllPermissions_ReturnsError() {
         // Arrange
-        when(permissionService.getAllPermissions()).thenThrow(new RuntimeException("Error al recuperar permisos"));
+        when(permissionService.getPermissionsAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Error al recuperar permisos"));
 
         // Act
-        ResponseEntity<List<PermissionDTO>> response = restPermissionController.getAllPermissions();
+        ResponseEntity<List<PermissionDTO>> response = restPermissionController.getAllPermissions(null, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(permissionService, times(1)).getAllPermissions();
+        verify(permissionService, times(1)).getPermissionsAfter(null, KeysetPage.fetchSize(null));
     }
 
     @Test
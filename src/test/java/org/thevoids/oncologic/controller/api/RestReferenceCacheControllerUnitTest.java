@@ -0,0 +1,65 @@
+package org.thevoids.oncologic.controller.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.cache.BoundedTtlCache;
+import org.thevoids.oncologic.cache.ReferenceCaches;
+import org.thevoids.oncologic.dto.custom.ReferenceCacheStatsDTO;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class RestReferenceCacheControllerUnitTest {
+
+    @InjectMocks
+    private RestReferenceCacheController restReferenceCacheController;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getStats_ReturnsCountersAndHitRatePerCache() {
+        // Arrange
+        when(cacheManager.getCache(anyString()))
+                .thenAnswer(invocation -> new BoundedTtlCache(invocation.getArgument(0), 10, Duration.ofMinutes(1)));
+        BoundedTtlCache roles = new BoundedTtlCache(ReferenceCaches.ROLES, 10, Duration.ofMinutes(1));
+        roles.put("all", List.of());
+        roles.get("all");
+        roles.get("all");
+        roles.get("all");
+        roles.get(1L);
+        when(cacheManager.getCache(ReferenceCaches.ROLES)).thenReturn(roles);
+
+        // Act
+        ResponseEntity<List<ReferenceCacheStatsDTO>> response = restReferenceCacheController.getStats();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<ReferenceCacheStatsDTO> stats = response.getBody();
+        assertNotNull(stats);
+        assertEquals(ReferenceCaches.ALL.size(), stats.size());
+        ReferenceCacheStatsDTO roleStats = stats.get(ReferenceCaches.ALL.indexOf(ReferenceCaches.ROLES));
+        assertEquals(ReferenceCaches.ROLES, roleStats.getName());
+        assertEquals(3L, roleStats.getHits());
+        assertEquals(1L, roleStats.getMisses());
+        assertEquals(1, roleStats.getSize());
+        assertEquals(0.75, roleStats.getHitRate(), 1e-9);
+        assertEquals(0.0, stats.get(0).getHitRate(), 1e-9);
+    }
+}
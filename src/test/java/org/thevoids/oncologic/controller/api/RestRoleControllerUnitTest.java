@@ -31,6 +31,7 @@ import org.thevoids.oncologic.repository.RoleRepository;
 import org.thevoids.oncologic.mapper.PermissionMapper;
 import org.thevoids.oncologic.service.RoleService;
 import org.thevoids.oncologic.service.RolePermissionService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestRoleControllerUnitTest {
 
@@ -87,12 +88,12 @@ class RestRoleControllerUnitTest {
             new RoleDTO(1L, "Admin"),
             new RoleDTO(2L, "User")
         );
-        when(roleService.getAllRoles()).thenReturn(Arrays.asList(adminRole, userRole));
+        when(roleService.getRolesAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(adminRole, userRole));
         when(roleMapper.toRoleDTO(adminRole)).thenReturn(expectedRoles.get(0));
         when(roleMapper.toRoleDTO(userRole)).thenReturn(expectedRoles.get(1));
 
         // Act
-        ResponseEntity<List<RoleDTO>> response = restRoleController.getAllRoles();
+        ResponseEntity<List<RoleDTO>> response = restRoleController.getAllRoles(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -106,10 +107,10 @@ class RestRoleControllerUnitTest {
     @Test
     void testGetAllRoles_Failure() {
         // Arrange
-        when(roleService.getAllRoles()).thenThrow(new RuntimeException("Database error"));
+        when(roleService.getRolesAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Database error"));
 
         // Act
-        ResponseEntity<List<RoleDTO>> response = restRoleController.getAllRoles();
+        ResponseEntity<List<RoleDTO>> response = restRoleController.getAllRoles(null, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -119,7 +120,7 @@ class RestRoleControllerUnitTest {
     void testGetRoleById_Success() {
         // Arrange
         RoleWithPermissionsDTO expectedRole = new RoleWithPermissionsDTO(1L, "Admin", new ArrayList<>());
-        when(roleService.getRole(1L)).thenReturn(adminRole);
+        when(roleService.getRoleWithPermissions(1L)).thenReturn(adminRole);
         when(roleMapper.toRoleWithPermissionsDTO(adminRole)).thenReturn(expectedRole);
 
         // Act
@@ -136,7 +137,7 @@ class RestRoleControllerUnitTest {
     @Test
     void testGetRoleById_NotFound() {
         // Arrange
-        when(roleService.getRole(1L)).thenThrow(new ResourceNotFoundException("Rol", "id", 1L));
+        when(roleService.getRoleWithPermissions(1L)).thenThrow(new ResourceNotFoundException("Rol", "id", 1L));
 
         // Act
         ResponseEntity<RoleWithPermissionsDTO> response = restRoleController.getRoleById(1L);
@@ -148,7 +149,7 @@ class RestRoleControllerUnitTest {
     @Test   
     void testGetRoleById_InternalServerError_ReturnsError() {
         // Arrange
-        when(roleService.getRole(1L))
+        when(roleService.getRoleWithPermissions(1L))
             .thenThrow(new RuntimeException("Error interno del servidor"));
 
         // Act
@@ -313,7 +314,7 @@ class RestRoleControllerUnitTest {
         when(permissionRepository.existsById(permissionId)).thenReturn(true);
         when(roleRepository.existsById(roleId)).thenReturn(true);
         when(rolePermissionRepository.existsByRoleIdAndPermissionId(roleId, permissionId)).thenReturn(false);
-        when(roleService.getRole(roleId)).thenReturn(adminRole);
+        when(roleService.getRoleWithPermissions(roleId)).thenReturn(adminRole);
         when(roleMapper.toRoleWithPermissionsDTO(adminRole)).thenReturn(expectedRole);
 
         // Act
@@ -385,7 +386,7 @@ class RestRoleControllerUnitTest {
         Long roleId = 1L;
         Long permissionId = 1L;
         RoleWithPermissionsDTO expectedRole = new RoleWithPermissionsDTO(1L, "Admin", new ArrayList<>());
-        when(roleService.getRole(roleId)).thenReturn(adminRole);
+        when(roleService.getRoleWithPermissions(roleId)).thenReturn(adminRole);
         when(roleMapper.toRoleWithPermissionsDTO(adminRole)).thenReturn(expectedRole);
 
         // Act
@@ -405,7 +406,7 @@ class RestRoleControllerUnitTest {
         // Arrange
         Long roleId = 1L;
         Long permissionId = 1L;
-        when(roleService.getRole(roleId)).thenThrow(new ResourceNotFoundException("Rol", "id", roleId));
+        when(roleService.getRoleWithPermissions(roleId)).thenThrow(new ResourceNotFoundException("Rol", "id", roleId));
 
         // Act
         ResponseEntity<RoleWithPermissionsDTO> response = 
@@ -19,6 +19,7 @@ import org.thevoids.oncologic.dto.entity.ScheduleDTO;
 import org.thevoids.oncologic.service.ScheduleService;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestScheduleControllerUnitTest {
 
@@ -42,8 +43,8 @@ class RestScheduleControllerUnitTest {
 
     @Test
     void testGetAllSchedules_Success() {
-        when(scheduleService.getAllSchedules()).thenReturn(Arrays.asList(testSchedule1, testSchedule2));
-        ResponseEntity<List<ScheduleDTO>> response = scheduleController.getAllSchedules();
+        when(scheduleService.getSchedulesAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(testSchedule1, testSchedule2));
+        ResponseEntity<List<ScheduleDTO>> response = scheduleController.getAllSchedules(null, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         List<ScheduleDTO> schedules = response.getBody();
@@ -54,8 +55,8 @@ class RestScheduleControllerUnitTest {
 
     @Test
     void testGetAllSchedules_Failure() {
-        when(scheduleService.getAllSchedules()).thenThrow(new RuntimeException("Database error"));
-        ResponseEntity<List<ScheduleDTO>> response = scheduleController.getAllSchedules();
+        when(scheduleService.getSchedulesAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Database error"));
+        ResponseEntity<List<ScheduleDTO>> response = scheduleController.getAllSchedules(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -165,8 +166,8 @@ class RestScheduleControllerUnitTest {
 
     @Test
     void testGetAllSchedules_RuntimeException() {
-        when(scheduleService.getAllSchedules()).thenThrow(new RuntimeException("Unexpected error"));
-        ResponseEntity<List<ScheduleDTO>> response = scheduleController.getAllSchedules();
+        when(scheduleService.getSchedulesAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Unexpected error"));
+        ResponseEntity<List<ScheduleDTO>> response = scheduleController.getAllSchedules(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
@@ -23,6 +23,7 @@ import org.thevoids.oncologic.entity.Specialty;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.SpecialtyMapper;
 import org.thevoids.oncologic.service.SpecialtyService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestSpecialtyControllerUnitTest {
 
@@ -51,11 +52,11 @@ class RestSpecialtyControllerUnitTest {
         specialtyDTO.setSpecialtyId(1L);
         specialtyDTO.setSpecialtyName("Oncología");
 
-        when(specialtyService.getAllSpecialties()).thenReturn(List.of(specialty));
+        when(specialtyService.getSpecialtiesAfter(null, KeysetPage.fetchSize(null))).thenReturn(List.of(specialty));
         when(specialtyMapper.toSpecialtyDTO(specialty)).thenReturn(specialtyDTO);
 
         // Act
-        ResponseEntity<List<SpecialtyDTO>> response = restSpecialtyController.getAllSpecialties();
+        ResponseEntity<List<SpecialtyDTO>> response = restSpecialtyController.getAllSpecialties(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -63,7 +64,7 @@ class RestSpecialtyControllerUnitTest {
         assertNotNull(specialties);
         assertEquals(1, specialties.size());
         assertEquals("Oncología", specialties.get(0).getSpecialtyName());
-        verify(specialtyService, times(1)).getAllSpecialties();
+        verify(specialtyService, times(1)).getSpecialtiesAfter(null, KeysetPage.fetchSize(null));
     }
 
     @Test
@@ -20,6 +20,7 @@ import org.thevoids.oncologic.dto.entity.TaskDTO;
 import org.thevoids.oncologic.entity.Task;
 import org.thevoids.oncologic.mapper.TaskMapper;
 import org.thevoids.oncologic.service.TaskService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestTaskControllerUnitTest {
 
@@ -56,10 +57,10 @@ class RestTaskControllerUnitTest {
     @SuppressWarnings("null")
     @Test
     void getAllTasks_Success() {
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task));
+        when(taskService.getTasksAfter(null, KeysetPage.fetchSize(null))).thenReturn(Arrays.asList(task));
         when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
 
-        ResponseEntity<List<TaskDTO>> response = controller.getAllTasks();
+        ResponseEntity<List<TaskDTO>> response = controller.getAllTasks(null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
@@ -68,8 +69,8 @@ class RestTaskControllerUnitTest {
 
     @Test
     void getAllTasks_InternalServerError() {
-        when(taskService.getAllTasks()).thenThrow(new RuntimeException());
-        ResponseEntity<List<TaskDTO>> response = controller.getAllTasks();
+        when(taskService.getTasksAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException());
+        ResponseEntity<List<TaskDTO>> response = controller.getAllTasks(null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
@@ -0,0 +1,50 @@
+package org.thevoids.oncologic.controller.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.dto.custom.TokenCacheStatsDTO;
+import org.thevoids.oncologic.security.jwt.VerifiedTokenCache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
+
+class RestTokenCacheControllerUnitTest {
+
+    @InjectMocks
+    private RestTokenCacheController restTokenCacheController;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getStats_ReturnsCacheCounters() {
+        // Arrange
+        when(verifiedTokenCache.getHits()).thenReturn(10L);
+        when(verifiedTokenCache.getMisses()).thenReturn(3L);
+        when(verifiedTokenCache.getEvictions()).thenReturn(1L);
+        when(verifiedTokenCache.size()).thenReturn(2);
+
+        // Act
+        ResponseEntity<TokenCacheStatsDTO> response = restTokenCacheController.getStats();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        TokenCacheStatsDTO stats = response.getBody();
+        assertNotNull(stats);
+        assertEquals(10L, stats.getHits());
+        assertEquals(3L, stats.getMisses());
+        assertEquals(1L, stats.getEvictions());
+        assertEquals(2, stats.getSize());
+    }
+}
@@ -15,6 +15,7 @@ import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
 import org.thevoids.oncologic.dto.entity.UserDTO;
 import org.thevoids.oncologic.dto.entity.UserWithRolesDTO;
 import org.thevoids.oncologic.entity.AssignedRole;
@@ -26,6 +27,7 @@ import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
 import org.thevoids.oncologic.mapper.UserMapper;
 import org.thevoids.oncologic.service.UserService;
 import org.thevoids.oncologic.service.AssignedRoles;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -69,11 +71,11 @@ class RestUserControllerUnitTest {
         userDTO.setUserId(1L);
         userDTO.setFullName("John Doe");
 
-        when(userService.getAllUsers()).thenReturn(List.of(user));
+        when(userService.getUsersAfter(null, KeysetPage.fetchSize(null))).thenReturn(List.of(user));
         when(userMapper.toUserDTO(user)).thenReturn(userDTO);
 
         // Act
-        ResponseEntity<List<UserDTO>> response = restUserController.getAllUsers();
+        ResponseEntity<List<UserDTO>> response = restUserController.getAllUsers(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -81,20 +83,20 @@ class RestUserControllerUnitTest {
         assertNotNull(users);
         assertEquals(1, users.size());
         assertEquals("John Doe", users.get(0).getFullName());
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getUsersAfter(null, KeysetPage.fetchSize(null));
     }
 
     @Test
     void getAllUsers_ReturnsError() {
         // Arrange
-        when(userService.getAllUsers()).thenThrow(new RuntimeException("Error al recuperar los usuarios"));
+        when(userService.getUsersAfter(null, KeysetPage.fetchSize(null))).thenThrow(new RuntimeException("Error al recuperar los usuarios"));
 
         // Act
-        ResponseEntity<List<UserDTO>> response = restUserController.getAllUsers();
+        ResponseEntity<List<UserDTO>> response = restUserController.getAllUsers(null, null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getUsersAfter(null, KeysetPage.fetchSize(null));
     }
 
     @Test
@@ -172,7 +174,7 @@ class RestUserControllerUnitTest {
         userDTO.setUserId(userId);
         userDTO.setFullName("John Doe");
 
-        when(userService.getUserById(userId)).thenReturn(user);
+        when(userService.getUserWithRoles(userId)).thenReturn(user);
         when(userMapper.toUserWithRolesDTO(user)).thenReturn(userDTO);
 
         // Act
@@ -184,28 +186,28 @@ class RestUserControllerUnitTest {
         assertNotNull(retrievedUser);
         assertEquals(userId, retrievedUser.getUserId());
         assertEquals("John Doe", retrievedUser.getFullName());
-        verify(userService, times(1)).getUserById(userId);
+        verify(userService, times(1)).getUserWithRoles(userId);
     }
 
     @Test
     void getUserById_UserNotFound_ReturnsError() {
         // Arrange
         Long userId = 1L;
-        when(userService.getUserById(userId)).thenThrow(new ResourceNotFoundException("Usuario", "id", userId));
+        when(userService.getUserWithRoles(userId)).thenThrow(new ResourceNotFoundException("Usuario", "id", userId));
 
         // Act
         ResponseEntity<UserWithRolesDTO> response = restUserController.getUserById(userId);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(userService, times(1)).getUserById(userId);
+        verify(userService, times(1)).getUserWithRoles(userId);
     }
 
     @Test
     void getUserById_InternalServerError_ReturnsError() {
         // Arrange
         Long userId = 1L;
-        when(userService.getUserById(userId))
+        when(userService.getUserWithRoles(userId))
             .thenThrow(new RuntimeException("Error interno del servidor"));
 
         // Act
@@ -213,7 +215,7 @@ class RestUserControllerUnitTest {
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(userService, times(1)).getUserById(userId);
+        verify(userService, times(1)).getUserWithRoles(userId);
     }
 
     @Test
@@ -371,7 +373,7 @@ class RestUserControllerUnitTest {
         userWithRolesDTO.setUserId(userId);
         userWithRolesDTO.setFullName("John Doe");
 
-        when(userService.getUserById(userId)).thenReturn(user);
+        when(userService.getUserWithRoles(userId)).thenReturn(user);
         when(userMapper.toUserWithRolesDTO(user)).thenReturn(userWithRolesDTO);
         doNothing().when(assignedRolesService).assignRoleToUser(roleId, userId);
 
@@ -392,7 +394,7 @@ class RestUserControllerUnitTest {
         // Arrange
         Long userId = 1L;
         Long roleId = 1L;
-        when(userService.getUserById(userId)).thenThrow(new ResourceNotFoundException("Usuario", "id", userId));
+        when(userService.getUserWithRoles(userId)).thenThrow(new ResourceNotFoundException("Usuario", "id", userId));
 
         // Act
         ResponseEntity<UserWithRolesDTO> response = restUserController.assignRoleToUser(userId, roleId);
@@ -406,7 +408,7 @@ class RestUserControllerUnitTest {
         // Arrange
         Long userId = 1L;
         Long roleId = 1L;
-        when(userService.getUserById(userId))
+        when(userService.getUserWithRoles(userId))
             .thenThrow(new InvalidOperationException("Usuario no puede ser asignado a este rol"));
 
         // Act
@@ -486,7 +488,7 @@ class RestUserControllerUnitTest {
         userWithRolesDTO.setUserId(userId);
         userWithRolesDTO.setFullName("John Doe");
 
-        when(userService.getUserById(userId)).thenReturn(user);
+        when(userService.getUserWithRoles(userId)).thenReturn(user);
         when(userMapper.toUserWithRolesDTO(user)).thenReturn(userWithRolesDTO);
         doNothing().when(assignedRolesService).removeRoleFromUser(roleId, userId);
 
@@ -507,7 +509,7 @@ class RestUserControllerUnitTest {
         // Arrange
         Long userId = 1L;
         Long roleId = 1L;
-        when(userService.getUserById(userId)).thenThrow(new ResourceNotFoundException("Usuario", "id", userId));
+        when(userService.getUserWithRoles(userId)).thenThrow(new ResourceNotFoundException("Usuario", "id", userId));
 
         // Act
         ResponseEntity<UserWithRolesDTO> response = restUserController.removeRoleFromUser(userId, roleId);
@@ -521,7 +523,7 @@ class RestUserControllerUnitTest {
         // Arrange
         Long userId = 1L;
         Long roleId = 1L;
-        when(userService.getUserById(userId))
+        when(userService.getUserWithRoles(userId))
             .thenThrow(new InvalidOperationException("Usuario no puede ser eliminado"));
 
         // Act
@@ -549,4 +551,30 @@ class RestUserControllerUnitTest {
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
+
+    @Test
+    void searchUsers_ReturnsHits() {
+        // Arrange
+        UserSearchHitDTO hit = new UserSearchHitDTO(1L, 7L, "Ana Pérez", "1023456", "3001234567", "ana@example.com");
+        when(userService.searchUsers("ana pe", 10)).thenReturn(List.of(hit));
+
+        // Act
+        ResponseEntity<List<UserSearchHitDTO>> response = restUserController.searchUsers("ana pe", 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(hit), response.getBody());
+    }
+
+    @Test
+    void searchUsers_WhenQueryIsEmpty_ReturnsBadRequest() {
+        // Arrange
+        when(userService.searchUsers(" ", 10)).thenThrow(new InvalidOperationException("empty"));
+
+        // Act
+        ResponseEntity<List<UserSearchHitDTO>> response = restUserController.searchUsers(" ", 10);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
 }
@@ -25,6 +25,7 @@ import org.thevoids.oncologic.entity.UserSpecialty;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.UserSpecialtyMapper;
 import org.thevoids.oncologic.service.UserSpecialtyService;
+import org.thevoids.oncologic.utils.KeysetPage;
 
 class RestUserSpecialtyControllerUnitTest {
 
@@ -60,11 +61,11 @@ class RestUserSpecialtyControllerUnitTest {
 
         UserSpecialtyDTO userSpecialtyDTO = new UserSpecialtyDTO(1L, 1L, 1L, "John Doe", "Oncología");
 
-        when(userSpecialtyService.getAllUserSpecialties()).thenReturn(List.of(userSpecialty));
+        when(userSpecialtyService.getUserSpecialtiesAfter(null, KeysetPage.fetchSize(null))).thenReturn(List.of(userSpecialty));
         when(userSpecialtyMapper.toUserSpecialtyDTO(userSpecialty)).thenReturn(userSpecialtyDTO);
 
         // Act
-        ResponseEntity<List<UserSpecialtyDTO>> response = restUserSpecialtyController.getAllUserSpecialties();
+        ResponseEntity<List<UserSpecialtyDTO>> response = restUserSpecialtyController.getAllUserSpecialties(null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -73,7 +74,7 @@ class RestUserSpecialtyControllerUnitTest {
         assertEquals(1, userSpecialties.size());
         assertEquals("John Doe", userSpecialties.get(0).getUserName());
         assertEquals("Oncología", userSpecialties.get(0).getSpecialtyName());
-        verify(userSpecialtyService, times(1)).getAllUserSpecialties();
+        verify(userSpecialtyService, times(1)).getUserSpecialtiesAfter(null, KeysetPage.fetchSize(null));
     }
 
     @Test
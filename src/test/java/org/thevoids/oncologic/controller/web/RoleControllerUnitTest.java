@@ -74,7 +74,7 @@ public class RoleControllerUnitTest {
         RoleWithPermissionsDTO roleDTO2 = new RoleWithPermissionsDTO(2L, "User", List.of());
         List<RoleWithPermissionsDTO> roleDTOs = Arrays.asList(roleDTO1, roleDTO2);
 
-        when(roleService.getAllRoles()).thenReturn(roles);
+        when(roleService.getAllRolesWithPermissions()).thenReturn(roles);
         when(roleMapper.toRoleWithPermissionsDTO(role1)).thenReturn(roleDTO1);
         when(roleMapper.toRoleWithPermissionsDTO(role2)).thenReturn(roleDTO2);
 
@@ -84,7 +84,7 @@ public class RoleControllerUnitTest {
         // Assert
         assertEquals("roles/list", viewName);
         verify(model).addAttribute("roles", roleDTOs);
-        verify(roleService).getAllRoles();
+        verify(roleService).getAllRolesWithPermissions();
         verify(roleMapper, times(2)).toRoleWithPermissionsDTO(any(Role.class));
     }
 
@@ -241,7 +241,7 @@ public class RoleControllerUnitTest {
 
         PermissionDTO permissionDTO2 = new PermissionDTO(2L, "WRITE");
 
-        when(roleService.getRole(1L)).thenReturn(role);
+        when(roleService.getRoleWithPermissions(1L)).thenReturn(role);
         when(roleMapper.toRoleWithPermissionsDTO(role)).thenReturn(roleWithPermissionsDTO);
         when(rolePermissionService.getAllPermissions()).thenReturn(List.of(permission1, permission2));
         when(permissionMapper.toPermissionDTO(permission2)).thenReturn(permissionDTO2);
@@ -77,7 +77,7 @@ class UserControllerUnitTest {
         userDTO.setUserId(1L);
         userDTO.setFullName("John Doe");
 
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getAllUsersWithRoles()).thenReturn(users);
         when(userMapper.toUserWithRolesDTO(user)).thenReturn(userDTO);
 
         // Act
@@ -87,7 +87,7 @@ class UserControllerUnitTest {
         result.andExpect(status().isOk())
                 .andExpect(view().name("users/list"))
                 .andExpect(model().attributeExists("users"));
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getAllUsersWithRoles();
     }
 
     @Test
@@ -165,7 +165,7 @@ class UserControllerUnitTest {
         UserWithRolesDTO userDTO = new UserWithRolesDTO();
         userDTO.setUserId(1L);
 
-        when(userService.getUserById(1L)).thenReturn(user);
+        when(userService.getUserWithRoles(1L)).thenReturn(user);
         when(userMapper.toUserWithRolesDTO(user)).thenReturn(userDTO);
         when(roleService.getAllRoles()).thenReturn(List.of());
 
@@ -177,7 +177,7 @@ class UserControllerUnitTest {
                 .andExpect(view().name("users/manage_roles"))
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attributeExists("roles"));
-        verify(userService, times(1)).getUserById(1L);
+        verify(userService, times(1)).getUserWithRoles(1L);
     }
 
     @Test
@@ -289,7 +289,7 @@ class UserControllerUnitTest {
         userWithRolesDTO.setFullName("John Doe");
         userWithRolesDTO.setRoles(List.of(role1, role2)); // User already has "Admin" and "User" roles
 
-        when(userService.getUserById(1L)).thenReturn(user);
+        when(userService.getUserWithRoles(1L)).thenReturn(user);
         when(userMapper.toUserWithRolesDTO(user)).thenReturn(userWithRolesDTO);
 
         Role roleEntity1 = new Role();
@@ -318,7 +318,7 @@ class UserControllerUnitTest {
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attributeExists("roles"));
 
-        verify(userService, times(1)).getUserById(1L);
+        verify(userService, times(1)).getUserWithRoles(1L);
         verify(roleService, times(1)).getAllRoles();
 
         // Validate that only unassigned roles are included
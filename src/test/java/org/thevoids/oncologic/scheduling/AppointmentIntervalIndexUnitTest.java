@@ -0,0 +1,162 @@
+package org.thevoids.oncologic.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thevoids.oncologic.repository.AppointmentRepository;
+
+class AppointmentIntervalIndexUnitTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private AppointmentRepository appointmentRepository;
+    private AppointmentIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findAllBookedIntervals()).thenReturn(List.of(
+                booking(1L, 10L, 100L, 60, 30),
+                booking(2L, 10L, 100L, 120, 15),
+                booking(3L, 20L, 200L, 0, 240)));
+        index = new AppointmentIntervalIndex(appointmentRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void findConflict_OverlapWithDoctorBooking() {
+        // Act
+        Optional<BookedInterval> conflict = index.findConflict(10L, 999L, at(80), at(100), null);
+
+        // Assert
+        assertEquals(1L, conflict.get().appointmentId());
+    }
+
+    @Test
+    void findConflict_AdjacentSlotsDoNotOverlap() {
+        // Act & Assert
+        assertFalse(index.findConflict(10L, 999L, at(90), at(120), null).isPresent());
+        assertFalse(index.findConflict(10L, 999L, at(30), at(60), null).isPresent());
+    }
+
+    @Test
+    void findConflict_LongBookingStartingEarlierStillConflicts() {
+        // Act
+        Optional<BookedInterval> conflict = index.findConflict(99L, 200L, at(200), at(210), null);
+
+        // Assert
+        assertEquals(3L, conflict.get().appointmentId());
+    }
+
+    @Test
+    void findConflict_IgnoresTheAppointmentBeingMoved() {
+        // Act & Assert
+        assertFalse(index.findConflict(10L, 100L, at(65), at(95), 1L).isPresent());
+        assertTrue(index.findConflict(10L, 100L, at(65), at(125), 1L).isPresent());
+    }
+
+    @Test
+    void put_ReplacesPreviousIntervalOfSameAppointment() {
+        // Act
+        index.put(booking(1L, 10L, 100L, 300, 30));
+
+        // Assert
+        assertFalse(index.findConflict(10L, 100L, at(60), at(90), null).isPresent());
+        assertTrue(index.findConflict(10L, 100L, at(310), at(320), null).isPresent());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_FreesTheSlot() {
+        // Act
+        index.remove(2L);
+
+        // Assert
+        assertFalse(index.findConflict(10L, 100L, at(120), at(135), null).isPresent());
+        assertFalse(index.find(2L).isPresent());
+    }
+
+    @Test
+    void bookingsOverlapping_MergesDoctorAndClinicInStartOrder() {
+        // Arrange
+        index.put(booking(4L, 30L, 100L, 90, 30));
+
+        // Act
+        List<BookedInterval> bookings = index.bookingsOverlapping(10L, 100L, at(0), at(200));
+
+        // Assert
+        assertEquals(List.of(1L, 4L, 2L), bookings.stream().map(BookedInterval::appointmentId).toList());
+    }
+
+    @Test
+    void index_IsLoadedOnceFromRepository() {
+        // Act
+        index.findConflict(10L, 100L, at(0), at(10), null);
+        index.find(1L);
+
+        // Assert
+        verify(appointmentRepository, times(1)).findAllBookedIntervals();
+    }
+
+    @Test
+    void invalidate_RebuildsOnNextUse() {
+        // Arrange
+        index.find(1L);
+        when(appointmentRepository.findAllBookedIntervals()).thenReturn(List.of(booking(1L, 10L, 100L, 60, 45)));
+
+        // Act
+        index.invalidate();
+
+        // Assert
+        assertTrue(index.findConflict(10L, 100L, at(95), at(100), null).isPresent());
+        assertEquals(1, index.size());
+        verify(appointmentRepository, times(2)).findAllBookedIntervals();
+    }
+
+    @Test
+    void index_IsRebuiltOnceTheTtlPassed() {
+        // Arrange
+        AppointmentIntervalIndex expiring = new AppointmentIntervalIndex(appointmentRepository, Duration.ZERO);
+
+        // Act
+        expiring.find(1L);
+        expiring.find(1L);
+
+        // Assert (plus the load in setUp)
+        verify(appointmentRepository, times(3)).findAllBookedIntervals();
+    }
+
+    @Test
+    void putAndRemove_NeverRebuild() {
+        // Arrange
+        AppointmentIntervalIndex expiring = new AppointmentIntervalIndex(appointmentRepository, Duration.ZERO);
+        expiring.rebuild();
+
+        // Act
+        expiring.put(booking(4L, 10L, 100L, 300, 30));
+        expiring.remove(1L);
+
+        // Assert (plus the load in setUp)
+        verify(appointmentRepository, times(2)).findAllBookedIntervals();
+    }
+
+    private static BookedInterval booking(Long id, Long doctorId, Long clinicId, int startMinute, int minutes) {
+        return new BookedInterval(id, doctorId, clinicId, new Date(at(startMinute)), minutes);
+    }
+
+    private static long at(int minute) {
+        return minute * MINUTE;
+    }
+}
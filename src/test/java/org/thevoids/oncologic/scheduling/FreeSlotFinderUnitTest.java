@@ -0,0 +1,126 @@
+package org.thevoids.oncologic.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class FreeSlotFinderUnitTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final long HALF_HOUR = 30 * 60_000L;
+
+    // 2024-01-01 is a Monday
+    private static final AssignmentWindow MONDAY_MORNING = new AssignmentWindow(5L, 1L, 10L,
+            at(1, 8, 0), at(1, 12, 0));
+
+    @Test
+    void find_SubtractsBookingsFromScheduleWithinAssignment() {
+        // Arrange
+        List<WeeklyWindow> schedules = List.of(
+                new WeeklyWindow(1L, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        List<BookedInterval> bookings = List.of(new BookedInterval(7L, 1L, 10L, new Date(at(1, 9, 30)), 30));
+
+        // Act
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(schedules, List.of(MONDAY_MORNING),
+                (doctor, clinic, from, to) -> bookings, at(1, 0, 0), at(8, 0, 0), HALF_HOUR, 10, UTC);
+
+        // Assert
+        assertEquals(List.of(at(1, 9, 0), at(1, 10, 0), at(1, 10, 30)), starts(slots));
+        assertEquals(5L, slots.get(0).clinicAssignmentId());
+        assertEquals(at(1, 9, 30), slots.get(0).end());
+    }
+
+    @Test
+    void find_SlotResumesRightAfterBookingEnds() {
+        // Arrange
+        List<BookedInterval> bookings = List.of(new BookedInterval(7L, 1L, 10L, new Date(at(1, 8, 10)), 15));
+
+        // Act
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(List.of(), List.of(MONDAY_MORNING),
+                (doctor, clinic, from, to) -> bookings, at(1, 8, 0), at(1, 9, 30), HALF_HOUR, 10, UTC);
+
+        // Assert
+        assertEquals(List.of(at(1, 8, 25), at(1, 8, 55)), starts(slots));
+    }
+
+    @Test
+    void find_SkipsDaysWithoutScheduleAndClipsToRange() {
+        // Arrange
+        AssignmentWindow week = new AssignmentWindow(6L, 1L, 10L, at(1, 0, 0), at(8, 0, 0));
+        List<WeeklyWindow> schedules = List.of(
+                new WeeklyWindow(1L, DayOfWeek.WEDNESDAY, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+
+        // Act
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(schedules, List.of(week),
+                (doctor, clinic, from, to) -> List.of(), at(3, 8, 30), at(8, 0, 0), HALF_HOUR, 10, UTC);
+
+        // Assert
+        assertEquals(List.of(at(3, 8, 30)), starts(slots));
+    }
+
+    @Test
+    void find_ReturnsFirstSlotsAcrossDoctorsInTimeOrder() {
+        // Arrange
+        AssignmentWindow late = new AssignmentWindow(8L, 2L, 20L, at(1, 8, 15), at(1, 12, 0));
+
+        // Act
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(List.of(), List.of(MONDAY_MORNING, late),
+                (doctor, clinic, from, to) -> List.of(), at(1, 0, 0), at(2, 0, 0), HALF_HOUR, 3, UTC);
+
+        // Assert
+        assertEquals(List.of(at(1, 8, 0), at(1, 8, 15), at(1, 8, 30)), starts(slots));
+        assertEquals(List.of(1L, 2L, 1L), slots.stream().map(FreeSlotFinder.Slot::doctorId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void find_FullyBookedAssignmentHasNoSlots() {
+        // Arrange
+        List<BookedInterval> bookings = List.of(new BookedInterval(7L, 1L, 10L, new Date(at(1, 8, 0)), 240));
+
+        // Act
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(List.of(), List.of(MONDAY_MORNING),
+                (doctor, clinic, from, to) -> bookings, at(1, 0, 0), at(2, 0, 0), HALF_HOUR, 10, UTC);
+
+        // Assert
+        assertTrue(slots.isEmpty());
+    }
+
+    @Test
+    void weeklyWindow_ParsesEnglishAndSpanishDayNames() {
+        assertEquals(DayOfWeek.MONDAY, WeeklyWindow.parseDay("Monday"));
+        assertEquals(DayOfWeek.WEDNESDAY, WeeklyWindow.parseDay("miércoles"));
+        assertEquals(null, WeeklyWindow.parseDay(null));
+    }
+
+    @Test
+    void weeklyWindow_UnknownDay_OpensNoTime() {
+        // Arrange
+        WeeklyWindow unknown = new WeeklyWindow(1L, "someday", new Date(at(1, 9, 0)), new Date(at(1, 11, 0)));
+
+        // Act
+        List<FreeSlotFinder.Slot> slots = FreeSlotFinder.find(List.of(unknown), List.of(MONDAY_MORNING),
+                (doctor, clinic, from, to) -> List.of(), at(1, 0, 0), at(2, 0, 0), HALF_HOUR, 10, UTC);
+
+        // Assert
+        assertEquals(null, WeeklyWindow.parseDay("someday"));
+        assertTrue(slots.isEmpty());
+    }
+
+    private static List<Long> starts(List<FreeSlotFinder.Slot> slots) {
+        return slots.stream().map(FreeSlotFinder.Slot::start).collect(Collectors.toList());
+    }
+
+    private static long at(int day, int hour, int minute) {
+        return LocalDateTime.of(2024, 1, day, hour, minute).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
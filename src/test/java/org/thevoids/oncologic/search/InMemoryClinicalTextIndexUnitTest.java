@@ -0,0 +1,202 @@
+package org.thevoids.oncologic.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.dto.entity.LabAttachmentTextDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
+import org.thevoids.oncologic.repository.LabAttachmentTextRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.MedicalHistoryRepository;
+
+class InMemoryClinicalTextIndexUnitTest {
+
+    private MedicalHistoryRepository medicalHistoryRepository;
+    private LabRepository labRepository;
+    private InMemoryClinicalTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        medicalHistoryRepository = mock(MedicalHistoryRepository.class);
+        labRepository = mock(LabRepository.class);
+        when(medicalHistoryRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                history(1L, 10L, "Cáncer de mama", "Quimioterapia", "Tamoxifeno 20 mg"),
+                history(2L, 11L, "Linfoma", "Radioterapia", "Rituximab"),
+                history(3L, 12L, "Cáncer de pulmón", "Cirugía", "Cisplatino; tamoxifeno")));
+        when(labRepository.streamAllForExport()).thenAnswer(invocation -> Stream.of(
+                lab(4L, 10L, "Blood Test", "Tamoxifeno en rango"),
+                lab(5L, 11L, "CT Scan", "Sin hallazgos")));
+        index = new InMemoryClinicalTextIndex(medicalHistoryRepository, labRepository,
+                mock(LabAttachmentTextRepository.class), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void search_MatchesRecordsContainingEveryWord() {
+        // Act
+        List<ClinicalSearchHitDTO> hits = index.search("cancer tamoxifeno", null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), hits.stream().map(ClinicalSearchHitDTO::getId).sorted().toList());
+    }
+
+    @Test
+    void search_IgnoresCaseAndAccents() {
+        // Act
+        List<ClinicalSearchHitDTO> hits = index.search("PULMON", null, 10);
+
+        // Assert
+        assertEquals(1, hits.size());
+        assertEquals(3L, hits.get(0).getId());
+        assertEquals(12L, hits.get(0).getPatientId());
+        assertEquals(ClinicalRecordType.MEDICAL_HISTORY, hits.get(0).getType());
+    }
+
+    @Test
+    void search_RanksShorterAndDenserMatchesFirst() {
+        // Arrange
+        index.indexLab(lab(6L, 12L, "Tamoxifeno", "tamoxifeno tamoxifeno"));
+
+        // Act
+        List<ClinicalSearchHitDTO> hits = index.search("tamoxifeno", null, 10);
+
+        // Assert
+        assertEquals(4, hits.size());
+        assertEquals(6L, hits.get(0).getId());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore());
+        }
+    }
+
+    @Test
+    void search_FiltersByTypeAndLimit() {
+        // Act
+        List<ClinicalSearchHitDTO> labs = index.search("tamoxifeno", ClinicalRecordType.LAB, 10);
+        List<ClinicalSearchHitDTO> top = index.search("tamoxifeno", null, 1);
+
+        // Assert
+        assertEquals(1, labs.size());
+        assertEquals(4L, labs.get(0).getId());
+        assertEquals(1, top.size());
+    }
+
+    @Test
+    void search_UnknownWordOrEmptyQuery_ReturnsNothing() {
+        // Act & Assert
+        assertTrue(index.search("tamoxifeno imatinib", null, 10).isEmpty());
+        assertTrue(index.search(" ,; ", null, 10).isEmpty());
+    }
+
+    @Test
+    void indexMedicalHistory_ReplacesPreviousText() {
+        // Act
+        index.indexMedicalHistory(history(2L, 11L, "Linfoma", "Quimioterapia", "Imatinib"));
+
+        // Assert
+        assertTrue(index.search("rituximab", null, 10).isEmpty());
+        assertEquals(2L, index.search("imatinib", null, 10).get(0).getId());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void remove_DropsTheRecord() {
+        // Act
+        index.remove(ClinicalRecordType.LAB, 4L);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), index.search("tamoxifeno", null, 10).stream()
+                .map(ClinicalSearchHitDTO::getId).sorted().toList());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void indexLabAttachmentText_IsSearchableApartFromTheLab() {
+        // Act
+        index.indexLabAttachmentText(new LabAttachmentTextDTO(4L, 10L, "Informe: carcinoma ductal infiltrante"));
+
+        // Assert
+        List<ClinicalSearchHitDTO> hits = index.search("carcinoma", null, 10);
+        assertEquals(1, hits.size());
+        assertEquals(ClinicalRecordType.LAB_ATTACHMENT, hits.get(0).getType());
+        assertEquals(4L, hits.get(0).getId());
+        assertTrue(index.search("carcinoma", ClinicalRecordType.LAB, 10).isEmpty());
+        assertEquals(1, index.search("tamoxifeno", ClinicalRecordType.LAB, 10).size());
+    }
+
+    @Test
+    void writesInsideATransaction_AreAppliedAfterCommit() {
+        // Arrange
+        index.size();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.indexLab(lab(6L, 12L, "MRI", "Metástasis ósea"));
+
+            // Act
+            boolean visibleBeforeCommit = !index.search("metastasis", null, 10).isEmpty();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertTrue(!visibleBeforeCommit);
+            assertEquals(6L, index.search("metastasis", null, 10).get(0).getId());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void manyUpdatesAndDeletes_CompactWithoutLosingRecords() {
+        // Arrange
+        for (long id = 100; id < 3100; id++) {
+            index.indexLab(lab(id, 20L, "Panel " + id, id % 2 == 0 ? "par" : "impar"));
+        }
+
+        // Act
+        for (long id = 100; id < 3100; id++) {
+            if (id % 3 == 0) {
+                index.remove(ClinicalRecordType.LAB, id);
+            } else {
+                index.indexLab(lab(id, 20L, "Panel " + id, id % 2 == 0 ? "par revisado" : "impar revisado"));
+            }
+        }
+
+        // Assert
+        assertEquals(5 + 2000, index.size());
+        assertEquals(1000, index.search("par revisado", null, 5000).size());
+        assertEquals(2000, index.search("revisado", ClinicalRecordType.LAB, 5000).size());
+        assertEquals(List.of(3001L), index.search("panel 3001", null, 10).stream()
+                .map(ClinicalSearchHitDTO::getId).toList());
+        assertTrue(index.search("panel 3000", null, 10).isEmpty());
+    }
+
+    @Test
+    void tokenize_SplitsOnPunctuationAndKeepsNumbers() {
+        // Act
+        List<String> terms = ClinicalTextTokenizer.tokenize("Cisplatino, 5 mg/m² — día 1");
+
+        // Assert
+        assertEquals(new ArrayList<>(List.of("cisplatino", "5", "mg", "m2", "dia", "1")), terms);
+    }
+
+    private static MedicalHistoryDTO history(Long id, Long patientId, String diagnosis, String treatment,
+            String medications) {
+        return new MedicalHistoryDTO(id, patientId, diagnosis, treatment, medications, null);
+    }
+
+    private static LabDTO lab(Long id, Long patientId, String testType, String result) {
+        return new LabDTO(id, patientId, 3L, testType, new Date(), null, result, null);
+    }
+}
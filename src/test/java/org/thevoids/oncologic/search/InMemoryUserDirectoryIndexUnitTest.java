@@ -0,0 +1,134 @@
+package org.thevoids.oncologic.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
+import org.thevoids.oncologic.entity.Patient;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.UserRepository;
+
+class InMemoryUserDirectoryIndexUnitTest {
+
+    private InMemoryUserDirectoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.streamAllForSearch()).thenAnswer(invocation -> Stream.of(
+                new UserSearchHitDTO(1L, 10L, "María José García-López", "1.023.456", "+57 300 123 4567",
+                        "maria.garcia@example.com"),
+                new UserSearchHitDTO(2L, null, "Mario Gómez", "88990011", "310 555 0000", "mgomez@example.com"),
+                new UserSearchHitDTO(3L, 11L, "Ana Mar", "1023", null, null)));
+        index = new InMemoryUserDirectoryIndex(userRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void search_MatchesTheStartOfAnyWordIgnoringCaseAndAccents() {
+        // Act
+        List<UserSearchHitDTO> hits = index.search("MAR", 10);
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L), ids(hits));
+        assertEquals(10L, hits.get(1).getPatientId());
+        assertEquals("+57 300 123 4567", hits.get(1).getPhoneNumber());
+    }
+
+    @Test
+    void search_RequiresEveryWord() {
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.search("mar lopez", 10)));
+        assertTrue(index.search("mario lopez", 10).isEmpty());
+    }
+
+    @Test
+    void search_IgnoresPunctuationInIdentificationPhoneAndEmail() {
+        // Act & Assert
+        assertEquals(List.of(3L, 1L), ids(index.search("1023", 10)));
+        assertEquals(List.of(1L), ids(index.search("1.023.4", 10)));
+        assertEquals(List.of(1L), ids(index.search("3001234", 10)));
+        assertEquals(List.of(1L), ids(index.search("57300", 10)));
+        assertEquals(List.of(1L), ids(index.search("maria.garcia@exa", 10)));
+        assertEquals(List.of(1L), ids(index.search("garcia-lopez", 10)));
+    }
+
+    @Test
+    void search_RanksWholeWordsFirstAndHonorsTheLimit() {
+        // Act
+        List<UserSearchHitDTO> hits = index.search("mario", 10);
+        List<UserSearchHitDTO> top = index.search("mar", 1);
+
+        // Assert
+        assertEquals(List.of(2L), ids(hits));
+        assertEquals(List.of(3L), ids(top));
+        assertEquals(List.of(3L, 1L), ids(index.search("1023", 10)));
+    }
+
+    @Test
+    void search_EmptyQueryOrUnknownPrefix_ReturnsNothing() {
+        // Act & Assert
+        assertTrue(index.search(" - ", 10).isEmpty());
+        assertTrue(index.search("zu", 10).isEmpty());
+    }
+
+    @Test
+    void index_ReplacesThePreviousEntry() {
+        // Arrange
+        User user = new User();
+        user.setUserId(2L);
+        user.setFullName("Mario Zuluaga");
+        user.setIdentification("88990011");
+        Patient patient = new Patient();
+        patient.setPatientId(12L);
+        user.setPatient(patient);
+
+        // Act
+        index.index(user);
+
+        // Assert
+        assertTrue(index.search("gomez", 10).isEmpty());
+        assertTrue(index.search("3105", 10).isEmpty());
+        List<UserSearchHitDTO> hits = index.search("zulu", 10);
+        assertEquals(List.of(2L), ids(hits));
+        assertEquals(12L, hits.get(0).getPatientId());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_DropsTheUserAndReusesItsSlot() {
+        // Act
+        index.remove(1L);
+        User user = new User();
+        user.setUserId(4L);
+        user.setFullName("Marta Ruiz");
+        user.setIdentification("555");
+        index.index(user);
+
+        // Assert
+        assertEquals(List.of(3L, 2L, 4L), ids(index.search("mar", 10)));
+        assertTrue(index.search("lopez", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void terms_IncludeWordsAndTheRestOfEachFieldWithoutSeparators() {
+        // Act & Assert
+        assertEquals(List.of("573001234567", "3001234567", "1234567", "4567", "57", "300", "123"),
+                List.copyOf(UserSearchTokenizer.terms("+57 300 123 4567")));
+        assertEquals(List.of("ana", "pe"), UserSearchTokenizer.queryTokens("  Ána  pe. "));
+    }
+
+    private static List<Long> ids(List<UserSearchHitDTO> hits) {
+        return hits.stream().map(UserSearchHitDTO::getUserId).toList();
+    }
+}
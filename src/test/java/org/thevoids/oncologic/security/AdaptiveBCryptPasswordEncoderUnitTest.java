@@ -0,0 +1,46 @@
+package org.thevoids.oncologic.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class AdaptiveBCryptPasswordEncoderUnitTest {
+
+    @Test
+    void encode_UsesConfiguredStrength() {
+        // Arrange
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        // Act
+        String hash = encoder.encode("secret");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void upgradeEncoding_DifferentCost_ReturnsTrue() {
+        // Arrange
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        String stronger = new BCryptPasswordEncoder(6).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertTrue(encoder.upgradeEncoding(stronger));
+        assertTrue(encoder.matches("secret", stronger));
+    }
+
+    @Test
+    void costOf_NotBCrypt_ReturnsMinusOne() {
+        // Act & Assert
+        assertEquals(12, AdaptiveBCryptPasswordEncoder.costOf("$2a$12$7Ni.4Byq96tNSgEOy1mtiufyDWTq4wveUP7bQnd1AhIgNwojcwT/2"));
+        assertEquals(-1, AdaptiveBCryptPasswordEncoder.costOf("plain"));
+        assertEquals(-1, AdaptiveBCryptPasswordEncoder.costOf(null));
+    }
+}
@@ -0,0 +1,136 @@
+package org.thevoids.oncologic.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thevoids.oncologic.repository.PermissionVersionRepository;
+
+class PermissionVersionTrackerUnitTest {
+
+    @Test
+    void isCurrent_SameVersion_ReturnsTrue() {
+        // Arrange
+        PermissionVersionTracker tracker = new PermissionVersionTracker();
+        long version = tracker.currentVersion();
+
+        // Act & Assert
+        assertTrue(tracker.isCurrent(version));
+        assertTrue(tracker.isCurrent(Long.valueOf(version)));
+    }
+
+    @Test
+    void isCurrent_AfterIncrement_ReturnsFalse() {
+        // Arrange
+        PermissionVersionTracker tracker = new PermissionVersionTracker();
+        long version = tracker.currentVersion();
+
+        // Act
+        tracker.increment();
+
+        // Assert
+        assertFalse(tracker.isCurrent(version));
+    }
+
+    @Test
+    void isCurrent_NullVersion_ReturnsFalse() {
+        // Arrange
+        PermissionVersionTracker tracker = new PermissionVersionTracker();
+
+        // Act & Assert
+        assertFalse(tracker.isCurrent(null));
+    }
+
+    @Test
+    void currentVersion_Shared_ReadsTheRowOncePerTtl() {
+        // Arrange
+        PermissionVersionRepository repository = mock(PermissionVersionRepository.class);
+        when(repository.findCurrentVersion()).thenReturn(Optional.of(7L), Optional.of(8L));
+        PermissionVersionTracker tracker = new PermissionVersionTracker(repository, Duration.ofHours(1));
+
+        // Act
+        long first = tracker.currentVersion();
+        long second = tracker.currentVersion();
+
+        // Assert
+        assertEquals(7L, first);
+        assertEquals(7L, second);
+        verify(repository, times(1)).findCurrentVersion();
+    }
+
+    @Test
+    void currentVersion_Shared_SeesAnotherNodesChangeOnceTheTtlPassed() {
+        // Arrange
+        PermissionVersionRepository repository = mock(PermissionVersionRepository.class);
+        when(repository.findCurrentVersion()).thenReturn(Optional.of(7L), Optional.of(8L));
+        PermissionVersionTracker tracker = new PermissionVersionTracker(repository, Duration.ZERO);
+        tracker.currentVersion();
+
+        // Act & Assert
+        assertFalse(tracker.isCurrent(7L));
+    }
+
+    @Test
+    void currentVersion_Shared_CreatesAMissingRow() {
+        // Arrange
+        PermissionVersionRepository repository = mock(PermissionVersionRepository.class);
+        when(repository.findCurrentVersion()).thenReturn(Optional.empty(), Optional.of(42L));
+        PermissionVersionTracker tracker = new PermissionVersionTracker(repository, Duration.ofHours(1));
+
+        // Act
+        long version = tracker.currentVersion();
+
+        // Assert
+        assertEquals(42L, version);
+        verify(repository).insertVersion(anyLong());
+    }
+
+    @Test
+    void increment_Shared_IsSeenOnThisNodeAtOnce() {
+        // Arrange
+        PermissionVersionRepository repository = mock(PermissionVersionRepository.class);
+        when(repository.findCurrentVersion()).thenReturn(Optional.of(7L), Optional.of(8L));
+        when(repository.incrementVersion()).thenReturn(1);
+        PermissionVersionTracker tracker = new PermissionVersionTracker(repository, Duration.ofHours(1));
+        tracker.currentVersion();
+
+        // Act
+        tracker.increment();
+
+        // Assert
+        assertEquals(8L, tracker.currentVersion());
+    }
+
+    @Test
+    void increment_InsideATransaction_WaitsForTheCommit() {
+        // Arrange
+        PermissionVersionRepository repository = mock(PermissionVersionRepository.class);
+        when(repository.findCurrentVersion()).thenReturn(Optional.of(8L));
+        when(repository.incrementVersion()).thenReturn(1);
+        PermissionVersionTracker tracker = new PermissionVersionTracker(repository, Duration.ofHours(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            tracker.increment();
+
+            // Assert
+            verify(repository, never()).incrementVersion();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(repository).incrementVersion();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
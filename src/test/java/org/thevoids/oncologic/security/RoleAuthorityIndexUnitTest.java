@@ -0,0 +1,131 @@
+package org.thevoids.oncologic.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.thevoids.oncologic.entity.AssignedRole;
+import org.thevoids.oncologic.entity.Role;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.RoleRepository;
+
+class RoleAuthorityIndexUnitTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private PermissionVersionTracker permissionVersionTracker;
+    private RoleAuthorityIndex roleAuthorityIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        permissionVersionTracker = new PermissionVersionTracker();
+        roleAuthorityIndex = new RoleAuthorityIndex(roleRepository, permissionVersionTracker);
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, "ADMIN", "VIEW_USERS" });
+        rows.add(new Object[] { 1L, "ADMIN", "VIEW_ROLES" });
+        rows.add(new Object[] { 2L, "DOCTOR", "VIEW_USERS" });
+        rows.add(new Object[] { 3L, "GUEST", null });
+        when(roleRepository.findRolePermissionNames()).thenReturn(rows);
+    }
+
+    @Test
+    void authoritiesFor_SingleRole_ReturnsRoleAndPermissions() {
+        // Act
+        List<GrantedAuthority> authorities = roleAuthorityIndex.snapshot().authoritiesFor(List.of(1L));
+
+        // Assert
+        assertEquals(List.of(
+                new SimpleGrantedAuthority("ROLE_ADMIN"),
+                new SimpleGrantedAuthority("VIEW_USERS"),
+                new SimpleGrantedAuthority("VIEW_ROLES")), authorities);
+    }
+
+    @Test
+    void authoritiesFor_SeveralRoles_ReturnsUnionWithInternedAuthorities() {
+        // Arrange
+        RoleAuthorityIndex.Snapshot snapshot = roleAuthorityIndex.snapshot();
+
+        // Act
+        List<GrantedAuthority> authorities = snapshot.authoritiesFor(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(5, authorities.size());
+        assertTrue(authorities.contains(new SimpleGrantedAuthority("ROLE_GUEST")));
+        assertSame(snapshot.getRole(1L).getAuthorities().get(1), snapshot.getRole(2L).getAuthorities().get(1));
+    }
+
+    @Test
+    void roleHasPermission_UsesIndexedPermissions() {
+        // Arrange
+        RoleAuthorityIndex.Snapshot snapshot = roleAuthorityIndex.snapshot();
+
+        // Act & Assert
+        assertTrue(snapshot.roleHasPermission(1L, "VIEW_ROLES"));
+        assertFalse(snapshot.roleHasPermission(2L, "VIEW_ROLES"));
+        assertFalse(snapshot.roleHasPermission(3L, "VIEW_USERS"));
+        assertFalse(snapshot.roleHasPermission(99L, "VIEW_USERS"));
+    }
+
+    @Test
+    void snapshot_NoChanges_ReusesSnapshot() {
+        // Act
+        RoleAuthorityIndex.Snapshot first = roleAuthorityIndex.snapshot();
+        RoleAuthorityIndex.Snapshot second = roleAuthorityIndex.snapshot();
+
+        // Assert
+        assertSame(first, second);
+        verify(roleRepository, times(1)).findRolePermissionNames();
+    }
+
+    @Test
+    void snapshot_AfterPermissionChange_SwapsSnapshot() {
+        // Arrange
+        RoleAuthorityIndex.Snapshot first = roleAuthorityIndex.snapshot();
+
+        // Act
+        permissionVersionTracker.increment();
+        RoleAuthorityIndex.Snapshot second = roleAuthorityIndex.snapshot();
+
+        // Assert
+        assertNotSame(first, second);
+        verify(roleRepository, times(2)).findRolePermissionNames();
+    }
+
+    @Test
+    void customUserDetail_WithIndex_ReusesResolvedAuthorities() {
+        // Arrange
+        Role role = new Role();
+        role.setRoleId(1L);
+        AssignedRole assignedRole = new AssignedRole();
+        assignedRole.setRole(role);
+        User user = new User();
+        user.setAssignedRoles(List.of(assignedRole));
+        CustomUserDetail customUserDetail = new CustomUserDetail(user, roleAuthorityIndex);
+
+        // Act
+        var first = customUserDetail.getAuthorities();
+        var second = customUserDetail.getAuthorities();
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(first.contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        assertTrue(first.contains(new SimpleGrantedAuthority("VIEW_ROLES")));
+    }
+}
@@ -1,6 +1,8 @@
 package org.thevoids.oncologic.security.jwt;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -11,16 +13,23 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.thevoids.oncologic.service.impl.CustomUserDetailsServiceImpl;
 import org.thevoids.oncologic.utils.JwtService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -43,6 +52,12 @@ class JwtAuthenticationFilterUnitTests {
     @Mock
     private FilterChain filterChain;
 
+    @Mock
+    private Claims claims;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -91,9 +106,10 @@ class JwtAuthenticationFilterUnitTests {
         UserDetails userDetails = mock(UserDetails.class);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(username);
+        when(jwtService.parseClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractUsername(claims)).thenReturn(username);
         when(customUserDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.validateToken(jwt, userDetails)).thenReturn(true);
+        when(jwtService.validateClaims(claims, userDetails)).thenReturn(true);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -102,6 +118,7 @@ class JwtAuthenticationFilterUnitTests {
         verify(filterChain, times(1)).doFilter(request, response);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(jwtService, times(1)).parseClaims(jwt);
     }
 
     @Test
@@ -112,9 +129,10 @@ class JwtAuthenticationFilterUnitTests {
         UserDetails userDetails = mock(UserDetails.class);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(username);
+        when(jwtService.parseClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractUsername(claims)).thenReturn(username);
         when(customUserDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.validateToken(jwt, userDetails)).thenReturn(false);
+        when(jwtService.validateClaims(claims, userDetails)).thenReturn(false);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -130,7 +148,8 @@ class JwtAuthenticationFilterUnitTests {
         String jwt = "valid.jwt.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(null); // Simulate null username
+        when(jwtService.parseClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractUsername(claims)).thenReturn(null); // Simulate null username
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -148,9 +167,10 @@ class JwtAuthenticationFilterUnitTests {
         UserDetails userDetails = mock(UserDetails.class);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(username);
+        when(jwtService.parseClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractUsername(claims)).thenReturn(username);
         when(customUserDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.validateToken(jwt, userDetails)).thenReturn(true);
+        when(jwtService.validateClaims(claims, userDetails)).thenReturn(true);
 
         // Simulate an existing authentication in the SecurityContext
         SecurityContextHolder.getContext().setAuthentication(
@@ -165,4 +185,70 @@ class JwtAuthenticationFilterUnitTests {
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilterInternal_CurrentAuthoritiesInToken_SkipsUserLoad() throws ServletException, IOException {
+        // Arrange
+        String jwt = "valid.jwt.token";
+        String username = "testUser";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.parseClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractUsername(claims)).thenReturn(username);
+        when(jwtService.hasCurrentAuthorities(claims)).thenReturn(true);
+        when(jwtService.extractAuthorities(claims)).thenReturn(List.of(new SimpleGrantedAuthority("VIEW_USERS")));
+        when(jwtService.validateClaims(any(Claims.class), any(UserDetails.class))).thenReturn(true);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(customUserDetailsService, never()).loadUserByUsername(anyString());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(username, SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("VIEW_USERS")),
+                List.copyOf(SecurityContextHolder.getContext().getAuthentication().getAuthorities()));
+    }
+
+    @Test
+    void doFilterInternal_CachedToken_SkipsVerificationAndUserLoad() throws ServletException, IOException {
+        // Arrange
+        String jwt = "valid.jwt.token";
+        UserDetails cached = new User("testUser", "", List.of(new SimpleGrantedAuthority("VIEW_USERS")));
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(verifiedTokenCache.get(jwt)).thenReturn(cached);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(jwtService, never()).parseClaims(anyString());
+        verify(customUserDetailsService, never()).loadUserByUsername(anyString());
+        assertEquals(cached, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void doFilterInternal_ValidTokenNotCached_CachesPrincipal() throws ServletException, IOException {
+        // Arrange
+        String jwt = "valid.jwt.token";
+        String username = "testUser";
+        UserDetails userDetails = mock(UserDetails.class);
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.parseClaims(jwt)).thenReturn(claims);
+        when(jwtService.extractUsername(claims)).thenReturn(username);
+        when(customUserDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(jwtService.validateClaims(claims, userDetails)).thenReturn(true);
+        when(claims.getExpiration()).thenReturn(expiration);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(verifiedTokenCache, times(1)).put(eq(jwt), eq(userDetails), eq(expiration));
+    }
+}
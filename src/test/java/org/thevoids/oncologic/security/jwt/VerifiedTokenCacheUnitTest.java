@@ -0,0 +1,172 @@
+package org.thevoids.oncologic.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
+
+class VerifiedTokenCacheUnitTest {
+
+    private PermissionVersionTracker permissionVersionTracker;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        permissionVersionTracker = new PermissionVersionTracker();
+        cache = new VerifiedTokenCache(2, permissionVersionTracker);
+    }
+
+    @Test
+    void get_PutToken_ReturnsPrincipalAndCountsHit() {
+        // Arrange
+        UserDetails principal = user("alice");
+        cache.put("token-a", principal, inOneMinute());
+
+        // Act
+        UserDetails result = cache.get("token-a");
+
+        // Assert
+        assertSame(principal, result);
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void get_UnknownToken_ReturnsNullAndCountsMiss() {
+        // Act
+        UserDetails result = cache.get("unknown");
+
+        // Assert
+        assertNull(result);
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void get_ExpiredToken_ReturnsNullAndEvicts() {
+        // Arrange
+        cache.put("token-a", user("alice"), new Date(System.currentTimeMillis() - 1000));
+
+        // Act
+        UserDetails result = cache.get("token-a");
+
+        // Assert
+        assertNull(result);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_PermissionVersionChanged_ReturnsNull() {
+        // Arrange
+        cache.put("token-a", user("alice"), inOneMinute());
+
+        // Act
+        permissionVersionTracker.increment();
+
+        // Assert
+        assertNull(cache.get("token-a"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void put_OverCapacity_EvictsLeastRecentlyUsed() {
+        // Arrange
+        cache.put("token-a", user("alice"), inOneMinute());
+        cache.put("token-b", user("bob"), inOneMinute());
+        cache.get("token-a");
+
+        // Act
+        cache.put("token-c", user("carol"), inOneMinute());
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void evictUser_RemovesAllTokensOfUser() {
+        // Arrange
+        cache.put("token-a", user("alice"), inOneMinute());
+        cache.put("token-b", user("bob"), inOneMinute());
+
+        // Act
+        cache.evictUser("alice");
+
+        // Assert
+        assertNull(cache.get("token-a"));
+        assertEquals("bob", cache.get("token-b").getUsername());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void put_OverCapacity_DropsUnusableEntriesFirst() {
+        // Arrange
+        cache.put("token-a", user("alice"), new Date(System.currentTimeMillis() - 1000));
+        cache.put("token-b", user("bob"), inOneMinute());
+
+        // Act
+        cache.put("token-c", user("carol"), inOneMinute());
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals("bob", cache.get("token-b").getUsername());
+        assertEquals("carol", cache.get("token-c").getUsername());
+    }
+
+    @Test
+    void getAndPut_FromManyThreads_StayWithinTheBound() throws Exception {
+        // Arrange
+        VerifiedTokenCache shared = new VerifiedTokenCache(100, permissionVersionTracker);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    String token = "token-" + thread + "-" + (i % 300);
+                    if (shared.get(token) == null) {
+                        shared.put(token, user("user-" + (i % 20)), inOneMinute());
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(shared.size() <= 100 + threads);
+        for (int u = 0; u < 20; u++) {
+            shared.evictUser("user-" + u);
+        }
+        assertEquals(0, shared.size());
+    }
+
+    private static UserDetails user(String username) {
+        return new User(username, "", Collections.emptyList());
+    }
+
+    private static Date inOneMinute() {
+        return new Date(System.currentTimeMillis() + 60_000);
+    }
+}
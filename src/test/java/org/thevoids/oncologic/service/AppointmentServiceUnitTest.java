@@ -5,19 +5,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.thevoids.oncologic.dto.custom.BulkAppointmentResultDTO;
+import org.thevoids.oncologic.dto.entity.AppointmentDTO;
 import org.thevoids.oncologic.entity.*;
 import org.thevoids.oncologic.repository.AppointmentRepository;
 import org.thevoids.oncologic.repository.AppointmentTypeRepository;
 import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
+import org.thevoids.oncologic.repository.ClinicRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.scheduling.BookedInterval;
 import org.thevoids.oncologic.service.impl.AppointmentServiceImpl;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +46,15 @@ class AppointmentServiceUnitTest {
     @Mock
     private AppointmentTypeRepository appointmentTypeRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @Mock
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
     @InjectMocks
     private AppointmentServiceImpl appointmentService;
 
@@ -68,6 +87,60 @@ class AppointmentServiceUnitTest {
         assertEquals(clinicAssignment.getUser(), result.getDoctor());
     }
 
+    @Test
+    void createAppointmentRejectsSlotTakenInDatabaseUnderLock() {
+        ClinicAssignment clinicAssignment = bookableAssignment();
+        BookedInterval concurrent = new BookedInterval(10L, 7L, 4L, new Date(HOUR), 60);
+
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(new Patient()));
+        when(clinicAssignmentRepository.findById(2L)).thenReturn(Optional.of(clinicAssignment));
+        when(appointmentTypeRepository.findById(3L)).thenReturn(Optional.of(appointmentType(30)));
+        when(appointmentTypeRepository.findLongestStandardDuration()).thenReturn(60);
+        when(appointmentRepository.findBookedIntervalsStartingBetween(7L, 4L, new Date(HOUR - 30 * MINUTE),
+                new Date(2 * HOUR))).thenReturn(List.of(concurrent));
+
+        assertThrows(ResourceAlreadyExistsException.class,
+                () -> appointmentService.createAppointment(1L, 2L, 3L, new Date(HOUR + 30 * MINUTE)));
+
+        verify(userRepository).lockById(7L);
+        verify(clinicRepository).lockById(4L);
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+        verify(appointmentIntervalIndex, never()).findConflict(any(), any(), any(Long.class), any(Long.class), any());
+    }
+
+    @Test
+    void createAppointmentRejectsSlotOutsideClinicAssignment() {
+        ClinicAssignment clinicAssignment = bookableAssignment();
+
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(new Patient()));
+        when(clinicAssignmentRepository.findById(2L)).thenReturn(Optional.of(clinicAssignment));
+        when(appointmentTypeRepository.findById(3L)).thenReturn(Optional.of(appointmentType(30)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.createAppointment(1L, 2L, 3L, new Date(8 * HOUR - 15 * MINUTE)));
+
+        verify(appointmentIntervalIndex, never()).findConflict(any(), any(), any(Long.class), any(Long.class), any());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void createAppointmentAddsBookingToIndex() {
+        ClinicAssignment clinicAssignment = bookableAssignment();
+
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(new Patient()));
+        when(clinicAssignmentRepository.findById(2L)).thenReturn(Optional.of(clinicAssignment));
+        when(appointmentTypeRepository.findById(3L)).thenReturn(Optional.of(appointmentType(30)));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> {
+            Appointment saved = invocation.getArgument(0);
+            saved.setAppointmentId(11L);
+            return saved;
+        });
+
+        appointmentService.createAppointment(1L, 2L, 3L, new Date(2 * HOUR));
+
+        verify(appointmentIntervalIndex).put(new BookedInterval(11L, 7L, 4L, new Date(2 * HOUR), 30));
+    }
+
     @Test
     void createAppointmentThrowsExceptionWhenPatientIdIsNull() {
         Long clinicAssignmentId = 2L;
@@ -234,6 +307,47 @@ class AppointmentServiceUnitTest {
         assertEquals(appointment, result);
     }
 
+    @Test
+    void updateAppointmentKeepingTheStoredSlotSkipsTheOverlapCheck() {
+        Appointment existing = createAppointment(5L);
+        existing.setClinicAssignment(bookableAssignment());
+        existing.setDoctor(existing.getClinicAssignment().getUser());
+        existing.setAppointmentType(appointmentType(30));
+        existing.setDateTime(new Date(HOUR));
+        Appointment appointment = createAppointment(5L);
+        appointment.setDateTime(new Date(HOUR));
+        appointment.setStatus("confirmed");
+
+        when(appointmentRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(appointmentRepository.save(existing)).thenReturn(existing);
+
+        appointmentService.updateAppointment(appointment);
+
+        verify(appointmentRepository, never()).findBookedIntervalsStartingBetween(any(), any(), any(), any());
+        verify(appointmentIntervalIndex).put(new BookedInterval(5L, 7L, 4L, new Date(HOUR), 30));
+    }
+
+    @Test
+    void updateAppointmentMovingTheSlotChecksTheDatabase() {
+        Appointment existing = createAppointment(5L);
+        existing.setClinicAssignment(bookableAssignment());
+        existing.setDoctor(existing.getClinicAssignment().getUser());
+        existing.setAppointmentType(appointmentType(30));
+        existing.setDateTime(new Date(HOUR));
+        Appointment appointment = createAppointment(5L);
+        appointment.setDateTime(new Date(2 * HOUR));
+
+        when(appointmentRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(appointmentRepository.findBookedIntervalsStartingBetween(eq(7L), eq(4L), any(), any()))
+                .thenReturn(List.of(new BookedInterval(5L, 7L, 4L, new Date(HOUR), 30)));
+        when(appointmentRepository.save(existing)).thenReturn(existing);
+
+        appointmentService.updateAppointment(appointment);
+
+        verify(userRepository).lockById(7L);
+        verify(appointmentIntervalIndex).put(new BookedInterval(5L, 7L, 4L, new Date(2 * HOUR), 30));
+    }
+
     @Test
     void updateAppointmentThrowsExceptionWhenIdIsNull() {
         Appointment appointment = createAppointment(null);
@@ -266,6 +380,7 @@ class AppointmentServiceUnitTest {
         appointmentService.deleteAppointment(id);
 
         verify(appointmentRepository).deleteById(id);
+        verify(appointmentIntervalIndex).remove(id);
     }
 
     @Test
@@ -280,6 +395,135 @@ class AppointmentServiceUnitTest {
         assertEquals("Appointment with id 1 does not exist", exception.getMessage());
     }
 
+    @Test
+    void createAppointmentsResolvesReferencesOnceAndSavesInOneBatch() {
+        stubBulkReferences();
+        when(appointmentRepository.findBookedIntervalsStartingBetween(eq(7L), eq(4L), any(), any()))
+                .thenReturn(List.of());
+        when(appointmentRepository.saveAll(any())).thenAnswer(invocation -> {
+            long id = 100;
+            for (Appointment appointment : invocation.<List<Appointment>>getArgument(0)) {
+                appointment.setAppointmentId(id++);
+            }
+            return invocation.getArgument(0);
+        });
+
+        List<BulkAppointmentResultDTO> results = appointmentService.createAppointments(List.of(
+                bulkRequest(HOUR), bulkRequest(2 * HOUR), bulkRequest(3 * HOUR)));
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(BulkAppointmentResultDTO.Status.CREATED, results.get(i).getStatus());
+            assertEquals(100L + i, results.get(i).getAppointmentId());
+        }
+        verify(patientRepository).findAllById(Set.of(1L));
+        verify(clinicAssignmentRepository).findAllById(Set.of(2L));
+        verify(appointmentTypeRepository).findAllById(Set.of(3L));
+        verify(appointmentRepository).findBookedIntervalsStartingBetween(7L, 4L, new Date(HOUR), new Date(3 * HOUR + 30 * MINUTE));
+        verify(userRepository).lockById(7L);
+        verify(clinicRepository).lockById(4L);
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    void createAppointmentsRejectsAllWhenOneReferenceIsUnknown() {
+        stubBulkReferences();
+        AppointmentDTO unknownPatient = bulkRequest(2 * HOUR);
+        unknownPatient.setPatientId(99L);
+        AppointmentDTO missingDate = bulkRequest(3 * HOUR);
+        missingDate.setDateTime(null);
+
+        List<BulkAppointmentResultDTO> results = appointmentService.createAppointments(List.of(
+                bulkRequest(HOUR), unknownPatient, missingDate));
+
+        assertEquals(BulkAppointmentResultDTO.Status.VALID, results.get(0).getStatus());
+        assertEquals(BulkAppointmentResultDTO.Status.INVALID, results.get(1).getStatus());
+        assertEquals("Patient with id 99 does not exist", results.get(1).getMessage());
+        assertEquals(BulkAppointmentResultDTO.Status.INVALID, results.get(2).getStatus());
+        assertEquals("Missing required parameter(s): dateTime", results.get(2).getMessage());
+        verify(patientRepository).findAllById(Set.of(1L, 99L));
+        verify(appointmentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createAppointmentsRejectsItemsOverlappingEachOther() {
+        stubBulkReferences();
+        when(appointmentRepository.findBookedIntervalsStartingBetween(eq(7L), eq(4L), any(), any()))
+                .thenReturn(List.of());
+
+        List<BulkAppointmentResultDTO> results = appointmentService.createAppointments(List.of(
+                bulkRequest(HOUR), bulkRequest(HOUR + 15 * MINUTE)));
+
+        assertEquals(BulkAppointmentResultDTO.Status.VALID, results.get(0).getStatus());
+        assertEquals(BulkAppointmentResultDTO.Status.CONFLICT, results.get(1).getStatus());
+        assertEquals("The requested time overlaps item 0", results.get(1).getMessage());
+        verify(appointmentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createAppointmentsRejectsItemsOverlappingExistingAppointments() {
+        stubBulkReferences();
+        when(appointmentRepository.findBookedIntervalsStartingBetween(eq(7L), eq(4L), any(), any()))
+                .thenReturn(List.of(new BookedInterval(9L, 7L, 4L, new Date(2 * HOUR), 60)));
+
+        List<BulkAppointmentResultDTO> results = appointmentService.createAppointments(List.of(
+                bulkRequest(HOUR), bulkRequest(2 * HOUR + 30 * MINUTE)));
+
+        assertEquals(BulkAppointmentResultDTO.Status.VALID, results.get(0).getStatus());
+        assertEquals(BulkAppointmentResultDTO.Status.CONFLICT, results.get(1).getStatus());
+        assertEquals("The requested time overlaps appointment 9", results.get(1).getMessage());
+        verify(appointmentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createAppointmentsThrowsExceptionWhenEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> appointmentService.createAppointments(List.of()));
+    }
+
+    private void stubBulkReferences() {
+        Patient patient = new Patient();
+        patient.setPatientId(1L);
+        ClinicAssignment clinicAssignment = bookableAssignment();
+        clinicAssignment.setId(2L);
+        AppointmentType appointmentType = appointmentType(30);
+        appointmentType.setTypeId(3L);
+        when(patientRepository.findAllById(any())).thenReturn(List.of(patient));
+        when(clinicAssignmentRepository.findAllById(any())).thenReturn(List.of(clinicAssignment));
+        when(appointmentTypeRepository.findAllById(any())).thenReturn(List.of(appointmentType));
+    }
+
+    private AppointmentDTO bulkRequest(long startMillis) {
+        AppointmentDTO request = new AppointmentDTO();
+        request.setPatientId(1L);
+        request.setClinicAssignmentId(2L);
+        request.setAppointmentTypeId(3L);
+        request.setDateTime(new Date(startMillis));
+        return request;
+    }
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private ClinicAssignment bookableAssignment() {
+        User doctor = new User();
+        doctor.setUserId(7L);
+        Clinic clinic = new Clinic();
+        clinic.setId(4L);
+        ClinicAssignment clinicAssignment = new ClinicAssignment();
+        clinicAssignment.setUser(doctor);
+        clinicAssignment.setClinic(clinic);
+        clinicAssignment.setStartTime(new Date(0));
+        clinicAssignment.setEndTime(new Date(8 * HOUR));
+        return clinicAssignment;
+    }
+
+    private AppointmentType appointmentType(int minutes) {
+        AppointmentType appointmentType = new AppointmentType();
+        appointmentType.setStandardDuration(minutes);
+        return appointmentType;
+    }
+
     private Appointment createAppointment(Long id) {
         Appointment appointment = new Appointment();
         appointment.setAppointmentId(id);
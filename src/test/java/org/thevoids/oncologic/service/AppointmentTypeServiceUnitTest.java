@@ -7,6 +7,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.thevoids.oncologic.entity.AppointmentType;
 import org.thevoids.oncologic.repository.AppointmentTypeRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
 import org.thevoids.oncologic.service.impl.AppointmentTypeServiceImpl;
 
 import java.util.List;
@@ -14,6 +15,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,6 +25,9 @@ class AppointmentTypeServiceUnitTest {
     @Mock
     private AppointmentTypeRepository appointmentTypeRepository;
 
+    @Mock
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
     @InjectMocks
     private AppointmentTypeServiceImpl appointmentTypeService;
 
@@ -161,6 +166,39 @@ class AppointmentTypeServiceUnitTest {
         assertEquals(45, result.getStandardDuration());
     }
 
+    @Test
+    void updateAppointmentTypeWithNewDurationInvalidatesTheBookingIndex() {
+        AppointmentType existingAppointmentType = new AppointmentType();
+        existingAppointmentType.setTypeId(1L);
+        existingAppointmentType.setStandardDuration(30);
+        AppointmentType updatedAppointmentType = new AppointmentType();
+        updatedAppointmentType.setTypeId(1L);
+        updatedAppointmentType.setStandardDuration(45);
+
+        when(appointmentTypeRepository.findById(1L)).thenReturn(Optional.of(existingAppointmentType));
+
+        appointmentTypeService.updateAppointmentType(updatedAppointmentType);
+
+        verify(appointmentIntervalIndex).invalidate();
+    }
+
+    @Test
+    void updateAppointmentTypeWithSameDurationKeepsTheBookingIndex() {
+        AppointmentType existingAppointmentType = new AppointmentType();
+        existingAppointmentType.setTypeId(1L);
+        existingAppointmentType.setStandardDuration(30);
+        AppointmentType updatedAppointmentType = new AppointmentType();
+        updatedAppointmentType.setTypeId(1L);
+        updatedAppointmentType.setTypeName("Renamed");
+        updatedAppointmentType.setStandardDuration(30);
+
+        when(appointmentTypeRepository.findById(1L)).thenReturn(Optional.of(existingAppointmentType));
+
+        appointmentTypeService.updateAppointmentType(updatedAppointmentType);
+
+        verify(appointmentIntervalIndex, never()).invalidate();
+    }
+
     @Test
     void updateAppointmentTypeWithNullThrowsException() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
@@ -12,6 +12,8 @@ import org.thevoids.oncologic.repository.AssignedRoleRepository;
 import org.thevoids.oncologic.repository.RoleRepository;
 import org.thevoids.oncologic.repository.UserRepository;
 import org.thevoids.oncologic.service.impl.AssignedRolesImpl;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
+import org.thevoids.oncologic.security.jwt.VerifiedTokenCache;
 
 import java.util.Optional;
 
@@ -30,6 +32,12 @@ class AssignedRolesServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PermissionVersionTracker permissionVersionTracker;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @InjectMocks
     private AssignedRolesImpl assignedRoles;
 
@@ -49,6 +57,7 @@ class AssignedRolesServiceUnitTest {
 
         User user = new User();
         user.setUserId(userId);
+        user.setIdentification("123456");
 
         when(userRepository.existsById(userId)).thenReturn(true);
         when(roleRepository.existsById(roleId)).thenReturn(true);
@@ -61,6 +70,8 @@ class AssignedRolesServiceUnitTest {
 
         // Assert
         verify(assignedRoleRepository, times(1)).save(any(AssignedRole.class));
+        verify(permissionVersionTracker, times(1)).increment();
+        verify(verifiedTokenCache, times(1)).evictUser("123456");
     }
 
     @Test
@@ -113,6 +124,7 @@ class AssignedRolesServiceUnitTest {
 
         User user = new User();
         user.setUserId(userId);
+        user.setIdentification("123456");
 
         AssignedRole assignedRole = new AssignedRole();
         assignedRole.setId(1L);
@@ -129,6 +141,8 @@ class AssignedRolesServiceUnitTest {
 
         // Assert
         verify(assignedRoleRepository, times(1)).deleteById(assignedRole.getId());
+        verify(permissionVersionTracker, times(1)).increment();
+        verify(verifiedTokenCache, times(1)).evictUser("123456");
     }
 
     @Test
@@ -181,6 +195,7 @@ class AssignedRolesServiceUnitTest {
 
         User user = new User();
         user.setUserId(userId);
+        user.setIdentification("123456");
 
         AssignedRole assignedRole = new AssignedRole();
         assignedRole.setId(1L);
@@ -197,6 +212,8 @@ class AssignedRolesServiceUnitTest {
 
         // Assert
         verify(assignedRoleRepository, times(1)).save(assignedRole);
+        verify(permissionVersionTracker, times(1)).increment();
+        verify(verifiedTokenCache, times(1)).evictUser("123456");
     }
 
     @Test
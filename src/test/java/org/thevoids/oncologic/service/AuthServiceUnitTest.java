@@ -0,0 +1,81 @@
+package org.thevoids.oncologic.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.thevoids.oncologic.dto.custom.AuthResponseDTO;
+import org.thevoids.oncologic.dto.entity.RoleWithPermissionsDTO;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.service.impl.AuthServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthServiceUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void buildAuthResponse_GroupsPermissionsByRole() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 7L, 1L, "ADMIN", 10L, "VIEW_USERS" });
+        rows.add(new Object[] { 7L, 1L, "ADMIN", 11L, "VIEW_ROLES" });
+        rows.add(new Object[] { 7L, 2L, "DOCTOR", null, null });
+        when(userRepository.findLoginRowsByIdentification("123456")).thenReturn(rows);
+
+        // Act
+        AuthResponseDTO response = authService.buildAuthResponse("123456", "token");
+
+        // Assert
+        assertEquals("token", response.getToken());
+        assertEquals("123456", response.getUsername());
+        assertEquals(7L, response.getUserId());
+        assertEquals(2, response.getRoles().size());
+        RoleWithPermissionsDTO admin = response.getRoles().get(0);
+        assertEquals("ADMIN", admin.getRoleName());
+        assertEquals(List.of("VIEW_USERS", "VIEW_ROLES"),
+                admin.getPermissions().stream().map(p -> p.getPermissionName()).toList());
+        assertTrue(response.getRoles().get(1).getPermissions().isEmpty());
+        verify(userRepository, times(1)).findLoginRowsByIdentification("123456");
+    }
+
+    @Test
+    void buildAuthResponse_UserWithoutRoles_ReturnsEmptyRoles() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 7L, null, null, null, null });
+        when(userRepository.findLoginRowsByIdentification("123456")).thenReturn(rows);
+
+        // Act
+        AuthResponseDTO response = authService.buildAuthResponse("123456", "token");
+
+        // Assert
+        assertEquals(7L, response.getUserId());
+        assertTrue(response.getRoles().isEmpty());
+    }
+
+    @Test
+    void buildAuthResponse_UnknownUser_ThrowsException() {
+        // Arrange
+        when(userRepository.findLoginRowsByIdentification("missing")).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> authService.buildAuthResponse("missing", "token"));
+    }
+}
@@ -0,0 +1,112 @@
+package org.thevoids.oncologic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thevoids.oncologic.dto.custom.AvailableSlotDTO;
+import org.thevoids.oncologic.entity.AppointmentType;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.repository.AppointmentTypeRepository;
+import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
+import org.thevoids.oncologic.repository.ScheduleRepository;
+import org.thevoids.oncologic.repository.UserSpecialtyRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.scheduling.AssignmentWindow;
+import org.thevoids.oncologic.scheduling.BookedInterval;
+import org.thevoids.oncologic.service.impl.AvailabilityServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceUnitTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    @Mock
+    private UserSpecialtyRepository userSpecialtyRepository;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private ClinicAssignmentRepository clinicAssignmentRepository;
+
+    @Mock
+    private AppointmentTypeRepository appointmentTypeRepository;
+
+    @Mock
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    @Test
+    void findFreeSlotsSkipsBookedTimeOfSpecialtyDoctors() {
+        Date from = new Date(0);
+        Date to = new Date(2 * HOUR);
+        when(appointmentTypeRepository.findById(3L)).thenReturn(Optional.of(appointmentType(30)));
+        when(userSpecialtyRepository.findUserIdsBySpecialtyId(1L)).thenReturn(List.of(7L));
+        when(clinicAssignmentRepository.findWindowsOverlapping(List.of(7L), from, to))
+                .thenReturn(List.of(new AssignmentWindow(5L, 7L, 4L, 0L, 2 * HOUR)));
+        when(scheduleRepository.findWeeklyWindows(List.of(7L))).thenReturn(List.of());
+        when(appointmentIntervalIndex.bookingsOverlapping(7L, 4L, 0L, 2 * HOUR))
+                .thenReturn(List.of(new BookedInterval(9L, 7L, 4L, new Date(0), 60)));
+
+        List<AvailableSlotDTO> slots = availabilityService.findFreeSlots(1L, 3L, from, to, 10);
+
+        assertEquals(2, slots.size());
+        assertEquals(new Date(HOUR), slots.get(0).getStart());
+        assertEquals(new Date(HOUR + 30 * MINUTE), slots.get(0).getEnd());
+        assertEquals(5L, slots.get(0).getClinicAssignmentId());
+        assertEquals(7L, slots.get(0).getDoctorId());
+    }
+
+    @Test
+    void findFreeSlotsReturnsEmptyWhenNoDoctorHasTheSpecialty() {
+        when(appointmentTypeRepository.findById(3L)).thenReturn(Optional.of(appointmentType(30)));
+        when(userSpecialtyRepository.findUserIdsBySpecialtyId(1L)).thenReturn(List.of());
+
+        List<AvailableSlotDTO> slots = availabilityService.findFreeSlots(1L, 3L, new Date(0), new Date(HOUR), 10);
+
+        assertTrue(slots.isEmpty());
+        verify(clinicAssignmentRepository, never()).findWindowsOverlapping(any(), any(), any());
+    }
+
+    @Test
+    void findFreeSlotsThrowsWhenAppointmentTypeDoesNotExist() {
+        when(appointmentTypeRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> availabilityService.findFreeSlots(1L, 3L, new Date(0), new Date(HOUR), 10));
+    }
+
+    @Test
+    void findFreeSlotsRejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.findFreeSlots(1L, 3L, new Date(HOUR), new Date(0), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.findFreeSlots(1L, 3L, new Date(0), new Date(100 * 24 * HOUR), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.findFreeSlots(null, 3L, new Date(0), new Date(HOUR), 10));
+    }
+
+    private AppointmentType appointmentType(int minutes) {
+        AppointmentType appointmentType = new AppointmentType();
+        appointmentType.setStandardDuration(minutes);
+        return appointmentType;
+    }
+}
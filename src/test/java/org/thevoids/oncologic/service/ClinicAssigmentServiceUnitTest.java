@@ -22,6 +22,7 @@ import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
 import org.thevoids.oncologic.repository.ClinicRepository;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
 import org.thevoids.oncologic.service.impl.ClinicAssigmentImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +34,8 @@ class ClinicAssigmentServiceUnitTest {
     private ClinicRepository clinicRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private AppointmentIntervalIndex appointmentIntervalIndex;
 
     @InjectMocks
     private ClinicAssigmentImpl clinicAssigmentService;
@@ -85,6 +88,7 @@ class ClinicAssigmentServiceUnitTest {
         when(clinicAssignmentRepository.save(validAssignment)).thenReturn(validAssignment);
         ClinicAssignment result = clinicAssigmentService.updateClinicAssignment(validAssignment);
         assertEquals(validAssignment, result);
+        verify(appointmentIntervalIndex).invalidate();
     }
 
     @Test
@@ -115,6 +119,7 @@ class ClinicAssigmentServiceUnitTest {
         when(clinicAssignmentRepository.existsById(10L)).thenReturn(true);
         clinicAssigmentService.deleteClinicAssigment(10L);
         verify(clinicAssignmentRepository).deleteById(10L);
+        verify(appointmentIntervalIndex).invalidate();
     }
 
     @Test
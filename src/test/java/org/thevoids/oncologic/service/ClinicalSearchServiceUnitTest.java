@@ -0,0 +1,55 @@
+package org.thevoids.oncologic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thevoids.oncologic.dto.custom.ClinicalSearchHitDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.service.impl.ClinicalSearchServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ClinicalSearchServiceUnitTest {
+
+    @Mock
+    private ClinicalTextIndex clinicalTextIndex;
+
+    @InjectMocks
+    private ClinicalSearchServiceImpl clinicalSearchService;
+
+    @Test
+    void search_ClampsTheLimit() {
+        // Arrange
+        List<ClinicalSearchHitDTO> hits = List.of(new ClinicalSearchHitDTO(ClinicalRecordType.LAB, 4L, 10L, 1.0));
+        when(clinicalTextIndex.search("tamoxifeno", ClinicalRecordType.LAB, 100)).thenReturn(hits);
+        when(clinicalTextIndex.search("tamoxifeno", null, 1)).thenReturn(List.of());
+
+        // Act
+        List<ClinicalSearchHitDTO> result = clinicalSearchService.search("tamoxifeno", ClinicalRecordType.LAB, 5000);
+        clinicalSearchService.search("tamoxifeno", null, 0);
+
+        // Assert
+        assertEquals(hits, result);
+    }
+
+    @Test
+    void search_QueryWithoutWords_Throws() {
+        // Act & Assert
+        assertThrows(InvalidOperationException.class, () -> clinicalSearchService.search(" - ", null, 20));
+        assertThrows(InvalidOperationException.class, () -> clinicalSearchService.search(null, null, 20));
+        verify(clinicalTextIndex, never()).search(any(), any(), anyInt());
+    }
+}
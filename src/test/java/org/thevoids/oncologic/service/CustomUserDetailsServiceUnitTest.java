@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.security.CustomUserDetail;
+import org.thevoids.oncologic.security.RoleAuthorityIndex;
 import org.thevoids.oncologic.service.impl.CustomUserDetailsServiceImpl;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +20,9 @@ class CustomUserDetailsServiceUnitTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private RoleAuthorityIndex roleAuthorityIndex;
+
     @InjectMocks
     private CustomUserDetailsServiceImpl customUserDetailsService;
 
@@ -58,4 +62,22 @@ class CustomUserDetailsServiceUnitTest {
         assertEquals("User not found", exception.getMessage());
         verify(userService, times(1)).getUserByIdentification("123456");
     }
-}
\ No newline at end of file
+
+    @Test
+    void updatePassword_StoresNewHash_ReturnsUpdatedUserDetails() {
+        // Arrange
+        User user = new User();
+        user.setIdentification("123456");
+        user.setPassword("$2a$10$new");
+        UserDetails current = mock(UserDetails.class);
+        when(current.getUsername()).thenReturn("123456");
+        when(userService.updatePasswordHash("123456", "$2a$10$new")).thenReturn(user);
+
+        // Act
+        UserDetails updated = customUserDetailsService.updatePassword(current, "$2a$10$new");
+
+        // Assert
+        assertEquals("$2a$10$new", updated.getPassword());
+        verify(userService, times(1)).updatePasswordHash("123456", "$2a$10$new");
+    }
+}
@@ -0,0 +1,270 @@
+package org.thevoids.oncologic.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.service.impl.FileServiceImpl;
+import org.thevoids.oncologic.storage.BlobReferenceCounter;
+import org.thevoids.oncologic.storage.BlobStore;
+import org.thevoids.oncologic.storage.InMemoryBlobReferences;
+import org.thevoids.oncologic.storage.InMemoryBlobStore;
+import org.thevoids.oncologic.storage.LocalBlobStore;
+
+class FileServiceUnitTest {
+
+    private static final byte[] REFERRAL = "%PDF-1.7 referral".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploads;
+
+    private FileServiceImpl fileService;
+
+    @BeforeEach
+    void setUp() {
+        fileService = node(new LocalBlobStore(uploads.toString()), InMemoryBlobReferences.counter());
+    }
+
+    @Test
+    void storeFile_NamesTheFileByItsContentHash() throws Exception {
+        // Act
+        String path = fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+
+        // Assert
+        String hash = sha256(REFERRAL);
+        assertEquals("labs/" + hash + ".pdf", path);
+        Path blob = uploads.resolve("labs").resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+        assertEquals(blob.toString(), fileService.getFullPath(path));
+        assertArrayEquals(REFERRAL, Files.readAllBytes(blob));
+        try (Stream<Path> temp = Files.list(uploads.resolve(".tmp"))) {
+            assertEquals(0, temp.count());
+        }
+    }
+
+    @Test
+    void storeFile_SameContentTwice_KeepsOneCopy() throws Exception {
+        // Act
+        String first = fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        String second = fileService.storeFile(pdf("copy of referral.pdf", REFERRAL), "labs");
+        String other = fileService.storeFile(pdf("result.pdf", "%PDF-1.7 result".getBytes()), "labs");
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(2, blobCount());
+    }
+
+    @Test
+    void storeFileFromPath_TakesTheFileOverAndSharesTheBlob() throws Exception {
+        // Arrange
+        String stored = fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        Path first = Files.write(uploads.resolve("first.part"), "%PDF-1.7 imaging".getBytes());
+        Path second = Files.write(uploads.resolve("second.part"), REFERRAL);
+
+        // Act
+        String path = fileService.storeFile(first, "imaging.pdf", "labs");
+        String duplicate = fileService.storeFile(second, "referral.pdf", "labs");
+
+        // Assert
+        assertEquals("labs/" + sha256("%PDF-1.7 imaging".getBytes()) + ".pdf", path);
+        assertEquals(stored, duplicate);
+        assertFalse(Files.exists(first));
+        assertFalse(Files.exists(second));
+        assertEquals(2, blobCount());
+        fileService.deleteFile(stored);
+        assertTrue(Files.exists(Paths.get(fileService.getFullPath(duplicate))));
+    }
+
+    @Test
+    void deleteFile_RemovesTheBlobOnlyWhenNoLongerReferenced() {
+        // Arrange
+        String path = fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        Path blob = Paths.get(fileService.getFullPath(path));
+
+        // Act & Assert
+        fileService.deleteFile(path);
+        assertTrue(Files.exists(blob));
+
+        fileService.deleteFile(path);
+        assertFalse(Files.exists(blob));
+
+        fileService.deleteFile(path);
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void deleteFile_RemovesTheDerivativesWithTheBlob() throws IOException {
+        // Arrange
+        String path = fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        Path text = Files.writeString(uploads.resolve("text.txt"), "referral");
+        fileService.storeDerivative(path, "text.txt", text);
+        String derived = fileService.getDerivativePath(path, "text.txt");
+        Path stored = Paths.get(fileService.getFullPath(derived));
+
+        // Act & Assert
+        assertEquals(Paths.get(fileService.getFullPath(path) + ".d", "text.txt"), stored);
+        assertEquals("referral", new String(fileService.openFile(derived).readAllBytes(), StandardCharsets.UTF_8));
+        fileService.deleteFile(path);
+        assertTrue(fileService.exists(derived));
+
+        fileService.deleteFile(path);
+        assertFalse(fileService.exists(derived));
+        assertFalse(Files.exists(stored.getParent()));
+    }
+
+    @Test
+    void remoteStore_IsReadThroughStreamsAndTheSameCounts() throws Exception {
+        // Arrange
+        InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        FileServiceImpl remote = node(blobStore, InMemoryBlobReferences.counter());
+
+        // Act
+        String path = remote.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        remote.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+
+        // Assert
+        String hash = sha256(REFERRAL);
+        assertEquals(List.of("labs/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash),
+                blobStore.list("labs/"));
+        assertArrayEquals(REFERRAL, remote.openFile(path).readAllBytes());
+        assertNull(remote.getFullPath(path));
+        assertTrue(remote.getDownloadUrl(path, "referral.pdf").isEmpty());
+        remote.deleteFile(path);
+        assertTrue(remote.exists(path));
+        remote.deleteFile(path);
+        assertEquals(List.of(), blobStore.list(""));
+    }
+
+    @Test
+    void concurrentStoresAndDeletes_KeepTheCountConsistent() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> stores = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                stores.add(executor.submit(() -> fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs")));
+            }
+            List<String> paths = new ArrayList<>();
+            for (Future<String> store : stores) {
+                paths.add(store.get());
+            }
+            Path blob = Paths.get(fileService.getFullPath(paths.get(0)));
+
+            // Act
+            List<Future<?>> deletes = new ArrayList<>();
+            for (String path : paths.subList(1, paths.size())) {
+                deletes.add(executor.submit(() -> fileService.deleteFile(path)));
+            }
+            for (Future<?> delete : deletes) {
+                delete.get();
+            }
+
+            // Assert
+            assertTrue(Files.exists(blob));
+            fileService.deleteFile(paths.get(0));
+            assertFalse(Files.exists(blob));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodesSharingTheCounts_KeepTheBlobWhileEitherReferencesIt() {
+        // Arrange
+        LocalBlobStore blobStore = new LocalBlobStore(uploads.toString());
+        BlobReferenceCounter counter = InMemoryBlobReferences.counter();
+        FileServiceImpl first = node(blobStore, counter);
+        FileServiceImpl second = node(blobStore, counter);
+        String path = first.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        second.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+        Path blob = Paths.get(first.getFullPath(path));
+
+        // Act & Assert
+        first.deleteFile(path);
+        assertTrue(Files.exists(blob));
+
+        second.deleteFile(path);
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void legacyPaths_AreServedAndDeletedAsBefore() throws IOException {
+        // Arrange
+        Path legacy = uploads.resolve("labs").resolve("3f2b6c1e-8a4d-4c1b-9e7a-2d5f0b9c8a71.pdf");
+        Files.createDirectories(legacy.getParent());
+        Files.write(legacy, REFERRAL);
+        String path = "labs/" + legacy.getFileName();
+
+        // Act & Assert
+        assertEquals(legacy.toString(), fileService.getFullPath(path));
+        assertFalse(fileService.isImmutable(path));
+        fileService.deleteFile(path);
+        assertFalse(Files.exists(legacy));
+    }
+
+    @Test
+    void isImmutable_TrueForContentAddressedPaths() {
+        // Act
+        String path = fileService.storeFile(pdf("referral.pdf", REFERRAL), "labs");
+
+        // Assert
+        assertTrue(fileService.isImmutable(path));
+    }
+
+    @Test
+    void storeFile_InvalidType_ThrowsException() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "script.sh", "application/x-sh", REFERRAL);
+
+        // Act & Assert
+        assertThrows(InvalidOperationException.class, () -> fileService.storeFile(file, "labs"));
+    }
+
+    private FileServiceImpl node(BlobStore blobStore, BlobReferenceCounter counter) {
+        FileServiceImpl node = new FileServiceImpl(blobStore, counter);
+        ReflectionTestUtils.setField(node, "uploadDir", uploads.toString());
+        ReflectionTestUtils.setField(node, "maxFileSize", 10_485_760L);
+        return node;
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> files = Files.walk(uploads.resolve("labs"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static MockMultipartFile pdf(String name, byte[] content) {
+        return new MockMultipartFile("file", name, "application/pdf", content);
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
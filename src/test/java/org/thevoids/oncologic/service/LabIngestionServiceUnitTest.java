@@ -0,0 +1,217 @@
+package org.thevoids.oncologic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thevoids.oncologic.dto.custom.BulkLabResultDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.entity.Lab;
+import org.thevoids.oncologic.entity.Patient;
+import org.thevoids.oncologic.entity.User;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.service.impl.LabIngestionServiceImpl;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class LabIngestionServiceUnitTest {
+
+    @Mock
+    private LabRepository labRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ClinicalTextIndex clinicalTextIndex;
+
+    private LabIngestionServiceImpl labIngestionService;
+
+    private Lab existingLab;
+
+    @BeforeEach
+    void setUp() {
+        labIngestionService = new LabIngestionServiceImpl(labRepository, patientRepository, userRepository,
+                new TransactionTemplate(transactionManager), entityManager, clinicalTextIndex);
+
+        Patient patient = new Patient();
+        patient.setPatientId(1L);
+        User technician = new User();
+        technician.setUserId(3L);
+        existingLab = new Lab();
+        existingLab.setLabId(50L);
+        existingLab.setPatient(patient);
+        existingLab.setLabTechnician(technician);
+        existingLab.setTestType("Blood Test");
+        existingLab.setAttachment("report.pdf");
+
+        lenient().when(patientRepository.findAllById(any())).thenReturn(List.of(patient));
+        lenient().when(userRepository.findAllById(any())).thenReturn(List.of(technician));
+        lenient().when(labRepository.findAllById(any())).thenReturn(List.of(existingLab));
+        lenient().when(labRepository.saveAll(any())).thenAnswer(invocation -> {
+            long id = 1000;
+            for (Lab lab : invocation.<List<Lab>>getArgument(0)) {
+                lab.setLabId(id++);
+            }
+            return invocation.getArgument(0);
+        });
+    }
+
+    @Test
+    void ingestLabs_CreatesUpdatesAndReportsFailuresPerRow() {
+        // Arrange
+        LabDTO order = new LabDTO(null, 1L, 3L, "CT Scan", new Date(), null, null, null);
+        LabDTO result = new LabDTO(50L, null, null, null, null, new Date(), "Normal", null);
+        LabDTO unknownPatient = new LabDTO(null, 99L, 3L, "MRI", new Date(), null, null, null);
+        LabDTO missingDate = new LabDTO(null, 1L, 3L, "MRI", null, null, null, null);
+
+        // Act
+        List<BulkLabResultDTO> results = labIngestionService.ingestLabs(
+                List.of(order, result, unknownPatient, missingDate));
+
+        // Assert
+        assertEquals(BulkLabResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(1000L, results.get(0).getLabId());
+        assertEquals(BulkLabResultDTO.Status.UPDATED, results.get(1).getStatus());
+        assertEquals(50L, results.get(1).getLabId());
+        assertEquals(BulkLabResultDTO.Status.FAILED, results.get(2).getStatus());
+        assertEquals("Patient with id 99 does not exist", results.get(2).getMessage());
+        assertEquals(BulkLabResultDTO.Status.FAILED, results.get(3).getStatus());
+
+        // Updates only touch the fields the row carries
+        assertEquals("Normal", existingLab.getResult());
+        assertEquals("Blood Test", existingLab.getTestType());
+        assertEquals("report.pdf", existingLab.getAttachment());
+
+        verify(patientRepository).findAllById(Set.of(1L, 99L));
+        verify(labRepository).findAllById(Set.of(50L));
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+        verify(clinicalTextIndex, times(2)).indexLab(any());
+    }
+
+    @Test
+    void ingestLabs_RowChangingTheAttachment_Fails() {
+        // Arrange
+        LabDTO sameAttachment = new LabDTO(50L, null, null, null, null, null, "Normal", "report.pdf");
+        LabDTO otherAttachment = new LabDTO(50L, null, null, null, null, null, null, "labs/other.pdf");
+        LabDTO newWithAttachment = new LabDTO(null, 1L, 3L, "MRI", new Date(), null, null, "report.pdf");
+
+        // Act
+        List<BulkLabResultDTO> results = labIngestionService.ingestLabs(
+                List.of(sameAttachment, otherAttachment, newWithAttachment));
+
+        // Assert
+        assertEquals(BulkLabResultDTO.Status.UPDATED, results.get(0).getStatus());
+        assertEquals(BulkLabResultDTO.Status.FAILED, results.get(1).getStatus());
+        assertEquals("attachment can only be changed by uploading a file", results.get(1).getMessage());
+        assertEquals(BulkLabResultDTO.Status.FAILED, results.get(2).getStatus());
+        assertEquals("report.pdf", existingLab.getAttachment());
+    }
+
+    @Test
+    void ingestLabs_WritesOneTransactionPerChunk() {
+        // Arrange
+        List<LabDTO> labs = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            labs.add(new LabDTO(null, 1L, 3L, "Blood Test", new Date(), null, null, null));
+        }
+
+        // Act
+        List<BulkLabResultDTO> results = labIngestionService.ingestLabs(labs);
+
+        // Assert
+        assertEquals(1200, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == BulkLabResultDTO.Status.CREATED));
+        assertEquals(1199, results.get(1199).getIndex());
+        verify(patientRepository, times(3)).findAllById(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void ingestLabs_FailedChunkDoesNotAbortTheOthers() {
+        // Arrange
+        List<LabDTO> labs = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            labs.add(new LabDTO(null, 1L, 3L, "Blood Test", new Date(), null, null, null));
+        }
+        doThrow(new DataIntegrityViolationException("constraint")).doNothing().when(entityManager).flush();
+
+        // Act
+        List<BulkLabResultDTO> results = labIngestionService.ingestLabs(labs);
+
+        // Assert
+        assertEquals(BulkLabResultDTO.Status.FAILED, results.get(0).getStatus());
+        assertNull(results.get(0).getLabId());
+        assertEquals("Could not be saved: constraint", results.get(499).getMessage());
+        assertEquals(BulkLabResultDTO.Status.CREATED, results.get(500).getStatus());
+        verify(transactionManager).rollback(any());
+        // Only the rows of the committed chunk are indexed
+        verify(clinicalTextIndex, times(100)).indexLab(any());
+    }
+
+    @Test
+    void ingestLabs_EmptyInput_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> labIngestionService.ingestLabs(List.of()));
+    }
+
+    @Test
+    void ingestLabsCsv_ParsesRowsAndReportsBadLines() throws IOException {
+        // Arrange
+        String csv = "patient_id,labTechnicianId,testType,requestDate,result\n"
+                + "1,3,\"Blood, full\",2024-03-01T08:30:00Z,\n"
+                + "1,3,MRI,not-a-date,\n"
+                + "1,3,CT,2024-03-01,\"Normal\"\n";
+
+        // Act
+        List<BulkLabResultDTO> results = labIngestionService.ingestLabsCsv(new StringReader(csv));
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(BulkLabResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(BulkLabResultDTO.Status.FAILED, results.get(1).getStatus());
+        assertEquals("Line 3: Invalid date 'not-a-date'", results.get(1).getMessage());
+        assertEquals(BulkLabResultDTO.Status.CREATED, results.get(2).getStatus());
+    }
+
+    @Test
+    void ingestLabsCsv_UnknownColumn_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> labIngestionService.ingestLabsCsv(new StringReader("patientId,color\n1,red\n")));
+    }
+}
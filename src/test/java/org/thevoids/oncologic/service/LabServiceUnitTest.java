@@ -1,15 +1,23 @@
 package org.thevoids.oncologic.service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -18,7 +26,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.thevoids.oncologic.attachment.AttachmentPipeline;
 import org.thevoids.oncologic.dto.entity.LabDTO;
 import org.thevoids.oncologic.entity.Lab;
 import org.thevoids.oncologic.entity.Patient;
@@ -29,7 +41,12 @@ import org.thevoids.oncologic.mapper.LabMapper;
 import org.thevoids.oncologic.repository.LabRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.service.impl.FileServiceImpl;
 import org.thevoids.oncologic.service.impl.LabServiceImpl;
+import org.thevoids.oncologic.storage.InMemoryBlobReferences;
+import org.thevoids.oncologic.storage.InMemoryBlobStore;
 
 @ExtendWith(MockitoExtension.class)
 public class LabServiceUnitTest {
@@ -49,6 +66,12 @@ public class LabServiceUnitTest {
         @Mock
         private FileService fileService;
 
+        @Mock
+        private ClinicalTextIndex clinicalTextIndex;
+
+        @Mock
+        private AttachmentPipeline attachmentPipeline;
+
         @InjectMocks
         private LabServiceImpl labService;
 
@@ -98,7 +121,7 @@ public class LabServiceUnitTest {
                 LabDTO savedLabDTO = new LabDTO();
                 savedLabDTO.setLabId(id);
 
-                when(labRepository.existsById(id)).thenReturn(true);
+                when(labRepository.findById(id)).thenReturn(Optional.of(lab));
                 when(labMapper.toLab(labDTO)).thenReturn(lab);
                 when(labRepository.save(lab)).thenReturn(savedLab);
                 when(labMapper.toLabDTO(savedLab)).thenReturn(savedLabDTO);
@@ -110,6 +133,65 @@ public class LabServiceUnitTest {
                 verify(labMapper).toLab(labDTO);
                 verify(labRepository).save(lab);
                 verify(labMapper).toLabDTO(savedLab);
+                verify(clinicalTextIndex).indexLab(savedLabDTO);
+        }
+
+        @Test
+        void updateLabRejectsAnotherAttachment() {
+                Long id = 1L;
+                Lab lab = new Lab();
+                lab.setLabId(id);
+                lab.setAttachment("labs/report.pdf");
+                LabDTO labDTO = new LabDTO();
+                labDTO.setLabId(id);
+                labDTO.setAttachment("labs/other-lab.pdf");
+
+                when(labRepository.findById(id)).thenReturn(Optional.of(lab));
+
+                InvalidOperationException exception = assertThrows(InvalidOperationException.class,
+                                () -> labService.updateLab(labDTO));
+
+                assertEquals("The attachment can only be changed by uploading a file", exception.getMessage());
+                verify(labRepository, never()).save(any(Lab.class));
+        }
+
+        @Test
+        void deletingALabKeepsTheFileSharedWithAnotherLab(@TempDir Path uploads) throws IOException {
+                InMemoryBlobStore blobStore = new InMemoryBlobStore();
+                FileServiceImpl files = new FileServiceImpl(blobStore, InMemoryBlobReferences.counter());
+                ReflectionTestUtils.setField(files, "uploadDir", uploads.toString());
+                ReflectionTestUtils.setField(files, "maxFileSize", 10_485_760L);
+                LabServiceImpl service = new LabServiceImpl(labRepository, userRepository, patientRepository,
+                                labMapper, files, clinicalTextIndex, attachmentPipeline);
+                byte[] report = "%PDF-1.7 report".getBytes(StandardCharsets.UTF_8);
+
+                Lab first = new Lab();
+                first.setLabId(1L);
+                first.setAttachment(files.storeFile(new MockMultipartFile("file", "report.pdf",
+                                "application/pdf", report), "labs"));
+                Lab second = new Lab();
+                second.setLabId(2L);
+                LabDTO secondDTO = new LabDTO();
+                secondDTO.setLabId(2L);
+
+                when(labRepository.findById(1L)).thenReturn(Optional.of(first));
+                when(labRepository.findById(2L)).thenReturn(Optional.of(second));
+                when(labMapper.toLab(secondDTO)).thenReturn(second);
+                when(labRepository.save(second)).thenReturn(second);
+
+                // Pointing at the first lab's file is refused; uploading the same content shares it
+                secondDTO.setAttachment(first.getAttachment());
+                assertThrows(InvalidOperationException.class, () -> service.updateLab(secondDTO));
+                secondDTO.setAttachment(null);
+                service.updateLabWithFile(secondDTO, new MockMultipartFile("file", "copy.pdf",
+                                "application/pdf", report));
+                assertEquals(first.getAttachment(), second.getAttachment());
+
+                service.deleteLab(1L);
+                assertTrue(files.exists(second.getAttachment()));
+
+                service.deleteLab(2L);
+                assertEquals(List.of(), blobStore.list(""));
         }
 
         @Test
@@ -139,7 +221,7 @@ public class LabServiceUnitTest {
                 LabDTO labDTO = new LabDTO();
                 labDTO.setLabId(id);
 
-                when(labRepository.existsById(id)).thenReturn(false);
+                when(labRepository.findById(id)).thenReturn(Optional.empty());
 
                 ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                                 () -> labService.updateLab(labDTO));
@@ -160,6 +242,8 @@ public class LabServiceUnitTest {
                 labService.deleteLab(id);
 
                 verify(labRepository).deleteById(id);
+                verify(clinicalTextIndex).remove(ClinicalRecordType.LAB, id);
+                verify(attachmentPipeline).discard(id);
         }
 
         @Test
@@ -198,6 +282,48 @@ public class LabServiceUnitTest {
                 verify(labMapper).toLabDTO(labs.get(1));
         }
 
+        @Test
+        void getLabsAfterUsesKeysetQuery() {
+                List<Lab> labs = List.of(createLab(6L, new Date()), createLab(7L, new Date()));
+                LabDTO first = createLabDTO(6L, new Date());
+                LabDTO second = createLabDTO(7L, new Date());
+
+                when(labRepository.findByLabIdGreaterThanOrderByLabIdAsc(5L, Limit.of(3))).thenReturn(labs);
+                when(labMapper.toLabDTO(labs.get(0))).thenReturn(first);
+                when(labMapper.toLabDTO(labs.get(1))).thenReturn(second);
+
+                List<LabDTO> result = labService.getLabsAfter(5L, 3);
+
+                assertEquals(List.of(first, second), result);
+                verify(labRepository, never()).findAll();
+        }
+
+        @Test
+        void getLabsAfterWithoutCursorStartsFromFirstId() {
+                when(labRepository.findByLabIdGreaterThanOrderByLabIdAsc(0L, Limit.of(10))).thenReturn(List.of());
+
+                List<LabDTO> result = labService.getLabsAfter(null, 10);
+
+                assertEquals(0, result.size());
+                verify(labRepository).findByLabIdGreaterThanOrderByLabIdAsc(0L, Limit.of(10));
+        }
+
+        @Test
+        void forEachLabForExportStreamsRowsAndClosesStream() {
+                LabDTO first = createLabDTO(1L, new Date());
+                LabDTO second = createLabDTO(2L, new Date());
+                AtomicBoolean closed = new AtomicBoolean();
+                when(labRepository.streamAllForExport())
+                                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+                List<LabDTO> exported = new ArrayList<>();
+                labService.forEachLabForExport(exported::add);
+
+                assertEquals(List.of(first, second), exported);
+                assertTrue(closed.get());
+                verify(labRepository, never()).findAll();
+        }
+
         private LabDTO createLabDTO(Long id, Date requestDate) {
                 LabDTO labDTO = new LabDTO();
                 labDTO.setLabId(id);
@@ -336,6 +462,8 @@ public class LabServiceUnitTest {
                 verify(fileService).isValidFile(mockFile);
                 verify(fileService).storeFile(mockFile, "labs");
                 verify(labRepository).save(updatedLab);
+                verify(attachmentPipeline).discard(labId);
+                verify(attachmentPipeline).submit(expectedLabDTO);
         }
 
         @Test
@@ -522,6 +650,38 @@ public class LabServiceUnitTest {
                 verify(labRepository).deleteById(labId);
         }
 
+        @Test
+        void attachFileReplacesThePreviousAttachment() {
+                Long labId = 1L;
+                Lab lab = new Lab();
+                lab.setLabId(labId);
+                lab.setAttachment("labs/old-file.pdf");
+                LabDTO labDTO = new LabDTO();
+                labDTO.setLabId(labId);
+
+                when(labRepository.findById(labId)).thenReturn(Optional.of(lab));
+                when(labRepository.save(lab)).thenReturn(lab);
+                when(labMapper.toLabDTO(lab)).thenReturn(labDTO);
+
+                LabDTO result = labService.attachFile(labId, "labs/new-file.pdf");
+
+                assertEquals(labDTO, result);
+                assertEquals("labs/new-file.pdf", lab.getAttachment());
+                verify(fileService).deleteFile("labs/old-file.pdf");
+                verify(clinicalTextIndex).indexLab(labDTO);
+                verify(attachmentPipeline).discard(labId);
+                verify(attachmentPipeline).submit(labDTO);
+        }
+
+        @Test
+        void attachFileThrowsExceptionWhenLabDoesNotExist() {
+                when(labRepository.findById(1L)).thenReturn(Optional.empty());
+
+                assertThrows(ResourceNotFoundException.class,
+                                () -> labService.attachFile(1L, "labs/new-file.pdf"));
+                verify(fileService, never()).deleteFile(any());
+        }
+
         @Test
         void deleteLabCallsFileServiceWhenAttachmentIsEmpty() {
                 Long labId = 1L;
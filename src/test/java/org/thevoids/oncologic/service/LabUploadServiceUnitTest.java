@@ -0,0 +1,256 @@
+package org.thevoids.oncologic.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thevoids.oncologic.dto.custom.LabUploadDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.exception.ResourceNotFoundException;
+import org.thevoids.oncologic.exception.UploadOffsetMismatchException;
+import org.thevoids.oncologic.service.impl.FileServiceImpl;
+import org.thevoids.oncologic.storage.InMemoryBlobReferences;
+import org.thevoids.oncologic.storage.LocalBlobStore;
+import org.thevoids.oncologic.service.impl.LabUploadServiceImpl;
+
+class LabUploadServiceUnitTest {
+
+    private static final String OWNER = "tecnico";
+    private static final long MAX_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path uploads;
+
+    private LabService labService;
+    private FileServiceImpl fileService;
+    private LabUploadServiceImpl labUploadService;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        labService = mock(LabService.class);
+        fileService = new FileServiceImpl(new LocalBlobStore(uploads.toString()), InMemoryBlobReferences.counter());
+        ReflectionTestUtils.setField(fileService, "uploadDir", uploads.toString());
+        ReflectionTestUtils.setField(fileService, "maxFileSize", 10_485_760L);
+        labUploadService = newService();
+        content = new byte[300_000];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    void startUpload_CreatesTheFileAtItsFullSize() throws IOException {
+        // Act
+        LabUploadDTO upload = start();
+
+        // Assert
+        assertEquals(0, upload.getOffset());
+        assertEquals(content.length, upload.getSize());
+        assertEquals(content.length, Files.size(part(upload)));
+        verify(labService).getLabById(7L);
+    }
+
+    @Test
+    void startUpload_InvalidTypeOrSize_ThrowsException() {
+        // Act & Assert
+        assertThrows(InvalidOperationException.class, () -> labUploadService.startUpload(
+                new LabUploadDTO(null, 7L, "scan.sh", "application/x-sh", 10, 0, null), OWNER));
+        assertThrows(InvalidOperationException.class, () -> labUploadService.startUpload(
+                new LabUploadDTO(null, 7L, "scan.pdf", "application/pdf", MAX_SIZE + 1, 0, null), OWNER));
+        assertThrows(InvalidOperationException.class, () -> labUploadService.startUpload(
+                new LabUploadDTO(null, 7L, "scan.pdf", "application/pdf", 0, 0, null), OWNER));
+    }
+
+    @Test
+    void chunksThenComplete_AttachTheStoredFileToTheLab() throws Exception {
+        // Arrange
+        LabUploadDTO upload = start();
+        LabDTO lab = new LabDTO();
+        when(labService.attachFile(eq(7L), anyString())).thenReturn(lab);
+
+        // Act
+        labUploadService.appendChunk(upload.getUploadId(), 0, chunk(0, 100_000), OWNER);
+        LabUploadDTO progress = labUploadService.appendChunk(upload.getUploadId(), 100_000,
+                chunk(100_000, content.length), OWNER);
+        LabDTO result = labUploadService.completeUpload(upload.getUploadId(), OWNER);
+
+        // Assert
+        assertEquals(content.length, progress.getOffset());
+        assertSame(lab, result);
+        String path = "labs/" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content))
+                + ".pdf";
+        verify(labService).attachFile(7L, path);
+        assertArrayEquals(content, Files.readAllBytes(Paths.get(fileService.getFullPath(path))));
+        assertEquals(0, uploadFiles());
+        assertThrows(ResourceNotFoundException.class, () -> labUploadService.getUpload(upload.getUploadId(), OWNER));
+    }
+
+    @Test
+    void appendChunk_WrongOffset_ThrowsMismatchAndKeepsTheOffset() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+        labUploadService.appendChunk(upload.getUploadId(), 0, chunk(0, 1000), OWNER);
+
+        // Act & Assert
+        assertThrows(UploadOffsetMismatchException.class,
+                () -> labUploadService.appendChunk(upload.getUploadId(), 500, chunk(500, 2000), OWNER));
+        assertEquals(1000, labUploadService.getUpload(upload.getUploadId(), OWNER).getOffset());
+    }
+
+    @Test
+    void appendChunk_CutShort_KeepsWhatArrivedAndResumesAfterIt() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+        InputStream dropped = new InputStream() {
+            private final InputStream bytes = chunk(0, 70_000);
+
+            @Override
+            public int read() throws IOException {
+                int b = bytes.read();
+                if (b < 0) {
+                    throw new IOException("Connection reset");
+                }
+                return b;
+            }
+        };
+
+        // Act
+        assertThrows(IOException.class,
+                () -> labUploadService.appendChunk(upload.getUploadId(), 0, dropped, OWNER));
+        long offset = labUploadService.getUpload(upload.getUploadId(), OWNER).getOffset();
+        labUploadService.appendChunk(upload.getUploadId(), offset, chunk((int) offset, content.length), OWNER);
+
+        // Assert
+        assertEquals(70_000, offset);
+        assertArrayEquals(content, Files.readAllBytes(part(upload)));
+    }
+
+    @Test
+    void appendChunk_PastTheDeclaredSize_ThrowsExceptionAndKeepsNothing() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+        byte[] tooLong = Arrays.copyOf(content, content.length + 1);
+
+        // Act & Assert
+        assertThrows(InvalidOperationException.class, () -> labUploadService.appendChunk(upload.getUploadId(), 0,
+                new ByteArrayInputStream(tooLong), OWNER));
+        assertEquals(0, labUploadService.getUpload(upload.getUploadId(), OWNER).getOffset());
+    }
+
+    @Test
+    void completeUpload_MissingBytes_ThrowsMismatch() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+        labUploadService.appendChunk(upload.getUploadId(), 0, chunk(0, 1000), OWNER);
+
+        // Act & Assert
+        assertThrows(UploadOffsetMismatchException.class,
+                () -> labUploadService.completeUpload(upload.getUploadId(), OWNER));
+        verify(labService, never()).attachFile(eq(7L), anyString());
+    }
+
+    @Test
+    void uploads_AreOnlyVisibleToTheirOwner() {
+        // Arrange
+        LabUploadDTO upload = start();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> labUploadService.getUpload(upload.getUploadId(), "otro"));
+        assertThrows(ResourceNotFoundException.class, () -> labUploadService.getUpload("../../labs", OWNER));
+    }
+
+    @Test
+    void uploads_SurviveARestart() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+        labUploadService.appendChunk(upload.getUploadId(), 0, chunk(0, 1000), OWNER);
+
+        // Act
+        LabUploadDTO resumed = newService().getUpload(upload.getUploadId(), OWNER);
+
+        // Assert
+        assertEquals(1000, resumed.getOffset());
+        assertEquals("scan.pdf", resumed.getFileName());
+        assertEquals(7L, resumed.getLabId());
+    }
+
+    @Test
+    void expiredUploads_AreGoneAndPurged() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+        Files.setLastModifiedTime(uploads.resolve(".uploads").resolve(upload.getUploadId() + ".properties"),
+                FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        LabUploadServiceImpl restarted = newService();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> restarted.getUpload(upload.getUploadId(), OWNER));
+        restarted.startUpload(new LabUploadDTO(null, 7L, "other.pdf", "application/pdf", 10, 0, null), OWNER);
+        assertFalse(Files.exists(part(upload)));
+    }
+
+    @Test
+    void cancelUpload_DeletesWhatWasReceived() throws IOException {
+        // Arrange
+        LabUploadDTO upload = start();
+
+        // Act
+        labUploadService.cancelUpload(upload.getUploadId(), OWNER);
+
+        // Assert
+        assertEquals(0, uploadFiles());
+        assertThrows(ResourceNotFoundException.class, () -> labUploadService.cancelUpload(upload.getUploadId(), OWNER));
+    }
+
+    private LabUploadServiceImpl newService() {
+        return new LabUploadServiceImpl(labService, fileService, uploads.toString(), MAX_SIZE, Duration.ofHours(24));
+    }
+
+    private LabUploadDTO start() {
+        LabUploadDTO upload = labUploadService.startUpload(
+                new LabUploadDTO(null, 7L, "scan.pdf", "application/pdf", content.length, 0, null), OWNER);
+        assertNotNull(upload.getUploadId());
+        return upload;
+    }
+
+    private InputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(content, from, to - from);
+    }
+
+    private Path part(LabUploadDTO upload) {
+        return uploads.resolve(".uploads").resolve(upload.getUploadId() + ".part");
+    }
+
+    private long uploadFiles() throws IOException {
+        try (Stream<Path> files = Files.list(uploads.resolve(".uploads"))) {
+            return files.count();
+        }
+    }
+}
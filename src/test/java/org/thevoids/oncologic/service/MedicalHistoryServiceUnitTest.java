@@ -13,6 +13,8 @@ import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.MedicalHistoryMapper;
 import org.thevoids.oncologic.repository.MedicalHistoryRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
 import org.thevoids.oncologic.service.impl.MedicalHistoryServiceImpl;
 
 import java.sql.Timestamp;
@@ -35,6 +37,9 @@ public class MedicalHistoryServiceUnitTest {
         @Mock
         private PatientRepository patientRepository;
 
+        @Mock
+        private ClinicalTextIndex clinicalTextIndex;
+
         @InjectMocks
         private MedicalHistoryServiceImpl medicalHistoryService;
 
@@ -115,6 +120,7 @@ public class MedicalHistoryServiceUnitTest {
                 verify(medicalHistoryMapper).toMedicalHistory(inputDto);
                 verify(medicalHistoryRepository).save(entity);
                 verify(medicalHistoryMapper).toMedicalHistoryDTO(savedEntity);
+                verify(clinicalTextIndex).indexMedicalHistory(outputDto);
         }
 
         @Test
@@ -194,6 +200,7 @@ public class MedicalHistoryServiceUnitTest {
 
                 verify(medicalHistoryRepository).existsById(id);
                 verify(medicalHistoryRepository).deleteById(id);
+                verify(clinicalTextIndex).remove(ClinicalRecordType.MEDICAL_HISTORY, id);
         }
 
         @Test
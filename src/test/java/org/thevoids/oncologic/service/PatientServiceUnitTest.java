@@ -5,17 +5,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.thevoids.oncologic.dto.custom.PatientChartDTO;
+import org.thevoids.oncologic.dto.entity.AppointmentDTO;
+import org.thevoids.oncologic.dto.entity.LabDTO;
+import org.thevoids.oncologic.dto.entity.MedicalHistoryDTO;
 import org.thevoids.oncologic.dto.entity.PatientDTO;
+import org.thevoids.oncologic.dto.entity.TaskDTO;
+import org.thevoids.oncologic.entity.Appointment;
+import org.thevoids.oncologic.entity.Lab;
+import org.thevoids.oncologic.entity.MedicalHistory;
 import org.thevoids.oncologic.entity.Patient;
 import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.mapper.PatientMapper;
+import org.thevoids.oncologic.repository.AppointmentRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.MedicalHistoryRepository;
 import org.thevoids.oncologic.repository.PatientRepository;
 import org.thevoids.oncologic.repository.TaskRepository;
 import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.scheduling.AppointmentIntervalIndex;
+import org.thevoids.oncologic.search.ClinicalRecordType;
+import org.thevoids.oncologic.search.ClinicalTextIndex;
+import org.thevoids.oncologic.search.UserDirectoryIndex;
 import org.thevoids.oncologic.service.impl.PatientServiceImpl;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,9 +56,27 @@ public class PatientServiceUnitTest {
         @Mock
         private TaskRepository taskRepository;
 
+        @Mock
+        private MedicalHistoryRepository medicalHistoryRepository;
+
+        @Mock
+        private LabRepository labRepository;
+
+        @Mock
+        private AppointmentRepository appointmentRepository;
+
         @Mock
         private PatientMapper patientMapper;
 
+        @Mock
+        private ClinicalTextIndex clinicalTextIndex;
+
+        @Mock
+        private UserDirectoryIndex userDirectoryIndex;
+
+        @Mock
+        private AppointmentIntervalIndex appointmentIntervalIndex;
+
         @InjectMocks
         private PatientServiceImpl patientService;
 
@@ -98,6 +135,7 @@ public class PatientServiceUnitTest {
                 verify(patientMapper).toPatient(patientDTO);
                 verify(patientRepository).save(patient);
                 verify(patientMapper).toPatientDTO(savedPatient);
+                verify(userDirectoryIndex).index(mockUser);
         }
 
         @Test
@@ -164,6 +202,49 @@ public class PatientServiceUnitTest {
                 verify(patientRepository).delete(patient);
         }
 
+        @Test
+        void deletePatientRemovesHistoriesAndLabsFromTheSearchIndex() {
+                // Arrange
+                Long id = 1L;
+                Patient patient = new Patient();
+                patient.setPatientId(id);
+                MedicalHistory history = new MedicalHistory();
+                history.setHistoryId(5L);
+                Lab lab = new Lab();
+                lab.setLabId(6L);
+                patient.setMedicalHistories(new ArrayList<>(List.of(history)));
+                patient.setLabs(new ArrayList<>(List.of(lab)));
+                when(patientRepository.findById(id)).thenReturn(Optional.of(patient));
+
+                // Act
+                patientService.deletePatient(id);
+
+                // Assert
+                verify(clinicalTextIndex).remove(ClinicalRecordType.MEDICAL_HISTORY, 5L);
+                verify(clinicalTextIndex).remove(ClinicalRecordType.LAB, 6L);
+                verify(patientRepository).delete(patient);
+        }
+
+        @Test
+        void deletePatientDropsItsAppointmentsFromTheBookingIndex() {
+                // Arrange
+                Long id = 1L;
+                Patient patient = new Patient();
+                patient.setPatientId(id);
+                Appointment appointment = new Appointment();
+                appointment.setAppointmentId(8L);
+                patient.setAppointments(new ArrayList<>(List.of(appointment)));
+                when(patientRepository.findById(id)).thenReturn(Optional.of(patient));
+
+                // Act
+                patientService.deletePatient(id);
+
+                // Assert
+                verify(appointmentIntervalIndex).remove(8L);
+                verify(appointmentIntervalIndex, never()).invalidate();
+                verify(patientRepository).delete(patient);
+        }
+
         @Test
         void deletePatientThrowsExceptionWhenPatientDoesNotExist() {
                 Long id = 1L;
@@ -171,4 +252,70 @@ public class PatientServiceUnitTest {
                 assertThrows(ResourceNotFoundException.class, () -> patientService.deletePatient(id));
                 verify(patientRepository, never()).delete(any());
         }
+
+        @Test
+        void getPatientChartGroupsTasksUnderTheirAppointments() {
+                // Arrange
+                Long id = 1L;
+                Patient patient = new Patient();
+                patient.setPatientId(id);
+                PatientDTO patientDTO = new PatientDTO();
+                patientDTO.setPatientId(id);
+                MedicalHistoryDTO history = new MedicalHistoryDTO(5L, id, "Dx", "Tx", "Med", null);
+                LabDTO lab = new LabDTO(6L, id, 2L, "Blood Test", new Date(), null, null, null);
+                AppointmentDTO first = new AppointmentDTO(10L, new Date(), "pending", id, 2L, 1L, 3L);
+                AppointmentDTO second = new AppointmentDTO(11L, new Date(), "pending", id, 2L, 1L, 3L);
+                TaskDTO task = new TaskDTO(20L, "Prepare", false, new Date(), new Date(), 11L);
+                when(patientRepository.findById(id)).thenReturn(Optional.of(patient));
+                when(patientMapper.toPatientDTO(patient)).thenReturn(patientDTO);
+                when(medicalHistoryRepository.findRecentByPatientId(id, Limit.of(3))).thenReturn(List.of(history));
+                when(labRepository.findRecentByPatientId(id, Limit.of(4))).thenReturn(List.of(lab));
+                when(appointmentRepository.findUpcomingByPatientId(eq(id), any(Date.class), eq(Limit.of(5))))
+                                .thenReturn(List.of(first, second));
+                when(taskRepository.findByAppointmentIds(List.of(10L, 11L))).thenReturn(List.of(task));
+
+                // Act
+                PatientChartDTO chart = patientService.getPatientChart(id, 3, 4, 5);
+
+                // Assert
+                assertSame(patientDTO, chart.getPatient());
+                assertEquals(List.of(history), chart.getMedicalHistories());
+                assertEquals(List.of(lab), chart.getLabs());
+                assertEquals(2, chart.getUpcomingAppointments().size());
+                assertEquals(10L, chart.getUpcomingAppointments().get(0).getAppointmentId());
+                assertTrue(chart.getUpcomingAppointments().get(0).getTasks().isEmpty());
+                assertEquals(List.of(task), chart.getUpcomingAppointments().get(1).getTasks());
+        }
+
+        @Test
+        void getPatientChartSkipsSectionsWithZeroLimitAndClampsTheRest() {
+                // Arrange
+                Long id = 1L;
+                Patient patient = new Patient();
+                patient.setPatientId(id);
+                when(patientRepository.findById(id)).thenReturn(Optional.of(patient));
+                when(patientMapper.toPatientDTO(patient)).thenReturn(new PatientDTO());
+                when(labRepository.findRecentByPatientId(id, Limit.of(100))).thenReturn(List.of());
+
+                // Act
+                PatientChartDTO chart = patientService.getPatientChart(id, 0, 5000, -1);
+
+                // Assert
+                assertTrue(chart.getMedicalHistories().isEmpty());
+                assertTrue(chart.getUpcomingAppointments().isEmpty());
+                verify(medicalHistoryRepository, never()).findRecentByPatientId(any(), any());
+                verify(appointmentRepository, never()).findUpcomingByPatientId(any(), any(), any());
+                verify(taskRepository, never()).findByAppointmentIds(any());
+        }
+
+        @Test
+        void getPatientChartThrowsExceptionWhenPatientDoesNotExist() {
+                // Arrange
+                Long id = 1L;
+                when(patientRepository.findById(id)).thenReturn(Optional.empty());
+
+                // Act & Assert
+                assertThrows(ResourceNotFoundException.class, () -> patientService.getPatientChart(id, 10, 10, 10));
+                verify(labRepository, never()).findRecentByPatientId(any(), any());
+        }
 }
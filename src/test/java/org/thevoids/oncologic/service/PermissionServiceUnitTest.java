@@ -20,12 +20,16 @@ import org.thevoids.oncologic.repository.PermissionRepository;
 import org.thevoids.oncologic.service.impl.PermissionServiceImpl;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 
 class PermissionServiceUnitTest {
 
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private PermissionVersionTracker permissionVersionTracker;
+
     @InjectMocks
     private PermissionServiceImpl permissionService;
 
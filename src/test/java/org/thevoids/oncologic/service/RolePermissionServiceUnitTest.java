@@ -26,6 +26,7 @@ import org.thevoids.oncologic.repository.RoleRepository;
 import org.thevoids.oncologic.service.impl.RolePermissionServiceImpl;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.InvalidOperationException;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 
 class RolePermissionServiceUnitTest {
 
@@ -38,6 +39,9 @@ class RolePermissionServiceUnitTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private PermissionVersionTracker permissionVersionTracker;
+
     @InjectMocks
     private RolePermissionServiceImpl rolePermissionService;
 
@@ -127,6 +131,7 @@ class RolePermissionServiceUnitTest {
 
         // Assert
         verify(rolePermissionRepository, times(1)).save(any(RolePermission.class));
+        verify(permissionVersionTracker, times(1)).increment();
     }
 
     @Test
@@ -202,6 +207,7 @@ class RolePermissionServiceUnitTest {
 
         // Assert
         verify(rolePermissionRepository, times(1)).save(any(RolePermission.class));
+        verify(permissionVersionTracker, times(1)).increment();
     }
 
     @Test
@@ -281,6 +287,7 @@ class RolePermissionServiceUnitTest {
 
         // Assert
         verify(rolePermissionRepository, times(1)).deleteById(rolePermission.getId());
+        verify(permissionVersionTracker, times(1)).increment();
     }
 
     @Test
@@ -21,12 +21,16 @@ import org.thevoids.oncologic.repository.RoleRepository;
 import org.thevoids.oncologic.service.impl.RoleServiceImpl;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 
 class RoleServiceUnitTest {
 
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private PermissionVersionTracker permissionVersionTracker;
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
@@ -170,4 +174,40 @@ class RoleServiceUnitTest {
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> roleService.getRole(roleId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRoleWithPermissions_WhenCalled_UsesPermissionsFetchPlan() {
+        // Arrange
+        Role role = new Role();
+        role.setRoleId(1L);
+        when(roleRepository.findWithPermissionsByRoleId(1L)).thenReturn(Optional.of(role));
+
+        // Act
+        Role result = roleService.getRoleWithPermissions(1L);
+
+        // Assert
+        assertEquals(role, result);
+    }
+
+    @Test
+    void getRoleWithPermissions_WhenRoleNotFound_ThrowsException() {
+        // Arrange
+        when(roleRepository.findWithPermissionsByRoleId(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> roleService.getRoleWithPermissions(1L));
+    }
+
+    @Test
+    void getAllRolesWithPermissions_WhenCalled_UsesPermissionsFetchPlan() {
+        // Arrange
+        List<Role> roles = List.of(new Role(), new Role());
+        when(roleRepository.findAllWithPermissionsBy()).thenReturn(roles);
+
+        // Act
+        List<Role> result = roleService.getAllRolesWithPermissions();
+
+        // Assert
+        assertEquals(roles, result);
+    }
+}
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -17,11 +18,15 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.thevoids.oncologic.dto.custom.UserSearchHitDTO;
 import org.thevoids.oncologic.entity.User;
 import org.thevoids.oncologic.repository.UserRepository;
 import org.thevoids.oncologic.service.impl.UserServiceImpl;
+import org.thevoids.oncologic.exception.InvalidOperationException;
 import org.thevoids.oncologic.exception.ResourceNotFoundException;
 import org.thevoids.oncologic.exception.ResourceAlreadyExistsException;
+import org.thevoids.oncologic.search.UserDirectoryIndex;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 
 class UserServiceUnitTest {
 
@@ -34,6 +39,12 @@ class UserServiceUnitTest {
     @Mock
     private AssignedRoles assignedRolesService;
 
+    @Mock
+    private PermissionVersionTracker permissionVersionTracker;
+
+    @Mock
+    private UserDirectoryIndex userDirectoryIndex;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -74,6 +85,7 @@ class UserServiceUnitTest {
         assertNotNull(createdUser);
         assertEquals("encodedPassword", createdUser.getPassword());
         verify(userRepository, times(1)).save(user);
+        verify(userDirectoryIndex).index(user);
     }
 
     @Test
@@ -108,6 +120,8 @@ class UserServiceUnitTest {
 
         // Assert
         verify(userRepository, times(1)).delete(user);
+        verify(userDirectoryIndex).remove(1L);
+        verify(permissionVersionTracker).increment();
     }
 
     @Test
@@ -156,6 +170,47 @@ class UserServiceUnitTest {
         assertEquals("Usuario no encontrado con id : '1'", exception.getMessage());
     }
 
+    @Test
+    void getUserWithRoles_WhenCalled_UsesRolesFetchPlan() {
+        // Arrange
+        User user = new User();
+        user.setUserId(1L);
+        when(userRepository.findWithRolesByUserId(1L)).thenReturn(Optional.of(user));
+
+        // Act
+        User result = userService.getUserWithRoles(1L);
+
+        // Assert
+        assertEquals(user, result);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getUserWithRoles_WhenUserNotFound_ThrowsException() {
+        // Arrange
+        when(userRepository.findWithRolesByUserId(1L)).thenReturn(Optional.empty());
+
+        // Act
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> userService.getUserWithRoles(1L));
+
+        // Assert
+        assertEquals("Usuario no encontrado con id : '1'", exception.getMessage());
+    }
+
+    @Test
+    void getAllUsersWithRoles_WhenCalled_UsesRolesFetchPlan() {
+        // Arrange
+        List<User> users = List.of(new User(), new User());
+        when(userRepository.findAllWithRolesBy()).thenReturn(users);
+
+        // Act
+        List<User> result = userService.getAllUsersWithRoles();
+
+        // Assert
+        assertEquals(users, result);
+    }
+
     @Test
     void updateUser_WhenCalled_UpdatesUser() {
         // Arrange
@@ -168,6 +223,28 @@ class UserServiceUnitTest {
 
         // Assert
         verify(userRepository, times(1)).save(user);
+        verify(userDirectoryIndex).index(user);
+        verify(permissionVersionTracker, never()).increment();
+    }
+
+    @Test
+    void searchUsers_ClampsTheLimit() {
+        // Arrange
+        UserSearchHitDTO hit = new UserSearchHitDTO(1L, null, "Ana Pérez", "1023456", null, null);
+        when(userDirectoryIndex.search("ana", 50)).thenReturn(List.of(hit));
+
+        // Act
+        List<UserSearchHitDTO> result = userService.searchUsers("ana", 500);
+
+        // Assert
+        assertEquals(List.of(hit), result);
+    }
+
+    @Test
+    void searchUsers_WhenQueryHasNoLetterOrDigit_ThrowsException() {
+        // Act & Assert
+        assertThrows(InvalidOperationException.class, () -> userService.searchUsers(" .-@ ", 10));
+        verify(userDirectoryIndex, never()).search(any(), anyInt());
     }
 
     @Test
@@ -184,4 +261,23 @@ class UserServiceUnitTest {
 
         assertEquals("Usuario no encontrado con id : '1'", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updatePasswordHash_WhenUserExists_SavesEncodedPassword() {
+        // Arrange
+        User user = new User();
+        user.setIdentification("123456");
+        user.setPassword("$2a$12$old");
+        when(userRepository.findWithRolesByIdentification("123456")).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        // Act
+        User result = userService.updatePasswordHash("123456", "$2a$10$new");
+
+        // Assert
+        assertEquals("$2a$10$new", result.getPassword());
+        verify(userRepository, times(1)).save(user);
+        verify(passwordEncoder, never()).encode(any());
+        verify(permissionVersionTracker, never()).increment();
+    }
+}
@@ -0,0 +1,119 @@
+package org.thevoids.oncologic.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Asserts the exact number of SQL statements behind each list and detail
+ * endpoint, so an N+1 regression (a query per row or per association) fails
+ * the build. The seed data points every association to a different row, so
+ * per-row loads would show up as a higher count.
+ *
+ * Requests go through the MVC stack (including open-session-in-view) but not
+ * the security filters; the caller is authenticated with every authority the
+ * endpoints ask for.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=always",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.thevoids.oncologic.sql.SqlStatementCounter"
+})
+@Sql(scripts = "/sql/query-count-seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class EndpointQueryCountTest {
+
+    private static final List<String> AUTHORITIES = List.of(
+            "VIEW_APPOINTMENTS", "VIEW_LABS", "VIEW_MEDICAL_HISTORIES", "VIEW_PATIENTS", "VIEW_PERMISSIONS",
+            "VIEW_ROLES", "VIEW_SCHEDULES", "VIEW_SPECIALTIES", "VIEW_USERS", "VIEW_USER_SPECIALTIES");
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        // Counts are for a cold reference-data cache
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("123456789",
+                null, AUTHORITIES.stream().map(SimpleGrantedAuthority::new).toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest(name = "{0} runs {1} statement(s)")
+    @CsvSource({
+            "/api/v1/appointments, 1",
+            "/api/v1/appointments?limit=10, 1",
+            "/api/v1/appointments/2001, 1",
+            "/api/v1/appointment-types, 1",
+            "/api/v1/appointment-types/1, 1",
+            "/api/v1/clinic-assignments, 1",
+            "/api/v1/clinic-assignments/2001, 1",
+            "/api/v1/clinics, 1",
+            "/api/v1/clinics/1, 1",
+            "/api/v1/labs, 1",
+            "/api/v1/labs?limit=10, 1",
+            "/api/v1/labs/2001, 1",
+            "/api/v1/medical-histories, 1",
+            "/api/v1/medical-histories?limit=10, 1",
+            "/api/v1/medical-histories/2001, 1",
+            "/api/v1/patients, 1",
+            "/api/v1/patients/2001, 1",
+            "/api/v1/patients/2001/chart, 5",
+            "/api/v1/patients/2002/chart, 4",
+            "/api/v1/patients/2001/chart?historyLimit=0&labLimit=0&appointmentLimit=0, 1",
+            "/api/v1/permissions, 1",
+            "/api/v1/permissions/1, 2",
+            "/api/v1/roles, 1",
+            "/api/v1/roles/1, 1",
+            "/api/v1/schedules, 1",
+            "/api/v1/schedules/2001, 1",
+            "/api/v1/specialties, 1",
+            "/api/v1/specialties/1, 1",
+            "/api/v1/tasks, 1",
+            "/api/v1/tasks/2001, 1",
+            "/api/v1/users, 1",
+            "/api/v1/users?limit=10, 1",
+            "/api/v1/users/2001, 1",
+            "/api/v1/users/2001/roles, 2",
+            "/api/v1/user-specialties, 1",
+            "/api/v1/user-specialties/2001, 1",
+            "/api/v1/user-specialties/user/2003, 1",
+            "/api/v1/user-specialties/user/2003/first, 1"
+    })
+    void endpointRunsExpectedStatements(String path, int expected) throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(expected, statements.size(), () -> path + " ran:\n" + String.join("\n", statements));
+    }
+}
@@ -0,0 +1,106 @@
+package org.thevoids.oncologic.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.thevoids.oncologic.entity.AppointmentType;
+import org.thevoids.oncologic.entity.Role;
+import org.thevoids.oncologic.repository.AppointmentTypeRepository;
+import org.thevoids.oncologic.service.AppointmentTypeService;
+import org.thevoids.oncologic.service.PermissionService;
+import org.thevoids.oncologic.service.RoleService;
+
+/**
+ * Checks through the real service proxies that reference-data reads are
+ * served from the cache and that writes through the services clear it, by
+ * counting the SQL statements each call sends.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:referencecache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=always",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.thevoids.oncologic.sql.SqlStatementCounter"
+})
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private AppointmentTypeService appointmentTypeService;
+
+    @Autowired
+    private AppointmentTypeRepository appointmentTypeRepository;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void appointmentTypes_AreReadOnceUntilATypeIsUpdated() {
+        // Arrange
+        appointmentTypeService.getAllAppointmentTypes();
+        appointmentTypeRepository.findLongestStandardDuration();
+        AppointmentType type = appointmentTypeService.getAppointmentTypeById(1L);
+
+        // Act
+        int cachedStatements = statementsOf(() -> {
+            appointmentTypeService.getAllAppointmentTypes();
+            appointmentTypeRepository.findLongestStandardDuration();
+            appointmentTypeService.getAppointmentTypeById(1L);
+        });
+        AppointmentType update = new AppointmentType();
+        update.setTypeId(type.getTypeId());
+        update.setTypeName(type.getTypeName());
+        update.setStandardDuration(600);
+        appointmentTypeService.updateAppointmentType(update);
+        int afterUpdateStatements = statementsOf(appointmentTypeService::getAllAppointmentTypes);
+
+        // Assert
+        assertEquals(0, cachedStatements);
+        assertEquals(1, afterUpdateStatements);
+        assertEquals(600, appointmentTypeRepository.findLongestStandardDuration());
+        assertEquals(600, appointmentTypeService.getAppointmentTypeById(1L).getStandardDuration());
+    }
+
+    @Test
+    void roles_AreClearedWhenAPermissionChanges() {
+        // Arrange
+        List<Role> roles = roleService.getAllRolesWithPermissions();
+        assertTrue(roles.stream().anyMatch(role -> !role.getRolePermissions().isEmpty()));
+
+        // Act
+        int cachedStatements = statementsOf(roleService::getAllRolesWithPermissions);
+        var permission = permissionService.getPermission(1L).orElseThrow();
+        permission.setPermissionName(permission.getPermissionName() + "_RENAMED");
+        permissionService.updatePermission(permission);
+        List<Role> reloaded = roleService.getAllRolesWithPermissions();
+
+        // Assert
+        assertEquals(0, cachedStatements);
+        assertTrue(reloaded.stream()
+                .flatMap(role -> role.getRolePermissions().stream())
+                .anyMatch(rolePermission -> rolePermission.getPermission().getPermissionName().endsWith("_RENAMED")));
+    }
+
+    private static int statementsOf(Runnable action) {
+        SqlStatementCounter.reset();
+        action.run();
+        return SqlStatementCounter.statements().size();
+    }
+}
@@ -0,0 +1,186 @@
+package org.thevoids.oncologic.sql;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.thevoids.oncologic.repository.AppointmentRepository;
+import org.thevoids.oncologic.repository.AssignedRoleRepository;
+import org.thevoids.oncologic.repository.ClinicAssignmentRepository;
+import org.thevoids.oncologic.repository.LabRepository;
+import org.thevoids.oncologic.repository.MedicalHistoryRepository;
+import org.thevoids.oncologic.repository.PatientRepository;
+import org.thevoids.oncologic.repository.RolePermissionRepository;
+import org.thevoids.oncologic.repository.RoleRepository;
+import org.thevoids.oncologic.repository.ScheduleRepository;
+import org.thevoids.oncologic.repository.TaskRepository;
+import org.thevoids.oncologic.repository.UserRepository;
+import org.thevoids.oncologic.repository.UserSpecialtyRepository;
+
+/**
+ * Runs the selective repository queries against H2 in PostgreSQL mode, over
+ * the schema Hibernate generates from the entities (including their
+ * {@code @Index} definitions), and fails when the plan of any statement they
+ * send reads a whole table.
+ *
+ * Queries that read a whole table on purpose ({@code findAll}, the exports,
+ * the booking index rebuild) are left out.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=always",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.thevoids.oncologic.sql.SqlStatementCounter"
+})
+class RepositoryQueryPlanTest {
+
+    private static final String FULL_SCAN = "tableScan";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AssignedRoleRepository assignedRoleRepository;
+
+    @Autowired
+    private ClinicAssignmentRepository clinicAssignmentRepository;
+
+    @Autowired
+    private LabRepository labRepository;
+
+    @Autowired
+    private MedicalHistoryRepository medicalHistoryRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private RolePermissionRepository rolePermissionRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSpecialtyRepository userSpecialtyRepository;
+
+    @TestFactory
+    Stream<DynamicTest> selectiveQueries_NeverScanAWholeTable() {
+        Date from = new Date();
+        Date to = new Date(from.getTime() + 86_400_000L);
+        return Stream.of(
+                query("Appointment.findById", () -> appointmentRepository.findById(1L)),
+                query("Appointment.findBookedIntervalsStartingBetween",
+                        () -> appointmentRepository.findBookedIntervalsStartingBetween(1L, 1L, from, to)),
+                query("Appointment.findUpcomingByPatientId",
+                        () -> appointmentRepository.findUpcomingByPatientId(1L, from, Limit.of(10))),
+                query("Appointment keyset page",
+                        () -> appointmentRepository.findByAppointmentIdGreaterThanOrderByAppointmentIdAsc(0L,
+                                Limit.of(10))),
+                query("AssignedRole.existsByRoleIdAndUserId",
+                        () -> assignedRoleRepository.existsByRoleIdAndUserId(1L, 1L)),
+                query("AssignedRole.findByRoleIdAndUserId",
+                        () -> assignedRoleRepository.findByRoleIdAndUserId(1L, 1L)),
+                query("ClinicAssignment.findById", () -> clinicAssignmentRepository.findById(1L)),
+                query("ClinicAssignment.findWindowsOverlapping",
+                        () -> clinicAssignmentRepository.findWindowsOverlapping(List.of(1L, 2L), from, to)),
+                query("Lab.findById", () -> labRepository.findById(1L)),
+                query("Lab.findRecentByPatientId", () -> labRepository.findRecentByPatientId(1L, Limit.of(10))),
+                query("MedicalHistory.findById", () -> medicalHistoryRepository.findById(1L)),
+                query("MedicalHistory.findRecentByPatientId",
+                        () -> medicalHistoryRepository.findRecentByPatientId(1L, Limit.of(10))),
+                query("Patient.findById", () -> patientRepository.findById(1L)),
+                query("RolePermission.existsByRoleIdAndPermissionId",
+                        () -> rolePermissionRepository.existsByRoleIdAndPermissionId(1L, 1L)),
+                query("RolePermission.findByRoleIdAndPermissionId",
+                        () -> rolePermissionRepository.findByRoleIdAndPermissionId(1L, 1L)),
+                query("RolePermission.getPermissionsFromRole",
+                        () -> rolePermissionRepository.getPermissionsFromRole(1L)),
+                query("RolePermission.findByPermissionId", () -> rolePermissionRepository.findByPermissionId(1L)),
+                query("Role.findRolesByUserId", () -> roleRepository.findRolesByUserId(1L)),
+                query("Role.findWithPermissionsByRoleId", () -> roleRepository.findWithPermissionsByRoleId(1L)),
+                query("Schedule.findById", () -> scheduleRepository.findById(1L)),
+                query("Schedule.findWeeklyWindows", () -> scheduleRepository.findWeeklyWindows(List.of(1L, 2L))),
+                query("Task.findById", () -> taskRepository.findById(1L)),
+                query("Task.findByAppointmentIds", () -> taskRepository.findByAppointmentIds(List.of(1L, 2L))),
+                query("User.findById", () -> userRepository.findById(1L)),
+                query("User.findByIdentification", () -> userRepository.findByIdentification("123456789")),
+                query("User.findWithRolesByIdentification",
+                        () -> userRepository.findWithRolesByIdentification("123456789")),
+                query("User.findWithRolesByUserId", () -> userRepository.findWithRolesByUserId(1L)),
+                query("User.findLoginRowsByIdentification",
+                        () -> userRepository.findLoginRowsByIdentification("123456789")),
+                query("UserSpecialty.findById", () -> userSpecialtyRepository.findById(1L)),
+                query("UserSpecialty.findByUser_UserId", () -> userSpecialtyRepository.findByUser_UserId(1L)),
+                query("UserSpecialty.findFirstByUser_UserId",
+                        () -> userSpecialtyRepository.findFirstByUser_UserId(1L)),
+                query("UserSpecialty.findUserIdsBySpecialtyId",
+                        () -> userSpecialtyRepository.findUserIdsBySpecialtyId(1L)));
+    }
+
+    private DynamicTest query(String name, Runnable call) {
+        return DynamicTest.dynamicTest(name, () -> {
+            // Arrange
+            SqlStatementCounter.reset();
+
+            // Act
+            call.run();
+            List<String> statements = SqlStatementCounter.statements();
+
+            // Assert
+            assertFalse(statements.isEmpty(), name + " sent no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                assertFalse(plan.contains(FULL_SCAN), () -> name + " scans a whole table:\n" + plan);
+            }
+        });
+    }
+
+    /**
+     * H2's plan for the statement, with every parameter bound to null: the
+     * plan only depends on which columns are compared, not on the values.
+     */
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.thevoids.oncologic.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that records every SQL statement the
+ * application sends, so tests can assert how many queries an operation runs.
+ *
+ * Enable it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=org.thevoids.oncologic.sql.SqlStatementCounter}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    public static List<String> statements() {
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+}
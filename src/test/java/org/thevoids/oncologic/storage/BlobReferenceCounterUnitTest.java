@@ -0,0 +1,119 @@
+package org.thevoids.oncologic.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.thevoids.oncologic.entity.BlobReference;
+import org.thevoids.oncologic.repository.BlobReferenceRepository;
+
+class BlobReferenceCounterUnitTest {
+
+    private static final String KEY = "labs/ab/cd/abcd";
+
+    private BlobReferenceRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private BlobReferenceCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BlobReferenceRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        counter = new BlobReferenceCounter(repository, transactionManager);
+    }
+
+    @Test
+    void update_Shared_CreatesAMissingRowAndStoresTheNewCount() throws IOException {
+        // Arrange
+        BlobReference reference = reference(0);
+        when(repository.lockByBlobKey(KEY)).thenReturn(Optional.empty(), Optional.of(reference));
+
+        // Act
+        counter.update(KEY, refs -> refs + 1);
+
+        // Assert
+        verify(repository).insertReference(KEY);
+        assertEquals(1, reference.getRefs());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void update_Shared_RowCreatedByAnotherNode_IsUsed() throws IOException {
+        // Arrange
+        BlobReference reference = reference(2);
+        when(repository.lockByBlobKey(KEY)).thenReturn(Optional.empty(), Optional.of(reference));
+        when(repository.insertReference(KEY)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act
+        counter.update(KEY, refs -> refs + 1);
+
+        // Assert
+        assertEquals(3, reference.getRefs());
+    }
+
+    @Test
+    void update_Shared_ZeroDropsTheRow() throws IOException {
+        // Arrange
+        BlobReference reference = reference(1);
+        when(repository.lockByBlobKey(KEY)).thenReturn(Optional.of(reference));
+
+        // Act
+        counter.update(KEY, refs -> refs - 1);
+
+        // Assert
+        verify(repository).delete(reference);
+        verify(repository, never()).insertReference(any());
+    }
+
+    @Test
+    void update_Shared_FailedUpdate_RollsBackAndRethrows() {
+        // Arrange
+        BlobReference reference = reference(1);
+        when(repository.lockByBlobKey(KEY)).thenReturn(Optional.of(reference));
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> counter.update(KEY, refs -> {
+            throw new IOException("store unavailable");
+        }));
+        assertEquals("store unavailable", exception.getMessage());
+        assertEquals(1, reference.getRefs());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void update_KeepsTheCountBetweenCalls() throws IOException {
+        // Arrange
+        BlobReferenceCounter inMemory = InMemoryBlobReferences.counter();
+        int[] seen = new int[3];
+
+        // Act
+        inMemory.update(KEY, refs -> (seen[0] = refs) + 1);
+        inMemory.update(KEY, refs -> (seen[1] = refs) - 1);
+        inMemory.update(KEY, refs -> seen[2] = refs);
+
+        // Assert
+        assertEquals(0, seen[0]);
+        assertEquals(1, seen[1]);
+        assertEquals(0, seen[2]);
+    }
+
+    private static BlobReference reference(int refs) {
+        BlobReference reference = new BlobReference();
+        reference.setBlobKey(KEY);
+        reference.setRefs(refs);
+        return reference;
+    }
+}
@@ -0,0 +1,68 @@
+package org.thevoids.oncologic.storage;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.mockito.MockSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.thevoids.oncologic.entity.BlobReference;
+import org.thevoids.oncologic.repository.BlobReferenceRepository;
+
+/**
+ * A {@link BlobReferenceCounter} over a mocked {@link BlobReferenceRepository}
+ * that keeps the blob_references rows in a map, for tests that store and
+ * delete real blobs. Each transaction holds one lock until it commits or
+ * rolls back, standing in for the row lock taken in the database.
+ */
+public final class InMemoryBlobReferences {
+
+    private InMemoryBlobReferences() {
+    }
+
+    public static BlobReferenceCounter counter() {
+        Map<String, BlobReference> rows = new ConcurrentHashMap<>();
+        BlobReferenceRepository repository = mock(BlobReferenceRepository.class, lenient());
+        when(repository.lockByBlobKey(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(repository.insertReference(anyString())).thenAnswer(invocation -> {
+            BlobReference reference = new BlobReference();
+            reference.setBlobKey(invocation.getArgument(0));
+            reference.setRefs(0);
+            return rows.putIfAbsent(reference.getBlobKey(), reference) == null ? 1 : 0;
+        });
+        doAnswer(invocation -> rows.remove(invocation.<BlobReference>getArgument(0).getBlobKey()))
+                .when(repository).delete(any(BlobReference.class));
+
+        ReentrantLock lock = new ReentrantLock();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, lenient());
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            lock.lock();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            lock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            lock.unlock();
+            return null;
+        }).when(transactionManager).rollback(any());
+        return new BlobReferenceCounter(repository, transactionManager);
+    }
+
+    // Not every test stores and deletes, and strict test classes may build one
+    private static MockSettings lenient() {
+        return withSettings().strictness(Strictness.LENIENT);
+    }
+}
@@ -0,0 +1,56 @@
+package org.thevoids.oncologic.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryBlobStoreUnitTest {
+
+    private static final byte[] REPORT = "Informe de patología".getBytes(StandardCharsets.UTF_8);
+
+    private final InMemoryBlobStore store = new InMemoryBlobStore();
+
+    @Test
+    void putGetListDelete_WorkByKey() throws IOException {
+        // Act
+        store.put("labs/a", new ByteArrayInputStream(REPORT), REPORT.length);
+        store.put("labs/b", new ByteArrayInputStream(REPORT), REPORT.length);
+        store.put("other/c", new ByteArrayInputStream(REPORT), REPORT.length);
+        store.delete("labs/b");
+
+        // Assert
+        assertArrayEquals(REPORT, store.get("labs/a").readAllBytes());
+        assertEquals(List.of("labs/a"), store.list("labs/"));
+        assertFalse(store.exists("labs/b"));
+        assertThrows(NoSuchFileException.class, () -> store.get("labs/b"));
+        assertTrue(store.localPath("labs/a").isEmpty());
+    }
+
+    @Test
+    void multipart_IsOnlyVisibleOnceCompleted() throws IOException {
+        // Arrange
+        String uploadId = store.startMultipart("labs/scan.pdf");
+        store.putPart("labs/scan.pdf", uploadId, 2, new ByteArrayInputStream(REPORT, 4, REPORT.length - 4),
+                REPORT.length - 4);
+        store.putPart("labs/scan.pdf", uploadId, 1, new ByteArrayInputStream(REPORT, 0, 4), 4);
+
+        // Act
+        boolean visibleBeforeCompletion = store.exists("labs/scan.pdf");
+        store.completeMultipart("labs/scan.pdf", uploadId);
+
+        // Assert
+        assertFalse(visibleBeforeCompletion);
+        assertArrayEquals(REPORT, store.get("labs/scan.pdf").readAllBytes());
+        assertThrows(NoSuchFileException.class, () -> store.completeMultipart("labs/scan.pdf", uploadId));
+    }
+}
@@ -0,0 +1,117 @@
+package org.thevoids.oncologic.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalBlobStoreUnitTest {
+
+    private static final byte[] REPORT = "Informe de patología".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root.toString());
+    }
+
+    @Test
+    void put_WritesTheFileUnderItsKeyWithoutLeftovers() throws IOException {
+        // Act
+        store.put("labs/ab/cd/abcd", new ByteArrayInputStream(REPORT), REPORT.length);
+
+        // Assert
+        assertArrayEquals(REPORT, Files.readAllBytes(root.resolve("labs/ab/cd/abcd")));
+        assertEquals(root.resolve("labs/ab/cd/abcd"), store.localPath("labs/ab/cd/abcd").orElseThrow());
+        assertEquals(OptionalLong.of(REPORT.length), store.size("labs/ab/cd/abcd"));
+        assertEquals(0, tempFiles());
+        assertTrue(store.presignGet("labs/ab/cd/abcd", Duration.ofMinutes(5), "a.pdf", null).isEmpty());
+    }
+
+    @Test
+    void putFile_MovesItIntoPlace() throws IOException {
+        // Arrange
+        Path file = Files.write(root.resolve("upload.part"), REPORT);
+
+        // Act
+        store.put("labs/report.txt", file);
+
+        // Assert
+        assertFalse(Files.exists(file));
+        try (InputStream in = store.get("labs/report.txt")) {
+            assertArrayEquals(REPORT, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void listAndDelete_DropEmptyDirectories() throws IOException {
+        // Arrange
+        store.put("labs/ab/cd/abcd", new ByteArrayInputStream(REPORT), REPORT.length);
+        store.put("labs/ab/cd/abcd.d/text.txt", new ByteArrayInputStream(REPORT), REPORT.length);
+        store.put("labs/ab/cd/abcd.d/thumbnail.jpg", new ByteArrayInputStream(REPORT), REPORT.length);
+
+        // Act
+        List<String> derived = store.list("labs/ab/cd/abcd.d/");
+        for (String key : derived) {
+            store.delete(key);
+        }
+
+        // Assert
+        assertEquals(List.of("labs/ab/cd/abcd.d/text.txt", "labs/ab/cd/abcd.d/thumbnail.jpg"), derived);
+        assertFalse(Files.exists(root.resolve("labs/ab/cd/abcd.d")));
+        assertTrue(store.exists("labs/ab/cd/abcd"));
+        assertThrows(NoSuchFileException.class, () -> store.get("labs/ab/cd/abcd.d/text.txt"));
+    }
+
+    @Test
+    void multipart_JoinsThePartsInOrder() throws IOException {
+        // Arrange
+        String uploadId = store.startMultipart("labs/scan.pdf");
+
+        // Act
+        store.putPart("labs/scan.pdf", uploadId, 2, new ByteArrayInputStream(REPORT, 4, REPORT.length - 4),
+                REPORT.length - 4);
+        store.putPart("labs/scan.pdf", uploadId, 1, new ByteArrayInputStream(REPORT, 0, 4), 4);
+        boolean visibleBeforeCompletion = store.exists("labs/scan.pdf");
+        store.completeMultipart("labs/scan.pdf", uploadId);
+
+        // Assert
+        assertFalse(visibleBeforeCompletion);
+        assertArrayEquals(REPORT, Files.readAllBytes(root.resolve("labs/scan.pdf")));
+        assertEquals(0, tempFiles());
+    }
+
+    @Test
+    void keysOutsideTheRoot_AreRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> store.get("../secret"));
+        assertThrows(IllegalArgumentException.class, () -> store.get(root.resolve("x").toString()));
+    }
+
+    private long tempFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(root.resolve(".tmp"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
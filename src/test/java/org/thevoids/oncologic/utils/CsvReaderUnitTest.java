@@ -0,0 +1,46 @@
+package org.thevoids.oncologic.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderUnitTest {
+
+    @Test
+    void next_SplitsFieldsAndSkipsBlankLines() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("a,b,,c\r\n\n1,2,3,4"));
+
+        // Act & Assert
+        assertEquals(List.of("a", "b", "", "c"), reader.next());
+        assertEquals(List.of("1", "2", "3", "4"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_QuotedFieldsKeepCommasLineBreaksAndQuotes() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("\"x, y\",\"line1\nline2\",\"say \"\"hi\"\"\"\nnext\n"));
+
+        // Act & Assert
+        assertEquals(List.of("x, y", "line1\nline2", "say \"hi\""), reader.next());
+        assertEquals(3, reader.getLine());
+        assertEquals(List.of("next"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_UnterminatedQuote_Throws() {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("\"open,1\n"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
@@ -0,0 +1,273 @@
+package org.thevoids.oncologic.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FileDownloaderUnitTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final Instant MODIFIED = Instant.parse("2025-03-01T10:15:30Z");
+
+    @TempDir
+    Path dir;
+
+    private final FileDownloader downloader = new FileDownloader(100);
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("scan.pdf");
+        Files.writeString(file, CONTENT);
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED));
+    }
+
+    @Test
+    void send_WholeFileWithValidators() throws Exception {
+        // Act
+        MockHttpServletResponse response = send(get());
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals("\"" + sha256(CONTENT) + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(MODIFIED.toEpochMilli(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("filename=\"scan.pdf\""));
+    }
+
+    @Test
+    void send_ImmutableFile_MayBeCachedWithoutRevalidation() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        downloader.send(get(), response, file, "scan.pdf", true);
+
+        // Assert
+        assertEquals("max-age=31536000, private, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void send_MatchingIfNoneMatch_Returns304WithoutBody() throws Exception {
+        // Arrange
+        String etag = send(get()).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void send_IfModifiedSinceNotOlder_Returns304() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, MODIFIED.toEpochMilli());
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), send(request).getStatus());
+    }
+
+    @Test
+    void send_ChangedFile_GetsANewEtag() throws Exception {
+        // Arrange
+        String before = send(get()).getHeader(HttpHeaders.ETAG);
+        Files.writeString(file, CONTENT.toUpperCase());
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED.plusSeconds(60)));
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, before);
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(CONTENT.toUpperCase(), response.getContentAsString());
+    }
+
+    @Test
+    void send_SingleRange_Returns206WithThatPart() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    @Test
+    void send_SuffixAndOpenRanges() throws Exception {
+        // Arrange
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        MockHttpServletRequest open = get();
+        open.addHeader(HttpHeaders.RANGE, "bytes=15-");
+
+        // Act & Assert
+        assertEquals("hij", send(suffix).getContentAsString());
+        assertEquals("fghij", send(open).getContentAsString());
+    }
+
+    @Test
+    void send_RangeBeyondTheEnd_Returns416() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void send_StaleIfRangeOrSeveralRanges_ReturnsTheWholeFile() throws Exception {
+        // Arrange
+        MockHttpServletRequest stale = get();
+        stale.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+        MockHttpServletRequest several = get();
+        several.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+
+        // Act
+        MockHttpServletResponse staleResponse = send(stale);
+        MockHttpServletResponse severalResponse = send(several);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), staleResponse.getStatus());
+        assertEquals(CONTENT, staleResponse.getContentAsString());
+        assertEquals(HttpStatus.OK.value(), severalResponse.getStatus());
+        assertEquals(CONTENT, severalResponse.getContentAsString());
+    }
+
+    @Test
+    void send_MatchingIfRange_HonorsTheRange() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-0");
+        request.addHeader(HttpHeaders.IF_RANGE, send(get()).getHeader(HttpHeaders.ETAG));
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals("0", response.getContentAsString());
+    }
+
+    @Test
+    void send_Head_SetsHeadersWithoutBody() throws Exception {
+        // Act
+        MockHttpServletResponse response = send(new MockHttpServletRequest("HEAD", "/scan.pdf"));
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_LargeRangeOnTomcat_HandsTheFileToSendfile() throws Exception {
+        // Arrange
+        byte[] content = new byte[200 * 1024];
+        Arrays.fill(content, (byte) 7);
+        Files.write(file, content);
+        MockHttpServletRequest request = get();
+        request.setAttribute(FileDownloader.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(FileDownloader.SENDFILE_FILENAME));
+        assertEquals(1000L, request.getAttribute(FileDownloader.SENDFILE_START));
+        assertEquals((long) content.length, request.getAttribute(FileDownloader.SENDFILE_END));
+        assertEquals(content.length - 1000, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_LargeFileWithoutSendfile_CopiesTheContent() throws Exception {
+        // Arrange
+        byte[] content = new byte[200 * 1024];
+        new Random(1).nextBytes(content);
+        Files.write(file, content);
+        MockHttpServletRequest request = get();
+
+        // Act
+        MockHttpServletResponse response = send(request);
+
+        // Assert
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertNull(request.getAttribute(FileDownloader.SENDFILE_FILENAME));
+    }
+
+    @Test
+    void send_MissingFile_Returns404() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        downloader.send(get(), response, dir.resolve("missing.pdf"), "missing.pdf");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/scan.pdf");
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        downloader.send(request, response, file, "scan.pdf");
+        return response;
+    }
+
+    private static String sha256(String content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,9 +17,12 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.thevoids.oncologic.security.PermissionVersionTracker;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
 
 class JwtServiceUnitTest {
 
@@ -210,4 +214,89 @@ class JwtServiceUnitTest {
         // Assert
         assertFalse(isValid);
     }
+
+    @Test
+    void parseClaims_ValidToken_ReturnsClaims() {
+        // Arrange
+        UserDetails userDetails = new User("testUser", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtService.generateToken(userDetails);
+
+        // Act
+        Claims claims = jwtService.parseClaims(token);
+
+        // Assert
+        assertEquals("testUser", jwtService.extractUsername(claims));
+        assertEquals(List.of("ROLE_USER"), claims.get("roles"));
+        assertFalse(jwtService.isTokenExpired(claims));
+    }
+
+    @Test
+    void validateClaims_MatchingUser_ReturnsTrue() {
+        // Arrange
+        UserDetails userDetails = new User("testUser", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        Claims claims = jwtService.parseClaims(jwtService.generateToken(userDetails));
+
+        UserDetails differentUserDetails = new User("differentUser", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // Act & Assert
+        assertTrue(jwtService.validateClaims(claims, userDetails));
+        assertFalse(jwtService.validateClaims(claims, differentUserDetails));
+    }
+
+    @Test
+    void setSecret_ChangesSigningKey_RejectsTokensSignedWithPreviousKey() {
+        // Arrange
+        UserDetails userDetails = new User("testUser", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtService.generateToken(userDetails);
+
+        // Act
+        jwtService.setSecret("otrosecretootrosecretootrosecretootrosecretootrosecreto");
+
+        // Assert
+        assertThrows(SignatureException.class, () -> jwtService.parseClaims(token));
+        assertFalse(jwtService.validateToken(token, userDetails));
+    }
+
+    @Test
+    void hasCurrentAuthorities_StatelessModeAndCurrentVersion_ReturnsTrue() {
+        // Arrange
+        PermissionVersionTracker tracker = new PermissionVersionTracker();
+        jwtService.setPermissionVersionTracker(tracker);
+        jwtService.setStatelessAuthorities(true);
+        UserDetails userDetails = new User("testUser", "password", List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("VIEW_USERS")));
+        Claims claims = jwtService.parseClaims(jwtService.generateToken(userDetails));
+
+        // Act & Assert
+        assertTrue(jwtService.hasCurrentAuthorities(claims));
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("VIEW_USERS")),
+                jwtService.extractAuthorities(claims));
+    }
+
+    @Test
+    void hasCurrentAuthorities_PermissionsChangedAfterIssue_ReturnsFalse() {
+        // Arrange
+        PermissionVersionTracker tracker = new PermissionVersionTracker();
+        jwtService.setPermissionVersionTracker(tracker);
+        jwtService.setStatelessAuthorities(true);
+        UserDetails userDetails = new User("testUser", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        Claims claims = jwtService.parseClaims(jwtService.generateToken(userDetails));
+
+        // Act
+        tracker.increment();
+
+        // Assert
+        assertFalse(jwtService.hasCurrentAuthorities(claims));
+    }
+
+    @Test
+    void hasCurrentAuthorities_StatelessModeDisabled_ReturnsFalse() {
+        // Arrange
+        jwtService.setPermissionVersionTracker(new PermissionVersionTracker());
+        jwtService.setStatelessAuthorities(false);
+        UserDetails userDetails = new User("testUser", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        Claims claims = jwtService.parseClaims(jwtService.generateToken(userDetails));
+
+        // Act & Assert
+        assertFalse(jwtService.hasCurrentAuthorities(claims));
+    }
 }
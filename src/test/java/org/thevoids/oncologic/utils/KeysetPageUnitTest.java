@@ -0,0 +1,56 @@
+package org.thevoids.oncologic.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+class KeysetPageUnitTest {
+
+    @Test
+    void pageSize_ClampsToBounds() {
+        assertEquals(KeysetPage.DEFAULT_LIMIT, KeysetPage.pageSize(null));
+        assertEquals(1, KeysetPage.pageSize(0));
+        assertEquals(KeysetPage.MAX_LIMIT, KeysetPage.pageSize(100_000));
+        assertEquals(20, KeysetPage.pageSize(20));
+        assertEquals(21, KeysetPage.fetchSize(20));
+    }
+
+    @Test
+    void ok_MoreRowsThanLimit_TrimsAndSetsNextCursor() {
+        // Act
+        ResponseEntity<List<Long>> response = KeysetPage.ok(List.of(3L, 4L, 5L), 2, id -> id);
+
+        // Assert
+        assertEquals(List.of(3L, 4L), response.getBody());
+        assertEquals("4", response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void ok_LastPage_HasNoNextCursor() {
+        // Act
+        ResponseEntity<List<Long>> response = KeysetPage.ok(List.of(3L, 4L), 2, id -> id);
+
+        // Assert
+        assertEquals(List.of(3L, 4L), response.getBody());
+        assertNull(response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void ok_NoLimit_PagesWithTheDefaultSize() {
+        // Arrange
+        List<Long> rows = LongStream.rangeClosed(1, KeysetPage.DEFAULT_LIMIT + 1).boxed().toList();
+
+        // Act
+        ResponseEntity<List<Long>> response = KeysetPage.ok(rows, null, id -> id);
+
+        // Assert
+        assertEquals(KeysetPage.DEFAULT_LIMIT, response.getBody().size());
+        assertEquals(String.valueOf(KeysetPage.DEFAULT_LIMIT),
+                response.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,108 @@
+package org.thevoids.oncologic.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class NdjsonExportUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void write_OneJsonObjectPerLine() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = NdjsonExport.write(out, objectMapper,
+                consumer -> List.of(Map.of("id", 1), Map.of("id", 2)).forEach(consumer));
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_NoRows_WritesEmptyBody() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = NdjsonExport.write(out, objectMapper, consumer -> {
+        });
+
+        // Assert
+        assertEquals(0, written);
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_FlushesIncrementallyAndLeavesStreamOpen() throws IOException {
+        // Arrange
+        CountingOutputStream out = new CountingOutputStream();
+        int rows = NdjsonExport.FLUSH_EVERY * 3;
+
+        // Act
+        NdjsonExport.write(out, objectMapper, consumer -> IntStream.range(0, rows).forEach(consumer::accept));
+
+        // Assert
+        assertTrue(out.flushes > rows / NdjsonExport.FLUSH_EVERY);
+        assertFalse(out.closed);
+    }
+
+    @Test
+    void write_ClientDisconnect_PropagatesIOException() {
+        // Arrange
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> NdjsonExport.write(broken, objectMapper,
+                consumer -> IntStream.range(0, NdjsonExport.FLUSH_EVERY).forEach(consumer::accept)));
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private int flushes;
+        private boolean closed;
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
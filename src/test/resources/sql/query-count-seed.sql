@@ -0,0 +1,53 @@
+-- Extra rows for EndpointQueryCountTest: every association points to a
+-- different row, so any per-row lazy or eager load shows up in the counts.
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (2001, 'Query Count 1', 'QC-1', '1980-01-01', 'Female', 'Street 1', '555-0001', 'qc1@example.com', 'x', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (2002, 'Query Count 2', 'QC-2', '1980-01-02', 'Male', 'Street 2', '555-0002', 'qc2@example.com', 'x', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (2003, 'Query Count 3', 'QC-3', '1980-01-03', 'Female', 'Street 3', '555-0003', 'qc3@example.com', 'x', 'active');
+INSERT INTO Users (user_id, full_name, identification, birth_date, gender, address, phone, email, password, status)
+VALUES (2004, 'Query Count 4', 'QC-4', '1980-01-04', 'Male', 'Street 4', '555-0004', 'qc4@example.com', 'x', 'active');
+
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (2001, 2001, 5);
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (2002, 2002, 5);
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (2003, 2003, 3);
+INSERT INTO Assigned_Roles (id, user_id, role_id) VALUES (2004, 2004, 4);
+
+INSERT INTO Patients (patient_id, user_id, blood_group, allergies, family_history) VALUES (2001, 2001, 'A+', 'None', 'None');
+INSERT INTO Patients (patient_id, user_id, blood_group, allergies, family_history) VALUES (2002, 2002, 'B+', 'None', 'None');
+
+INSERT INTO Clinic_Assignments (id, start_time, end_time, clinic_id, user_id)
+VALUES (2001, '2024-01-01 08:00:00', '2024-01-01 16:00:00', 1, 2003);
+INSERT INTO Clinic_Assignments (id, start_time, end_time, clinic_id, user_id)
+VALUES (2002, '2024-01-02 08:00:00', '2024-01-02 16:00:00', 1, 2004);
+
+INSERT INTO Appointments (appointment_id, date_time, status, patient_id, doctor_id, type_id, clinic_assignment_id)
+VALUES (2001, '2024-01-01 09:00:00', 'pending', 2001, 2003, 1, 2001);
+INSERT INTO Appointments (appointment_id, date_time, status, patient_id, doctor_id, type_id, clinic_assignment_id)
+VALUES (2002, '2024-01-02 09:00:00', 'pending', 2002, 2004, 2, 2002);
+INSERT INTO Appointments (appointment_id, date_time, status, patient_id, doctor_id, type_id, clinic_assignment_id)
+VALUES (2003, '2099-01-01 09:00:00', 'pending', 2001, 2004, 2, 2002);
+
+INSERT INTO Labs (lab_id, patient_id, lab_technician_id, test_type, request_date, completion_date, result, attachment)
+VALUES (2001, 2001, 2003, 'Blood Test', '2024-01-01 10:00:00', NULL, NULL, NULL);
+INSERT INTO Labs (lab_id, patient_id, lab_technician_id, test_type, request_date, completion_date, result, attachment)
+VALUES (2002, 2002, 2004, 'CT Scan', '2024-01-02 10:00:00', NULL, NULL, NULL);
+
+INSERT INTO Medical_History (history_id, patient_id, diagnosis, treatment, medications) VALUES (2001, 2001, 'Dx 1', 'Tx 1', 'Med 1');
+INSERT INTO Medical_History (history_id, patient_id, diagnosis, treatment, medications) VALUES (2002, 2002, 'Dx 2', 'Tx 2', 'Med 2');
+
+INSERT INTO Tasks (id, description, completed, start_date, end_date, appointment_id)
+VALUES (2001, 'Task 1', FALSE, '2024-01-01 08:30:00', '2024-01-01 08:45:00', 2001);
+INSERT INTO Tasks (id, description, completed, start_date, end_date, appointment_id)
+VALUES (2002, 'Task 2', FALSE, '2024-01-02 08:30:00', '2024-01-02 08:45:00', 2002);
+INSERT INTO Tasks (id, description, completed, start_date, end_date, appointment_id)
+VALUES (2003, 'Task 3', FALSE, '2099-01-01 08:30:00', '2099-01-01 08:45:00', 2003);
+
+INSERT INTO Schedules (schedule_id, user_id, day_of_week, start_time, end_time)
+VALUES (2001, 2003, 'Tuesday', '2024-01-02 08:00:00', '2024-01-02 16:00:00');
+INSERT INTO Schedules (schedule_id, user_id, day_of_week, start_time, end_time)
+VALUES (2002, 2004, 'Wednesday', '2024-01-03 08:00:00', '2024-01-03 16:00:00');
+
+INSERT INTO User_Specialties (id, user_id, specialty_id) VALUES (2001, 2003, 1);
+INSERT INTO User_Specialties (id, user_id, specialty_id) VALUES (2002, 2004, 2);